@@ -0,0 +1,37 @@
+-- //
+-- Create pdf_jobs table for asynchronous calendar PDF generation
+-- Requires: 001_initial_schema.sql (for user_calendars, calendar_users and uuid-ossp extension)
+-- //
+
+CREATE TABLE pdf_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    calendar_id UUID NOT NULL,
+    user_id UUID,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    include_watermark BOOLEAN NOT NULL DEFAULT false,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    pdf_url VARCHAR(500),
+    error_message TEXT,
+    started_at TIMESTAMPTZ,
+    completed_at TIMESTAMPTZ,
+    created TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_pdf_jobs_calendar FOREIGN KEY (calendar_id) REFERENCES user_calendars(id) ON DELETE CASCADE,
+    CONSTRAINT fk_pdf_jobs_user FOREIGN KEY (user_id) REFERENCES calendar_users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_pdf_jobs_status CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED'))
+);
+
+CREATE INDEX idx_pdf_jobs_calendar ON pdf_jobs(calendar_id, created DESC);
+CREATE INDEX idx_pdf_jobs_user ON pdf_jobs(user_id, created DESC);
+
+COMMENT ON TABLE pdf_jobs IS 'Asynchronous PDF generation jobs, processed by PdfGenerationJobHandler via delayed_jobs';
+COMMENT ON COLUMN pdf_jobs.status IS 'Job status: PENDING, RUNNING, DONE, FAILED';
+COMMENT ON COLUMN pdf_jobs.include_watermark IS 'Whether the preview watermark is drawn over the calendar';
+COMMENT ON COLUMN pdf_jobs.attempts IS 'Number of rendering attempts started';
+COMMENT ON COLUMN pdf_jobs.pdf_url IS 'Public R2 URL of the generated PDF, set when status is DONE';
+COMMENT ON COLUMN pdf_jobs.error_message IS 'Error from the last failed attempt';
+
+-- //@UNDO
+
+DROP TABLE IF EXISTS pdf_jobs;
@@ -0,0 +1,47 @@
+package villagecompute.calendar.services;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Builds the rendering services outside of CDI so benchmarks measure the rendering code itself rather than Quarkus
+ * startup. Lives in the services package so the package-private injection points can be wired by hand.
+ */
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    static CalendarRenderingService calendarRenderingService() {
+        EmojiSvgService emojiSvgService = new EmojiSvgService();
+        emojiSvgService.init();
+
+        CalendarRenderingService renderingService = new CalendarRenderingService();
+        renderingService.holidayService = new HolidayService();
+        renderingService.emojiSvgService = emojiSvgService;
+        // A default-constructed cache is disabled, so every invocation renders
+        renderingService.svgCache = new CalendarSvgCache();
+        return renderingService;
+    }
+
+    static PDFRenderingService pdfRenderingService() {
+        // Sized so multi-threaded runs (-t) queue for a render thread instead of failing with RenderRejectedException
+        RenderExecutor renderExecutor = new RenderExecutor();
+        renderExecutor.meterRegistry = new SimpleMeterRegistry();
+        renderExecutor.maxConcurrency = Runtime.getRuntime().availableProcessors();
+        renderExecutor.queueDepth = 256;
+        renderExecutor.timeout = Duration.ofMinutes(5);
+        renderExecutor.retryAfter = Duration.ofSeconds(5);
+        renderExecutor.init();
+
+        PDFRenderingService pdfRenderingService = new PDFRenderingService();
+        pdfRenderingService.renderExecutor = renderExecutor;
+        pdfRenderingService.init();
+        return pdfRenderingService;
+    }
+
+    static MazeGenerationService mazeGenerationService() {
+        return new MazeGenerationService();
+    }
+}
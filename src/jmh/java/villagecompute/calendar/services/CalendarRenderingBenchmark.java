@@ -0,0 +1,80 @@
+package villagecompute.calendar.services;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.types.CalendarConfigType;
+
+/**
+ * Throughput of {@link CalendarRenderingService#generateCalendarSVG(CalendarConfigType)} across the configuration
+ * options that change how much work a render does. The full parameter matrix is large; narrow it from the command line
+ * with {@code -p}, e.g. {@code -p theme=default -p layout=grid}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(
+        iterations = 3,
+        time = 2)
+@Measurement(
+        iterations = 5,
+        time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarRenderingBenchmark {
+
+    @Param({"default", "vermontWeekends", "rainbowDays"})
+    String theme;
+
+    @Param({"none", "illumination", "phases", "full-only"})
+    String moonDisplayMode;
+
+    /** Comma separated holiday set IDs; empty for no holidays. */
+    @Param({"", "us", "us,jewish,christian,pagan"})
+    String holidaySets;
+
+    @Param({"noto-color", "noto-mono", "mono-blue"})
+    String emojiFont;
+
+    /** "grid", "compact" (grid with compactMode) or "weekday-grid". */
+    @Param({"grid", "compact", "weekday-grid"})
+    String layout;
+
+    private CalendarRenderingService renderingService;
+    private CalendarConfigType config;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        renderingService = BenchmarkServices.calendarRenderingService();
+
+        config = new CalendarConfigType();
+        config.year = 2026;
+        config.theme = theme;
+        config.moonDisplayMode = moonDisplayMode;
+        config.emojiFont = emojiFont;
+        config.compactMode = "compact".equals(layout);
+        config.layoutStyle = "weekday-grid".equals(layout) ? "weekday-grid" : "grid";
+        config.latitude = 44.26;
+        config.longitude = -72.58;
+        if (!holidaySets.isEmpty()) {
+            config.holidaySets = Arrays.asList(holidaySets.split(","));
+        }
+    }
+
+    @Benchmark
+    public String generateCalendarSvg() {
+        return renderingService.generateCalendarSVG(config);
+    }
+}
@@ -0,0 +1,107 @@
+package villagecompute.calendar.services;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-emoji cost of embedding an emoji SVG. {@code legacyRegexRewrite} is the previous implementation (regex scan plus
+ * four {@code String.replace} passes per ID) kept here as the baseline for the pre-compiled templates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(
+        iterations = 3,
+        time = 1)
+@Measurement(
+        iterations = 5,
+        time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmojiSvgBenchmark {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("id=\"([^\"]+)\"");
+
+    /** Code point of the emoji: tree and pumpkin have many gradient IDs, sun and party popper few. */
+    @Param({"1f384", "1f383", "2600", "1f389"})
+    String codepoint;
+
+    private EmojiSvgService emojiSvgService;
+    private String emoji;
+    private String innerContent;
+    private String viewBox;
+    private final StringBuilder out = new StringBuilder(64 * 1024);
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException {
+        emojiSvgService = new EmojiSvgService();
+        emojiSvgService.init();
+        emoji = new String(Character.toChars(Integer.parseInt(codepoint, 16)));
+
+        Field entriesField = EmojiSvgService.class.getDeclaredField("colorEntries");
+        entriesField.setAccessible(true);
+        EmojiAssetPack.Entry entry = ((Map<String, EmojiAssetPack.Entry>) entriesField.get(emojiSvgService)).get(emoji);
+        if (entry == null) {
+            throw new IllegalStateException("No color SVG for U+" + codepoint);
+        }
+        innerContent = entry.body().decode();
+        viewBox = entry.viewBox();
+    }
+
+    @Benchmark
+    public String legacyRegexRewrite() {
+        String prefix = String.format("e%.0f_%.0f_", 120.0, 340.0);
+        return String.format(
+                "<svg x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" viewBox=\"%s\""
+                        + " xmlns:xlink=\"http://www.w3.org/1999/xlink\">%s</svg>",
+                120.0, 340.0, 24.0, 24.0, viewBox, makeIdsUnique(innerContent, prefix));
+    }
+
+    @Benchmark
+    public String getEmojiAsSvg() {
+        return emojiSvgService.getEmojiAsSvg(emoji, 120.0, 340.0, 24.0);
+    }
+
+    @Benchmark
+    public int appendEmojiSvg() {
+        out.setLength(0);
+        emojiSvgService.appendEmojiSvg(out, emoji, 120.0, 340.0, 24.0, false, null);
+        return out.length();
+    }
+
+    private static String makeIdsUnique(String svgContent, String prefix) {
+        Matcher matcher = ID_PATTERN.matcher(svgContent);
+        Set<String> foundIds = new HashSet<>();
+        while (matcher.find()) {
+            foundIds.add(matcher.group(1));
+        }
+
+        String result = svgContent;
+        for (String id : foundIds) {
+            String newId = prefix + id;
+            result = result.replace("id=\"" + id + "\"", "id=\"" + newId + "\"");
+            result = result.replace("url(#" + id + ")", "url(#" + newId + ")");
+            result = result.replace("xlink:href=\"#" + id + "\"", "xlink:href=\"#" + newId + "\"");
+            result = result.replace("href=\"#" + id + "\"", "href=\"#" + newId + "\"");
+        }
+        return result;
+    }
+}
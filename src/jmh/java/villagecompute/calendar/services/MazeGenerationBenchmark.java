@@ -0,0 +1,107 @@
+package villagecompute.calendar.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.MazeGenerationService.MazeGenerationConfig;
+import villagecompute.calendar.services.maze.MazeAlgorithm;
+import villagecompute.calendar.services.maze.MazeGrid;
+
+/**
+ * Throughput of {@link MazeGenerationService#generateMazeSvg(MazeGenerationConfig)} with each combination of overlays,
+ * and of generating the {@link MazeGrid} alone with each {@link MazeAlgorithm}, for the smallest, default and largest
+ * maze sizes. The overlays only affect the SVG and the algorithm is only varied for the grid, so each benchmark takes
+ * its own parameters and no trial repeats another. The seed is fixed so each invocation generates the same maze.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(
+        iterations = 3,
+        time = 1)
+@Measurement(
+        iterations = 5,
+        time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MazeGenerationBenchmark {
+
+    private static final long SEED = 12345L;
+
+    @Param({"ORTHOGONAL", "SIGMA"})
+    MazeType type;
+
+    @Param({"1", "10", "20"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int difficulty;
+
+    /** Overlays drawn by {@link #generateMazeSvg}, which uses the default algorithm. */
+    @State(Scope.Benchmark)
+    public static class Overlays {
+
+        @Param({"false", "true"})
+        boolean showSolution;
+
+        @Param({"false", "true"})
+        boolean showDeadEnds;
+
+        MazeGenerationConfig config;
+
+        @Setup(Level.Trial)
+        public void setUp(MazeGenerationBenchmark maze) {
+            config = new MazeGenerationConfig(maze.type, maze.size, maze.difficulty, SEED, showSolution, null, null,
+                    null, showDeadEnds, null);
+        }
+    }
+
+    /** Algorithm used by {@link #generateGrid}. */
+    @State(Scope.Benchmark)
+    public static class Algorithm {
+
+        /** Name accepted by {@link MazeAlgorithm#forName(String)}. */
+        @Param({"backtracker", "eller", "wilson", "kruskal", "prim"})
+        String algorithm;
+
+        MazeAlgorithm mazeAlgorithm;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            mazeAlgorithm = MazeAlgorithm.forName(algorithm);
+        }
+    }
+
+    private MazeGenerationService mazeGenerationService;
+    private int[] dims;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mazeGenerationService = BenchmarkServices.mazeGenerationService();
+        dims = mazeGenerationService.sizeToGridDimensions(size);
+    }
+
+    @Benchmark
+    public String generateMazeSvg(Overlays overlays) {
+        return mazeGenerationService.generateMazeSvg(overlays.config);
+    }
+
+    @Benchmark
+    public MazeGrid generateGrid(Algorithm algorithm) {
+        MazeGrid grid = new MazeGrid(dims[0], dims[1], type, difficulty, SEED, algorithm.mazeAlgorithm);
+        grid.generate();
+        return grid;
+    }
+}
@@ -0,0 +1,67 @@
+package villagecompute.calendar.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.maze.MazeGrid;
+import villagecompute.calendar.services.maze.MazeSvgRenderer;
+
+/**
+ * Cost of a rendered maze downstream: time to render the SVG and to transcode it to PDF, with the dead-end shading and
+ * solution layers drawn. Run with {@code -prof gc} to see the allocation per render as well; it grows with the SVG,
+ * which is what {@code UserMaze.generatedSvg} stores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(
+        iterations = 2,
+        time = 5)
+@Measurement(
+        iterations = 5,
+        time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MazeSvgBenchmark {
+
+    @Param({"ORTHOGONAL", "SIGMA"})
+    MazeType type;
+
+    @Param({"1", "10", "20"})
+    int size;
+
+    private PDFRenderingService pdfRenderingService;
+    private MazeGrid grid;
+    private String svg;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pdfRenderingService = BenchmarkServices.pdfRenderingService();
+        int[] dims = BenchmarkServices.mazeGenerationService().sizeToGridDimensions(size);
+        grid = new MazeGrid(dims[0], dims[1], type, 3, 12345L);
+        grid.generate();
+        svg = renderSvg();
+    }
+
+    @Benchmark
+    public String renderSvg() {
+        return new MazeSvgRenderer(grid, "#000000", "#000000", "#4CAF50", true, true, null).render();
+    }
+
+    @Benchmark
+    public byte[] renderSvgToPdf() {
+        return pdfRenderingService.renderSVGToPDF(svg, 2026);
+    }
+}
@@ -0,0 +1,63 @@
+package villagecompute.calendar.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.types.CalendarConfigType;
+
+/**
+ * PDF transcode latency with the fonts located at startup ({@code located}) against FOP scanning the system font
+ * directories for every transcoder ({@code autoDetect}, the previous behavior). The scan happens whatever the calendar
+ * contains, so the difference depends on how many fonts the machine has installed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(
+        iterations = 2,
+        time = 5)
+@Measurement(
+        iterations = 5,
+        time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfFontBenchmark {
+
+    @Param({"located", "autoDetect"})
+    String fonts;
+
+    private PDFRenderingService pdfRenderingService;
+    private String svg;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pdfRenderingService = BenchmarkServices.pdfRenderingService();
+        if ("autoDetect".equals(fonts)) {
+            pdfRenderingService.fontConfig = null;
+        } else if (pdfRenderingService.fontConfig == null) {
+            throw new IllegalStateException("No PDF fonts found under " + pdfRenderingService.fontDirs);
+        }
+
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2026;
+        config.holidaySets = List.of("us", "jewish");
+        svg = BenchmarkServices.calendarRenderingService().generateCalendarSVG(config);
+    }
+
+    @Benchmark
+    public byte[] renderSvgToPdf() {
+        return pdfRenderingService.renderSVGToPDF(svg, 2026);
+    }
+}
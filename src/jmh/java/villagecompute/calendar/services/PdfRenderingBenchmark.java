@@ -0,0 +1,88 @@
+package villagecompute.calendar.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.types.CalendarConfigType;
+
+/**
+ * Throughput of {@link PDFRenderingService} transcoding a rendered calendar to PDF and PNG. The SVG is produced once
+ * per trial so only the Batik/FOP side is measured. The PNG width is a parameter of the PNG benchmark only, so the PDF
+ * benchmark is not repeated once per width.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(
+        iterations = 2,
+        time = 5)
+@Measurement(
+        iterations = 5,
+        time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfRenderingBenchmark {
+
+    @Param({"default", "rainbowDays"})
+    String theme;
+
+    @Param({"none", "illumination"})
+    String moonDisplayMode;
+
+    @Param({"noto-color", "noto-mono"})
+    String emojiFont;
+
+    @Param({"grid", "weekday-grid"})
+    String layout;
+
+    /** PNG output width, only used by {@link #renderSvgToPng}. */
+    @State(Scope.Benchmark)
+    public static class PngSize {
+
+        @Param({"400", "1200"})
+        int pngWidth;
+    }
+
+    private PDFRenderingService pdfRenderingService;
+    private String svg;
+    private String previewSvg;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalendarRenderingService renderingService = BenchmarkServices.calendarRenderingService();
+        pdfRenderingService = BenchmarkServices.pdfRenderingService();
+
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2026;
+        config.theme = theme;
+        config.moonDisplayMode = moonDisplayMode;
+        config.emojiFont = emojiFont;
+        config.layoutStyle = layout;
+        config.holidaySets = List.of("us", "jewish");
+
+        svg = renderingService.generateCalendarSVG(config);
+        previewSvg = renderingService.wrapSvgForPreview(svg);
+    }
+
+    @Benchmark
+    public byte[] renderSvgToPdf() {
+        return pdfRenderingService.renderSVGToPDF(svg, 2026);
+    }
+
+    @Benchmark
+    public byte[] renderSvgToPng(PngSize size) {
+        return pdfRenderingService.renderSVGToPNG(previewSvg, size.pngWidth);
+    }
+}
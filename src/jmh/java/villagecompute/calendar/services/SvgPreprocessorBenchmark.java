@@ -0,0 +1,115 @@
+package villagecompute.calendar.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.types.CustomDateEntryType;
+
+/**
+ * Cost of the SVG fixes applied before every PDF transcode, on an emoji-heavy calendar of about 3 MB: color emoji on
+ * every day of the year plus holidays. {@code legacy} is the previous implementation (a pass per fix, with lowercase
+ * copies of the document and patterns compiled per call) kept here as the baseline for {@link SvgPreprocessor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(
+        iterations = 3,
+        time = 2)
+@Measurement(
+        iterations = 5,
+        time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SvgPreprocessorBenchmark {
+
+    private static final String[] EMOJI = {"🎂", "🎄", "🎃", "🎉", "🌞", "🌈", "🍀", "🦃", "🐣", "🎆", "❤️", "🌻"};
+
+    private String svg;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2026;
+        config.emojiFont = "noto-color";
+        config.holidaySets = List.of("us", "jewish", "christian");
+        for (LocalDate date = LocalDate.of(2026, 1, 1); date.getYear() == 2026; date = date.plusDays(1)) {
+            config.customDates.put(date, new CustomDateEntryType(EMOJI[date.getDayOfYear() % EMOJI.length]));
+        }
+
+        svg = BenchmarkServices.calendarRenderingService().generateCalendarSVG(config);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return SvgPreprocessor.preprocess(svg);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return fixTransparentFill(fixCSSUriReferences(fixXlinkNamespace(svg)));
+    }
+
+    private static String fixXlinkNamespace(String svgContent) {
+        if (svgContent.contains("xlink:href") && !svgContent.contains("xmlns:xlink")) {
+            Matcher matcher = Pattern.compile("(<svg[^>]*?)>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL)
+                    .matcher(svgContent);
+            if (matcher.find()) {
+                svgContent = svgContent.replace(matcher.group(0),
+                        matcher.group(1) + " xmlns:xlink=\"http://www.w3.org/1999/xlink\">");
+            }
+        }
+        return svgContent;
+    }
+
+    private static String fixCSSUriReferences(String svgContent) {
+        if (!svgContent.contains("url(#")) {
+            return svgContent;
+        }
+
+        Matcher matcher = Pattern.compile("clip-path\\s*=\\s*[\"']url\\(#([^)]+)\\)[\"']", Pattern.CASE_INSENSITIVE)
+                .matcher(svgContent);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, "clip-path=\"#" + matcher.group(1) + "\"");
+        }
+        matcher.appendTail(result);
+        svgContent = result.toString();
+
+        matcher = Pattern.compile("(style\\s*=\\s*[\"'][^\"']*?)clip-path\\s*:\\s*url\\(#([^)]+)\\)([^\"']*[\"'])",
+                Pattern.CASE_INSENSITIVE).matcher(svgContent);
+        result = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, matcher.group(1) + "clip-path:#" + matcher.group(2) + matcher.group(3));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String fixTransparentFill(String svgContent) {
+        if (svgContent.toLowerCase().contains("fill=\"transparent\"")
+                || svgContent.toLowerCase().contains("fill='transparent'")) {
+            svgContent = svgContent.replaceAll("(?i)fill\\s*=\\s*[\"']transparent[\"']", "fill=\"none\"");
+        }
+        if (svgContent.toLowerCase().contains("fill:transparent")
+                || svgContent.toLowerCase().contains("fill: transparent")) {
+            svgContent = svgContent.replaceAll("(?i)fill\\s*:\\s*transparent", "fill:none");
+        }
+        return svgContent;
+    }
+}
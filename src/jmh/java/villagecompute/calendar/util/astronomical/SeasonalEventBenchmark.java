@@ -0,0 +1,101 @@
+package villagecompute.calendar.util.astronomical;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.shredzone.commons.suncalc.SunTimes;
+
+import villagecompute.calendar.util.astronomical.SeasonalEventCalculator.EventType;
+
+/**
+ * Cost of finding a year's equinoxes and solstices: the direct solver with and without its per-year cache, against the
+ * day-by-day SunCalc search it replaced (one sunrise/sunset computation per candidate day, comparing daylight).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(
+        iterations = 3,
+        time = 1)
+@Measurement(
+        iterations = 5,
+        time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeasonalEventBenchmark {
+
+    // Reference location used by the SunCalc search
+    private static final double LATITUDE = 51.5;
+    private static final double LONGITUDE = 0.0;
+
+    @Param({"2025"})
+    int year;
+
+    @Benchmark
+    public Instant[] solver() {
+        return SeasonalEventCalculator.computeEvents(year);
+    }
+
+    @Benchmark
+    public void solverCached(Blackhole blackhole) {
+        for (EventType type : EventType.values()) {
+            blackhole.consume(SeasonalEventCalculator.getDate(year, type, ZoneOffset.UTC));
+        }
+    }
+
+    @Benchmark
+    public void sunCalcSearch(Blackhole blackhole) {
+        blackhole.consume(findEquinox(3, 19, 22));
+        blackhole.consume(findSolstice(6, 20, 22, true));
+        blackhole.consume(findEquinox(9, 21, 24));
+        blackhole.consume(findSolstice(12, 20, 23, false));
+    }
+
+    /** Day with daylight closest to 12 hours. */
+    private LocalDate findEquinox(int month, int startDay, int endDay) {
+        LocalDate closest = LocalDate.of(year, month, startDay);
+        long closestDiff = Long.MAX_VALUE;
+        for (int day = startDay; day <= endDay; day++) {
+            LocalDate date = LocalDate.of(year, month, day);
+            long diff = Math.abs(daylightMinutes(date) - 720);
+            if (diff < closestDiff) {
+                closestDiff = diff;
+                closest = date;
+            }
+        }
+        return closest;
+    }
+
+    /** Day with the most (summer) or least (winter) daylight. */
+    private LocalDate findSolstice(int month, int startDay, int endDay, boolean summer) {
+        LocalDate extreme = LocalDate.of(year, month, startDay);
+        long extremeDaylight = summer ? Long.MIN_VALUE : Long.MAX_VALUE;
+        for (int day = startDay; day <= endDay; day++) {
+            LocalDate date = LocalDate.of(year, month, day);
+            long daylight = daylightMinutes(date);
+            if (summer ? daylight > extremeDaylight : daylight < extremeDaylight) {
+                extremeDaylight = daylight;
+                extreme = date;
+            }
+        }
+        return extreme;
+    }
+
+    private static long daylightMinutes(LocalDate date) {
+        SunTimes times = SunTimes.compute().on(date.atStartOfDay(ZoneOffset.UTC)).at(LATITUDE, LONGITUDE).execute();
+        return Duration.between(times.getRise(), times.getSet()).toMinutes();
+    }
+}
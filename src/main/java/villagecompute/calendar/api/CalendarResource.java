@@ -17,9 +17,15 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.services.AlmanacService;
 import villagecompute.calendar.services.CalendarRenderingService;
 import villagecompute.calendar.services.EmojiSvgService;
 import villagecompute.calendar.services.HebrewCalendarService;
@@ -30,12 +36,16 @@ import villagecompute.calendar.types.HolidayType;
 import villagecompute.calendar.util.MimeTypes;
 
 import io.quarkus.logging.Log;
+import io.vertx.core.http.HttpServerResponse;
 
 @Path("/calendar")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class CalendarResource {
 
+    // Almanac data changes only with the application version; clients revalidate daily using the ETag
+    private static final String ALMANAC_CACHE_CONTROL = "public, max-age=86400";
+
     @Inject
     CalendarRenderingService calendarRenderingService;
 
@@ -51,6 +61,9 @@ public class CalendarResource {
     @Inject
     EmojiSvgService emojiSvgService;
 
+    @Inject
+    AlmanacService almanacService;
+
     // Request/Response types
     public static class CalendarRequest {
         public String calendarType; // "gregorian" or "hebrew"
@@ -120,12 +133,13 @@ public class CalendarResource {
     @POST
     @Path("/generate")
     @Produces(MediaType.APPLICATION_XML)
-    public Response generateCalendar(CalendarRequest request) {
+    public Response generateCalendar(CalendarRequest request, @Context HttpServerResponse httpResponse) {
         // Build configuration from request
         CalendarConfigType config = buildConfig(request);
 
-        // Generate SVG
-        String svg = calendarRenderingService.generateCalendarSVG(config);
+        // Stream the SVG month by month rather than building it into a String first
+        StreamingOutput svg = StreamingResponses.abortOnFailure(httpResponse, "calendar SVG",
+                output -> calendarRenderingService.writeCalendarSVG(config, output));
 
         return Response.ok(svg).header(MimeTypes.HEADER_CONTENT_TYPE, MimeTypes.IMAGE_SVG).build();
     }
@@ -343,6 +357,9 @@ public class CalendarResource {
             return Response.ok(pdf).type("application/pdf")
                     .header(HEADER_CONTENT_DISPOSITION, "attachment; filename=\"calendar-" + year + ".pdf\"").build();
 
+        } catch (RenderRejectedException e) {
+            // Handled by RenderRejectedExceptionMapper (429)
+            throw e;
         } catch (Exception e) {
             Log.error("PDF generation failed", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).type(MediaType.TEXT_PLAIN)
@@ -382,6 +399,33 @@ public class CalendarResource {
         return Response.ok(response).build();
     }
 
+    /**
+     * Holidays, moon phases, seasonal events and (with a location) sunrise and sunset for a range of years in one
+     * columnar payload. The data only depends on the query, so responses carry a strong ETag and can be cached.
+     */
+    @GET
+    @Path("/almanac")
+    public Response getAlmanac(@QueryParam("fromYear") Integer fromYear, @QueryParam("toYear") Integer toYear,
+            @QueryParam("sets") List<String> sets, @QueryParam("lat") Double latitude,
+            @QueryParam("lng") Double longitude, @Context Request request) {
+        AlmanacService.AlmanacQuery query;
+        try {
+            query = almanacService.query(fromYear, toYear, sets, latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity(e.getMessage())
+                    .build();
+        }
+
+        EntityTag etag = new EntityTag(almanacService.etag(query));
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.tag(etag).header(HEADER_CACHE_CONTROL, ALMANAC_CACHE_CONTROL).build();
+        }
+
+        return Response.ok(almanacService.getAlmanac(query)).tag(etag)
+                .header(HEADER_CACHE_CONTROL, ALMANAC_CACHE_CONTROL).build();
+    }
+
     private CalendarConfigType buildConfig(CalendarRequest request) {
         CalendarConfigType config = new CalendarConfigType();
 
@@ -1,7 +1,9 @@
 package villagecompute.calendar.api;
 
+import static villagecompute.calendar.util.MimeTypes.HEADER_CACHE_CONTROL;
 import static villagecompute.calendar.util.MimeTypes.HEADER_CONTENT_DISPOSITION;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +17,9 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 
@@ -27,10 +31,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import villagecompute.calendar.data.models.CalendarOrder;
 import villagecompute.calendar.data.models.CalendarOrderItem;
 import villagecompute.calendar.data.models.CalendarUser;
-import villagecompute.calendar.data.models.ItemAsset;
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.services.AuthenticationService;
+import villagecompute.calendar.services.OrderPdfService;
 import villagecompute.calendar.services.OrderService;
-import villagecompute.calendar.services.PDFRenderingService;
 import villagecompute.calendar.types.OrderSummaryType;
 import villagecompute.calendar.types.PaginatedOrdersType;
 import villagecompute.calendar.util.Roles;
@@ -45,7 +49,7 @@ public class OrderResource {
     OrderService orderService;
 
     @Inject
-    PDFRenderingService pdfRenderingService;
+    OrderPdfService orderPdfService;
 
     @Inject
     ObjectMapper objectMapper;
@@ -119,6 +123,10 @@ public class OrderResource {
      * generates PDF, ensuring consistency with frontend previews and eliminating security risks of accepting arbitrary
      * SVG content.
      *
+     * <p>
+     * The PDF is rendered once per distinct SVG and served from storage afterwards. Its content key is sent as a strong
+     * ETag, so a client revalidating with If-None-Match gets 304 without the PDF being read at all.
+     *
      * @param orderNumber
      *            The order number (public identifier)
      * @param itemId
@@ -129,7 +137,7 @@ public class OrderResource {
     @Path("/{orderNumber}/items/{itemId}/pdf")
     @Produces("application/pdf")
     public Response downloadOrderItemPDF(@PathParam("orderNumber") String orderNumber, @PathParam("itemId") UUID itemId,
-            @Context SecurityContext securityContext) {
+            @Context SecurityContext securityContext, @Context Request request) {
 
         try {
             LOG.infof("PDF download request for order %s, item %s", orderNumber, itemId);
@@ -181,7 +189,7 @@ public class OrderResource {
             }
 
             // Extract SVG content from the order item configuration
-            String svgContent = extractSvgFromOrderItem(orderItem);
+            String svgContent = orderPdfService.extractSvg(orderItem);
             if (svgContent == null || svgContent.isEmpty()) {
                 LOG.warnf("No SVG content found for order item %s", itemId);
                 return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN)
@@ -191,26 +199,33 @@ public class OrderResource {
             // Get the calendar year for PDF metadata
             int year = orderItem.getYear();
 
-            // Generate PDF from the stored SVG content
-            byte[] pdf = pdfRenderingService.renderSVGToPDF(svgContent, year);
-
-            if (pdf == null || pdf.length == 0) {
-                LOG.errorf("PDF generation failed for order item %s", itemId);
-                return Response.status(Response.Status.INTERNAL_SERVER_ERROR).type(MediaType.TEXT_PLAIN)
-                        .entity("Failed to generate PDF").build();
+            // The PDF only depends on the SVG and year, so the client's copy is current if the key matches
+            String pdfKey = orderPdfService.pdfKey(svgContent, year);
+            EntityTag etag = new EntityTag(pdfKey);
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.tag(etag).build();
             }
 
-            LOG.infof("PDF generated successfully for order %s, item %s: %d bytes", orderNumber, itemId, pdf.length);
+            // Serve the stored PDF, rendering it from the SVG content on first download. It is opened now so that a
+            // cache trim by another download cannot delete it before the response is written.
+            InputStream pdf = orderPdfService.openPdf(pdfKey, svgContent, year);
+
+            LOG.infof("Serving PDF for order %s, item %s: %s", orderNumber, itemId, pdfKey);
 
             // Create filename: calendar-ORDER123-customer-2025.pdf
             String customerName = sanitizeForFilename(
                     order.customerEmail != null ? order.customerEmail.split("@")[0] : "customer");
             String filename = String.format("calendar-%s-%s-%d.pdf", orderNumber, customerName, year);
 
-            return Response.ok(pdf).type("application/pdf")
+            return Response.ok(pdf).type("application/pdf").tag(etag)
+                    .header(HEADER_CACHE_CONTROL, "private, no-cache")
                     .header(HEADER_CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                     .header("X-Order-Number", orderNumber).header("X-Item-Id", itemId.toString()).build();
 
+        } catch (RenderRejectedException e) {
+            // Handled by RenderRejectedExceptionMapper (429)
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Error generating PDF for order %s, item %s", orderNumber, itemId);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).type(MediaType.TEXT_PLAIN)
@@ -218,37 +233,6 @@ public class OrderResource {
         }
     }
 
-    /**
-     * Extract SVG content from order item assets.
-     *
-     * @param orderItem
-     *            The order item
-     * @return SVG content string, or null if not found
-     */
-    private String extractSvgFromOrderItem(CalendarOrderItem orderItem) {
-        LOG.debugf("Extracting SVG from order item %s", orderItem.id);
-
-        // Get the main SVG asset from the order item
-        ItemAsset mainAsset = orderItem.getMainAsset();
-        if (mainAsset != null && mainAsset.svgContent != null && !mainAsset.svgContent.isEmpty()) {
-            LOG.debugf("Found SVG in main asset for item %s (%d chars)", orderItem.id, mainAsset.svgContent.length());
-            return mainAsset.svgContent;
-        }
-
-        // Fallback: check configuration JSON for legacy orders
-        if (orderItem.configuration != null && orderItem.configuration.has("generatedSvg")) {
-            String svgContent = orderItem.configuration.get("generatedSvg").asText();
-            if (svgContent != null && !svgContent.isEmpty()) {
-                LOG.debugf("Found SVG in configuration.generatedSvg for item %s (%d chars)", orderItem.id,
-                        svgContent.length());
-                return svgContent;
-            }
-        }
-
-        LOG.warnf("No SVG content found for order item %s", orderItem.id);
-        return null;
-    }
-
     /** Sanitize string for use in filename */
     private String sanitizeForFilename(String input) {
         if (input == null)
@@ -0,0 +1,24 @@
+package villagecompute.calendar.api;
+
+import static villagecompute.calendar.util.MimeTypes.HEADER_RETRY_AFTER;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import villagecompute.calendar.exceptions.RenderRejectedException;
+
+/**
+ * Maps a saturated render executor to 429 Too Many Requests, with a Retry-After header telling the client when to try
+ * again.
+ */
+@Provider
+public class RenderRejectedExceptionMapper implements ExceptionMapper<RenderRejectedException> {
+
+    @Override
+    public Response toResponse(RenderRejectedException exception) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS).type(MediaType.TEXT_PLAIN)
+                .header(HEADER_RETRY_AFTER, exception.getRetryAfterSeconds()).entity(exception.getMessage()).build();
+    }
+}
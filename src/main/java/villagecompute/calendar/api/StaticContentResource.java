@@ -4,6 +4,9 @@ import static villagecompute.calendar.util.MimeTypes.DISPOSITION_INLINE_PREFIX;
 import static villagecompute.calendar.util.MimeTypes.HEADER_CACHE_CONTROL;
 import static villagecompute.calendar.util.MimeTypes.HEADER_CONTENT_DISPOSITION;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,8 +20,10 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
@@ -26,9 +31,13 @@ import org.jboss.logging.Logger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import villagecompute.calendar.data.models.CalendarTemplate;
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.services.CalendarRenderingService;
 import villagecompute.calendar.services.PDFRenderingService;
 import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.util.SvgWriter;
+
+import io.vertx.core.http.HttpServerResponse;
 
 /**
  * API endpoint for static content generation. CI/CD calls these endpoints to download data and assets for static
@@ -118,14 +127,14 @@ public class StaticContentResource {
     @Path("/calendars/{slug}.svg")
     @Produces("image/svg+xml")
     @Transactional
-    public Response getCalendarSvg(@PathParam("slug") String slug) {
+    public Response getCalendarSvg(@PathParam("slug") String slug, @Context HttpServerResponse httpResponse) {
         LOG.infof("Generating SVG for calendar: %s", slug);
 
         CalendarTemplate template = getTemplateBySlug(slug);
-        String svgContent = generateSvgForTemplate(template);
+        StreamingOutput svg = StreamingResponses.abortOnFailure(httpResponse, "SVG for calendar " + slug,
+                streamSvgForTemplate(template));
 
-        return Response.ok(svgContent).header(HEADER_CONTENT_DISPOSITION, DISPOSITION_INLINE_PREFIX + slug + ".svg\"")
-                .build();
+        return Response.ok(svg).header(HEADER_CONTENT_DISPOSITION, DISPOSITION_INLINE_PREFIX + slug + ".svg\"").build();
     }
 
     /**
@@ -154,6 +163,8 @@ public class StaticContentResource {
 
             return Response.ok(pngBytes).header(HEADER_CONTENT_DISPOSITION, DISPOSITION_INLINE_PREFIX + slug + ".png\"")
                     .build();
+        } catch (RenderRejectedException e) {
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Failed to generate PNG for calendar: %s", slug);
             throw new WebApplicationException("Failed to generate PNG", Response.Status.INTERNAL_SERVER_ERROR);
@@ -207,6 +218,8 @@ public class StaticContentResource {
                     .header(HEADER_CONTENT_DISPOSITION, DISPOSITION_INLINE_PREFIX + templateId + ".png\"")
                     .header(HEADER_CACHE_CONTROL, "public, max-age=86400") // Cache for 1 day
                     .build();
+        } catch (RenderRejectedException e) {
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Failed to generate PNG for template ID: %s", templateId);
             throw new WebApplicationException("Failed to generate PNG", Response.Status.INTERNAL_SERVER_ERROR);
@@ -266,6 +279,32 @@ public class StaticContentResource {
         return svgContent;
     }
 
+    /**
+     * Stream the SVG for a template. The config is built here, inside the caller's transaction, and the SVG itself is
+     * rendered month by month as the response is written, then kept in {@link #svgCache} like the other SVG endpoints
+     * so a following PNG request does not render it again.
+     */
+    private StreamingOutput streamSvgForTemplate(CalendarTemplate template) {
+        String cacheKey = template.slug != null ? template.slug : template.id.toString();
+        String cached = svgCache.get(cacheKey);
+        if (cached != null) {
+            return output -> {
+                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+                SvgWriter.copy(cached, writer);
+                writer.flush();
+            };
+        }
+
+        int year = LocalDate.now().getYear() + 1;
+        CalendarConfigType config = buildConfigFromTemplate(template, year);
+        return output -> {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            String svgContent = calendarRenderingService.writeAndReturnCalendarSVG(config, writer);
+            writer.flush();
+            svgCache.put(cacheKey, svgContent);
+        };
+    }
+
     private String generateSvgForTemplateById(CalendarTemplate template) {
         // Use ID as cache key
         String cacheKey = template.id.toString();
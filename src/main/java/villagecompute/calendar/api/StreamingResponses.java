@@ -0,0 +1,51 @@
+package villagecompute.calendar.api;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.jboss.logging.Logger;
+
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Helpers for responses written with {@link StreamingOutput}. A streamed body commits a 200 with its first flush, so a
+ * failure later in the render cannot become an error status; ending the response normally would hand the client a
+ * truncated document that looks complete.
+ */
+public final class StreamingResponses {
+
+    private static final Logger LOG = Logger.getLogger(StreamingResponses.class);
+
+    private StreamingResponses() {
+    }
+
+    /**
+     * Wrap a streamed body so that a failure after the response has started drops the connection, like the chunked
+     * SVG route in {@code CalendarsPageResource}. A failure before anything was sent is rethrown and becomes an error
+     * response as usual.
+     *
+     * @param response
+     *            The request's Vert.x response, e.g. from {@code @Context HttpServerResponse}
+     * @param description
+     *            What is being streamed, for the log
+     * @param body
+     *            Writes the response body
+     * @return A body that aborts the connection on a mid-stream failure
+     */
+    public static StreamingOutput abortOnFailure(HttpServerResponse response, String description,
+            StreamingOutput body) {
+        return output -> {
+            try {
+                body.write(output);
+            } catch (IOException | RuntimeException | Error e) {
+                if (response.headWritten() && !response.closed()) {
+                    LOG.errorf(e, "Failed to stream %s after the response started, dropping the connection",
+                            description);
+                    response.reset();
+                }
+                throw e;
+            }
+        };
+    }
+}
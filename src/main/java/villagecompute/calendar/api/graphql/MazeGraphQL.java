@@ -12,7 +12,7 @@ import org.eclipse.microprofile.graphql.*;
 
 import villagecompute.calendar.data.models.UserMaze;
 import villagecompute.calendar.data.models.enums.MazeType;
-import villagecompute.calendar.services.MazeGenerationService;
+import villagecompute.calendar.services.MazePreviewCache;
 import villagecompute.calendar.services.MazeService;
 import villagecompute.calendar.util.Roles;
 
@@ -23,7 +23,7 @@ public class MazeGraphQL {
     MazeService mazeService;
 
     @Inject
-    MazeGenerationService mazeGenerationService;
+    MazePreviewCache mazePreviewCache;
 
     // Queries
 
@@ -50,12 +50,12 @@ public class MazeGraphQL {
 
     @Query("mazePreview")
     @PermitAll
-    @Description("Generate a preview SVG for given maze parameters")
+    @Description("Generate a preview SVG for given maze parameters (cached, since previews use a fixed seed)")
     public String getMazePreview(@Name("type") @DefaultValue("ORTHOGONAL") MazeType type,
             @Name("size") @DefaultValue("10") int size, @Name("difficulty") @DefaultValue("3") int difficulty,
             @Name("showSolution") @DefaultValue("false") boolean showSolution,
             @Name("showDeadEnds") @DefaultValue("false") boolean showDeadEnds) {
-        return mazeGenerationService.generatePreview(type, size, difficulty, showSolution, showDeadEnds);
+        return mazePreviewCache.getPreview(type, size, difficulty, showSolution, showDeadEnds);
     }
 
     // Mutations
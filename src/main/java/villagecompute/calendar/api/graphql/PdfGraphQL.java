@@ -1,5 +1,7 @@
 package villagecompute.calendar.api.graphql;
 
+import java.util.UUID;
+
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -10,14 +12,20 @@ import org.eclipse.microprofile.graphql.*;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
 
+import villagecompute.calendar.data.models.CalendarUser;
+import villagecompute.calendar.data.models.PdfJob;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
 import villagecompute.calendar.services.AuthenticationService;
+import villagecompute.calendar.services.CalendarService;
+import villagecompute.calendar.services.DelayedJobService;
+import villagecompute.calendar.services.jobs.PdfGenerationJobHandler;
 import villagecompute.calendar.util.Roles;
+import villagecompute.calendar.util.UuidUtil;
 
 /**
- * GraphQL resolver for PDF generation operations. Handles asynchronous PDF job creation and status tracking.
- *
- * <p>
- * TODO: Implementation pending - currently returns stub responses
+ * GraphQL resolver for PDF generation operations. Handles asynchronous PDF job creation and status tracking; the
+ * rendering itself runs in {@link PdfGenerationJobHandler} on the delayed job queue, off the request thread.
  */
 @GraphQLApi
 @ApplicationScoped
@@ -31,75 +39,91 @@ public class PdfGraphQL {
     @Inject
     AuthenticationService authService;
 
+    @Inject
+    CalendarService calendarService;
+
+    @Inject
+    DelayedJobService delayedJobService;
+
     /**
      * Get a PDF generation job by ID. Returns job status and download URL when complete. Users can poll this endpoint
      * to track PDF generation progress.
      *
-     * <p>
-     * TODO: Implement PdfJob retrieval from database
-     *
      * @param id
      *            PDF job ID
-     * @return PdfJob object with status and PDF URL, or null if not found
+     * @return PdfJob with status and PDF URL, or null if not found
+     * @throws SecurityException
+     *             if the job belongs to another user
      */
     @Query("pdfJob")
     @Description("Get a PDF generation job by ID. Returns job status and download URL when complete.")
     @RolesAllowed(Roles.USER)
-    public PdfJobStub pdfJob(@Name("id") @NotNull @Description("PDF job ID") String id) {
-        LOG.infof("Query pdfJob called with id=%s (STUB IMPLEMENTATION)", id);
-
-        // TODO: Implement actual PDF job retrieval
-        return null;
+    public PdfJobType pdfJob(@Name("id") @NotNull @Description("PDF job ID") String id) {
+        LOG.infof("Query: pdfJob(id=%s)", id);
+
+        CalendarUser user = authService.requireCurrentUser(jwt);
+        PdfJob job = PdfJob.findById(UuidUtil.parse(id, UuidUtil.FIELD_PDF_JOB_ID));
+        if (job == null) {
+            return null;
+        }
+
+        if (!isOwnerOrAdmin(job.user, user)) {
+            LOG.warnf("Unauthorized PDF job access: jobId=%s, userId=%s", id, user.id);
+            throw new SecurityException("You do not have permission to view this PDF job");
+        }
+        return PdfJobType.from(job);
     }
 
     /**
      * Generate PDF for a calendar asynchronously. Requires authentication and calendar ownership (or calendar is
      * public). Creates a background job and returns PdfJob for status polling. Watermark option allows generating
-     * preview PDFs (for non-paying users).
-     *
-     * <p>
-     * TODO: Implement PDF generation job creation
+     * preview PDFs (for non-paying users); only the owner can generate a PDF without the watermark.
      *
      * @param calendarId
      *            Calendar ID to generate PDF for
      * @param watermark
      *            Include watermark on PDF (true for previews, false for paid downloads)
-     * @return PdfJob object for tracking generation progress
+     * @return PdfJob in PENDING status for tracking generation progress
      */
     @Mutation("generatePdf")
     @Description("Generate PDF for a calendar asynchronously. Creates a background job and returns"
             + " PdfJob for status polling.")
     @RolesAllowed(Roles.USER)
     @Transactional
-    public PdfJobStub generatePdf(
+    public PdfJobType generatePdf(
             @Name("calendarId") @NotNull @Description("Calendar ID to generate PDF for") String calendarId,
             @Name("watermark") @NotNull @Description("Include watermark on PDF (true for previews, false for paid"
                     + " downloads)") Boolean watermark) {
-        LOG.infof("Mutation generatePdf called with calendarId=%s, watermark=%s (STUB" + " IMPLEMENTATION)", calendarId,
-                watermark);
-
-        // TODO: Implement PDF generation job creation
-        // Example implementation:
-        // 1. Verify user authentication
-        // 2. Verify calendar ownership or public status
-        // 3. Create DelayedJob for PDF generation
-        // 4. Return PdfJob with PENDING status
-
-        throw new UnsupportedOperationException(
-                "PDF generation not yet implemented. TODO: Create DelayedJob for PDF rendering and"
-                        + " return PdfJob with status tracking.");
+        LOG.infof("Mutation: generatePdf(calendarId=%s, watermark=%s)", calendarId, watermark);
+
+        CalendarUser user = authService.requireCurrentUser(jwt);
+        UserCalendar calendar = calendarService.getCalendar(UuidUtil.parse(calendarId, UuidUtil.FIELD_CALENDAR_ID),
+                user);
+
+        if (!Boolean.TRUE.equals(watermark) && !isOwnerOrAdmin(calendar.user, user)) {
+            LOG.warnf("Unauthorized unwatermarked PDF request: calendarId=%s, userId=%s", calendarId, user.id);
+            throw new SecurityException("Only the calendar owner can generate a PDF without a watermark");
+        }
+
+        PdfJob job = PdfJob.create(calendar, user, Boolean.TRUE.equals(watermark));
+        delayedJobService.enqueue(PdfGenerationJobHandler.class, job.id.toString());
+
+        LOG.infof("Created PDF job %s for calendar %s", job.id, calendarId);
+        return PdfJobType.from(job);
     }
 
-    /**
-     * Temporary stub class representing a PDF generation job. This should be replaced with the actual PdfJob entity
-     * once implemented.
-     *
-     * <p>
-     * TODO: Replace with actual PdfJob entity from data models
-     */
+    private boolean isOwnerOrAdmin(CalendarUser owner, CalendarUser user) {
+        if (Boolean.TRUE.equals(user.isAdmin)) {
+            return true;
+        }
+        UUID ownerId = owner != null ? owner.id : null;
+        return user.id.equals(ownerId);
+    }
+
+    /** GraphQL view of a {@link PdfJob}. */
     @Type("PdfJob")
-    @Description("Asynchronous PDF generation job (stub)")
-    public static class PdfJobStub {
+    @Description("Asynchronous PDF generation job")
+    public static class PdfJobType {
 
         @NonNull @Description("Unique job identifier (UUID)")
         public String id;
@@ -107,13 +131,13 @@ public class PdfGraphQL {
         @NonNull @Description("Calendar being rendered to PDF")
         public String calendarId;
 
-        @NonNull @Description("Job status (PENDING, PROCESSING, COMPLETED, FAILED)")
+        @NonNull @Description("Job status (PENDING, RUNNING, DONE, FAILED)")
         public String status;
 
         @NonNull @Description("Progress percentage (0-100)")
         public Integer progress;
 
-        @NonNull @Description("Number of retry attempts")
+        @NonNull @Description("Number of rendering attempts")
         public Integer attempts;
 
         @NonNull @Description("Whether watermark should be included in PDF (for preview mode)")
@@ -133,5 +157,22 @@ public class PdfGraphQL {
 
         @Description("Timestamp when job completed (success or failure)")
         public String completedAt;
+
+        static PdfJobType from(PdfJob job) {
+            PdfJobType type = new PdfJobType();
+            type.id = job.id.toString();
+            type.calendarId = job.calendar.id.toString();
+            type.status = job.status.name();
+            // Rendering is a single step, so there is nothing between not done and done to report
+            type.progress = job.status == PdfJobStatus.DONE ? 100 : 0;
+            type.attempts = job.attempts;
+            type.includeWatermark = job.includeWatermark;
+            type.pdfUrl = job.pdfUrl;
+            type.errorMessage = job.errorMessage;
+            type.createdAt = job.created != null ? job.created.toString() : null;
+            type.startedAt = job.startedAt != null ? job.startedAt.toString() : null;
+            type.completedAt = job.completedAt != null ? job.completedAt.toString() : null;
+            return type;
+        }
     }
 }
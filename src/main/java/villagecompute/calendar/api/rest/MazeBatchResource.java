@@ -0,0 +1,193 @@
+package villagecompute.calendar.api.rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import villagecompute.calendar.api.StreamingResponses;
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.MazeBatchService;
+import villagecompute.calendar.services.MazeGenerationService.MazeGenerationConfig;
+import villagecompute.calendar.services.maze.MazeAlgorithm;
+import villagecompute.calendar.util.MimeTypes;
+import villagecompute.calendar.util.Roles;
+
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * REST resource for generating many mazes in one request, e.g. a maze book with a page per week. Every maze in a batch
+ * shares the same settings and differs only by seed. A batch keeps batch (and for PDFs, render) threads busy for many
+ * mazes, so both variants are limited to signed-in users.
+ */
+@Path("/mazes/batch")
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(
+        name = "Mazes",
+        description = "Batch maze generation")
+public class MazeBatchResource {
+
+    private static final Logger LOG = Logger.getLogger(MazeBatchResource.class);
+
+    private static final String DEFAULT_PDF_TITLE = "Mazes";
+    private static final String DEFAULT_WALL_COLOR = "#000000";
+    private static final String DEFAULT_PATH_COLOR = "#4CAF50";
+
+    // Colors are written into SVG attributes as given, so only hex codes and color names are accepted
+    private static final Pattern COLOR_PATTERN = Pattern.compile("^(#[A-Fa-f0-9]{6}|#[A-Fa-f0-9]{3}|[A-Za-z]{1,32})$");
+
+    @Inject
+    MazeBatchService mazeBatchService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /** Settings shared by every maze of a batch, and the seeds or number of mazes to generate. */
+    public static class MazeBatchRequest {
+        public MazeType mazeType;
+        public Integer size; // 1-20: controls cell count
+        public Integer difficulty; // 1-5: controls shortcuts
+        public List<Long> seeds; // One maze per seed
+        public Integer count; // Number of mazes with random seeds, when no seeds are given
+        public String algorithm; // See MazeAlgorithm.forName
+        public Boolean showSolution;
+        public Boolean showDeadEnds;
+        public String innerWallColor;
+        public String outerWallColor;
+        public String pathColor;
+        public String deadEndColor;
+        public String title; // PDF title
+    }
+
+    /**
+     * Generate a batch of mazes and stream them as newline-delimited JSON, one {@code {"index", "seed", "svg"}} object
+     * per maze, in the order they finish.
+     */
+    @POST
+    @Produces(MimeTypes.APPLICATION_NDJSON)
+    @RolesAllowed(Roles.USER)
+    @Operation(
+            summary = "Generate mazes",
+            description = "Generate a batch of mazes in parallel and stream each one as a JSON line as it finishes."
+                    + " Lines arrive in completion order; each carries its index in the batch and its seed.")
+    public Response generateBatch(MazeBatchRequest request, @Context HttpServerResponse httpResponse) {
+        List<MazeGenerationConfig> configs;
+        try {
+            configs = toConfigs(request);
+            mazeBatchService.validate(configs);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+
+        StreamingOutput stream = StreamingResponses.abortOnFailure(httpResponse, "maze batch", output -> {
+            try {
+                mazeBatchService.generate(configs, page -> {
+                    try {
+                        output.write(objectMapper.writeValueAsBytes(page));
+                        output.write('\n');
+                        output.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+        return Response.ok(stream).header(MimeTypes.HEADER_CONTENT_TYPE, MimeTypes.APPLICATION_NDJSON).build();
+    }
+
+    /** Generate a batch of mazes as one PDF with a page per maze, in request order. */
+    @POST
+    @Path("/pdf")
+    @Produces(MimeTypes.APPLICATION_PDF)
+    @RolesAllowed(Roles.USER)
+    @Operation(
+            summary = "Generate a maze book PDF",
+            description = "Generate a batch of mazes in parallel and return them as one PDF, a page per maze.")
+    public Response generateBatchPdf(MazeBatchRequest request) {
+        byte[] pdf;
+        try {
+            List<MazeGenerationConfig> configs = toConfigs(request);
+            String title = request.title != null && !request.title.isBlank() ? request.title : DEFAULT_PDF_TITLE;
+            pdf = mazeBatchService.generatePdf(configs, title);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+
+        return Response.ok(pdf).header(MimeTypes.HEADER_CONTENT_TYPE, MimeTypes.APPLICATION_PDF)
+                .header(MimeTypes.HEADER_CONTENT_DISPOSITION, MimeTypes.DISPOSITION_ATTACHMENT_PREFIX + "mazes.pdf\"")
+                .build();
+    }
+
+    /**
+     * One configuration per requested seed, or {@code count} configurations with random seeds.
+     *
+     * @throws IllegalArgumentException
+     *             If the request is missing, names an unknown algorithm or an invalid color, or asks for no mazes
+     */
+    static List<MazeGenerationConfig> toConfigs(MazeBatchRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request is required");
+        }
+        MazeGenerationConfig template = new MazeGenerationConfig(
+                request.mazeType != null ? request.mazeType : MazeType.ORTHOGONAL,
+                request.size != null ? request.size : 10, request.difficulty != null ? request.difficulty : 3, null,
+                Boolean.TRUE.equals(request.showSolution),
+                color("innerWallColor", request.innerWallColor, DEFAULT_WALL_COLOR),
+                color("outerWallColor", request.outerWallColor, DEFAULT_WALL_COLOR),
+                color("pathColor", request.pathColor, DEFAULT_PATH_COLOR), Boolean.TRUE.equals(request.showDeadEnds),
+                color("deadEndColor", request.deadEndColor, null),
+                MazeAlgorithm.forName(request.algorithm));
+
+        if (request.seeds != null && !request.seeds.isEmpty()) {
+            return MazeBatchService.withSeeds(template, request.seeds);
+        }
+        int count = request.count != null ? request.count : 0;
+        if (count <= 0) {
+            throw new IllegalArgumentException("Either seeds or a positive count is required");
+        }
+        // Null seeds are replaced with random ones by the batch service
+        return Collections.nCopies(count, template);
+    }
+
+    /**
+     * The requested color, or {@code defaultValue} if none is given.
+     *
+     * @throws IllegalArgumentException
+     *             If the color is neither a hex code nor a color name
+     */
+    private static String color(String field, String value, String defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        if (!COLOR_PATTERN.matcher(value).matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid " + field + ": must be a hex color code (e.g., #FF5733 or #ABC) or a color name");
+        }
+        return value;
+    }
+
+    private static Response badRequest(IllegalArgumentException e) {
+        LOG.warnf("Invalid maze batch request: %s", e.getMessage());
+        return Response.status(Response.Status.BAD_REQUEST).type(MediaType.TEXT_PLAIN).entity(e.getMessage()).build();
+    }
+}
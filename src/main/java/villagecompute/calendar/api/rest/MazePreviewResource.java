@@ -0,0 +1,62 @@
+package villagecompute.calendar.api.rest;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.MazePreviewCache;
+import villagecompute.calendar.services.MazePreviewCache.Preview;
+import villagecompute.calendar.services.MazePreviewCache.PreviewKey;
+import villagecompute.calendar.util.MimeTypes;
+
+/**
+ * REST resource serving maze previews as cacheable SVG images. Previews use a fixed seed, so each combination of
+ * parameters has a strong ETag (a hash of the SVG) and browsers can reuse a preview they have already shown.
+ */
+@Path("/mazes/preview")
+@Tag(
+        name = "Mazes",
+        description = "Maze previews")
+public class MazePreviewResource {
+
+    // The ETag is a hash of the SVG, so after a renderer change the daily revalidation picks up the new preview
+    private static final String PREVIEW_CACHE_CONTROL = "public, max-age=86400";
+
+    @Inject
+    MazePreviewCache mazePreviewCache;
+
+    /** Preview SVG for the given maze parameters. Same result as the {@code mazePreview} GraphQL query. */
+    @GET
+    @Produces(MimeTypes.IMAGE_SVG)
+    @Operation(
+            summary = "Maze preview",
+            description = "Preview SVG for the given maze parameters, with an ETag for conditional requests.")
+    public Response getPreview(@QueryParam("type") @DefaultValue("ORTHOGONAL") MazeType type,
+            @QueryParam("size") @DefaultValue("10") int size,
+            @QueryParam("difficulty") @DefaultValue("3") int difficulty,
+            @QueryParam("showSolution") @DefaultValue("false") boolean showSolution,
+            @QueryParam("showDeadEnds") @DefaultValue("false") boolean showDeadEnds, @Context Request request) {
+        PreviewKey key = PreviewKey.of(type, size, difficulty, showSolution, showDeadEnds);
+        Preview preview = mazePreviewCache.getPreview(key);
+
+        EntityTag etag = new EntityTag(preview.etag());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.tag(etag).header(MimeTypes.HEADER_CACHE_CONTROL, PREVIEW_CACHE_CONTROL).build();
+        }
+
+        return Response.ok(preview.svg()).tag(etag)
+                .header(MimeTypes.HEADER_CACHE_CONTROL, PREVIEW_CACHE_CONTROL).build();
+    }
+}
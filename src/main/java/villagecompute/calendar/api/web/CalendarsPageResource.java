@@ -2,6 +2,7 @@ package villagecompute.calendar.api.web;
 
 import static villagecompute.calendar.util.MimeTypes.*;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
@@ -16,6 +17,7 @@ import org.jboss.logging.Logger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import villagecompute.calendar.data.models.CalendarTemplate;
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.services.CalendarRenderingService;
 import villagecompute.calendar.services.PDFRenderingService;
 import villagecompute.calendar.types.CalendarConfigType;
@@ -25,6 +27,7 @@ import io.quarkus.vertx.web.Route;
 import io.quarkus.vertx.web.RouteBase;
 import io.smallrye.common.annotation.Blocking;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
 /**
@@ -150,10 +153,7 @@ public class CalendarsPageResource {
                 return;
             }
 
-            String svgContent = generateSvgForTemplate(calendar);
-
-            rc.response().putHeader(HEADER_CONTENT_TYPE, "image/svg+xml")
-                    .putHeader("Cache-Control", "public, max-age=3600").end(svgContent);
+            streamSvgForTemplate(rc, calendar);
             return;
         }
 
@@ -182,6 +182,9 @@ public class CalendarsPageResource {
 
                 rc.response().putHeader(HEADER_CONTENT_TYPE, "image/png")
                         .putHeader("Cache-Control", "public, max-age=3600").end(Buffer.buffer(pngBytes));
+            } catch (RenderRejectedException e) {
+                rc.response().setStatusCode(429)
+                        .putHeader(HEADER_RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).end(e.getMessage());
             } catch (Exception e) {
                 LOG.errorf(e, "Failed to generate PNG for calendar: %s", slug);
                 rc.response().setStatusCode(500).end("Failed to generate PNG");
@@ -193,6 +196,28 @@ public class CalendarsPageResource {
         rc.response().setStatusCode(404).end(ASSET_NOT_FOUND);
     }
 
+    /** Stream the SVG for a calendar template as a chunked response, one month row at a time. */
+    private void streamSvgForTemplate(RoutingContext rc, CalendarTemplate template) {
+        int year = LocalDate.now().getYear() + 1;
+        CalendarConfigType config = buildConfigFromTemplate(template, year);
+
+        HttpServerResponse response = rc.response().putHeader(HEADER_CONTENT_TYPE, "image/svg+xml")
+                .putHeader("Cache-Control", "public, max-age=3600");
+        ChunkedResponseOutputStream out = new ChunkedResponseOutputStream(response);
+        try {
+            calendarRenderingService.writeCalendarSVG(config, out);
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            LOG.errorf(e, "Failed to stream SVG for calendar: %s", template.slug);
+            if (!response.headWritten()) {
+                response.setChunked(false).setStatusCode(500).end("Failed to generate SVG");
+            } else if (!response.closed()) {
+                // Part of the SVG is already out, so drop the connection rather than end with a truncated document
+                response.reset();
+            }
+        }
+    }
+
     /** Generate SVG from a calendar template using CalendarRenderingService. */
     private String generateSvgForTemplate(CalendarTemplate template) {
         int year = LocalDate.now().getYear() + 1;
@@ -0,0 +1,114 @@
+package villagecompute.calendar.api.web;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Blocking {@link OutputStream} over a chunked Vert.x response, for routes that run on a worker thread. Bytes are
+ * collected into a fixed buffer and written as one chunk when it fills or on {@link #flush()}; {@link #close()} ends the
+ * response. When the connection's write queue is full the writer waits for it to drain, so a slow client holds back
+ * the renderer instead of the whole document piling up in memory.
+ */
+final class ChunkedResponseOutputStream extends OutputStream {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final long DRAIN_POLL_MILLIS = 500;
+
+    private final HttpServerResponse response;
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int count;
+    private boolean closed;
+
+    ChunkedResponseOutputStream(HttpServerResponse response) {
+        this.response = response.setChunked(true);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            writeChunk();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            if (count == buffer.length) {
+                writeChunk();
+            }
+            int copied = Math.min(length, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeChunk();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        writeChunk();
+        closed = true;
+        response.end();
+    }
+
+    private void writeChunk() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (response.closed()) {
+            throw new IOException("Client closed the connection");
+        }
+        // The buffer is reused, so the chunk needs its own copy
+        response.write(Buffer.buffer(count).appendBytes(buffer, 0, count));
+        count = 0;
+        awaitDrain();
+    }
+
+    private void awaitDrain() throws IOException {
+        if (!response.writeQueueFull()) {
+            return;
+        }
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        response.drainHandler(v -> drained.complete(null));
+        // The queue may have drained before the handler was registered; a closed connection never drains
+        while (response.writeQueueFull() && !drained.isDone()) {
+            if (response.closed()) {
+                throw new IOException("Client closed the connection");
+            }
+            try {
+                drained.get(DRAIN_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the client");
+            } catch (ExecutionException | TimeoutException e) {
+                // Check the connection again and keep waiting
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
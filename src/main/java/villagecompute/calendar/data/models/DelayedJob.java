@@ -1,5 +1,6 @@
 package villagecompute.calendar.data.models;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -23,13 +24,19 @@ import io.quarkus.panache.common.Parameters;
                 FROM DelayedJob
                 WHERE runAt <= :now
                 AND complete = false
-                AND locked = false
+                AND (locked = false OR lockedAt < :staleBefore)
                 ORDER BY priority DESC, runAt ASC
                 """)
 public class DelayedJob extends DefaultPanacheEntityWithTimestamps {
 
     public static final String QUERY_FIND_READY_TO_RUN = "DelayedJob.findReadyToRun";
 
+    /**
+     * How long a committed lock is honoured. Handlers that run outside a transaction commit the lock first; if the
+     * worker dies mid-run, the job becomes available again once its lock is this old.
+     */
+    public static final Duration LOCK_TIMEOUT = Duration.ofMinutes(30);
+
     @Column(
             nullable = false)
     public Integer priority = 0;
@@ -127,6 +134,8 @@ public class DelayedJob extends DefaultPanacheEntityWithTimestamps {
      * @return List of ready jobs
      */
     public static List<DelayedJob> findReadyToRun(int limit) {
-        return find("#" + QUERY_FIND_READY_TO_RUN, Parameters.with("now", Instant.now())).range(0, limit - 1).list();
+        Instant now = Instant.now();
+        return find("#" + QUERY_FIND_READY_TO_RUN,
+                Parameters.with("now", now).and("staleBefore", now.minus(LOCK_TIMEOUT))).range(0, limit - 1).list();
     }
 }
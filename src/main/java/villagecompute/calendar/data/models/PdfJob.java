@@ -0,0 +1,151 @@
+package villagecompute.calendar.data.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
+
+/**
+ * Asynchronous PDF generation job for a calendar. Created by the generatePdf mutation and processed by
+ * PdfGenerationJobHandler through the delayed job queue; clients poll the pdfJob query until the status is DONE or
+ * FAILED.
+ */
+@Entity
+@Table(
+        name = "pdf_jobs",
+        indexes = {@Index(
+                name = "idx_pdf_jobs_calendar",
+                columnList = "calendar_id, created DESC"),
+                @Index(
+                        name = "idx_pdf_jobs_user",
+                        columnList = "user_id, created DESC")})
+public class PdfJob extends DefaultPanacheEntityWithTimestamps {
+
+    @ManyToOne(
+            fetch = FetchType.LAZY,
+            optional = false)
+    @JoinColumn(
+            name = "calendar_id",
+            nullable = false,
+            foreignKey = @ForeignKey(
+                    name = "fk_pdf_jobs_calendar"))
+    public UserCalendar calendar;
+
+    /** User who requested the PDF; only they (or an admin) can see the job. */
+    @ManyToOne(
+            fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "user_id",
+            foreignKey = @ForeignKey(
+                    name = "fk_pdf_jobs_user"))
+    public CalendarUser user;
+
+    @NotNull @Enumerated(EnumType.STRING)
+    @Column(
+            nullable = false,
+            length = 20)
+    public PdfJobStatus status = PdfJobStatus.PENDING;
+
+    /** Whether a preview watermark is drawn over the calendar (for non-paying users). */
+    @Column(
+            name = "include_watermark",
+            nullable = false)
+    public boolean includeWatermark;
+
+    /**
+     * Number of rendering attempts that reached an outcome or were interrupted. An attempt requeued because the
+     * renderer was busy does not count.
+     */
+    @NotNull @Column(
+            nullable = false)
+    public Integer attempts = 0;
+
+    /** Public URL of the generated PDF, set once the job is DONE. */
+    @Size(
+            max = 500)
+    @Column(
+            name = "pdf_url",
+            length = 500)
+    public String pdfUrl;
+
+    /** Error from the last failed attempt. */
+    @Column(
+            name = "error_message",
+            columnDefinition = "TEXT")
+    public String errorMessage;
+
+    @Column(
+            name = "started_at")
+    public Instant startedAt;
+
+    @Column(
+            name = "completed_at")
+    public Instant completedAt;
+
+    /**
+     * Create and persist a PENDING job.
+     *
+     * @param calendar
+     *            Calendar to render
+     * @param user
+     *            User requesting the PDF
+     * @param includeWatermark
+     *            Whether to draw the preview watermark
+     * @return Persisted job
+     */
+    public static PdfJob create(UserCalendar calendar, CalendarUser user, boolean includeWatermark) {
+        PdfJob job = new PdfJob();
+        job.calendar = calendar;
+        job.user = user;
+        job.includeWatermark = includeWatermark;
+        job.persist();
+        return job;
+    }
+
+    /** Record the start of a rendering attempt. */
+    public void markRunning() {
+        if (status == PdfJobStatus.RUNNING) {
+            // The previous attempt was interrupted (e.g. by a restart) before it recorded an outcome
+            attempts++;
+        }
+        status = PdfJobStatus.RUNNING;
+        startedAt = Instant.now();
+        errorMessage = null;
+    }
+
+    /** Record a successful upload. */
+    public void markDone(String url) {
+        status = PdfJobStatus.DONE;
+        attempts++;
+        pdfUrl = url;
+        completedAt = Instant.now();
+    }
+
+    /** Record a failed attempt that will be retried. */
+    public void markRetrying(String error) {
+        status = PdfJobStatus.PENDING;
+        attempts++;
+        errorMessage = error;
+    }
+
+    /** Put a job that could not start rendering back in the queue without counting an attempt. */
+    public void markRequeued(String reason) {
+        status = PdfJobStatus.PENDING;
+        errorMessage = reason;
+    }
+
+    /** Record a permanent failure. */
+    public void markFailed(String error) {
+        status = PdfJobStatus.FAILED;
+        attempts++;
+        errorMessage = error;
+        completedAt = Instant.now();
+    }
+
+    public boolean isFinished() {
+        return status == PdfJobStatus.DONE || status == PdfJobStatus.FAILED;
+    }
+}
@@ -87,7 +87,8 @@ public class UserMaze extends DefaultPanacheEntityWithTimestamps {
     public Long seed;
 
     /**
-     * Additional configuration options stored as JSON. Examples: showSolution, cellSize, wallThickness, colors
+     * Additional configuration options stored as JSON. Examples: showSolution, cellSize, wallThickness, colors,
+     * algorithm
      */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(
@@ -0,0 +1,28 @@
+package villagecompute.calendar.data.models.enums;
+
+/**
+ * Status of an asynchronous PDF generation job.
+ *
+ * <p>
+ * Status flow:
+ *
+ * <pre>
+ * PENDING -> RUNNING -> DONE
+ *    ^          |
+ *    |          v
+ *    +------ (retry) -> FAILED
+ * </pre>
+ */
+public enum PdfJobStatus {
+    /** Job created and waiting for a worker, or waiting to be retried. */
+    PENDING,
+
+    /** PDF is being rendered and uploaded. */
+    RUNNING,
+
+    /** PDF uploaded; the job's pdfUrl points to it. */
+    DONE,
+
+    /** Rendering or upload failed permanently (error details in errorMessage). */
+    FAILED
+}
@@ -16,6 +16,17 @@ import io.quarkus.hibernate.orm.panache.PanacheRepository;
 @ApplicationScoped
 public class UserCalendarRepository implements PanacheRepository<UserCalendar> {
 
+    /**
+     * Find a calendar by its UUID.
+     *
+     * @param id
+     *            Calendar ID
+     * @return Optional containing the calendar if found
+     */
+    public Optional<UserCalendar> findCalendarById(UUID id) {
+        return find("id", id).firstResultOptional();
+    }
+
     /**
      * Find calendars by authenticated user and year. This is the required custom query method from the task
      * specification.
@@ -0,0 +1,19 @@
+package villagecompute.calendar.exceptions;
+
+/**
+ * Exception thrown when the render executor is saturated and cannot accept another job. Mapped to HTTP 429 with a
+ * Retry-After header.
+ */
+public class RenderRejectedException extends RenderingException {
+
+    private final long retryAfterSeconds;
+
+    public RenderRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,328 @@
+package villagecompute.calendar.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import villagecompute.calendar.types.HolidayType;
+
+/**
+ * Holiday and astronomical data for a range of years in one payload, so the calendar editor can fetch everything it
+ * needs for the years a user scrolls through with a single request instead of one per year, set and date.
+ *
+ * <p>
+ * Each year is computed as its own task on a dedicated fork-join pool. The payload is columnar: every table is a set
+ * of parallel arrays keyed by day of the year (1-based), which keeps the JSON small when sunrise and sunset are
+ * included for every day. All of the data is a pure function of the query and the code computing it, so
+ * {@link #etag(AlmanacQuery)} can answer conditional requests from the query and the {@link BuildInfo build id}
+ * without computing anything.
+ */
+@ApplicationScoped
+public class AlmanacService {
+
+    private static final Logger LOG = Logger.getLogger(AlmanacService.class);
+
+    /** Earliest and latest years that can be requested. */
+    public static final int MIN_YEAR = 1900;
+    public static final int MAX_YEAR = 2200;
+
+    /** Maximum number of years in one request. */
+    public static final int MAX_YEARS = 25;
+
+    @Inject
+    HolidayService holidayService;
+
+    @Inject
+    AstronomicalCalculationService astronomicalService;
+
+    /** Worker threads for per-year computation; 0 uses one per available processor. */
+    @ConfigProperty(
+            name = "calendar.almanac.parallelism",
+            defaultValue = "0")
+    int parallelism;
+
+    @Inject
+    BuildInfo buildInfo;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        LOG.infof("Almanac pool started with parallelism %d", threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Validate and normalize a request. Years default to the current year, holiday sets are mapped to their canonical
+     * names with unknown sets and repeats dropped, and comma-separated set lists are split.
+     *
+     * @param fromYear
+     *            First year, or null for the current year
+     * @param toYear
+     *            Last year (inclusive), or null for {@code fromYear}
+     * @param setIds
+     *            Holiday set IDs, each of which may be a comma-separated list; may be null
+     * @param latitude
+     *            Latitude for sunrise and sunset, or null to leave them out
+     * @param longitude
+     *            Longitude for sunrise and sunset; required if and only if latitude is given
+     * @return The normalized query
+     * @throws IllegalArgumentException
+     *             If the years or coordinates are out of range
+     */
+    public AlmanacQuery query(Integer fromYear, Integer toYear, Collection<String> setIds, Double latitude,
+            Double longitude) {
+        int from = fromYear != null ? fromYear : LocalDate.now().getYear();
+        int to = toYear != null ? toYear : from;
+        if (from < MIN_YEAR || to > MAX_YEAR) {
+            throw new IllegalArgumentException("Years must be between " + MIN_YEAR + " and " + MAX_YEAR);
+        }
+        if (to < from) {
+            throw new IllegalArgumentException("toYear must not be before fromYear");
+        }
+        if (to - from + 1 > MAX_YEARS) {
+            throw new IllegalArgumentException("At most " + MAX_YEARS + " years can be requested at once");
+        }
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (latitude != null && (Math.abs(latitude) > 90 || Math.abs(longitude) > 180)) {
+            throw new IllegalArgumentException("latitude must be within ±90 and longitude within ±180");
+        }
+
+        LinkedHashSet<String> sets = new LinkedHashSet<>();
+        if (setIds != null) {
+            for (String setList : setIds) {
+                for (String setId : setList.split(",")) {
+                    String set = setId.isBlank() ? null : holidayService.canonicalSet(setId.trim());
+                    if (set != null) {
+                        sets.add(set);
+                    }
+                }
+            }
+        }
+        return new AlmanacQuery(from, to, List.copyOf(sets), latitude, longitude);
+    }
+
+    /**
+     * Strong entity tag for a query's payload: SHA-256 over the build id and the normalized query. A change to the
+     * holiday or astronomy code ships with a new build id, so clients holding the old payload get it again.
+     *
+     * @param query
+     *            Query from {@link #query}
+     * @return Hex digest
+     */
+    public String etag(AlmanacQuery query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buildInfo.id().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(query.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Compute the data for every year of a query, one fork-join task per year.
+     *
+     * @param query
+     *            Query from {@link #query}
+     * @return The payload, with years in ascending order
+     */
+    public Almanac getAlmanac(AlmanacQuery query) {
+        long start = System.nanoTime();
+
+        List<ForkJoinTask<AlmanacYear>> tasks = new ArrayList<>();
+        for (int year = query.fromYear(); year <= query.toYear(); year++) {
+            int taskYear = year;
+            tasks.add(pool.submit(() -> buildYear(taskYear, query)));
+        }
+
+        Almanac almanac = new Almanac();
+        almanac.fromYear = query.fromYear();
+        almanac.toYear = query.toYear();
+        almanac.holidaySets = query.holidaySets();
+        almanac.latitude = query.latitude();
+        almanac.longitude = query.longitude();
+        almanac.years = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<AlmanacYear> task : tasks) {
+            almanac.years.add(task.join());
+        }
+
+        LOG.debugf("Almanac for %d-%d (%d sets, location %s) computed in %d ms", query.fromYear(), query.toYear(),
+                query.holidaySets().size(), query.latitude() != null ? "yes" : "no",
+                (System.nanoTime() - start) / 1_000_000);
+        return almanac;
+    }
+
+    private AlmanacYear buildYear(int year, AlmanacQuery query) {
+        AlmanacYear data = new AlmanacYear();
+        data.year = year;
+        data.holidays = buildHolidays(year, query.holidaySets());
+        data.moonPhases = buildMoonPhases(year);
+        data.seasons = buildSeasons(year);
+        if (query.latitude() != null) {
+            data.sun = buildSun(year, query.latitude(), query.longitude());
+        }
+        return data;
+    }
+
+    private HolidayColumns buildHolidays(int year, List<String> sets) {
+        // Sorted by day, then by the set's position in the query
+        TreeMap<Long, HolidayType> rows = new TreeMap<>();
+        for (int set = 0; set < sets.size(); set++) {
+            for (Map.Entry<LocalDate, HolidayType> entry : holidayService.getHolidays(year, sets.get(set))
+                    .entrySet()) {
+                if (entry.getKey().getYear() == year) {
+                    rows.put((long) entry.getKey().getDayOfYear() << 16 | set, entry.getValue());
+                }
+            }
+        }
+
+        HolidayColumns columns = new HolidayColumns(rows.size());
+        int row = 0;
+        for (Map.Entry<Long, HolidayType> entry : rows.entrySet()) {
+            columns.day[row] = (int) (entry.getKey() >>> 16);
+            columns.set[row] = (int) (entry.getKey() & 0xFFFF);
+            columns.name[row] = entry.getValue().name;
+            columns.emoji[row] = entry.getValue().emoji;
+            row++;
+        }
+        return columns;
+    }
+
+    private PhaseColumns buildMoonPhases(int year) {
+        List<AstronomicalCalculationService.MoonPhaseData> phases = astronomicalService.getMoonPhases(year);
+        PhaseColumns columns = new PhaseColumns(phases.size());
+        for (int row = 0; row < phases.size(); row++) {
+            columns.day[row] = phases.get(row).date.getDayOfYear();
+            columns.phase[row] = phases.get(row).phase.name();
+        }
+        return columns;
+    }
+
+    private SeasonColumns buildSeasons(int year) {
+        List<AstronomicalCalculationService.SeasonalEvent> events = astronomicalService.calculateSeasonalEvents(year);
+        SeasonColumns columns = new SeasonColumns(events.size());
+        for (int row = 0; row < events.size(); row++) {
+            columns.day[row] = events.get(row).date.getDayOfYear();
+            columns.type[row] = events.get(row).type.name();
+        }
+        return columns;
+    }
+
+    private SunColumns buildSun(int year, double latitude, double longitude) {
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        SunColumns columns = new SunColumns(firstDay.lengthOfYear());
+        for (int day = 0; day < columns.rise.length; day++) {
+            AstronomicalCalculationService.SunriseSunset times = astronomicalService
+                    .getSunriseSunset(firstDay.plusDays(day), latitude, longitude);
+            columns.rise[day] = times.sunrise;
+            columns.set[day] = times.sunset;
+        }
+        return columns;
+    }
+
+    // Data classes
+
+    /** Normalized request; its string form is part of the entity tag. */
+    public record AlmanacQuery(int fromYear, int toYear, List<String> holidaySets, Double latitude,
+            Double longitude) {
+    }
+
+    public static class Almanac {
+        public int fromYear;
+        public int toYear;
+        public List<String> holidaySets; // canonical names; HolidayColumns.set indexes into this list
+        public Double latitude;
+        public Double longitude;
+        public List<AlmanacYear> years;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AlmanacYear {
+        public int year;
+        public HolidayColumns holidays;
+        public PhaseColumns moonPhases;
+        public SeasonColumns seasons;
+        public SunColumns sun; // only when a location was given
+    }
+
+    /** One row per holiday per set. */
+    public static class HolidayColumns {
+        public final int[] day;
+        public final int[] set;
+        public final String[] name;
+        public final String[] emoji;
+
+        HolidayColumns(int rows) {
+            day = new int[rows];
+            set = new int[rows];
+            name = new String[rows];
+            emoji = new String[rows];
+        }
+    }
+
+    /** One row per major phase transition. */
+    public static class PhaseColumns {
+        public final int[] day;
+        public final String[] phase; // AstronomicalCalculationService.MoonPhase names
+
+        PhaseColumns(int rows) {
+            day = new int[rows];
+            phase = new String[rows];
+        }
+    }
+
+    /** One row per equinox or solstice. */
+    public static class SeasonColumns {
+        public final int[] day;
+        public final String[] type; // AstronomicalCalculationService.SeasonalEventType names
+
+        SeasonColumns(int rows) {
+            day = new int[rows];
+            type = new String[rows];
+        }
+    }
+
+    /** Sunrise and sunset (UTC, HH:mm) for every day of the year, indexed by day of year - 1; null if none. */
+    public static class SunColumns {
+        public final String[] rise;
+        public final String[] set;
+
+        SunColumns(int days) {
+            rise = new String[days];
+            set = new String[days];
+        }
+    }
+}
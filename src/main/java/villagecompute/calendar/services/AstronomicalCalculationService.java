@@ -2,6 +2,7 @@ package villagecompute.calendar.services;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +15,7 @@ import org.shredzone.commons.suncalc.SunTimes;
 
 import villagecompute.calendar.util.astronomical.HebrewCalendarConverter;
 import villagecompute.calendar.util.astronomical.MoonPhaseCalculator;
+import villagecompute.calendar.util.astronomical.SeasonalEventCalculator;
 
 /**
  * Service for astronomical calculations including moon phases, illumination, Hebrew calendar dates, and seasonal
@@ -190,91 +192,41 @@ public class AstronomicalCalculationService {
     }
 
     /**
-     * Calculate seasonal events (equinoxes and solstices) for a given year using SunCalc. Returns dates for spring
-     * equinox, summer solstice, autumn equinox, and winter solstice.
+     * Calculate seasonal events (equinoxes and solstices) for a given year, with dates in UTC.
      *
      * @param year
      *            The year to calculate seasonal events for
      * @return List of SeasonalEvent objects
      */
     public List<SeasonalEvent> calculateSeasonalEvents(int year) {
-        List<SeasonalEvent> events = new ArrayList<>();
-
-        // For latitude/longitude, use a reference point (e.g., GMT 0,0)
-        // Seasonal events are astronomical and occur at specific moments globally
-        double refLatitude = 51.5; // London
-        double refLongitude = 0.0;
-
-        // Calculate Spring Equinox (around March 20)
-        LocalDate springEquinoxDate = findEquinoxOrSolstice(year, 3, 19, 22, refLatitude, refLongitude);
-        events.add(new SeasonalEvent(springEquinoxDate, "Spring Equinox", SeasonalEventType.SPRING_EQUINOX));
-
-        // Calculate Summer Solstice (around June 21)
-        LocalDate summerSolsticeDate = findSolstice(year, 6, 20, 22, refLatitude, refLongitude, true);
-        events.add(new SeasonalEvent(summerSolsticeDate, "Summer Solstice", SeasonalEventType.SUMMER_SOLSTICE));
-
-        // Calculate Autumn Equinox (around September 22)
-        LocalDate autumnEquinoxDate = findEquinoxOrSolstice(year, 9, 21, 24, refLatitude, refLongitude);
-        events.add(new SeasonalEvent(autumnEquinoxDate, "Autumn Equinox", SeasonalEventType.AUTUMN_EQUINOX));
-
-        // Calculate Winter Solstice (around December 21)
-        LocalDate winterSolsticeDate = findSolstice(year, 12, 20, 23, refLatitude, refLongitude, false);
-        events.add(new SeasonalEvent(winterSolsticeDate, "Winter Solstice", SeasonalEventType.WINTER_SOLSTICE));
-
-        return events;
+        return calculateSeasonalEvents(year, ZoneOffset.UTC);
     }
 
-    /** Find the exact date of an equinox by searching for equal day/night. */
-    private LocalDate findEquinoxOrSolstice(int year, int month, int startDay, int endDay, double latitude,
-            double longitude) {
-        // Simple search: find the day with closest to 12 hours of daylight
-        LocalDate closestDate = LocalDate.of(year, month, startDay);
-        long closestDiff = Long.MAX_VALUE;
-
-        for (int day = startDay; day <= endDay; day++) {
-            LocalDate date = LocalDate.of(year, month, day);
-            ZonedDateTime zdt = date.atStartOfDay(ZoneId.of("UTC"));
-
-            SunTimes times = SunTimes.compute().on(zdt).at(latitude, longitude).execute();
-
-            if (times.getRise() != null && times.getSet() != null) {
-                long daylightMinutes = java.time.Duration.between(times.getRise(), times.getSet()).toMinutes();
-                long diff = Math.abs(daylightMinutes - 720); // 720 minutes = 12 hours
-
-                if (diff < closestDiff) {
-                    closestDiff = diff;
-                    closestDate = date;
-                }
-            }
-        }
-
-        return closestDate;
+    /**
+     * Calculate seasonal events (equinoxes and solstices) for a given year, with the dates on which they fall in a
+     * time zone. The instants are solved directly with {@link SeasonalEventCalculator} and cached per year.
+     *
+     * @param year
+     *            The year to calculate seasonal events for
+     * @param zone
+     *            Time zone for the event dates
+     * @return List of SeasonalEvent objects, in calendar order
+     */
+    public List<SeasonalEvent> calculateSeasonalEvents(int year, ZoneId zone) {
+        return List.of(
+                seasonalEvent(year, SeasonalEventCalculator.EventType.SPRING_EQUINOX, zone, "Spring Equinox",
+                        SeasonalEventType.SPRING_EQUINOX),
+                seasonalEvent(year, SeasonalEventCalculator.EventType.SUMMER_SOLSTICE, zone, "Summer Solstice",
+                        SeasonalEventType.SUMMER_SOLSTICE),
+                seasonalEvent(year, SeasonalEventCalculator.EventType.AUTUMN_EQUINOX, zone, "Autumn Equinox",
+                        SeasonalEventType.AUTUMN_EQUINOX),
+                seasonalEvent(year, SeasonalEventCalculator.EventType.WINTER_SOLSTICE, zone, "Winter Solstice",
+                        SeasonalEventType.WINTER_SOLSTICE));
     }
 
-    /** Find the exact date of a solstice by searching for maximum/minimum daylight. */
-    private LocalDate findSolstice(int year, int month, int startDay, int endDay, double latitude, double longitude,
-            boolean isSummer) {
-        LocalDate extremeDate = LocalDate.of(year, month, startDay);
-        long extremeDaylight = isSummer ? Long.MIN_VALUE : Long.MAX_VALUE;
-
-        for (int day = startDay; day <= endDay; day++) {
-            LocalDate date = LocalDate.of(year, month, day);
-            ZonedDateTime zdt = date.atStartOfDay(ZoneId.of("UTC"));
-
-            SunTimes times = SunTimes.compute().on(zdt).at(latitude, longitude).execute();
-
-            if (times.getRise() != null && times.getSet() != null) {
-                long daylightMinutes = java.time.Duration.between(times.getRise(), times.getSet()).toMinutes();
-
-                if ((isSummer && daylightMinutes > extremeDaylight)
-                        || (!isSummer && daylightMinutes < extremeDaylight)) {
-                    extremeDaylight = daylightMinutes;
-                    extremeDate = date;
-                }
-            }
-        }
-
-        return extremeDate;
+    private SeasonalEvent seasonalEvent(int year, SeasonalEventCalculator.EventType eventType, ZoneId zone,
+            String name, SeasonalEventType type) {
+        return new SeasonalEvent(SeasonalEventCalculator.getDate(year, eventType, zone), name, type);
     }
 
     // Data classes
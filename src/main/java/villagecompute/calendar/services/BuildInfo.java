@@ -0,0 +1,123 @@
+package villagecompute.calendar.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Identifies the running build, for cache keys and ETags of output that only changes when the code does. The Maven
+ * version is a constant {@code 1.0-SNAPSHOT}, so it cannot tell two deploys apart; a renderer change shipped under it
+ * would keep serving old cached renders and answering 304 to clients holding them.
+ *
+ * <p>
+ * {@code calendar.build-id} (e.g. the git commit, set by CI) is used when present. Otherwise the id is a SHA-256 of the
+ * application's own classes and resources as packaged: the application jar, or the class directory in dev mode and
+ * tests. Any rebuild changes it, which costs a cold cache but never serves stale output.
+ */
+@ApplicationScoped
+public class BuildInfo {
+
+    private static final Logger LOG = Logger.getLogger(BuildInfo.class);
+
+    @ConfigProperty(
+            name = "calendar.build-id")
+    Optional<String> configuredId;
+
+    @ConfigProperty(
+            name = "quarkus.application.version",
+            defaultValue = "dev")
+    String applicationVersion;
+
+    private String id;
+
+    /** A BuildInfo with a fixed id, for wiring services by hand in tests and benchmarks. */
+    static BuildInfo of(String id) {
+        BuildInfo buildInfo = new BuildInfo();
+        buildInfo.id = id;
+        return buildInfo;
+    }
+
+    @PostConstruct
+    void init() {
+        if (configuredId.isPresent() && !configuredId.get().isBlank()) {
+            id = configuredId.get().trim();
+        } else {
+            id = applicationVersion + "+" + fingerprint();
+        }
+        LOG.infof("Build id %s", id);
+    }
+
+    /** The build id. Stable for the life of the process and across restarts of the same build. */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * SHA-256 of the code source this class was loaded from. Falls back to a random id if it cannot be read, so caches
+     * are only shared within the process rather than risk matching another build.
+     */
+    static String fingerprint() {
+        try {
+            CodeSource codeSource = BuildInfo.class.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) {
+                throw new IOException("No code source for " + BuildInfo.class.getName());
+            }
+            return fingerprint(Path.of(codeSource.getLocation().toURI()));
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOG.warnf(e, "Unable to fingerprint the application build, using a per-process build id");
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    /** SHA-256 of a jar, or of the relative paths and contents of every file under a directory. */
+    static String fingerprint(Path location) throws IOException {
+        MessageDigest digest = sha256();
+        if (Files.isDirectory(location)) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(location)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path file : files) {
+                digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                update(digest, file);
+            }
+        } else {
+            update(digest, location);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
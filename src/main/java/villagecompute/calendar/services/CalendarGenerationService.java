@@ -1,9 +1,11 @@
 package villagecompute.calendar.services;
 
+import java.util.Objects;
 import java.util.UUID;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
 
 import org.jboss.logging.Logger;
@@ -11,6 +13,8 @@ import org.jboss.logging.Logger;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.repositories.UserCalendarRepository;
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.services.exceptions.CalendarGenerationException;
 import villagecompute.calendar.services.exceptions.StorageException;
 import villagecompute.calendar.types.CalendarConfigType;
@@ -39,6 +43,9 @@ public class CalendarGenerationService {
     @Inject
     StorageService storageService;
 
+    @Inject
+    UserCalendarRepository userCalendarRepository;
+
     @Inject
     ObjectMapper objectMapper;
 
@@ -46,19 +53,27 @@ public class CalendarGenerationService {
      * Generate a calendar PDF for a given UserCalendar entity.
      *
      * <p>
-     * This method: 1. Loads the template and merges configurations 2. Generates SVG using CalendarService 3. Renders
-     * PDF using PDFRenderingService 4. Uploads to Cloudflare R2 using StorageService 5. Updates
-     * UserCalendar.generatedPdfUrl with the public URL
+     * Rendering and uploading can take several seconds, so the work is split up to avoid holding a database connection
+     * for it: 1. A short transaction loads the calendar and merges template and user configuration 2. SVG generation,
+     * PDF rendering and the upload to Cloudflare R2 run outside any transaction 3. A second short transaction stores
+     * the SVG and public URL on the calendar. If the calendar was modified while it was being rendered, the upload is
+     * deleted and an {@link OptimisticLockException} is thrown so the caller can regenerate from the new
+     * configuration.
+     *
+     * <p>
+     * When called inside an existing transaction both steps join it and the caller keeps its connection for the whole
+     * generation.
      *
      * @param userCalendar
-     *            The UserCalendar entity to generate a PDF for
+     *            The UserCalendar entity to generate a PDF for; its generatedSvg and generatedPdfUrl are updated
      * @return The public URL of the generated PDF
      * @throws CalendarGenerationException
      *             if generation fails
      * @throws StorageException
      *             if upload fails
+     * @throws OptimisticLockException
+     *             if the calendar was modified during generation
      */
-    @Transactional
     public String generateCalendar(UserCalendar userCalendar) {
         if (userCalendar == null) {
             throw new IllegalArgumentException("UserCalendar cannot be null");
@@ -68,22 +83,23 @@ public class CalendarGenerationService {
             throw new IllegalArgumentException("UserCalendar year cannot be null");
         }
 
+        if (userCalendar.id == null) {
+            throw new IllegalArgumentException("UserCalendar must be saved before generation");
+        }
+
         LOG.infof("Generating calendar for UserCalendar ID: %s, Year: %d", userCalendar.id, userCalendar.year);
 
         try {
-            // Step 1: Build configuration by merging template + user configuration
-            CalendarConfigType config = buildCalendarConfig(userCalendar);
+            // Step 1: Load the calendar and build its configuration
+            GenerationSnapshot snapshot = loadForGeneration(userCalendar.id);
 
             // Step 2: Generate SVG
             LOG.debug("Generating SVG...");
-            String svgContent = calendarRenderingService.generateCalendarSVG(config);
-
-            // Optionally store the generated SVG in the UserCalendar entity
-            userCalendar.generatedSvg = svgContent;
+            String svgContent = calendarRenderingService.generateCalendarSVG(snapshot.config());
 
             // Step 3: Render PDF from SVG
             LOG.debug("Rendering PDF from SVG...");
-            byte[] pdfBytes = pdfRenderingService.renderSVGToPDF(svgContent, config.year);
+            byte[] pdfBytes = pdfRenderingService.renderSVGToPDF(svgContent, snapshot.config().year);
 
             if (pdfBytes == null || pdfBytes.length == 0) {
                 throw new CalendarGenerationException("PDF rendering produced empty output");
@@ -93,15 +109,16 @@ public class CalendarGenerationService {
 
             // Step 4: Upload to Cloudflare R2
             LOG.debug("Uploading PDF to Cloudflare R2...");
-            String filename = generatePDFFilename(userCalendar);
-            String publicUrl = storageService.uploadFile(filename, pdfBytes, "application/pdf");
+            String publicUrl = storageService.uploadFile(snapshot.filename(), pdfBytes, "application/pdf");
 
             LOG.infof("PDF uploaded successfully to: %s", publicUrl);
 
-            // Step 5: Update UserCalendar with the generated PDF URL
+            // Step 5: Store the SVG and PDF URL, unless the calendar changed in the meantime
+            saveGeneratedOutput(snapshot, svgContent, publicUrl);
+
+            // Keep the caller's instance in step with the stored calendar
+            userCalendar.generatedSvg = svgContent;
             userCalendar.generatedPdfUrl = publicUrl;
-            // Note: The transaction will automatically persist changes to the entity
-            // No need to call persist() explicitly for managed entities
 
             LOG.infof("Calendar generation complete for UserCalendar ID: %s", userCalendar.id);
 
@@ -110,12 +127,56 @@ public class CalendarGenerationService {
         } catch (StorageException e) {
             LOG.errorf(e, "Failed to upload PDF to R2 for UserCalendar ID: %s", userCalendar.id);
             throw e;
+        } catch (RenderRejectedException | OptimisticLockException e) {
+            // Renderer is saturated or the calendar changed; let the caller retry rather than reporting a failure
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Failed to generate calendar for UserCalendar ID: %s", userCalendar.id);
             throw new CalendarGenerationException("Calendar generation failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Load a calendar and capture everything generation needs from it, including its version for the check in
+     * {@link #saveGeneratedOutput}.
+     */
+    @Transactional
+    GenerationSnapshot loadForGeneration(UUID calendarId) {
+        UserCalendar calendar = userCalendarRepository.findCalendarById(calendarId)
+                .orElseThrow(() -> new CalendarGenerationException("UserCalendar not found: " + calendarId));
+        return new GenerationSnapshot(calendar.id, calendar.version, buildCalendarConfig(calendar),
+                generatePDFFilename(calendar));
+    }
+
+    /**
+     * Store the generated SVG and PDF URL on the calendar if it still has the version it was rendered from. The
+     * version check here covers changes made during rendering; Hibernate's versioned update covers the rest of this
+     * transaction.
+     */
+    @Transactional
+    void saveGeneratedOutput(GenerationSnapshot snapshot, String svgContent, String publicUrl) {
+        UserCalendar calendar = userCalendarRepository.findCalendarById(snapshot.calendarId()).orElse(null);
+        if (calendar == null || !Objects.equals(calendar.version, snapshot.version())) {
+            LOG.warnf("UserCalendar %s changed during generation (version %s -> %s), discarding %s",
+                    snapshot.calendarId(), snapshot.version(), calendar != null ? calendar.version : null, publicUrl);
+            deleteQuietly(publicUrl);
+            throw new OptimisticLockException(
+                    "UserCalendar " + snapshot.calendarId() + " was modified during generation");
+        }
+
+        calendar.generatedSvg = svgContent;
+        calendar.generatedPdfUrl = publicUrl;
+        // The transaction persists changes to the managed entity
+    }
+
+    private void deleteQuietly(String publicUrl) {
+        try {
+            storageService.deleteFile(publicUrl);
+        } catch (RuntimeException e) {
+            LOG.warnf("Failed to delete stale calendar PDF %s: %s", publicUrl, e.getMessage());
+        }
+    }
+
     /**
      * Generate calendar SVG only (without PDF rendering or upload). Uses buildCalendarConfig to properly derive
      * moonDisplayMode -> boolean flags.
@@ -191,4 +252,8 @@ public class CalendarGenerationService {
 
         return String.format("calendar-%s-%d-%s.pdf", prefix, userCalendar.year, uuid);
     }
+
+    /** What generation needs from a calendar, captured in the loading transaction. */
+    record GenerationSnapshot(UUID calendarId, Long version, CalendarConfigType config, String filename) {
+    }
 }
@@ -1,13 +1,18 @@
 package villagecompute.calendar.services;
 
-import java.io.ByteArrayOutputStream;
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -15,19 +20,14 @@ import java.util.Objects;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
-import org.apache.batik.transcoder.SVGAbstractTranscoder;
-import org.apache.batik.transcoder.Transcoder;
-import org.apache.batik.transcoder.TranscoderInput;
-import org.apache.batik.transcoder.TranscoderOutput;
-import org.apache.fop.svg.PDFTranscoder;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.types.CalendarConfigType;
 import villagecompute.calendar.types.CustomDateEntryType;
 import villagecompute.calendar.types.HolidayType;
 import villagecompute.calendar.util.Colors;
+import villagecompute.calendar.util.SvgWriter;
 
 import io.quarkus.logging.Log;
 
@@ -40,6 +40,21 @@ public class CalendarRenderingService {
     @Inject
     EmojiSvgService emojiSvgService;
 
+    @Inject
+    CalendarSvgCache svgCache;
+
+    @Inject
+    PDFRenderingService pdfRenderingService;
+
+    /**
+     * When enabled, each distinct emoji is written once as a {@code <symbol>} and placed with {@code <use>} instead of
+     * inlining its full body in every cell.
+     */
+    @ConfigProperty(
+            name = "calendar.render.emoji-symbols",
+            defaultValue = "false")
+    boolean emojiSymbols;
+
     // ===========================================
     // PRINT DIMENSIONS (in inches)
     // ===========================================
@@ -53,9 +68,6 @@ public class CalendarRenderingService {
     // Printable area (calculated from page size minus margins)
     public static final float PRINTABLE_WIDTH_INCHES = PAGE_WIDTH_INCHES - (2 * MARGIN_INCHES); // 34"
     public static final float PRINTABLE_HEIGHT_INCHES = PAGE_HEIGHT_INCHES - (2 * MARGIN_INCHES); // 22"
-
-    // Points per inch (PDF standard)
-    private static final float POINTS_PER_INCH = 72f;
     // ===========================================
 
     // Event display mode constants
@@ -66,9 +78,9 @@ public class CalendarRenderingService {
     private static final String DISPLAY_MODE_SMALL = "small";
     private static final String DISPLAY_MODE_NONE = "none";
 
-    // SVG text format string for simple centered text
-    private static final String SVG_TEXT_SIMPLE_FORMAT = "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\" font-size=\"%d\""
-            + " fill=\"%s\" font-family=\"Helvetica, Arial, sans-serif\">%s</text>%n";
+    // Font stacks used by the SVG text elements
+    private static final String FONT_HELVETICA = "Helvetica, Arial, sans-serif";
+    private static final String FONT_ARIAL = "Arial, sans-serif";
 
     // SVG closing tag
     private static final String SVG_CLOSE_TAG = "</svg>";
@@ -231,6 +243,8 @@ public class CalendarRenderingService {
      * Render an emoji as either inline SVG (preferred for PDF) or text with font fallback. Uses EmojiSvgService for
      * vector rendering when available.
      *
+     * @param svg
+     *            Output to append the emoji element (either <svg>, <use> or <text>) to
      * @param emoji
      *            The emoji character(s) to render
      * @param x
@@ -243,11 +257,12 @@ public class CalendarRenderingService {
      *            Calendar configuration
      * @param centered
      *            Whether the emoji should be centered at x,y
-     * @return SVG element string (either <svg> or <text>)
+     * @param emojiSymbols
+     *            Symbol library to reference emojis from, or null to inline each emoji
      */
-    private String renderEmoji(String emoji, double x, double y, int size, CalendarConfigType config,
-            boolean centered) {
-        return renderEmoji(emoji, x, y, size, config, centered, null);
+    private void renderEmoji(SvgWriter svg, String emoji, double x, double y, int size, CalendarConfigType config,
+            boolean centered, EmojiSymbolLibrary emojiSymbols) {
+        renderEmoji(svg, emoji, x, y, size, config, centered, null, emojiSymbols);
     }
 
     /**
@@ -256,8 +271,8 @@ public class CalendarRenderingService {
      * @param emojiFontOverride
      *            Optional emojiFont to use instead of config.emojiFont (null to use config default)
      */
-    private String renderEmoji(String emoji, double x, double y, int size, CalendarConfigType config, boolean centered,
-            String emojiFontOverride) {
+    private void renderEmoji(SvgWriter svg, String emoji, double x, double y, int size, CalendarConfigType config,
+            boolean centered, String emojiFontOverride, EmojiSymbolLibrary emojiSymbols) {
         // Use override if provided, otherwise fall back to config
         String effectiveEmojiFont = emojiFontOverride != null ? emojiFontOverride : config.emojiFont;
 
@@ -272,22 +287,23 @@ public class CalendarRenderingService {
             // For SVG, x/y is top-left corner, so adjust if centered
             double svgX = centered ? x - size / 2.0 : x;
             double svgY = centered ? y - size / 2.0 : y - size; // text y is baseline, svg y is top
-            return emojiSvgService.getEmojiAsSvg(emoji, svgX, svgY, size, isMonochrome, colorHex);
+            if (emojiSymbols != null) {
+                emojiSvgService.appendEmojiUse(svg.buffer(), emojiSymbols, emoji, svgX, svgY, size, isMonochrome,
+                        colorHex);
+            } else {
+                emojiSvgService.appendEmojiSvg(svg.buffer(), emoji, svgX, svgY, size, isMonochrome, colorHex);
+            }
+            return;
         }
 
         // Fall back to text rendering with emoji font
         String processedEmoji = substituteEmojiForMonochrome(emoji, effectiveEmojiFont);
         String fontFamily = getEmojiFontFamily(effectiveEmojiFont);
+        svg.begin("text").attr("x", x, 1).attr("y", y, 1).raw(" style=\"font-size: ").num(size).raw("px; ");
         if (centered) {
-            return String.format(
-                    "<text x=\"%.1f\" y=\"%.1f\" style=\"font-size: %dpx; text-anchor: middle;"
-                            + " dominant-baseline: middle; font-family: %s;\">%s</text>",
-                    x, y, size, fontFamily, processedEmoji);
-        } else {
-            return String.format(
-                    "<text x=\"%.1f\" y=\"%.1f\" style=\"font-size: %dpx; font-family:" + " %s;\">%s</text>", x, y,
-                    size, fontFamily, processedEmoji);
+            svg.raw("text-anchor: middle; dominant-baseline: middle; ");
         }
+        svg.raw("font-family: ").raw(fontFamily).raw(";\"").content().raw(processedEmoji).end("text");
     }
 
     /**
@@ -295,6 +311,8 @@ public class CalendarRenderingService {
      * degrees. When not rotated, text is positioned at (x, y) with the specified anchor. Uses inline styles for
      * immediate visual update (no CSS class dependency).
      *
+     * @param svg
+     *            Output to append the text element to
      * @param monthName
      *            The month name to display
      * @param x
@@ -309,22 +327,18 @@ public class CalendarRenderingService {
      *            Text anchor for non-rotated text ("start", "middle", or "end")
      * @param fillColor
      *            The fill color for the text
-     * @return SVG text element string
      */
-    private String renderMonthName(String monthName, int x, int y, int cellWidth, boolean rotated, String textAnchor,
-            String fillColor) {
+    private void renderMonthName(SvgWriter svg, String monthName, int x, int y, int cellWidth, boolean rotated,
+            String textAnchor, String fillColor) {
+        int textX = rotated ? cellWidth / 2 : x;
+        svg.begin("text").attr("x", textX).attr("y", y).attr("fill", fillColor).attr("font-family", FONT_HELVETICA)
+                .attr("font-size", "20px").attr("font-weight", "bold");
         if (rotated) {
-            int centerX = cellWidth / 2;
-            return String.format(
-                    "<text x=\"%d\" y=\"%d\" fill=\"%s\" font-family=\"Helvetica, Arial,"
-                            + " sans-serif\" font-size=\"20px\" font-weight=\"bold\""
-                            + " text-anchor=\"middle\" transform=\"rotate(-90 %d %d)\">%s</text>%n",
-                    centerX, y, fillColor, centerX, y, monthName);
+            svg.attr("text-anchor", "middle").raw(" transform=\"rotate(-90 ").num(textX).raw(' ').num(y).raw(")\"");
         } else {
-            return String.format("<text x=\"%d\" y=\"%d\" fill=\"%s\" font-family=\"Helvetica, Arial,"
-                    + " sans-serif\" font-size=\"20px\" font-weight=\"bold\"" + " text-anchor=\"%s\">%s</text>%n", x, y,
-                    fillColor, textAnchor, monthName);
+            svg.attr("text-anchor", textAnchor);
         }
+        svg.content().raw(monthName).end("text").newline();
     }
 
     /**
@@ -339,15 +353,16 @@ public class CalendarRenderingService {
      *            Cell position and dimensions
      * @param config
      *            Calendar configuration
-     * @return SVG string for holiday content
+     * @param emojiSymbols
+     *            Symbol library to reference emojis from, or null to inline each emoji
      */
-    private String renderHolidayContent(String holidayEmoji, String holidayName, Cell cell, CalendarConfigType config) {
+    private void renderHolidayContent(SvgWriter svg, String holidayEmoji, String holidayName, Cell cell,
+            CalendarConfigType config, EmojiSymbolLibrary emojiSymbols) {
 
         if (DISPLAY_MODE_NONE.equals(config.eventDisplayMode)) {
-            return "";
+            return;
         }
 
-        StringBuilder result = new StringBuilder();
         boolean largeEmoji = DISPLAY_MODE_LARGE.equals(config.eventDisplayMode)
                 || DISPLAY_MODE_LARGE_TEXT.equals(config.eventDisplayMode);
         boolean smallEmoji = DISPLAY_MODE_SMALL.equals(config.eventDisplayMode)
@@ -360,15 +375,15 @@ public class CalendarRenderingService {
             int fontSize = Math.max(16, cell.height() / 3);
             // Position emoji at center
             int emojiY = cell.y() + (int) (cell.height() * 0.50);
-            result.append(renderEmoji(holidayEmoji, emojiX, emojiY, fontSize, config, true));
-            result.append(System.lineSeparator());
+            renderEmoji(svg, holidayEmoji, emojiX, emojiY, fontSize, config, true, emojiSymbols);
+            svg.newline();
         } else if (smallEmoji && !holidayEmoji.isEmpty()) {
             // Small/small-text mode: bottom-left corner, positioned slightly higher to leave room for text
             int emojiX = cell.x() + 5;
             int emojiY = cell.y() + cell.height() - 8;
             int fontSize = Math.max(10, cell.height() / 6);
-            result.append(renderEmoji(holidayEmoji, emojiX, emojiY, fontSize, config, false));
-            result.append(System.lineSeparator());
+            renderEmoji(svg, holidayEmoji, emojiX, emojiY, fontSize, config, false, emojiSymbols);
+            svg.newline();
         }
 
         // Holiday name text for large-text, small-text, and text modes only
@@ -379,11 +394,14 @@ public class CalendarRenderingService {
             int textX = cell.x() + cell.width() / 2;
             int textY = cell.y() + cell.height() - 3;
             int textSize = Math.max(5, cell.width() / 10);
-            result.append(String.format(SVG_TEXT_SIMPLE_FORMAT, textX, textY, textSize, config.holidayColor,
-                    escapeXml(holidayName)));
+            appendCenteredText(svg, textX, textY, textSize, config.holidayColor, escapeXml(holidayName));
         }
+    }
 
-        return result.toString();
+    /** Appends simple centered text, as used for holiday names and event titles. */
+    private void appendCenteredText(SvgWriter svg, int x, int y, int fontSize, String fill, String text) {
+        svg.begin("text").attr("x", x).attr("y", y).attr("text-anchor", "middle").attr("font-size", fontSize)
+                .attr("fill", fill).attr("font-family", FONT_HELVETICA).content().raw(text).end("text").newline();
     }
 
     // =============================================
@@ -395,14 +413,19 @@ public class CalendarRenderingService {
     }
 
     /** Renders the cell background color if needed */
-    private void renderCellBackground(StringBuilder svg, Cell cell, String cellBackground) {
+    private void renderCellBackground(SvgWriter svg, Cell cell, String cellBackground) {
         String pdfSafeColor = convertColorForPDF(cellBackground);
         if (pdfSafeColor != null && !pdfSafeColor.equals("none") && !pdfSafeColor.equals(Colors.WHITE)) {
-            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"%s\"/>%n", cell.x(),
-                    cell.y(), cell.width(), cell.height(), pdfSafeColor));
+            appendCellRect(svg, cell).attr("fill", pdfSafeColor).selfClose().newline();
         }
     }
 
+    /** Starts a {@code <rect>} covering the cell; the caller adds any paint attributes and closes it. */
+    private static SvgWriter appendCellRect(SvgWriter svg, Cell cell) {
+        return svg.begin("rect").attr("x", cell.x()).attr("y", cell.y()).attr("width", cell.width())
+                .attr("height", cell.height());
+    }
+
     /** Determines if moon should be shown based on display mode and date */
     private boolean shouldShowMoon(LocalDate date, CalendarConfigType config) {
         return "illumination".equals(config.moonDisplayMode)
@@ -411,14 +434,14 @@ public class CalendarRenderingService {
     }
 
     /** Renders moon illumination if needed */
-    private void renderMoonIfNeeded(StringBuilder svg, Cell cell, LocalDate date, boolean shouldShowMoon,
+    private void renderMoonIfNeeded(SvgWriter svg, Cell cell, LocalDate date, boolean shouldShowMoon,
             CalendarConfigType config) {
         if (!shouldShowMoon) {
             return;
         }
         int moonX = cell.x() + config.moonOffsetX;
         int moonY = cell.y() + config.moonOffsetY;
-        svg.append(generateMoonIlluminationSVG(date, moonX, moonY, config.latitude, config.longitude, config));
+        appendMoonIllumination(svg, date, moonX, moonY, config.latitude, config.longitude, config);
     }
 
     /** Gets the substituted emoji for a custom date entry */
@@ -480,8 +503,8 @@ public class CalendarRenderingService {
     }
 
     /** Renders custom emoji with positioning based on display settings and customEventDisplayMode */
-    private void renderCustomEmoji(StringBuilder svg, String customEmoji, CustomDateEntryType eventDisplay, Cell cell,
-            CalendarConfigType config) {
+    private void renderCustomEmoji(SvgWriter svg, String customEmoji, CustomDateEntryType eventDisplay, Cell cell,
+            CalendarConfigType config, EmojiSymbolLibrary emojiSymbols) {
         if (customEmoji.isEmpty() || eventDisplay == null) {
             return;
         }
@@ -519,12 +542,12 @@ public class CalendarRenderingService {
             centered = false;
         }
 
-        svg.append(renderEmoji(customEmoji, emojiX, emojiY, fontSize, config, centered, eventEmojiFont));
-        svg.append(System.lineSeparator());
+        renderEmoji(svg, customEmoji, emojiX, emojiY, fontSize, config, centered, eventEmojiFont, emojiSymbols);
+        svg.newline();
     }
 
     /** Renders event title with optional wrapping and rotation based on customEventDisplayMode */
-    private void renderEventTitle(StringBuilder svg, String title, CustomDateEntryType eventDisplay, Cell cell,
+    private void renderEventTitle(SvgWriter svg, String title, CustomDateEntryType eventDisplay, Cell cell,
             CalendarConfigType config) {
         if (title == null || title.isEmpty() || eventDisplay == null) {
             return;
@@ -541,7 +564,7 @@ public class CalendarRenderingService {
     }
 
     /** Renders event title with custom display settings - matching holiday text rendering */
-    private void renderEventTitleWithDisplay(StringBuilder svg, String title, CustomDateEntryType eventDisplay,
+    private void renderEventTitleWithDisplay(SvgWriter svg, String title, CustomDateEntryType eventDisplay,
             Cell cell, CalendarConfigType config) {
         // Match holiday text rendering: centered at bottom of cell
         int textX = cell.x() + cell.width() / 2;
@@ -561,18 +584,18 @@ public class CalendarRenderingService {
     }
 
     /** Renders a short event title on a single line at the bottom of the cell. */
-    private void renderSingleLineEventTitle(StringBuilder svg, String title, Cell cell, int textX, int textSize,
+    private void renderSingleLineEventTitle(SvgWriter svg, String title, Cell cell, int textX, int textSize,
             String textColor) {
         String safeTitle = title == null ? "" : title;
         int textY = cell.y() + cell.height() - 3;
         String escapedTitle = escapeXml(safeTitle);
         // Truncate only if single word is too long
         String displayTitle = safeTitle.length() > 12 ? escapedTitle.substring(0, 11) + "…" : escapedTitle;
-        svg.append(String.format(SVG_TEXT_SIMPLE_FORMAT, textX, textY, textSize, textColor, displayTitle));
+        appendCenteredText(svg, textX, textY, textSize, textColor, displayTitle);
     }
 
     /** Renders a multi-word event title wrapped onto two lines with baseline at bottom. */
-    private void renderWrappedEventTitle(StringBuilder svg, String[] words, Cell cell, int textX, int textSize,
+    private void renderWrappedEventTitle(SvgWriter svg, String[] words, Cell cell, int textX, int textSize,
             int lineHeight, String textColor) {
         WrappedTitle wrapped = wrapEventTitleWords(words);
         String line1 = wrapped.line1();
@@ -616,11 +639,11 @@ public class CalendarRenderingService {
     }
 
     /** Appends a single SVG text line if non-empty. */
-    private void appendTitleLine(StringBuilder svg, String line, int textX, int textY, int textSize, String textColor) {
+    private void appendTitleLine(SvgWriter svg, String line, int textX, int textY, int textSize, String textColor) {
         if (line.isEmpty()) {
             return;
         }
-        svg.append(String.format(SVG_TEXT_SIMPLE_FORMAT, textX, textY, textSize, textColor, escapeXml(line)));
+        appendCenteredText(svg, textX, textY, textSize, textColor, escapeXml(line));
     }
 
     /** Holds the result of distributing words between two title lines. */
@@ -628,7 +651,7 @@ public class CalendarRenderingService {
     }
 
     /** Renders day number in cell */
-    private void renderDayNumber(StringBuilder svg, Cell cell, int day, boolean isHoliday, boolean isCustomDate,
+    private void renderDayNumber(SvgWriter svg, Cell cell, int day, boolean isHoliday, boolean isCustomDate,
             CalendarConfigType config, ThemeColors theme) {
         if (!config.showDayNumbers) {
             return;
@@ -641,14 +664,13 @@ public class CalendarRenderingService {
         } else if (isCustomDate && config.customDateColor != null) {
             dayFill = config.customDateColor;
         }
-        svg.append(String.format(
-                "<text x=\"%d\" y=\"%d\" fill=\"%s\" font-weight=\"%s\""
-                        + " font-family=\"Helvetica, Arial, sans-serif\" font-size=\"12px\">%d</text>%n",
-                cell.x() + 5, cell.y() + 14, dayFill, fontWeight, day));
+        svg.begin("text").attr("x", cell.x() + 5).attr("y", cell.y() + 14).attr("fill", dayFill)
+                .attr("font-weight", fontWeight).attr("font-family", FONT_HELVETICA).attr("font-size", "12px")
+                .content().num(day).end("text").newline();
     }
 
     /** Renders day name abbreviation in cell */
-    private void renderDayName(StringBuilder svg, Cell cell, DayOfWeek dayOfWeek, Locale locale,
+    private void renderDayName(SvgWriter svg, Cell cell, DayOfWeek dayOfWeek, Locale locale,
             CalendarConfigType config, ThemeColors theme) {
         if (!config.showDayNames) {
             return;
@@ -662,21 +684,18 @@ public class CalendarRenderingService {
         int textY = largeMoonEnabled ? cell.y() + 14 : cell.y() + 26; // Top-right same as date, or below date
         String textAnchor = largeMoonEnabled ? "end" : "start";
 
-        svg.append(String.format(
-                "<text x=\"%d\" y=\"%d\" fill=\"%s\" font-family=\"Arial, sans-serif\""
-                        + " font-size=\"8px\" text-anchor=\"%s\">%s</text>%n",
-                textX, textY, dayNameFill, textAnchor, dayName));
+        svg.begin("text").attr("x", textX).attr("y", textY).attr("fill", dayNameFill).attr("font-family", FONT_ARIAL)
+                .attr("font-size", "8px").attr("text-anchor", textAnchor).content().raw(dayName).end("text")
+                .newline();
     }
 
     /** Renders grid lines around cell */
-    private void renderGridLines(StringBuilder svg, Cell cell, CalendarConfigType config) {
+    private void renderGridLines(SvgWriter svg, Cell cell, CalendarConfigType config) {
         if (!config.showGrid) {
             return;
         }
-        svg.append(String.format(
-                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\""
-                        + " stroke=\"%s\" stroke-width=\"1\"/>%n",
-                cell.x(), cell.y(), cell.width(), cell.height(), config.gridLineColor));
+        appendCellRect(svg, cell).attr("fill", "none").attr("stroke", config.gridLineColor).attr("stroke-width", 1)
+                .selfClose().newline();
     }
 
     // =============================================
@@ -684,11 +703,12 @@ public class CalendarRenderingService {
     // =============================================
 
     /**
-     * Context bundle for rendering a single day cell. Groups date, weekday/weekend metadata, locale, and config/theme
-     * to keep helper signatures small.
+     * Context bundle for rendering a single day cell. Groups date, weekday/weekend metadata, locale, config, holidays
+     * and theme to keep helper signatures small.
      */
     private record DayCellContext(LocalDate date, DayOfWeek dayOfWeek, boolean isWeekend, int monthNum,
-            int weekendIndex, Locale locale, CalendarConfigType config, ThemeColors theme) {
+            int weekendIndex, Locale locale, CalendarConfigType config, Map<LocalDate, HolidayType> holidays,
+            ThemeColors theme, EmojiSymbolLibrary emojiSymbols) {
     }
 
     /**
@@ -696,13 +716,13 @@ public class CalendarRenderingService {
      * position based on their own structure, then call this method to render identical day content.
      *
      * @param svg
-     *            StringBuilder to append SVG content to
+     *            Writer to append SVG content to
      * @param cell
      *            Cell position and dimensions
      * @param ctx
      *            Day cell rendering context (date, weekday metadata, locale, config, theme)
      */
-    private void renderDayCell(StringBuilder svg, Cell cell, DayCellContext ctx) {
+    private void renderDayCell(SvgWriter svg, Cell cell, DayCellContext ctx) {
 
         LocalDate date = ctx.date();
         CalendarConfigType config = ctx.config();
@@ -719,7 +739,7 @@ public class CalendarRenderingService {
         renderMoonIfNeeded(svg, cell, date, showMoon, config);
 
         // Check for holidays or custom dates
-        HolidayType holiday = config.holidays.get(date);
+        HolidayType holiday = ctx.holidays().get(date);
         String holidayEmoji = holiday != null && holiday.emoji != null
                 ? substituteEmojiForMonochrome(holiday.emoji, config)
                 : "";
@@ -732,11 +752,11 @@ public class CalendarRenderingService {
         String customEmoji = getCustomEmoji(customEntry, config);
 
         // Holiday emoji/text
-        svg.append(renderHolidayContent(holidayEmoji, holidayName, cell, config));
+        renderHolidayContent(svg, holidayEmoji, holidayName, cell, config, ctx.emojiSymbols());
 
         // Custom emoji - skip if holiday emoji already rendered
         if (holidayEmoji.isEmpty()) {
-            renderCustomEmoji(svg, customEmoji, customEntry, cell, config);
+            renderCustomEmoji(svg, customEmoji, customEntry, cell, config, ctx.emojiSymbols());
         }
 
         // Event title from custom entry
@@ -882,6 +902,11 @@ public class CalendarRenderingService {
                 "#2e7d32", Colors.GRAY_900));
     }
 
+    /** Names of the built-in themes, sorted. */
+    static List<String> themeNames() {
+        return THEMES.keySet().stream().sorted().toList();
+    }
+
     private static class ThemeColors {
         final String text;
         final String background;
@@ -900,21 +925,98 @@ public class CalendarRenderingService {
     }
 
     public String generateCalendarSVG(CalendarConfigType config) {
-        // Populate holidays from holidaySets if provided
-        if (config.holidaySets != null && !config.holidaySets.isEmpty()) {
-            for (String setId : config.holidaySets) {
-                // Get holidays from HolidayService (handles ID mapping internally)
-                Map<LocalDate, HolidayType> setHolidays = holidayService.getHolidays(config.year, setId);
-                config.holidays.putAll(setHolidays);
-            }
+        // Output is a pure function of the config, so identical configs share one render
+        return svgCache.getOrRender(config, () -> renderCalendarSVGUncached(config));
+    }
+
+    /** Render the calendar SVG without the cache, e.g. for warm-up renders that nobody will request again. */
+    String renderCalendarSVGUncached(CalendarConfigType config) {
+        SvgWriter svg = new SvgWriter();
+        renderCalendarSVG(config, resolveHolidays(config), svg);
+        return svg.toString();
+    }
+
+    /**
+     * Write the calendar SVG to a stream as UTF-8. Each month row is flushed as soon as it is rendered, so the response
+     * starts before the whole document exists. The stream is flushed but not closed.
+     */
+    public void writeCalendarSVG(CalendarConfigType config, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeCalendarSVG(config, writer);
+        writer.flush();
+    }
+
+    /**
+     * Write the calendar SVG to a writer, flushing after each month row. A cached render is copied out in chunks; on a
+     * cache miss the render is streamed and kept only if it can be cached once complete.
+     */
+    public void writeCalendarSVG(CalendarConfigType config, Writer out) throws IOException {
+        writeCalendarSVG(config, out, false);
+    }
+
+    /**
+     * Like {@link #writeCalendarSVG(CalendarConfigType, Writer)}, but keeps the whole render even when it is not
+     * cached here, for callers that cache the SVG themselves.
+     *
+     * @return The complete SVG that was written
+     */
+    public String writeAndReturnCalendarSVG(CalendarConfigType config, Writer out) throws IOException {
+        return writeCalendarSVG(config, out, true);
+    }
+
+    private String writeCalendarSVG(CalendarConfigType config, Writer out, boolean returnCopy) throws IOException {
+        String key = svgCache.cacheKey(config);
+        String cached = key != null ? svgCache.lookup(key) : null;
+        if (cached != null) {
+            SvgWriter.copy(cached, out);
+            return cached;
+        }
+
+        SvgWriter svg = new SvgWriter(out, returnCopy || key != null);
+        try {
+            renderCalendarSVG(config, resolveHolidays(config), svg);
+            svg.flush();
+        } catch (UncheckedIOException e) {
+            // The client went away or the stream failed mid-render
+            throw e.getCause();
+        }
+        if (key == null && !returnCopy) {
+            return null;
+        }
+        String rendered = svg.toString();
+        if (key != null) {
+            svgCache.store(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * The holidays to draw: the config's own holidays, overridden by those of its holiday sets. The config is not
+     * modified, so one config can be rendered by several threads at once.
+     */
+    private Map<LocalDate, HolidayType> resolveHolidays(CalendarConfigType config) {
+        Map<LocalDate, HolidayType> holidays = config.holidays != null ? config.holidays : Map.of();
+        if (config.holidaySets == null || config.holidaySets.isEmpty()) {
+            return holidays;
         }
 
+        // Shared, pre-merged table from HolidayService (handles ID mapping internally)
+        Map<LocalDate, HolidayType> setHolidays = holidayService.getHolidays(config.year, config.holidaySets);
+        if (holidays.isEmpty()) {
+            return setHolidays;
+        }
+        Map<LocalDate, HolidayType> merged = new HashMap<>(holidays);
+        merged.putAll(setHolidays);
+        return merged;
+    }
+
+    private void renderCalendarSVG(CalendarConfigType config, Map<LocalDate, HolidayType> holidays, SvgWriter svg) {
         // Choose layout style
         if ("weekday-grid".equals(config.layoutStyle)) {
-            return generateWeekdayGridCalendarSVG(config);
+            generateWeekdayGridCalendarSVG(config, holidays, svg);
         } else {
             // Default to grid layout
-            return generateGridCalendarSVG(config);
+            generateGridCalendarSVG(config, holidays, svg);
         }
     }
 
@@ -923,13 +1025,15 @@ public class CalendarRenderingService {
     private static final boolean LAYOUT_WEEKDAY_GRID = true; // 12 rows x 37 columns, weekday-aligned
 
     // Fixed grid layout (12 rows x 31 columns)
-    private String generateGridCalendarSVG(CalendarConfigType config) {
-        return generateCalendarGridSVG(config, LAYOUT_FIXED_GRID);
+    private void generateGridCalendarSVG(CalendarConfigType config, Map<LocalDate, HolidayType> holidays,
+            SvgWriter svg) {
+        generateCalendarGridSVG(config, holidays, LAYOUT_FIXED_GRID, svg);
     }
 
     // Weekday aligned grid layout (12 rows x 37 columns)
-    private String generateWeekdayGridCalendarSVG(CalendarConfigType config) {
-        return generateCalendarGridSVG(config, LAYOUT_WEEKDAY_GRID);
+    private void generateWeekdayGridCalendarSVG(CalendarConfigType config, Map<LocalDate, HolidayType> holidays,
+            SvgWriter svg) {
+        generateCalendarGridSVG(config, holidays, LAYOUT_WEEKDAY_GRID, svg);
     }
 
     /**
@@ -937,10 +1041,15 @@ public class CalendarRenderingService {
      *
      * @param config
      *            Calendar configuration
+     * @param holidays
+     *            Holidays to draw, from {@link #resolveHolidays}
      * @param weekdayAligned
      *            If true, use weekday-aligned layout; if false, use fixed 31-column grid
+     * @param svg
+     *            Writer to render into; flushed after each month row
      */
-    private String generateCalendarGridSVG(CalendarConfigType config, boolean weekdayAligned) {
+    private void generateCalendarGridSVG(CalendarConfigType config, Map<LocalDate, HolidayType> holidays,
+            boolean weekdayAligned, SvgWriter svg) {
         ThemeColors theme = THEMES.getOrDefault(config.theme, THEMES.get(DEFAULT_THEME));
 
         int year = config.year;
@@ -952,7 +1061,6 @@ public class CalendarRenderingService {
         int svgWidth = dimensions[0];
         int svgHeight = dimensions[1];
 
-        StringBuilder svg = new StringBuilder();
         appendSvgHeader(svg, svgWidth, svgHeight);
         appendGridStyles(svg, config, theme);
         appendYearTitle(svg, config, theme, year);
@@ -960,14 +1068,18 @@ public class CalendarRenderingService {
         // Generate each month row
         Locale locale = Locale.forLanguageTag(config.locale);
         GridLayout layout = new GridLayout(cellWidth, cellHeight, headerHeight, weekdayAligned);
-        GridContext gridCtx = new GridContext(layout, locale, config, theme);
+        EmojiSymbolLibrary emojiSymbolLibrary = emojiSymbols ? new EmojiSymbolLibrary() : null;
+        GridContext gridCtx = new GridContext(layout, locale, config, holidays, theme, emojiSymbolLibrary);
         for (int monthNum = 1; monthNum <= 12; monthNum++) {
             generateMonthRow(svg, year, monthNum, gridCtx);
+            svg.flush();
         }
 
         appendOuterBorder(svg, layout, config);
-        svg.append(SVG_CLOSE_TAG);
-        return svg.toString();
+        if (emojiSymbolLibrary != null) {
+            emojiSymbolLibrary.appendDefs(svg.buffer());
+        }
+        svg.raw(SVG_CLOSE_TAG);
     }
 
     private int[] calculateGridDimensions(boolean weekdayAligned, int cellWidth, int cellHeight, int headerHeight) {
@@ -978,10 +1090,10 @@ public class CalendarRenderingService {
         return new int[]{32 * cellWidth, 12 * cellHeight + headerHeight};
     }
 
-    private void appendYearTitle(StringBuilder svg, CalendarConfigType config, ThemeColors theme, int year) {
+    private void appendYearTitle(SvgWriter svg, CalendarConfigType config, ThemeColors theme, int year) {
         String yearFill = config.yearColor != null ? config.yearColor : theme.monthHeader;
-        svg.append(String.format("<text x=\"50\" y=\"80\" fill=\"%s\" font-family=\"Helvetica, Arial,"
-                + " sans-serif\" font-size=\"80px\" font-weight=\"bold\">%d</text>%n", yearFill, year));
+        svg.begin("text").attr("x", 50).attr("y", 80).attr("fill", yearFill).attr("font-family", FONT_HELVETICA)
+                .attr("font-size", "80px").attr("font-weight", "bold").content().num(year).end("text").newline();
     }
 
     /**
@@ -991,12 +1103,13 @@ public class CalendarRenderingService {
     }
 
     /**
-     * Context bundle for grid-row helpers: layout + locale + config + theme.
+     * Context bundle for grid-row helpers: layout + locale + config + holidays + theme.
      */
-    private record GridContext(GridLayout layout, Locale locale, CalendarConfigType config, ThemeColors theme) {
+    private record GridContext(GridLayout layout, Locale locale, CalendarConfigType config,
+            Map<LocalDate, HolidayType> holidays, ThemeColors theme, EmojiSymbolLibrary emojiSymbols) {
     }
 
-    private void generateMonthRow(StringBuilder svg, int year, int monthNum, GridContext ctx) {
+    private void generateMonthRow(SvgWriter svg, int year, int monthNum, GridContext ctx) {
         GridLayout layout = ctx.layout();
         CalendarConfigType config = ctx.config();
         YearMonth yearMonth = YearMonth.of(year, monthNum);
@@ -1028,12 +1141,12 @@ public class CalendarRenderingService {
                 weekendIndex++;
             }
             DayCellContext dayCtx = new DayCellContext(date, dayOfWeek, isWeekend, monthNum, weekendIndex - 1,
-                    ctx.locale(), config, ctx.theme());
+                    ctx.locale(), config, ctx.holidays(), ctx.theme(), ctx.emojiSymbols());
             renderDayCell(svg, cell, dayCtx);
         }
     }
 
-    private void appendMonthLabel(StringBuilder svg, int monthNum, int rowY, GridContext ctx) {
+    private void appendMonthLabel(SvgWriter svg, int monthNum, int rowY, GridContext ctx) {
         GridLayout layout = ctx.layout();
         CalendarConfigType config = ctx.config();
         int cellWidth = layout.cellWidth();
@@ -1041,11 +1154,11 @@ public class CalendarRenderingService {
         String monthName = Month.of(monthNum).getDisplayName(TextStyle.SHORT, ctx.locale());
         String monthFill = config.monthColor != null ? config.monthColor : ctx.theme().monthHeader;
         if (layout.weekdayAligned()) {
-            svg.append(renderMonthName(monthName, cellWidth - 5, rowY + cellHeight / 2 + 4, cellWidth,
-                    config.rotateMonthNames, "end", monthFill));
+            renderMonthName(svg, monthName, cellWidth - 5, rowY + cellHeight / 2 + 4, cellWidth,
+                    config.rotateMonthNames, "end", monthFill);
         } else {
-            svg.append(renderMonthName(monthName, 5, rowY + cellHeight / 2 + 5, cellWidth, config.rotateMonthNames,
-                    "start", monthFill));
+            renderMonthName(svg, monthName, 5, rowY + cellHeight / 2 + 5, cellWidth, config.rotateMonthNames, "start",
+                    monthFill);
         }
     }
 
@@ -1057,40 +1170,33 @@ public class CalendarRenderingService {
         return day * cellWidth;
     }
 
-    private void appendOuterBorder(StringBuilder svg, GridLayout layout, CalendarConfigType config) {
+    private void appendOuterBorder(SvgWriter svg, GridLayout layout, CalendarConfigType config) {
         if (!layout.weekdayAligned() && config.showGrid) {
-            svg.append(String.format(
-                    "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\""
-                            + " stroke=\"%s\" stroke-width=\"2\"/>%n",
-                    layout.cellWidth(), layout.headerHeight() - 1, layout.cellWidth() * 31,
-                    layout.cellHeight() * 12 + 2, config.gridLineColor));
+            svg.begin("rect").attr("x", layout.cellWidth()).attr("y", layout.headerHeight() - 1)
+                    .attr("width", layout.cellWidth() * 31).attr("height", layout.cellHeight() * 12 + 2)
+                    .attr("fill", "none").attr("stroke", config.gridLineColor).attr("stroke-width", 2).selfClose()
+                    .newline();
         }
     }
 
-    private void appendSvgHeader(StringBuilder svg, int width, int height) {
-        svg.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\""
-                        + " xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"%d\""
-                        + " height=\"%d\" viewBox=\"0 0 %d %d\" preserveAspectRatio=\"xMidYMid" + " meet\">%n",
-                width, height, width, height));
-    }
-
-    private void appendGridStyles(StringBuilder svg, CalendarConfigType config, ThemeColors theme) {
-        svg.append("<style>").append(System.lineSeparator());
-        svg.append(String.format(
-                ".year-text { fill: %s; font-family: Helvetica, Arial, sans-serif;"
-                        + " font-size: 80px; font-weight: bold; }%n",
-                config.yearColor != null ? config.yearColor : theme.monthHeader));
-        svg.append(String.format(
-                ".month-name { fill: %s; font-family: Helvetica, Arial, sans-serif;"
-                        + " font-size: 20px; font-weight: bold; }%n",
-                config.monthColor != null ? config.monthColor : theme.monthHeader));
-        svg.append(String.format(
-                ".day-text { fill: %s; font-family: Helvetica, Arial, sans-serif;" + " font-size: 12px; }%n",
-                config.dayTextColor != null ? config.dayTextColor : theme.text));
-        svg.append(String.format(".day-name { fill: %s; font-family: Arial, sans-serif; font-size: 8px; }%n",
-                config.dayNameColor != null ? config.dayNameColor : theme.weekdayHeader));
-        svg.append(String.format(".grid-line { stroke: %s; stroke-width: 1; fill: none; }%n", config.gridLineColor));
+    private void appendSvgHeader(SvgWriter svg, int width, int height) {
+        svg.begin("svg").attr("xmlns", "http://www.w3.org/2000/svg").attr("xmlns:xlink", "http://www.w3.org/1999/xlink")
+                .attr("width", width).attr("height", height).raw(" viewBox=\"0 0 ").num(width).raw(' ').num(height)
+                .raw('"').attr("preserveAspectRatio", "xMidYMid meet").content().newline();
+    }
+
+    private void appendGridStyles(SvgWriter svg, CalendarConfigType config, ThemeColors theme) {
+        svg.raw("<style>").newline();
+        appendStyleRule(svg, "year-text", config.yearColor != null ? config.yearColor : theme.monthHeader,
+                " font-family: Helvetica, Arial, sans-serif; font-size: 80px; font-weight: bold;");
+        appendStyleRule(svg, "month-name", config.monthColor != null ? config.monthColor : theme.monthHeader,
+                " font-family: Helvetica, Arial, sans-serif; font-size: 20px; font-weight: bold;");
+        appendStyleRule(svg, "day-text", config.dayTextColor != null ? config.dayTextColor : theme.text,
+                " font-family: Helvetica, Arial, sans-serif; font-size: 12px;");
+        appendStyleRule(svg, "day-name", config.dayNameColor != null ? config.dayNameColor : theme.weekdayHeader,
+                " font-family: Arial, sans-serif; font-size: 8px;");
+        svg.raw(".grid-line { stroke: ").raw(config.gridLineColor)
+                .raw("; stroke-width: 1; fill: none; }").newline();
 
         String weekendBg;
         if (config.weekendBgColor != null && !config.weekendBgColor.isEmpty()) {
@@ -1098,173 +1204,53 @@ public class CalendarRenderingService {
         } else {
             weekendBg = Objects.requireNonNullElse(theme.weekendBackground, "none");
         }
-        svg.append(String.format(".weekend-bg { fill: %s; }%n", weekendBg));
-        svg.append(String.format(".holiday { fill: %s; font-weight: bold; }%n", config.holidayColor));
-        svg.append(String.format(".custom-date { fill: %s; }%n", config.customDateColor));
-        svg.append("</style>").append(System.lineSeparator());
+        appendStyleRule(svg, "weekend-bg", weekendBg, "");
+        appendStyleRule(svg, "holiday", config.holidayColor, " font-weight: bold;");
+        appendStyleRule(svg, "custom-date", config.customDateColor, "");
+        svg.raw("</style>").newline();
     }
 
-    private void renderEmptyCell(StringBuilder svg, Cell cell, CalendarConfigType config) {
+    /** Appends a CSS rule of the form {@code .name { fill: color;declarations }}. */
+    private void appendStyleRule(SvgWriter svg, String className, String fill, String declarations) {
+        svg.raw('.').raw(className).raw(" { fill: ").raw(fill).raw(';').raw(declarations).raw(" }")
+                .newline();
+    }
+
+    private void renderEmptyCell(SvgWriter svg, Cell cell, CalendarConfigType config) {
         if (config.showGrid) {
             String pdfSafeColor = convertColorForPDF("rgba(255, 255, 255, 0)");
-            svg.append(String.format(
-                    "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"%s\""
-                            + " stroke=\"%s\" stroke-width=\"1\"/>%n",
-                    cell.x(), cell.y(), cell.width(), cell.height(), pdfSafeColor, config.gridLineColor));
+            appendCellRect(svg, cell).attr("fill", pdfSafeColor).attr("stroke", config.gridLineColor)
+                    .attr("stroke-width", 1).selfClose().newline();
         }
     }
 
-    // Check if this is a moon phase transition day
+    // Check if this is a moon phase transition day (closest to new, quarter or full moon)
     private boolean isMoonPhaseDay(LocalDate date) {
-        // Calculate the exact phase for today, yesterday, and tomorrow
-        double phaseToday = calculateMoonPhaseValue(date);
-        double phaseYesterday = calculateMoonPhaseValue(date.minusDays(1));
-        double phaseTomorrow = calculateMoonPhaseValue(date.plusDays(1));
-
-        // Find the closest approach to each major phase point
-        // We want to show the icon on the day that's closest to the exact phase
-
-        // Check for New Moon (0.0 or 1.0)
-        double distToday = Math.min(phaseToday, 1.0 - phaseToday);
-        double distYesterday = Math.min(phaseYesterday, 1.0 - phaseYesterday);
-        double distTomorrow = Math.min(phaseTomorrow, 1.0 - phaseTomorrow);
-        if (distToday < distYesterday && distToday < distTomorrow && distToday < 0.017) {
-            return true;
-        }
-
-        // Check for First Quarter (0.25)
-        distToday = Math.abs(phaseToday - 0.25);
-        distYesterday = Math.abs(phaseYesterday - 0.25);
-        distTomorrow = Math.abs(phaseTomorrow - 0.25);
-        if (distToday < distYesterday && distToday < distTomorrow && distToday < 0.017) {
-            return true;
-        }
-
-        // Check for Full Moon (0.5)
-        distToday = Math.abs(phaseToday - 0.5);
-        distYesterday = Math.abs(phaseYesterday - 0.5);
-        distTomorrow = Math.abs(phaseTomorrow - 0.5);
-        if (distToday < distYesterday && distToday < distTomorrow && distToday < 0.017) {
-            return true;
-        }
-
-        // Check for Last Quarter (0.75)
-        distToday = Math.abs(phaseToday - 0.75);
-        distYesterday = Math.abs(phaseYesterday - 0.75);
-        distTomorrow = Math.abs(phaseTomorrow - 0.75);
-        return distToday < distYesterday && distToday < distTomorrow && distToday < 0.017;
+        return LunarTable.forDate(date).isPhaseDay(date);
     }
 
     // Check if this is a full moon day only
     private boolean isFullMoonDay(LocalDate date) {
-        double phaseToday = calculateMoonPhaseValue(date);
-        double phaseYesterday = calculateMoonPhaseValue(date.minusDays(1));
-        double phaseTomorrow = calculateMoonPhaseValue(date.plusDays(1));
-
-        // Check for Full Moon (0.5)
-        double distToday = Math.abs(phaseToday - 0.5);
-        double distYesterday = Math.abs(phaseYesterday - 0.5);
-        double distTomorrow = Math.abs(phaseTomorrow - 0.5);
-        return distToday < distYesterday && distToday < distTomorrow && distToday < 0.017;
+        return LunarTable.forDate(date).isFullMoonDay(date);
     }
 
-    // Calculate moon phase as a value from 0 to 1
-    private double calculateMoonPhaseValue(LocalDate date) {
-        // Known new moon date (January 6, 2000 at 18:14 UTC)
-        LocalDate knownNewMoon = LocalDate.of(2000, 1, 6);
-
-        // Calculate days since known new moon
-        long daysSince = java.time.temporal.ChronoUnit.DAYS.between(knownNewMoon, date);
-
-        // Synodic month is approximately 29.53059 days
-        double synodicMonth = 29.53059;
-
-        // Calculate phase as a fraction (0 = new moon, 0.5 = full moon)
-        return (daysSince % synodicMonth) / synodicMonth;
-    }
-
-    // Clean PDF metadata to remove backend technology fingerprints
-    private byte[] cleanPdfMetadata(byte[] pdfBytes, int year) {
-        try {
-            // Load the PDF document
-            // PDFBox 3.x uses Loader class
-            PDDocument document = org.apache.pdfbox.Loader.loadPDF(pdfBytes);
-
-            // Get and modify the document information
-            PDDocumentInformation info = document.getDocumentInformation();
-
-            // Clear existing metadata that reveals technology
-            info.setProducer("villagecompute.com"); // Override Apache FOP producer string
-            info.setCreator("Village Compute Calendar Generator"); // Override creator
-            info.setTitle("Calendar " + year);
-            info.setSubject("Calendar");
-
-            // Remove or override any custom metadata that might exist
-            info.setAuthor("");
-            info.setKeywords("");
-
-            // Save the modified PDF to a byte array
-            ByteArrayOutputStream cleanOutputStream = new ByteArrayOutputStream();
-            document.save(cleanOutputStream);
-            document.close();
-
-            return cleanOutputStream.toByteArray();
-
-        } catch (Exception e) {
-            // If cleaning fails, return original PDF
-            Log.warn("Could not clean PDF metadata", e);
-            return pdfBytes;
-        }
-    }
-
-    /** Generate PDF using Apache Batik */
+    /**
+     * Generate PDF using Apache Batik. The SVG is rendered on the calling thread and transcoded by
+     * {@link PDFRenderingService} on the {@link RenderExecutor}.
+     *
+     * @throws RenderRejectedException
+     *             if the render executor is saturated
+     */
     public byte[] generateCalendarPDF(CalendarConfigType config) {
-        try {
-            // Generate SVG content
-            String svgContent = generateCalendarSVG(config);
-
-            Log.debugf("SVG content length: %d", svgContent.length());
-
-            // Wrap SVG with margins for proper print layout
-            String wrappedSvg = wrapSvgWithMargins(svgContent);
-
-            // Create transcoder for PDF
-            Transcoder transcoder = new PDFTranscoder();
+        // Generate SVG content
+        String svgContent = generateCalendarSVG(config);
 
-            // PDF page size using constants (in points: 1 inch = 72 points)
-            float pageWidthInPoints = PAGE_WIDTH_INCHES * POINTS_PER_INCH;
-            float pageHeightInPoints = PAGE_HEIGHT_INCHES * POINTS_PER_INCH;
+        Log.debugf("SVG content length: %d", svgContent.length());
 
-            // Set the page/output size
-            transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_WIDTH, pageWidthInPoints);
-            transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_HEIGHT, pageHeightInPoints);
+        // Wrap SVG with margins for proper print layout
+        String wrappedSvg = wrapSvgWithMargins(svgContent);
 
-            // Create input and output
-            StringReader reader = new StringReader(wrappedSvg);
-            TranscoderInput input = new TranscoderInput(reader);
-
-            // Set a dummy URI to avoid null pointer exception with style elements
-            // This is required when the SVG contains <style> tags
-            input.setURI("file:///calendar.svg");
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            TranscoderOutput output = new TranscoderOutput(outputStream);
-
-            // Perform the transcoding
-            transcoder.transcode(input, output);
-
-            byte[] pdfBytes = outputStream.toByteArray();
-
-            // Post-process the PDF to clean metadata
-            pdfBytes = cleanPdfMetadata(pdfBytes, config.year);
-
-            Log.debugf("PDF generated successfully, size: %d bytes", pdfBytes.length);
-
-            return pdfBytes;
-
-        } catch (Exception e) {
-            throw new RenderingException("PDF generation failed", e);
-        }
+        return pdfRenderingService.renderSVGToPDF(wrappedSvg, config.year);
     }
 
     /**
@@ -1304,30 +1290,37 @@ public class CalendarRenderingService {
         // Remove the <?xml...?> declaration if present from inner SVG
         String cleanedInnerSvg = innerSvg.replaceFirst("<\\?xml[^?]*\\?>\\s*", "");
 
-        // Build the wrapper SVG
-        StringBuilder wrapper = new StringBuilder();
-        wrapper.append(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"));
-        wrapper.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\""
-                        + " xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"%.0f\""
-                        + " height=\"%.0f\" viewBox=\"0 0 %.0f %.0f\">%n",
-                pageWidth, pageHeight, pageWidth, pageHeight));
+        // Insert the inner SVG content (strip the outer <svg> tags)
+        String innerContent = cleanedInnerSvg.replaceFirst("<svg[^>]*>", "") // Remove opening <svg> tag
+                .replaceFirst("</svg>\\s*$", ""); // Remove closing </svg> tag
+
+        return buildPageWrapper(innerContent, pageWidth, pageHeight, offsetX, offsetY, scale);
+    }
+
+    /**
+     * Builds the page-sized wrapper SVG: a white background with the inner content translated and scaled into the
+     * printable area.
+     */
+    private String buildPageWrapper(String innerContent, float pageWidth, float pageHeight, float offsetX,
+            float offsetY, float scale) {
+        SvgWriter wrapper = new SvgWriter(new StringBuilder(innerContent.length() + 512));
+        wrapper.raw("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").newline();
+        wrapper.begin("svg").attr("xmlns", "http://www.w3.org/2000/svg")
+                .attr("xmlns:xlink", "http://www.w3.org/1999/xlink").attr("width", pageWidth, 0)
+                .attr("height", pageHeight, 0).raw(" viewBox=\"0 0 ").num(pageWidth, 0).raw(' ').num(pageHeight, 0)
+                .raw('"').content().newline();
 
         // Add a white background for the full page
-        wrapper.append(
-                String.format("  <rect width=\"%.0f\" height=\"%.0f\" fill=\"white\"/>%n", pageWidth, pageHeight));
+        wrapper.raw("  ").begin("rect").attr("width", pageWidth, 0).attr("height", pageHeight, 0)
+                .attr("fill", "white").selfClose().newline();
 
         // Position and scale the inner SVG content within the margins
-        wrapper.append(
-                String.format("  <g transform=\"translate(%.2f, %.2f) scale(%.6f)\">%n", offsetX, offsetY, scale));
+        wrapper.raw("  <g transform=\"translate(").num(offsetX, 2).raw(", ").num(offsetY, 2).raw(") scale(")
+                .num(scale, 6).raw(")\">").newline();
 
-        // Insert the inner SVG content (strip the outer <svg> tags)
-        String innerContent = cleanedInnerSvg.replaceFirst("<svg[^>]*>", "") // Remove opening <svg> tag
-                .replaceFirst("</svg>\\s*$", ""); // Remove closing </svg> tag
-
-        wrapper.append(innerContent);
-        wrapper.append(String.format("%n  </g>%n"));
-        wrapper.append(SVG_CLOSE_TAG);
+        wrapper.raw(innerContent);
+        wrapper.newline().raw("  </g>").newline();
+        wrapper.raw(SVG_CLOSE_TAG);
 
         return wrapper.toString();
     }
@@ -1376,55 +1369,41 @@ public class CalendarRenderingService {
         // Remove the <?xml...?> declaration if present from inner SVG
         String cleanedInnerSvg = innerSvg.replaceFirst("<\\?xml[^?]*\\?>\\s*", "");
 
-        // Build the wrapper SVG
-        StringBuilder wrapper = new StringBuilder();
-        wrapper.append(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"));
-        wrapper.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\""
-                        + " xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"%.0f\""
-                        + " height=\"%.0f\" viewBox=\"0 0 %.0f %.0f\">%n",
-                pageWidth, pageHeight, pageWidth, pageHeight));
-
-        // Add a white background for the full page
-        wrapper.append(
-                String.format("  <rect width=\"%.0f\" height=\"%.0f\" fill=\"white\"/>%n", pageWidth, pageHeight));
-
-        // Position and scale the inner SVG content within the margins
-        wrapper.append(
-                String.format("  <g transform=\"translate(%.2f, %.2f) scale(%.6f)\">%n", offsetX, offsetY, scale));
-
         // Insert the inner SVG content (strip the outer <svg> tags)
         String innerContent = cleanedInnerSvg.replaceFirst("<svg[^>]*>", "") // Remove opening <svg> tag
                 .replaceFirst("</svg>\\s*$", ""); // Remove closing </svg> tag
 
-        wrapper.append(innerContent);
-        wrapper.append(String.format("%n  </g>%n"));
-        wrapper.append(SVG_CLOSE_TAG);
-
-        return wrapper.toString();
+        return buildPageWrapper(innerContent, pageWidth, pageHeight, offsetX, offsetY, scale);
     }
 
     // Generate SVG for moon illumination visualization
     public String generateMoonIlluminationSVG(LocalDate date, int x, int y, double latitude, double longitude,
             CalendarConfigType config) {
-        // Calculate moon illumination and position
-        MoonIllumination illumination = calculateMoonIllumination(date);
-        double phase = illumination.phase;
-        double illuminatedFraction = illumination.fraction;
+        SvgWriter svg = new SvgWriter(new StringBuilder(256));
+        appendMoonIllumination(svg, date, x, y, latitude, longitude, config);
+        return svg.toString();
+    }
+
+    /** Append the moon illumination group for {@code date} centered at (x, y). */
+    public void appendMoonIllumination(SvgWriter svg, LocalDate date, int x, int y, double latitude, double longitude,
+            CalendarConfigType config) {
+        // Look up moon illumination and position
+        LunarTable lunarTable = LunarTable.forDate(date);
+        double phase = lunarTable.phase(date);
+        double illuminatedFraction = lunarTable.illumination(date);
 
         // Calculate rotation angle based on observer's location
-        double rotationAngle = calculateMoonRotationAngle(date, latitude, longitude);
+        double rotationAngle = calculateMoonRotationAngle(lunarTable, date, latitude, longitude);
 
         // Moon circle radius from configuration
         int radius = config.moonSize;
 
-        StringBuilder svg = new StringBuilder();
-
         // Create a group for the moon with rotation
-        svg.append(String.format("<g transform=\"translate(%d, %d) rotate(%.1f)\">%n", x, y, rotationAngle));
+        svg.raw("<g transform=\"translate(").num(x).raw(", ").num(y).raw(") rotate(").num(rotationAngle, 1)
+                .raw(")\">").newline();
 
         // Background circle (dark side)
-        svg.append(String.format("<circle r=\"%d\" fill=\"%s\"/>%n", radius, config.moonDarkColor));
+        svg.begin("circle").attr("r", radius).attr("fill", config.moonDarkColor).selfClose().newline();
 
         // Calculate the illuminated path
         // The moon phase determines which side is lit
@@ -1432,41 +1411,39 @@ public class CalendarRenderingService {
         appendIlluminatedMoonPath(svg, phase, illuminatedFraction, radius, config);
 
         // Border with configurable color and width
-        svg.append(String.format("<circle r=\"%d\" fill=\"none\" stroke=\"%s\" stroke-width=\"%.1f\"/>%n", radius,
-                config.moonBorderColor, config.moonBorderWidth));
-
-        svg.append("</g>").append(System.lineSeparator());
+        svg.begin("circle").attr("r", radius).attr("fill", "none").attr("stroke", config.moonBorderColor)
+                .attr("stroke-width", config.moonBorderWidth, 1).selfClose().newline();
 
-        return svg.toString();
+        svg.end("g").newline();
     }
 
     // Calculate rotation angle for moon terminator based on observer's location.
     // If latitude and longitude are both 0 (no location selected), don't rotate.
-    private double calculateMoonRotationAngle(LocalDate date, double latitude, double longitude) {
+    private double calculateMoonRotationAngle(LunarTable lunarTable, LocalDate date, double latitude,
+            double longitude) {
         if (latitude == 0.0 && longitude == 0.0) {
             return 0.0;
         }
-        // Calculate moon position for observer's location
-        MoonPosition position = calculateMoonPosition(date, latitude, longitude);
         // The moon's terminator (shadow line) rotates based on the observer's latitude
-        return Math.toDegrees(position.parallacticAngle) * -1 - 45;
+        return Math.toDegrees(lunarTable.parallacticAngle(date, latitude, longitude)) * -1 - 45;
     }
 
     // Append the illuminated portion path for the moon, if any.
     // New moon (illuminatedFraction <= 0) and full moon (illuminatedFraction >= 1)
     // do not require an additional path on top of the dark background circle.
-    private void appendIlluminatedMoonPath(StringBuilder svg, double phase, double illuminatedFraction, int radius,
+    private void appendIlluminatedMoonPath(SvgWriter svg, double phase, double illuminatedFraction, int radius,
             CalendarConfigType config) {
         if (illuminatedFraction <= 0 || illuminatedFraction >= 1) {
             return;
         }
 
-        String path = buildMoonIlluminationPath(phase, illuminatedFraction, radius);
-        svg.append(String.format("<path d=\"%s\" fill=\"%s\"/>%n", path, config.moonLightColor));
+        svg.raw("<path d=\"");
+        appendMoonIlluminationPath(svg, phase, illuminatedFraction, radius);
+        svg.raw('"').attr("fill", config.moonLightColor).selfClose().newline();
     }
 
-    // Build the SVG path string for the illuminated portion of the moon.
-    private String buildMoonIlluminationPath(double phase, double illuminatedFraction, int radius) {
+    // Append the SVG path data for the illuminated portion of the moon.
+    private void appendMoonIlluminationPath(SvgWriter svg, double phase, double illuminatedFraction, int radius) {
         // Waxing phases (phase < 0.5) light the right side
         boolean isRightSideLit = phase < 0.5;
         String rightSideFlag = isRightSideLit ? "1" : "0";
@@ -1480,112 +1457,24 @@ public class CalendarRenderingService {
 
         // The terminator line is created by combining two arcs with different radii
         boolean isCrescent = phase < 0.25 || phase > 0.75;
+        String outerLargeArcFlag;
+        String terminatorLargeArcFlag;
+        String terminatorSweepFlag;
         if (isCrescent) {
             // Crescent moon: both arcs use the large-arc flag, terminator sweeps opposite
-            return String.format("M 0,-%d A %d,%d 0 %s,%s 0,%d A %.1f,%d 0 %s,%s 0,-%d", radius, radius, radius,
-                    largeArcFlag, rightSideFlag, radius, ellipseWidth, radius, largeArcFlag, oppositeSideFlag, radius);
-        }
-        // Gibbous moon: outer arc uses large-arc flag "1", terminator uses sweep matching lit side
-        return String.format("M 0,-%d A %d,%d 0 %s,%s 0,%d A %.1f,%d 0 %s,%s 0,-%d", radius, radius, radius, "1",
-                rightSideFlag, radius, ellipseWidth, radius, "0", rightSideFlag, radius);
-    }
-
-    // Moon illumination data class
-    private static class MoonIllumination {
-        double fraction; // 0 to 1, illuminated fraction
-        double phase; // 0 to 1, phase in the lunar cycle
-        double angle; // angle in radians
-
-        MoonIllumination(double fraction, double phase, double angle) {
-            this.fraction = fraction;
-            this.phase = phase;
-            this.angle = angle;
-        }
-    }
-
-    // Moon position data class
-    private static class MoonPosition {
-        double azimuth; // azimuth in radians
-        double altitude; // altitude in radians
-        double parallacticAngle; // parallactic angle in radians
-
-        MoonPosition(double azimuth, double altitude, double parallacticAngle) {
-            this.azimuth = azimuth;
-            this.altitude = altitude;
-            this.parallacticAngle = parallacticAngle;
-        }
-    }
-
-    // Calculate moon illumination for a given date
-    private MoonIllumination calculateMoonIllumination(LocalDate date) {
-        // Use the same phase calculation for consistency
-        double phase = calculateMoonPhaseValue(date);
-
-        // Calculate illumination fraction using the phase
-        // This is a simplified calculation
-        double illumination = (1 - Math.cos(phase * 2 * Math.PI)) / 2;
-
-        // Angle (simplified - actual calculation would need sun position)
-        double angle = phase * 2 * Math.PI;
-
-        return new MoonIllumination(illumination, phase, angle);
-    }
-
-    // Calculate moon position for observer's location
-    private MoonPosition calculateMoonPosition(LocalDate date, double latitude, double longitude) {
-        // Improved moon position calculation with better hemisphere awareness
-        // The moon appears differently based on observer's location
-
-        // Convert to radians
-        double lat = Math.toRadians(latitude);
-        double lng = Math.toRadians(longitude);
-
-        // Calculate moon's approximate position in its orbit
-        // Using synodic month for phase calculation
-        LocalDate j2000 = LocalDate.of(2000, 1, 1);
-        long daysSinceJ2000 = java.time.temporal.ChronoUnit.DAYS.between(j2000, date);
-        double synodicMonth = 29.53058867;
-        double moonAge = (daysSinceJ2000 - 5.5) % synodicMonth;
-        // Note: moonAge is always positive for dates after Jan 2000
-
-        // Calculate approximate moon declination
-        // Moon's orbit is inclined about 5.14° to ecliptic, ecliptic is inclined 23.44° to equator
-        // This gives moon declination range of approximately ±28.6°
-        double moonOrbitPhase = (moonAge / synodicMonth) * 2 * Math.PI;
-        double moonDeclination = Math
-                .toRadians(28.6 * Math.sin(moonOrbitPhase + date.getDayOfYear() * Math.PI / 182.625));
-
-        // Calculate hour angle based on time and longitude
-        // This is simplified - actual calculation would need precise time
-        double hourAngle = (date.getDayOfMonth() / 30.0) * 2 * Math.PI + lng;
-
-        // Calculate altitude
-        double altitude = Math.asin(Math.sin(lat) * Math.sin(moonDeclination)
-                + Math.cos(lat) * Math.cos(moonDeclination) * Math.cos(hourAngle));
-
-        // Calculate azimuth
-        double azimuth = Math.atan2(-Math.sin(hourAngle),
-                Math.tan(moonDeclination) * Math.cos(lat) - Math.sin(lat) * Math.cos(hourAngle));
-
-        // Calculate parallactic angle - the rotation of the moon from observer's viewpoint
-        // This is the key to showing different moon orientations by hemisphere
-        double sinPA = Math.sin(hourAngle) * Math.cos(moonDeclination) / Math.cos(altitude);
-        double cosPA = (Math.sin(moonDeclination) * Math.cos(lat)
-                - Math.cos(moonDeclination) * Math.sin(lat) * Math.cos(hourAngle)) / Math.cos(altitude);
-        double parallacticAngle = Math.atan2(sinPA, cosPA);
-
-        // Hemisphere adjustments
-        if (latitude < 0) {
-            // Southern hemisphere: moon appears "upside down" relative to northern view
-            parallacticAngle += Math.PI;
-        }
-
-        // Additional adjustment based on latitude magnitude
-        // This creates a gradual transition from equator to poles
-        double latitudeFactor = Math.abs(latitude) / 90.0;
-        parallacticAngle += (1 - latitudeFactor) * hourAngle * 0.3;
-
-        return new MoonPosition(azimuth, altitude, parallacticAngle);
+            outerLargeArcFlag = largeArcFlag;
+            terminatorLargeArcFlag = largeArcFlag;
+            terminatorSweepFlag = oppositeSideFlag;
+        } else {
+            // Gibbous moon: outer arc uses large-arc flag "1", terminator uses sweep matching lit side
+            outerLargeArcFlag = "1";
+            terminatorLargeArcFlag = "0";
+            terminatorSweepFlag = rightSideFlag;
+        }
+        svg.raw("M 0,-").num(radius).raw(" A ").num(radius).raw(',').num(radius).raw(" 0 ").raw(outerLargeArcFlag)
+                .raw(',').raw(rightSideFlag).raw(" 0,").num(radius).raw(" A ").num(ellipseWidth, 1).raw(',')
+                .num(radius).raw(" 0 ").raw(terminatorLargeArcFlag).raw(',').raw(terminatorSweepFlag).raw(" 0,-")
+                .num(radius);
     }
 
     // Calculate cell background color based on theme
@@ -0,0 +1,283 @@
+package villagecompute.calendar.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import villagecompute.calendar.types.CalendarConfigType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Content-addressed cache of rendered calendar SVGs. Rendering is a pure function of the effective
+ * {@link CalendarConfigType} and the render flags, so the SHA-256 of its canonical JSON (map entries sorted by key),
+ * the flags and the {@link BuildInfo build id} is used as the key. The build id changes with every build, so a
+ * renderer change never serves SVGs rendered by the previous code, from memory or from disk.
+ *
+ * <p>
+ * The in-memory tier is an LRU bounded by the total size of the cached SVGs rather than the entry count, since a
+ * calendar with many emojis can be several times larger than a plain one. When {@code calendar.render-cache.disk-dir}
+ * is set, rendered SVGs are also written there and read back on a memory miss, so they survive eviction and restarts
+ * of the same build.
+ */
+@ApplicationScoped
+public class CalendarSvgCache {
+
+    private static final Logger LOG = Logger.getLogger(CalendarSvgCache.class);
+
+    static final String CACHE_NAME = "calendar-svg";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "calendar.render-cache.enabled",
+            defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(
+            name = "calendar.render-cache.max-size-mb",
+            defaultValue = "64")
+    long maxSizeMb;
+
+    @ConfigProperty(
+            name = "calendar.render-cache.disk-dir")
+    Optional<String> diskDir;
+
+    // Changes the SVG produced for the same config, see CalendarRenderingService
+    @ConfigProperty(
+            name = "calendar.render.emoji-symbols",
+            defaultValue = "false")
+    boolean emojiSymbols;
+
+    @Inject
+    BuildInfo buildInfo;
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentSize;
+
+    private ObjectWriter keyWriter;
+    private Path diskPath;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter diskHits;
+    private Counter evictions;
+
+    @PostConstruct
+    void init() {
+        keyWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+        if (diskDir.isPresent() && !diskDir.get().isBlank()) {
+            try {
+                diskPath = Files.createDirectories(Path.of(diskDir.get()));
+                LOG.infof("Calendar SVG disk cache enabled at %s", diskPath);
+            } catch (IOException e) {
+                LOG.warnf(e, "Unable to create calendar SVG disk cache directory %s, disk tier disabled",
+                        diskDir.get());
+            }
+        }
+
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Calendar SVG cache hits").register(meterRegistry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Calendar SVG cache misses").register(meterRegistry);
+        diskHits = Counter.builder("cache.disk.hits").tag("cache", CACHE_NAME)
+                .description("Calendar SVG memory misses served from the disk tier").register(meterRegistry);
+        evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Calendar SVGs evicted from memory").register(meterRegistry);
+        Gauge.builder("cache.size", this, CalendarSvgCache::entryCount).tag("cache", CACHE_NAME)
+                .description("Calendar SVGs held in memory").register(meterRegistry);
+        Gauge.builder("cache.weight", this, CalendarSvgCache::weight).tag("cache", CACHE_NAME)
+                .description("Characters of SVG held in memory").baseUnit("chars").register(meterRegistry);
+    }
+
+    /**
+     * Return the cached SVG for the given config, rendering and caching it on a miss. Holiday sets are part of the key
+     * by name; the holidays they resolve to only change with the application version, which is also in the key.
+     *
+     * @param config
+     *            The effective calendar configuration
+     * @param renderer
+     *            Renders the SVG on a cache miss
+     * @return The rendered SVG
+     */
+    public String getOrRender(CalendarConfigType config, Supplier<String> renderer) {
+        String key = cacheKey(config);
+        if (key == null) {
+            return renderer.get();
+        }
+
+        String svg = lookup(key);
+        if (svg == null) {
+            svg = renderer.get();
+            store(key, svg);
+        }
+        return svg;
+    }
+
+    /**
+     * The key to use for a config, or null if caching is disabled or the key cannot be computed. Used together with
+     * {@link #lookup} and {@link #store} by callers that stream the render instead of going through
+     * {@link #getOrRender}.
+     */
+    String cacheKey(CalendarConfigType config) {
+        return enabled ? keyFor(config) : null;
+    }
+
+    /** Look up a rendered SVG in memory and then on disk, recording a hit or miss. */
+    String lookup(String key) {
+        String svg = getFromMemory(key);
+        if (svg != null) {
+            hits.increment();
+            return svg;
+        }
+
+        svg = readFromDisk(key);
+        if (svg != null) {
+            hits.increment();
+            diskHits.increment();
+            putInMemory(key, svg);
+            return svg;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /** Cache an SVG rendered after a {@link #lookup} miss. */
+    void store(String key, String svg) {
+        putInMemory(key, svg);
+        writeToDisk(key, svg);
+    }
+
+    /**
+     * Compute the content address for a config: SHA-256 over the build id, the render flags and the canonical JSON of
+     * the config. Returns null if the config cannot be serialized, in which case the caller should render uncached.
+     */
+    String keyFor(CalendarConfigType config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buildInfo.id().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update((byte) (emojiSymbols ? 1 : 0));
+            digest.update(keyWriter.writeValueAsBytes(config));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            LOG.warnf(e, "Unable to compute calendar SVG cache key, rendering uncached");
+            return null;
+        }
+    }
+
+    /** Remove all entries from the in-memory tier. The disk tier is left untouched. */
+    public synchronized void clear() {
+        entries.clear();
+        currentSize = 0;
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return currentSize;
+    }
+
+    private synchronized String getFromMemory(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void putInMemory(String key, String svg) {
+        long maxSize = maxSizeMb * 1024 * 1024;
+        // A single oversized render would flush everything else, so leave it to the disk tier
+        if (svg.length() > maxSize / 4) {
+            return;
+        }
+
+        String previous = entries.put(key, svg);
+        if (previous != null) {
+            currentSize -= previous.length();
+        }
+        currentSize += svg.length();
+
+        Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, String> eldest = iterator.next();
+            currentSize -= eldest.getValue().length();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private String readFromDisk(String key) {
+        if (diskPath == null) {
+            return null;
+        }
+        Path file = diskPath.resolve(key + ".svg");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to read cached calendar SVG %s", file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, String svg) {
+        if (diskPath == null) {
+            return;
+        }
+        Path file = diskPath.resolve(key + ".svg");
+        Path temp = null;
+        try {
+            // Write to a temp file and move so concurrent readers never see a partial SVG
+            temp = Files.createTempFile(diskPath, key, ".tmp");
+            Files.writeString(temp, svg, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to write cached calendar SVG %s", file);
+            deleteQuietly(temp);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debugf(e, "Failed to delete %s", path);
+        }
+    }
+}
@@ -14,12 +14,14 @@ import org.jboss.logging.Logger;
 
 import villagecompute.calendar.data.models.DelayedJob;
 import villagecompute.calendar.services.exceptions.DelayedJobException;
+import villagecompute.calendar.services.exceptions.DelayedJobRequeueException;
 import villagecompute.calendar.services.jobs.DelayedJobHandler;
 import villagecompute.calendar.services.jobs.DelayedJobHandlerRegistry;
 import villagecompute.calendar.services.jobs.DelayedJobHandlerRegistry.HandlerMetadata;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.runtime.Startup;
 import io.quarkus.scheduler.Scheduled;
 import io.quarkus.vertx.ConsumeEvent;
@@ -107,7 +109,13 @@ public class DelayedJobService {
 
     /**
      * Event consumer - processes delayed jobs asynchronously. blocking = true ensures this runs on a worker thread
-     * (required for @Transactional)
+     * (required for transactions)
+     *
+     * <p>
+     * The job is locked and, for most handlers, run and marked complete in a single transaction. Handlers configured
+     * with {@code transactional = false} run after the lock has been committed, and their outcome is recorded in a
+     * second short transaction, so no connection is held while they work. When called inside an existing transaction
+     * every step joins it.
      *
      * @param jobId
      *            Job ID to process
@@ -115,13 +123,32 @@ public class DelayedJobService {
     @ConsumeEvent(
             value = DELAYED_JOB_RUN,
             blocking = true)
-    @Transactional
     @WithSpan("DelayedJobService.handleDelayedJobRun")
     public void handleDelayedJobRun(String jobId) {
-        DelayedJob job = getDelayedJobToWorkOn(UUID.fromString(jobId));
+        LockedJob locked = QuarkusTransaction.joiningExisting().call(() -> runLockedJob(UUID.fromString(jobId)));
+        if (locked == null) {
+            return;
+        }
+
+        try {
+            LOG.infof("Processing delayed job %s with queue %s, actor %s", jobId, locked.queueName(), locked.actorId());
+            locked.handler().run(locked.actorId());
+            QuarkusTransaction.joiningExisting().run(() -> markComplete(DelayedJob.findById(locked.jobId())));
+        } catch (Exception e) {
+            QuarkusTransaction.joiningExisting().run(() -> handleJobFailure(DelayedJob.findById(locked.jobId()), e));
+        }
+    }
+
+    /**
+     * Lock a job and run it if its handler is transactional.
+     *
+     * @return The locked job if its handler runs outside a transaction, otherwise null once the job has been handled
+     */
+    private LockedJob runLockedJob(UUID jobId) {
+        DelayedJob job = getDelayedJobToWorkOn(jobId);
 
         if (job == null) {
-            return; // Already processed or locked
+            return null; // Already processed or locked
         }
 
         try {
@@ -130,7 +157,7 @@ public class DelayedJobService {
                 LOG.debugf("Delayed job %s is not ready to run yet", jobId);
                 job.unlock();
                 job.persist();
-                return;
+                return null;
             }
 
             // Get the handler for this queue
@@ -139,26 +166,37 @@ public class DelayedJobService {
                 LOG.errorf("No handler found for queue: %s", job.queueName);
                 job.unlock();
                 job.persist();
-                return;
+                return null;
+            }
+
+            boolean transactional = handlerRegistry.getMetadata(job.queueName).map(HandlerMetadata::transactional)
+                    .orElse(true);
+            if (!transactional) {
+                // Committing the lock keeps other workers off the job while it runs
+                return new LockedJob(job.id, job.queueName, job.actorId, handler);
             }
 
             // Execute the handler
             LOG.infof("Processing delayed job %s with queue %s, actor %s", jobId, job.queueName, job.actorId);
             handler.run(job.actorId);
 
-            // Mark as complete
-            job.attempts++;
-            job.completedAt = Instant.now();
-            job.complete = true;
-            job.unlock();
-            job.persist();
-
-            LOG.infof("Delayed job %s completed successfully", jobId);
-            Span.current().addEvent("Delayed job completed successfully");
+            markComplete(job);
 
         } catch (Exception e) {
             handleJobFailure(job, e);
         }
+        return null;
+    }
+
+    private void markComplete(DelayedJob job) {
+        job.attempts++;
+        job.completedAt = Instant.now();
+        job.complete = true;
+        job.unlock();
+        job.persist();
+
+        LOG.infof("Delayed job %s completed successfully", job.id);
+        Span.current().addEvent("Delayed job completed successfully");
     }
 
     /**
@@ -171,6 +209,16 @@ public class DelayedJobService {
      */
     @Transactional
     protected void handleJobFailure(DelayedJob job, Exception e) {
+        if (e instanceof DelayedJobRequeueException requeue) {
+            // The job never started, so neither the attempt count nor the backoff changes
+            job.failureReason = requeue.getMessage();
+            job.runAt = Instant.now().plus(requeue.getDelay());
+            job.unlock();
+            job.persist();
+            LOG.infof("Delayed job %s requeued until %s: %s", job.id, job.runAt, requeue.getMessage());
+            return;
+        }
+
         LOG.errorf(e, "Delayed job %s failed: %s", job.id, e.getMessage());
 
         // Record error details
@@ -236,9 +284,11 @@ public class DelayedJobService {
     protected DelayedJob getDelayedJobToWorkOn(UUID jobId) {
         // Atomically lock the job using UPDATE with WHERE clause
         // This prevents race conditions when multiple servers try to lock the same job
+        // A lock older than LOCK_TIMEOUT was left by a worker that died while running the job outside a transaction
+        Instant now = Instant.now();
         int rowsUpdated = DelayedJob.update(
-                "locked = true, lockedAt = ?1 WHERE id = ?2 AND locked = false AND complete" + " = false",
-                Instant.now(), jobId);
+                "locked = true, lockedAt = ?1 WHERE id = ?2 AND (locked = false OR lockedAt < ?3) AND complete = false",
+                now, jobId, now.minus(DelayedJob.LOCK_TIMEOUT));
 
         if (rowsUpdated == 0) {
             LOG.debugf("Delayed job %s could not be locked (already locked or complete)", jobId);
@@ -256,4 +306,8 @@ public class DelayedJobService {
         LOG.debugf("Successfully locked delayed job %s", jobId);
         return job;
     }
+
+    /** A locked job whose handler runs outside a transaction. */
+    private record LockedJob(UUID jobId, String queueName, String actorId, DelayedJobHandler handler) {
+    }
 }
@@ -0,0 +1,354 @@
+package villagecompute.calendar.services;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Packed emoji SVG assets: an index followed by the concatenated UTF-8 bodies. Bodies are stored already stripped of
+ * their outer {@code <svg>} element, and identical bodies are stored once.
+ *
+ * <p>
+ * The pack is written at build time by {@link #main} and memory-mapped at runtime, so the heap only holds the index
+ * and a body is decoded when it is first rendered. Entries are named by resource path without the extension, e.g.
+ * {@code emoji-svg/emoji_u1f384} or {@code emoji-svg-mono/u1f384}.
+ *
+ * <pre>
+ * int magic ("EMJP"), int version, int entry count
+ * per entry, sorted by name: UTF-8 name, UTF-8 viewBox (each prefixed with a short length), int offset, int length
+ * bodies
+ * </pre>
+ */
+public final class EmojiAssetPack {
+
+    private static final Logger LOG = Logger.getLogger(EmojiAssetPack.class);
+
+    /** Classpath location of the pack written by {@link #main}. */
+    static final String RESOURCE = "emoji-svg.pack";
+
+    static final String COLOR_DIR = "emoji-svg";
+    static final String MONO_DIR = "emoji-svg-mono";
+
+    private static final String[] FOLDERS = {COLOR_DIR, MONO_DIR};
+
+    /** viewBox used when an SVG file does not declare one. */
+    static final String DEFAULT_VIEWBOX = "0 0 128 128";
+
+    private static final int MAGIC = 0x454D4A50;
+    private static final int VERSION = 1;
+
+    private static final Pattern VIEWBOX_PATTERN = Pattern.compile("viewBox=\"([^\"]+)\"");
+
+    /** Location of an emoji body in a pack. Entries with identical bodies have equal bodies. */
+    record Body(EmojiAssetPack pack, int offset, int length) {
+
+        /** Decode the body from the pack. */
+        String decode() {
+            return pack.decode(offset, length);
+        }
+    }
+
+    /** A packed emoji SVG: its viewBox and inner content. */
+    record Entry(String viewBox, Body body) {
+    }
+
+    private final ByteBuffer bodies;
+    private final Map<String, Entry> entries;
+
+    private EmojiAssetPack(ByteBuffer bodies, String[] names, String[] viewBoxes, int[] offsets, int[] lengths) {
+        this.bodies = bodies;
+        this.entries = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            entries.put(names[i], new Entry(viewBoxes[i], new Body(this, offsets[i], lengths[i])));
+        }
+    }
+
+    /** Get an entry by name, or null if it is not in the pack. */
+    Entry get(String name) {
+        return entries.get(name);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Names of all entries in the pack. */
+    Set<String> names() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        // Absolute get, so concurrent decodes do not share a position
+        bodies.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Load the pack from the classpath. If it is missing (e.g. classes compiled by an IDE without the Maven build) the
+     * SVG folders are packed in memory instead.
+     *
+     * @param classLoader
+     *            Class loader to read the pack and SVG folders from
+     * @return The pack
+     */
+    static EmojiAssetPack load(ClassLoader classLoader) {
+        URL url = classLoader.getResource(RESOURCE);
+        if (url != null) {
+            try {
+                return map(url);
+            } catch (IOException | URISyntaxException e) {
+                LOG.warnf(e, "Unable to read %s, packing emoji SVGs in memory", url);
+            }
+        } else {
+            LOG.warnf("%s not found on the classpath, packing emoji SVGs in memory", RESOURCE);
+        }
+        return fromFolders(classLoader);
+    }
+
+    private static EmojiAssetPack map(URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            return map(Path.of(url.toURI()));
+        }
+
+        // Packaged in a jar: extract it once so it can still be mapped instead of read onto the heap
+        Path file = Files.createTempFile("emoji-svg", ".pack");
+        file.toFile().deleteOnExit();
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return map(file);
+    }
+
+    /** Memory-map a pack file. */
+    static EmojiAssetPack map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Pack the SVG folders in memory. Only folders on the file system can be listed; others are skipped. */
+    static EmojiAssetPack fromFolders(ClassLoader classLoader) {
+        Builder builder = new Builder();
+        for (String folder : FOLDERS) {
+            URL url = classLoader.getResource(folder);
+            if (url == null || !"file".equals(url.getProtocol())) {
+                LOG.warnf("Emoji SVG folder %s is not on the file system, skipping it", folder);
+                continue;
+            }
+            try {
+                builder.addFolder(folder, Path.of(url.toURI()));
+            } catch (IOException | URISyntaxException e) {
+                LOG.warnf(e, "Error loading emoji SVGs from %s", url);
+            }
+        }
+        return builder.build();
+    }
+
+    /** Read a pack from its serialized form. */
+    static EmojiAssetPack read(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < 12 || in.getInt() != MAGIC) {
+            throw new IOException("Not an emoji asset pack");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported emoji asset pack version " + version);
+        }
+
+        int count = in.getInt();
+        String[] names = new String[count];
+        String[] viewBoxes = new String[count];
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = readString(in);
+            viewBoxes[i] = readString(in);
+            offsets[i] = in.getInt();
+            lengths[i] = in.getInt();
+        }
+
+        ByteBuffer bodies = in.slice();
+        for (int i = 0; i < count; i++) {
+            if (offsets[i] < 0 || lengths[i] < 0 || offsets[i] > bodies.limit() - lengths[i]) {
+                throw new IOException("Emoji asset pack entry " + names[i] + " is out of bounds");
+            }
+        }
+        return new EmojiAssetPack(bodies, names, viewBoxes, offsets, lengths);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Read an SVG file the way it is packed: lines joined with {@code \n}. */
+    static String readSvg(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines()
+                .collect(Collectors.joining("\n"));
+    }
+
+    /** Extract viewBox attribute from SVG element. */
+    static String extractViewBox(String fullSvg) {
+        Matcher matcher = VIEWBOX_PATTERN.matcher(fullSvg);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return DEFAULT_VIEWBOX;
+    }
+
+    /**
+     * Extract the inner content from an SVG file. Removes the outer <svg> element and returns everything inside.
+     */
+    static String extractSvgInnerContent(String fullSvg) {
+        // Find the opening <svg> tag end
+        int svgStart = fullSvg.indexOf("<svg");
+        if (svgStart == -1) {
+            return fullSvg;
+        }
+
+        int svgTagEnd = fullSvg.indexOf(">", svgStart);
+        if (svgTagEnd == -1) {
+            return fullSvg;
+        }
+
+        // Find the closing </svg> tag
+        int svgEnd = fullSvg.lastIndexOf("</svg>");
+        if (svgEnd == -1) {
+            return fullSvg;
+        }
+
+        // Return everything between
+        return fullSvg.substring(svgTagEnd + 1, svgEnd).trim();
+    }
+
+    /** Collects entries and writes them in pack format. */
+    static final class Builder {
+
+        // name -> {viewBox, inner content}, sorted so the output does not depend on directory order
+        private final Map<String, String[]> entries = new TreeMap<>();
+
+        /** Add a complete SVG file, extracting its viewBox and inner content. */
+        Builder addSvg(String name, String fullSvg) {
+            return add(name, extractViewBox(fullSvg), extractSvgInnerContent(fullSvg));
+        }
+
+        /** Add every SVG file in a folder, named {@code folderName/filename} without the extension. */
+        Builder addFolder(String folderName, Path folder) throws IOException {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*.svg")) {
+                for (Path file : files) {
+                    String filename = file.getFileName().toString();
+                    try (InputStream in = Files.newInputStream(file)) {
+                        addSvg(folderName + "/" + filename.substring(0, filename.length() - 4), readSvg(in));
+                    }
+                }
+            }
+            return this;
+        }
+
+        Builder add(String name, String viewBox, String innerContent) {
+            entries.put(name, new String[]{viewBox, innerContent});
+            return this;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        byte[] toByteArray() {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+            Map<String, Integer> bodyOffsets = new HashMap<>();
+
+            try (DataOutputStream out = new DataOutputStream(index)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, String[]> entry : entries.entrySet()) {
+                    byte[] body = entry.getValue()[1].getBytes(StandardCharsets.UTF_8);
+                    Integer offset = bodyOffsets.get(entry.getValue()[1]);
+                    if (offset == null) {
+                        offset = bodies.size();
+                        bodyOffsets.put(entry.getValue()[1], offset);
+                        bodies.write(body);
+                    }
+
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue()[0]);
+                    out.writeInt(offset);
+                    out.writeInt(body.length);
+                }
+                bodies.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return index.toByteArray();
+        }
+
+        EmojiAssetPack build() {
+            try {
+                return read(ByteBuffer.wrap(toByteArray()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("String too long for an emoji asset pack: " + bytes.length);
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Build the pack from the emoji SVG folders. Run during the Maven build, writing into the compiled classes.
+     *
+     * @param args
+     *            Resources directory containing {@code emoji-svg/} and {@code emoji-svg-mono/}, and the output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: EmojiAssetPack <resources-dir> <output-file>");
+        }
+        Path resources = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+
+        Builder builder = new Builder();
+        for (String folder : FOLDERS) {
+            builder.addFolder(folder, resources.resolve(folder));
+        }
+
+        byte[] pack = builder.toByteArray();
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, pack);
+        LOG.infof("Packed %d emoji SVGs into %s (%d bytes)", builder.size(), output, pack.length);
+    }
+}
@@ -0,0 +1,93 @@
+package villagecompute.calendar.services;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-compiled emoji SVG body. Every place an ID is defined ({@code id="x"}) or referenced ({@code url(#x)},
+ * {@code href="#x"}, {@code xlink:href="#x"}) is recorded as a splice point, so making the IDs unique for one embedded
+ * copy is a single pass that appends the body into the output with the prefix inserted at each point.
+ *
+ * <p>
+ * Only IDs that are defined in the body are rewritten; references to anything else are left alone.
+ */
+final class EmojiSvgTemplate {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("id=\"([^\"]+)\"");
+
+    private static final int[] NO_SPLICE_POINTS = new int[0];
+
+    private final String content;
+    private final int[] splicePoints;
+
+    private EmojiSvgTemplate(String content, int[] splicePoints) {
+        this.content = content;
+        this.splicePoints = splicePoints;
+    }
+
+    /** Index the ID definitions and references in an emoji's inner SVG content. */
+    static EmojiSvgTemplate compile(String content) {
+        Set<String> ids = new LinkedHashSet<>();
+        Matcher matcher = ID_PATTERN.matcher(content);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        if (ids.isEmpty()) {
+            return new EmojiSvgTemplate(content, NO_SPLICE_POINTS);
+        }
+
+        int[] points = new int[16];
+        int count = 0;
+        for (String id : ids) {
+            // The prefix goes right before the ID in each form. href="#id" also covers xlink:href="#id".
+            String[] tokens = {"id=\"" + id + "\"", "url(#" + id + ")", "href=\"#" + id + "\""};
+            int[] offsets = {4, 5, 7};
+            for (int t = 0; t < tokens.length; t++) {
+                int index = content.indexOf(tokens[t]);
+                while (index >= 0) {
+                    if (count == points.length) {
+                        points = Arrays.copyOf(points, count * 2);
+                    }
+                    points[count++] = index + offsets[t];
+                    index = content.indexOf(tokens[t], index + tokens[t].length());
+                }
+            }
+        }
+
+        return new EmojiSvgTemplate(content, distinctSorted(points, count));
+    }
+
+    private static int[] distinctSorted(int[] points, int count) {
+        int[] sorted = Arrays.copyOf(points, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+
+    /** Append the body to {@code out}, inserting {@code idPrefix} in front of every ID definition and reference. */
+    void appendTo(StringBuilder out, CharSequence idPrefix) {
+        int start = 0;
+        for (int point : splicePoints) {
+            out.append(content, start, point).append(idPrefix);
+            start = point;
+        }
+        out.append(content, start, content.length());
+    }
+
+    /** The body as it was compiled, without any prefix. */
+    String content() {
+        return content;
+    }
+
+    int splicePointCount() {
+        return splicePoints.length;
+    }
+}
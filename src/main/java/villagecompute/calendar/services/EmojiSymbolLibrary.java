@@ -0,0 +1,41 @@
+package villagecompute.calendar.services;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The emoji {@code <symbol>} definitions used by one rendered document. Created per render, filled in by
+ * {@link EmojiSvgService#appendEmojiUse} and written into the document once rendering is done. Not thread-safe.
+ */
+public final class EmojiSymbolLibrary {
+
+    private final Set<String> symbolIds = new HashSet<>();
+    private final StringBuilder definitions = new StringBuilder();
+
+    /** Record a symbol ID as defined. Returns true if it was not defined yet and its definition must be appended. */
+    boolean define(String symbolId) {
+        return symbolIds.add(symbolId);
+    }
+
+    StringBuilder definitions() {
+        return definitions;
+    }
+
+    /** Number of distinct emoji symbols defined. */
+    public int size() {
+        return symbolIds.size();
+    }
+
+    /**
+     * Append the collected symbols as a {@code <defs>} block. {@code <use>} may reference a symbol defined later in
+     * the document, so this can be called just before the closing {@code </svg>}. Appends nothing if no emoji was
+     * used.
+     */
+    public void appendDefs(StringBuilder svg) {
+        if (symbolIds.isEmpty()) {
+            return;
+        }
+        svg.append("<defs>").append(System.lineSeparator()).append(definitions).append("</defs>")
+                .append(System.lineSeparator());
+    }
+}
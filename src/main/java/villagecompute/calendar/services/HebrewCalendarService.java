@@ -7,6 +7,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.util.SvgWriter;
 
 @ApplicationScoped
 public class HebrewCalendarService {
@@ -252,7 +253,7 @@ public class HebrewCalendarService {
 
     /** Generate Hebrew calendar SVG in grid layout */
     public String generateHebrewCalendarSVG(HebrewCalendarConfig config) {
-        StringBuilder svg = new StringBuilder();
+        SvgWriter svg = new SvgWriter();
 
         // Grid layout dimensions (similar to Gregorian grid)
         int cellWidth = config.compactMode ? 40 : 50;
@@ -280,57 +281,57 @@ public class HebrewCalendarService {
             appendMonthRow(svg, config, month, holidays, layout);
         }
 
-        svg.append("</svg>");
+        svg.end("svg");
         return svg.toString();
     }
 
     /** Append the opening SVG element. */
-    private void appendSvgHeader(StringBuilder svg, int svgWidth, int svgHeight) {
-        svg.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\""
-                        + " viewBox=\"0 0 %d %d\" preserveAspectRatio=\"xMidYMid meet\">%n",
-                svgWidth, svgHeight, svgWidth, svgHeight));
+    private void appendSvgHeader(SvgWriter svg, int svgWidth, int svgHeight) {
+        svg.begin("svg").attr("xmlns", "http://www.w3.org/2000/svg").attr("width", svgWidth).attr("height", svgHeight)
+                .raw(" viewBox=\"0 0 ").num(svgWidth).raw(' ').num(svgHeight).raw('"')
+                .attr("preserveAspectRatio", "xMidYMid meet").content().newline();
     }
 
     /** Append the embedded CSS style block. */
-    private void appendSvgStyles(StringBuilder svg) {
-        svg.append("<style>").append(System.lineSeparator());
-        svg.append(".year-text { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:"
+    private void appendSvgStyles(SvgWriter svg) {
+        svg.raw("<style>").newline();
+        svg.raw(".year-text { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:"
                 + " 60px; font-weight: bold; }%n");
-        svg.append(".year-subtitle { fill: #666; font-family: Helvetica, Arial, sans-serif; font-size:" + " 20px; }%n");
-        svg.append(".month-name { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:"
+        svg.raw(".year-subtitle { fill: #666; font-family: Helvetica, Arial, sans-serif; font-size:" + " 20px; }%n");
+        svg.raw(".month-name { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:"
                 + " 16px; font-weight: bold; }%n");
-        svg.append(".day-text { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:" + " 12px; }%n");
-        svg.append(".day-header { fill: #666; font-family: Arial, sans-serif; font-size: 10px; }%n");
-        svg.append(".grid-line { stroke: #ccc; stroke-width: 0.5; fill: rgba(255, 255, 255, 0); }%n");
-        svg.append(".shabbat-bg { fill: #f0f0ff; }").append(System.lineSeparator());
-        svg.append(".holiday-text { fill: #fff; font-family: Arial, sans-serif; font-size: 7px;"
+        svg.raw(".day-text { fill: #000; font-family: Helvetica, Arial, sans-serif; font-size:" + " 12px; }%n");
+        svg.raw(".day-header { fill: #666; font-family: Arial, sans-serif; font-size: 10px; }%n");
+        svg.raw(".grid-line { stroke: #ccc; stroke-width: 0.5; fill: rgba(255, 255, 255, 0); }%n");
+        svg.raw(".shabbat-bg { fill: #f0f0ff; }").newline();
+        svg.raw(".holiday-text { fill: #fff; font-family: Arial, sans-serif; font-size: 7px;"
                 + " text-anchor: middle; }%n");
-        svg.append("</style>").append(System.lineSeparator());
+        svg.raw("</style>").newline();
     }
 
     /** Append the Hebrew year title and Gregorian subtitle. */
-    private void appendYearHeader(StringBuilder svg, int hebrewYear) {
-        svg.append(String.format("<text x=\"50\" y=\"60\" class=\"year-text\">%d</text>%n", hebrewYear));
+    private void appendYearHeader(SvgWriter svg, int hebrewYear) {
+        svg.begin("text").attr("x", 50).attr("y", 60).attr("class", "year-text").content().num(hebrewYear).end("text")
+                .newline();
 
         int gregorianStart = hebrewYear - 3760;
         int gregorianEnd = gregorianStart + 1;
-        svg.append(String.format("<text x=\"50\" y=\"85\" class=\"year-subtitle\">%d-%d CE</text>%n", gregorianStart,
-                gregorianEnd));
+        svg.begin("text").attr("x", 50).attr("y", 85).attr("class", "year-subtitle").content().num(gregorianStart)
+                .raw('-').num(gregorianEnd).raw(" CE").end("text").newline();
     }
 
     /** Append day number column headers (1..30). */
-    private void appendDayNumberHeaders(StringBuilder svg, int monthLabelWidth, int cellWidth, int headerHeight) {
+    private void appendDayNumberHeaders(SvgWriter svg, int monthLabelWidth, int cellWidth, int headerHeight) {
         for (int day = 1; day <= 30; day++) {
             int x = monthLabelWidth + (day - 1) * cellWidth + cellWidth / 2;
             int y = headerHeight - 10;
-            svg.append(String.format(
-                    "<text x=\"%d\" y=\"%d\" class=\"day-header\"" + " text-anchor=\"middle\">%d</text>%n", x, y, day));
+            svg.begin("text").attr("x", x).attr("y", y).attr("class", "day-header").attr("text-anchor", "middle")
+                    .content().num(day).end("text").newline();
         }
     }
 
     /** Append a single month row (label + 30 day cells). */
-    private void appendMonthRow(StringBuilder svg, HebrewCalendarConfig config, int month, Map<String, String> holidays,
+    private void appendMonthRow(SvgWriter svg, HebrewCalendarConfig config, int month, Map<String, String> holidays,
             LayoutDimensions layout) {
         String monthName = getHebrewMonthName(month, config.hebrewYear);
         int daysInMonth = getDaysInHebrewMonth(month, config.hebrewYear);
@@ -346,22 +347,21 @@ public class HebrewCalendarService {
     }
 
     /** Append the rotated or upright month name label. */
-    private void appendMonthLabel(StringBuilder svg, String monthName, int rowY, int cellHeight, int monthLabelWidth,
+    private void appendMonthLabel(SvgWriter svg, String monthName, int rowY, int cellHeight, int monthLabelWidth,
             boolean rotate) {
+        int x = monthLabelWidth / 2;
         if (rotate) {
-            svg.append(String.format(
-                    "<text x=\"%d\" y=\"%d\" class=\"month-name\"" + " transform=\"rotate(-90 %d %d)\""
-                            + " text-anchor=\"middle\">%s</text>%n",
-                    monthLabelWidth / 2, rowY + cellHeight / 2, monthLabelWidth / 2, rowY + cellHeight / 2, monthName));
+            int y = rowY + cellHeight / 2;
+            svg.begin("text").attr("x", x).attr("y", y).attr("class", "month-name").raw(" transform=\"rotate(-90 ")
+                    .num(x).raw(' ').num(y).raw(")\"");
         } else {
-            svg.append(String.format(
-                    "<text x=\"%d\" y=\"%d\" class=\"month-name\"" + " text-anchor=\"middle\">%s</text>%n",
-                    monthLabelWidth / 2, rowY + cellHeight / 2 + 5, monthName));
+            svg.begin("text").attr("x", x).attr("y", rowY + cellHeight / 2 + 5).attr("class", "month-name");
         }
+        svg.attr("text-anchor", "middle").content().raw(monthName).end("text").newline();
     }
 
     /** Append a single day cell, dispatching to active or empty rendering. */
-    private void appendDayCell(StringBuilder svg, HebrewCalendarConfig config, int month, int day, int daysInMonth,
+    private void appendDayCell(SvgWriter svg, HebrewCalendarConfig config, int month, int day, int daysInMonth,
             Map<String, String> holidays, CellRect cell) {
         if (day > daysInMonth) {
             appendEmptyDayCell(svg, config, cell);
@@ -371,36 +371,37 @@ public class HebrewCalendarService {
     }
 
     /** Append an empty placeholder cell for days that don't exist in this month. */
-    private void appendEmptyDayCell(StringBuilder svg, HebrewCalendarConfig config, CellRect cell) {
+    private void appendEmptyDayCell(SvgWriter svg, HebrewCalendarConfig config, CellRect cell) {
         if (config.showGrid) {
-            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\""
-                    + " fill=\"#f9f9f9\" stroke=\"#eee\"" + " stroke-width=\"0.5\"/>%n", cell.x(), cell.y(),
-                    cell.width(), cell.height()));
+            appendCellRect(svg, cell).attr("fill", "#f9f9f9").attr("stroke", "#eee").attr("stroke-width", "0.5")
+                    .selfClose().newline();
         }
     }
 
+    /** Start a {@code <rect>} covering the cell; the caller adds any paint attributes and closes it. */
+    private static SvgWriter appendCellRect(SvgWriter svg, CellRect cell) {
+        return svg.begin("rect").attr("x", cell.x()).attr("y", cell.y()).attr("width", cell.width())
+                .attr("height", cell.height());
+    }
+
     /** Append a populated day cell (background, grid, day number, moon, holiday). */
-    private void appendActiveDayCell(StringBuilder svg, HebrewCalendarConfig config, int month, int day,
+    private void appendActiveDayCell(SvgWriter svg, HebrewCalendarConfig config, int month, int day,
             Map<String, String> holidays, CellRect cell) {
         // Check if this is Shabbat (simplified - every 7th day starting from Saturday)
         // In reality, this would need proper Hebrew date to day-of-week conversion
         boolean isShabbat = (day % 7) == 0;
         if (isShabbat && config.highlightWeekends) {
-            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\"" + " class=\"shabbat-bg\"/>%n",
-                    cell.x(), cell.y(), cell.width(), cell.height()));
+            appendCellRect(svg, cell).attr("class", "shabbat-bg").selfClose().newline();
         }
 
         if (config.showGrid) {
             String pdfSafeColor = CalendarRenderingService.convertColorForPDF("rgba(255, 255, 255, 0)");
-            svg.append(String.format(
-                    "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\"" + " class=\"grid-line\" fill=\"%s\"/>%n",
-                    cell.x(), cell.y(), cell.width(), cell.height(), pdfSafeColor));
+            appendCellRect(svg, cell).attr("class", "grid-line").attr("fill", pdfSafeColor).selfClose().newline();
         }
 
         if (config.showDayNumbers) {
-            svg.append(
-                    String.format("<text x=\"%d\" y=\"%d\" class=\"day-text\"" + " text-anchor=\"middle\">%d</text>%n",
-                            cell.x() + cell.width() / 2, cell.y() + 15, day));
+            svg.begin("text").attr("x", cell.x() + cell.width() / 2).attr("y", cell.y() + 15).attr("class", "day-text")
+                    .attr("text-anchor", "middle").content().num(day).end("text").newline();
         }
 
         String holidayName = holidays.get(month + "-" + day);
@@ -408,7 +409,7 @@ public class HebrewCalendarService {
     }
 
     /** Append moon illumination (with optional holiday text inside) or plain holiday text. */
-    private void appendMoonOrHoliday(StringBuilder svg, HebrewCalendarConfig config, int month, int day,
+    private void appendMoonOrHoliday(SvgWriter svg, HebrewCalendarConfig config, int month, int day,
             String holidayName, CellRect cell) {
         boolean illuminationMode = "illumination".equals(config.moonDisplayMode);
         if (illuminationMode) {
@@ -418,8 +419,8 @@ public class HebrewCalendarService {
             int moonX = cell.x() + cell.width() / 2;
             int moonY = cell.y() + cell.height() / 2 + config.moonOffsetY;
 
-            svg.append(calendarRenderingService.generateMoonIlluminationSVG(approximateDate, moonX, moonY,
-                    config.latitude, config.longitude, config));
+            calendarRenderingService.appendMoonIllumination(svg, approximateDate, moonX, moonY, config.latitude,
+                    config.longitude, config);
 
             if (holidayName != null) {
                 drawWrappedTextInMoon(svg, holidayName, moonX, moonY, config.moonSize);
@@ -429,13 +430,14 @@ public class HebrewCalendarService {
 
         if (holidayName != null) {
             String displayName = holidayName.length() > 10 ? holidayName.substring(0, 10) : holidayName;
-            svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"holiday-text\"" + " font-size=\"8\">%s</text>%n",
-                    cell.x() + cell.width() / 2, cell.y() + cell.height() - 10, displayName));
+            svg.begin("text").attr("x", cell.x() + cell.width() / 2).attr("y", cell.y() + cell.height() - 10)
+                    .attr("class", "holiday-text").attr("font-size", 8).content().raw(displayName).end("text")
+                    .newline();
         }
     }
 
     /** Draw wrapped text inside moon circle */
-    private void drawWrappedTextInMoon(StringBuilder svg, String text, int centerX, int centerY, int radius) {
+    private void drawWrappedTextInMoon(SvgWriter svg, String text, int centerX, int centerY, int radius) {
         // Split text into words for wrapping
         String[] words = text.split(" ");
         List<String> lines = new ArrayList<>();
@@ -465,9 +467,8 @@ public class HebrewCalendarService {
 
         // Draw each line of text
         for (int i = 0; i < lines.size(); i++) {
-            svg.append(String.format(
-                    "<text x=\"%d\" y=\"%d\" class=\"holiday-text\"" + " dominant-baseline=\"middle\">%s</text>%n",
-                    centerX, startY + i * lineHeight, lines.get(i)));
+            svg.begin("text").attr("x", centerX).attr("y", startY + i * lineHeight).attr("class", "holiday-text")
+                    .attr("dominant-baseline", "middle").content().raw(lines.get(i)).end("text").newline();
         }
     }
 }
@@ -3,21 +3,41 @@ package villagecompute.calendar.services;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.ZoneOffset;
 import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import org.jboss.logging.Logger;
 
 import villagecompute.calendar.types.HolidayType;
+import villagecompute.calendar.util.astronomical.SeasonalEventCalculator;
+import villagecompute.calendar.util.astronomical.SeasonalEventCalculator.EventType;
+
+import io.quarkus.runtime.StartupEvent;
 
 /**
  * Service for calculating holidays for different countries. Jewish holidays are calculated dynamically using Hebrew
  * calendar algorithms.
+ *
+ * <p>
+ * Holiday tables are computed once per year and set list and returned as shared, unmodifiable maps. Tables for the
+ * current and next two years are built at startup.
  */
 @ApplicationScoped
 public class HolidayService {
 
+    private static final Logger LOG = Logger.getLogger(HolidayService.class);
+
     // ========================================
     // Holiday Set Constants
     // ========================================
@@ -58,6 +78,27 @@ public class HolidayService {
     // Pride rainbow flag (U+1F3F3 U+FE0F U+200D U+1F308)
     private static final String EMOJI_RAINBOW_FLAG = "\uD83C\uDFF3\uFE0F\u200D\uD83C\uDF08";
 
+    // ========================================
+    // Holiday Table Cache
+    // ========================================
+
+    /** Sets that have holiday tables, by canonical name. */
+    static final List<String> TABLE_SETS = List.of(SET_US, SET_JEWISH, SET_CHRISTIAN, SET_CANADIAN, SET_UK,
+            SET_MAJOR_WORLD, SET_MEXICAN, SET_PAGAN, SET_HINDU, SET_ISLAMIC, SET_CHINESE, SET_SECULAR);
+
+    /** Years after the current one whose tables are built at startup. */
+    private static final int WARM_YEARS = 2;
+
+    private static final int MAX_CACHED_TABLES = 512;
+
+    // Tables are pure functions of year and sets, so they are built once and shared; access-ordered for LRU eviction
+    private final Map<HolidayTableKey, Map<LocalDate, HolidayType>> tables = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<HolidayTableKey, Map<LocalDate, HolidayType>> eldest) {
+            return size() > MAX_CACHED_TABLES;
+        }
+    };
+
     /**
      * Map frontend holiday set IDs to canonical backend set names. Handles case-insensitive matching and various
      * aliases.
@@ -95,27 +136,129 @@ public class HolidayService {
      *            The calendar year
      * @param setId
      *            The holiday set ID (will be mapped to canonical name)
-     * @return Map of LocalDate to HolidayType entries
+     * @return Unmodifiable map of LocalDate to HolidayType entries, shared between callers
      */
     public Map<LocalDate, HolidayType> getHolidays(int year, String setId) {
-        String canonicalSet = mapHolidaySetId(setId);
-        return switch (canonicalSet) {
+        String tableSet = canonicalSet(setId);
+        return tableSet != null ? getTable(year, List.of(tableSet)) : Map.of();
+    }
+
+    /**
+     * Get the holidays of several sets merged into one map. Where sets share a date, the set listed last wins.
+     *
+     * @param year
+     *            The calendar year
+     * @param setIds
+     *            The holiday set IDs (will be mapped to canonical names); unknown sets are ignored
+     * @return Unmodifiable map of LocalDate to HolidayType entries, shared between callers
+     */
+    public Map<LocalDate, HolidayType> getHolidays(int year, Collection<String> setIds) {
+        // Canonical names in merge order; a repeated set only counts where it appears last
+        LinkedHashSet<String> tableSets = new LinkedHashSet<>();
+        for (String setId : setIds) {
+            String tableSet = canonicalSet(setId);
+            if (tableSet != null) {
+                tableSets.remove(tableSet);
+                tableSets.add(tableSet);
+            }
+        }
+        return tableSets.isEmpty() ? Map.of() : getTable(year, List.copyOf(tableSets));
+    }
+
+    /** Build the tables for the current and next two years so the first renders after startup hit the cache. */
+    void onStart(@Observes StartupEvent event) {
+        long start = System.nanoTime();
+        int currentYear = LocalDate.now().getYear();
+        for (int year = currentYear; year <= currentYear + WARM_YEARS; year++) {
+            for (String tableSet : TABLE_SETS) {
+                getHolidays(year, tableSet);
+            }
+        }
+        LOG.infof("Holiday tables for %d-%d built in %d ms", currentYear, currentYear + WARM_YEARS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Map<LocalDate, HolidayType> getTable(int year, List<String> tableSets) {
+        HolidayTableKey key = new HolidayTableKey(year, tableSets);
+        synchronized (tables) {
+            Map<LocalDate, HolidayType> table = tables.get(key);
+            if (table != null) {
+                return table;
+            }
+        }
+
+        // Built outside the lock; two callers racing on the same key build equal tables
+        Map<LocalDate, HolidayType> table;
+        if (tableSets.size() == 1) {
+            table = Collections.unmodifiableMap(buildHolidays(year, tableSets.get(0)));
+        } else {
+            Map<LocalDate, HolidayType> merged = new HashMap<>();
+            for (String tableSet : tableSets) {
+                merged.putAll(getTable(year, List.of(tableSet)));
+            }
+            table = Collections.unmodifiableMap(merged);
+        }
+
+        synchronized (tables) {
+            tables.put(key, table);
+        }
+        return table;
+    }
+
+    /** Number of holiday tables currently cached. */
+    int cachedTableCount() {
+        synchronized (tables) {
+            return tables.size();
+        }
+    }
+
+    /**
+     * The canonical set a holiday set ID selects, folding aliases such as "hebrew" and "wiccan".
+     *
+     * @param setId
+     *            The holiday set ID
+     * @return One of {@link #TABLE_SETS}, or null if there is no such set
+     */
+    public String canonicalSet(String setId) {
+        return switch (mapHolidaySetId(setId)) {
+            case SET_US -> SET_US;
+            case SET_JEWISH, SET_HEBREW -> SET_JEWISH;
+            case SET_CHRISTIAN -> SET_CHRISTIAN;
+            case SET_CANADIAN -> SET_CANADIAN;
+            case SET_UK -> SET_UK;
+            case SET_MAJOR_WORLD -> SET_MAJOR_WORLD;
+            case SET_MEXICAN -> SET_MEXICAN;
+            case SET_PAGAN, SET_WICCAN -> SET_PAGAN;
+            case SET_HINDU -> SET_HINDU;
+            case SET_ISLAMIC, SET_MUSLIM -> SET_ISLAMIC;
+            case SET_CHINESE, SET_LUNAR -> SET_CHINESE;
+            case SET_SECULAR, SET_FUN -> SET_SECULAR;
+            default -> null;
+        };
+    }
+
+    private Map<LocalDate, HolidayType> buildHolidays(int year, String tableSet) {
+        return switch (tableSet) {
             case SET_US -> buildUSHolidays(year);
-            case SET_JEWISH, SET_HEBREW -> buildJewishHolidays(year);
+            case SET_JEWISH -> buildJewishHolidays(year);
             case SET_CHRISTIAN -> buildChristianHolidays(year);
             case SET_CANADIAN -> buildCanadianHolidays(year);
             case SET_UK -> buildUKHolidays(year);
             case SET_MAJOR_WORLD -> buildMajorWorldHolidays(year);
             case SET_MEXICAN -> buildMexicanHolidays(year);
-            case SET_PAGAN, SET_WICCAN -> buildPaganHolidays(year);
+            case SET_PAGAN -> buildPaganHolidays(year);
             case SET_HINDU -> buildHinduHolidays(year);
-            case SET_ISLAMIC, SET_MUSLIM -> buildIslamicHolidays(year);
-            case SET_CHINESE, SET_LUNAR -> buildChineseHolidays(year);
-            case SET_SECULAR, SET_FUN -> buildSecularHolidays(year);
-            default -> new HashMap<>();
+            case SET_ISLAMIC -> buildIslamicHolidays(year);
+            case SET_CHINESE -> buildChineseHolidays(year);
+            case SET_SECULAR -> buildSecularHolidays(year);
+            default -> throw new IllegalArgumentException("Unknown holiday set: " + tableSet);
         };
     }
 
+    /** Cache key: a year and the canonical names of the sets merged for it, in merge order. */
+    private record HolidayTableKey(int year, List<String> tableSets) {
+    }
+
     // ========================================
     // US Federal Holidays
     // ========================================
@@ -459,63 +602,27 @@ public class HolidayService {
 
     // ========================================
     // Astronomical Calculations for Solstices/Equinoxes
-    // Using simplified algorithm accurate to within ~1 day
+    // Dates are in UTC, like the other calculated holidays
     // ========================================
 
     /** Calculate spring equinox date (March 19-21) */
     private LocalDate calculateSpringEquinox(int year) {
-        // Jean Meeus algorithm approximation
-        double jde = calculateEquinoxSolstice(year, 0); // 0 = spring equinox
-        return julianDayToLocalDate(jde);
+        return SeasonalEventCalculator.getDate(year, EventType.SPRING_EQUINOX, ZoneOffset.UTC);
     }
 
     /** Calculate summer solstice date (June 20-22) */
     private LocalDate calculateSummerSolstice(int year) {
-        double jde = calculateEquinoxSolstice(year, 1); // 1 = summer solstice
-        return julianDayToLocalDate(jde);
+        return SeasonalEventCalculator.getDate(year, EventType.SUMMER_SOLSTICE, ZoneOffset.UTC);
     }
 
     /** Calculate autumn equinox date (September 22-24) */
     private LocalDate calculateAutumnEquinox(int year) {
-        double jde = calculateEquinoxSolstice(year, 2); // 2 = autumn equinox
-        return julianDayToLocalDate(jde);
+        return SeasonalEventCalculator.getDate(year, EventType.AUTUMN_EQUINOX, ZoneOffset.UTC);
     }
 
     /** Calculate winter solstice date (December 20-23) */
     private LocalDate calculateWinterSolstice(int year) {
-        double jde = calculateEquinoxSolstice(year, 3); // 3 = winter solstice
-        return julianDayToLocalDate(jde);
-    }
-
-    /**
-     * Calculate equinox or solstice using Jean Meeus algorithm type: 0=spring equinox, 1=summer solstice, 2=autumn
-     * equinox, 3=winter solstice
-     */
-    private double calculateEquinoxSolstice(int year, int type) {
-        double y = (year - 2000) / 1000.0;
-        double jde0;
-
-        switch (type) {
-            case 0 : // Spring Equinox (March)
-                jde0 = 2451623.80984 + 365242.37404 * y + 0.05169 * y * y - 0.00411 * y * y * y
-                        - 0.00057 * y * y * y * y;
-                break;
-            case 1 : // Summer Solstice (June)
-                jde0 = 2451716.56767 + 365241.62603 * y + 0.00325 * y * y + 0.00888 * y * y * y
-                        - 0.00030 * y * y * y * y;
-                break;
-            case 2 : // Autumn Equinox (September)
-                jde0 = 2451810.21715 + 365242.01767 * y - 0.11575 * y * y + 0.00337 * y * y * y
-                        + 0.00078 * y * y * y * y;
-                break;
-            case 3 : // Winter Solstice (December)
-            default :
-                jde0 = 2451900.05952 + 365242.74049 * y - 0.06223 * y * y - 0.00823 * y * y * y
-                        + 0.00032 * y * y * y * y;
-                break;
-        }
-
-        return jde0;
+        return SeasonalEventCalculator.getDate(year, EventType.WINTER_SOLSTICE, ZoneOffset.UTC);
     }
 
     /** Convert Julian Day Number to LocalDate */
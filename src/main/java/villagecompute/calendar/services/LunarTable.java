@@ -0,0 +1,253 @@
+package villagecompute.calendar.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed lunar values for every day of one Gregorian year: phase, illuminated fraction and whether the day is the
+ * closest to a new moon, quarter or full moon. The moon's parallactic angle depends on the observer, so it is computed
+ * per location bucket (coordinates rounded to four decimal places, about 11 m) on first use and kept with the table.
+ *
+ * <p>
+ * Tables are immutable and memoized per year, so a calendar render computes each value once instead of three times per
+ * day cell, and concurrent renders of the same year share one table. Both the tables and each table's locations are
+ * bounded, least recently used first, so an uncommon year or location costs one computation rather than one per
+ * call. The values use the same mean synodic-month model the calendar renderers have always drawn with, so rendered
+ * moons are unchanged.
+ */
+public final class LunarTable {
+
+    /** Day is the closest to a new moon, first quarter, full moon or last quarter. */
+    private static final byte PHASE_DAY = 1;
+
+    /** Day is the closest to a full moon. */
+    private static final byte FULL_MOON_DAY = 2;
+
+    // Known new moon (January 6, 2000) and mean synodic month used for phases
+    private static final LocalDate KNOWN_NEW_MOON = LocalDate.of(2000, 1, 6);
+    private static final double SYNODIC_MONTH = 29.53059;
+
+    // Reference date and synodic month used for the moon's position
+    private static final LocalDate J2000 = LocalDate.of(2000, 1, 1);
+    private static final double POSITION_SYNODIC_MONTH = 29.53058867;
+
+    // Maximum distance from an exact phase for a day to be marked as that phase
+    private static final double PHASE_TOLERANCE = 0.017;
+
+    // Bounds on memoized data; beyond these the least recently used tables and locations are dropped
+    static final int MAX_CACHED_YEARS = 256;
+    static final int MAX_CACHED_LOCATIONS = 64;
+
+    // Coordinates are rounded to 1/10000 of a degree, so coordinates given to four decimals are used exactly
+    static final int LOCATION_BUCKETS_PER_DEGREE = 10_000;
+
+    private static final Map<Integer, LunarTable> TABLES = lruMap(MAX_CACHED_YEARS);
+
+    private final int year;
+    private final LocalDate firstDay;
+    private final double[] phase;
+    private final double[] illumination;
+    private final byte[] flags;
+    private final Map<Location, double[]> parallacticAngles = lruMap(MAX_CACHED_LOCATIONS);
+
+    /** A location bucket, in {@link #LOCATION_BUCKETS_PER_DEGREE}ths of a degree. */
+    private record Location(long latitude, long longitude) {
+
+        static Location of(double latitude, double longitude) {
+            return new Location(Math.round(latitude * LOCATION_BUCKETS_PER_DEGREE),
+                    Math.round(longitude * LOCATION_BUCKETS_PER_DEGREE));
+        }
+
+        double latitudeDegrees() {
+            return (double) latitude / LOCATION_BUCKETS_PER_DEGREE;
+        }
+
+        double longitudeDegrees() {
+            return (double) longitude / LOCATION_BUCKETS_PER_DEGREE;
+        }
+    }
+
+    private LunarTable(int year) {
+        this.year = year;
+        this.firstDay = LocalDate.of(year, 1, 1);
+        int days = firstDay.lengthOfYear();
+
+        // Phases for the day before and after the year too, as each day is compared with its neighbours
+        double[] phases = new double[days + 2];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = phaseValue(firstDay.plusDays(i - 1L));
+        }
+
+        phase = new double[days];
+        illumination = new double[days];
+        flags = new byte[days];
+        for (int day = 0; day < days; day++) {
+            double yesterday = phases[day];
+            double today = phases[day + 1];
+            double tomorrow = phases[day + 2];
+
+            phase[day] = today;
+            illumination[day] = (1 - Math.cos(today * 2 * Math.PI)) / 2;
+
+            boolean fullMoon = isClosest(yesterday - 0.5, today - 0.5, tomorrow - 0.5);
+            boolean phaseDay = isClosestToNewMoon(yesterday, today, tomorrow)
+                    || isClosest(yesterday - 0.25, today - 0.25, tomorrow - 0.25) || fullMoon
+                    || isClosest(yesterday - 0.75, today - 0.75, tomorrow - 0.75);
+            flags[day] = (byte) ((phaseDay ? PHASE_DAY : 0) | (fullMoon ? FULL_MOON_DAY : 0));
+        }
+    }
+
+    /**
+     * Get the table for a year, computing it on first use.
+     *
+     * @param year
+     *            Gregorian year
+     * @return The shared table for that year
+     */
+    public static LunarTable forYear(int year) {
+        synchronized (TABLES) {
+            return TABLES.computeIfAbsent(year, LunarTable::new);
+        }
+    }
+
+    /** Get the table for the year containing {@code date}. */
+    public static LunarTable forDate(LocalDate date) {
+        return forYear(date.getYear());
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /** Phase in the lunar cycle: 0 = new moon, 0.25 = first quarter, 0.5 = full moon, 0.75 = last quarter. */
+    public double phase(LocalDate date) {
+        return phase[index(date)];
+    }
+
+    /** Illuminated fraction of the moon's disc, from 0 to 1. */
+    public double illumination(LocalDate date) {
+        return illumination[index(date)];
+    }
+
+    /** Whether this is the day closest to a new moon, first quarter, full moon or last quarter. */
+    public boolean isPhaseDay(LocalDate date) {
+        return (flags[index(date)] & PHASE_DAY) != 0;
+    }
+
+    /** Whether this is the day closest to a full moon. */
+    public boolean isFullMoonDay(LocalDate date) {
+        return (flags[index(date)] & FULL_MOON_DAY) != 0;
+    }
+
+    /**
+     * Parallactic angle of the moon for an observer, i.e. how far the lit side is rotated from their point of view.
+     *
+     * @return Angle in radians
+     */
+    public double parallacticAngle(LocalDate date, double latitude, double longitude) {
+        int day = index(date);
+        double[] angles;
+        synchronized (parallacticAngles) {
+            angles = parallacticAngles.computeIfAbsent(Location.of(latitude, longitude),
+                    this::computeParallacticAngles);
+        }
+        return angles[day];
+    }
+
+    /** Number of tables held, for tests. */
+    static int cachedYears() {
+        synchronized (TABLES) {
+            return TABLES.size();
+        }
+    }
+
+    /** Number of location buckets held by this table, for tests. */
+    int cachedLocations() {
+        synchronized (parallacticAngles) {
+            return parallacticAngles.size();
+        }
+    }
+
+    private int index(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is not in lunar table for " + year);
+        }
+        return date.getDayOfYear() - 1;
+    }
+
+    private double[] computeParallacticAngles(Location location) {
+        double[] angles = new double[phase.length];
+        for (int day = 0; day < angles.length; day++) {
+            angles[day] = computeParallacticAngle(firstDay.plusDays(day), location.latitudeDegrees(),
+                    location.longitudeDegrees());
+        }
+        return angles;
+    }
+
+    /** An access-ordered map that drops its least recently used entry beyond {@code maxSize}. Not thread-safe. */
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private static boolean isClosestToNewMoon(double yesterday, double today, double tomorrow) {
+        double distToday = Math.min(today, 1.0 - today);
+        return distToday < Math.min(yesterday, 1.0 - yesterday) && distToday < Math.min(tomorrow, 1.0 - tomorrow)
+                && distToday < PHASE_TOLERANCE;
+    }
+
+    private static boolean isClosest(double yesterday, double today, double tomorrow) {
+        double distToday = Math.abs(today);
+        return distToday < Math.abs(yesterday) && distToday < Math.abs(tomorrow) && distToday < PHASE_TOLERANCE;
+    }
+
+    // Moon phase as a value from 0 to 1
+    private static double phaseValue(LocalDate date) {
+        long daysSince = ChronoUnit.DAYS.between(KNOWN_NEW_MOON, date);
+        return (daysSince % SYNODIC_MONTH) / SYNODIC_MONTH;
+    }
+
+    // Approximate parallactic angle with hemisphere awareness
+    private static double computeParallacticAngle(LocalDate date, double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+
+        // Moon's approximate position in its orbit
+        long daysSinceJ2000 = ChronoUnit.DAYS.between(J2000, date);
+        double moonAge = (daysSinceJ2000 - 5.5) % POSITION_SYNODIC_MONTH;
+
+        // Moon's orbit is inclined about 5.14° to ecliptic, ecliptic is inclined 23.44° to equator
+        // This gives moon declination range of approximately ±28.6°
+        double moonOrbitPhase = (moonAge / POSITION_SYNODIC_MONTH) * 2 * Math.PI;
+        double moonDeclination = Math
+                .toRadians(28.6 * Math.sin(moonOrbitPhase + date.getDayOfYear() * Math.PI / 182.625));
+
+        // Hour angle based on day and longitude (simplified - actual calculation would need precise time)
+        double hourAngle = (date.getDayOfMonth() / 30.0) * 2 * Math.PI + lng;
+
+        double altitude = Math.asin(Math.sin(lat) * Math.sin(moonDeclination)
+                + Math.cos(lat) * Math.cos(moonDeclination) * Math.cos(hourAngle));
+
+        double sinPA = Math.sin(hourAngle) * Math.cos(moonDeclination) / Math.cos(altitude);
+        double cosPA = (Math.sin(moonDeclination) * Math.cos(lat)
+                - Math.cos(moonDeclination) * Math.sin(lat) * Math.cos(hourAngle)) / Math.cos(altitude);
+        double parallacticAngle = Math.atan2(sinPA, cosPA);
+
+        if (latitude < 0) {
+            // Southern hemisphere: moon appears "upside down" relative to northern view
+            parallacticAngle += Math.PI;
+        }
+
+        // Gradual transition from equator to poles
+        double latitudeFactor = Math.abs(latitude) / 90.0;
+        parallacticAngle += (1 - latitudeFactor) * hourAngle * 0.3;
+
+        return parallacticAngle;
+    }
+}
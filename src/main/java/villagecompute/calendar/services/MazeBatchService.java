@@ -0,0 +1,245 @@
+package villagecompute.calendar.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.services.MazeGenerationService.MazeGenerationConfig;
+
+/**
+ * Generates many mazes at once, e.g. the 52 pages of a weekly maze book. Mazes are generated and rendered in parallel
+ * on a pool with (by default) a thread per core; each maze has its own seeded {@code Random}, so a page comes out the
+ * same whichever thread generates it. Pages are handed to the caller as they finish, or assembled into one multi-page
+ * PDF.
+ *
+ * <p>
+ * PDF pages are transcoded on the {@link RenderExecutor} like every other PDF. A PDF batch reserves render threads up
+ * front and submits no more pages to the batch pool than it holds, so concurrent batches cannot fill the render queue
+ * and fail each other (or single renders) half way, and a PDF batch waiting on its renders does not park the batch
+ * threads streamed batches need; a batch that gets no thread is rejected before generating anything. PDF
+ * batches are also capped lower than streamed ones, at {@code calendar.maze.batch.pdf-max-size}.
+ */
+@ApplicationScoped
+public class MazeBatchService {
+
+    private static final Logger LOG = Logger.getLogger(MazeBatchService.class);
+
+    @Inject
+    MazeGenerationService mazeGenerationService;
+
+    @Inject
+    PDFRenderingService pdfRenderingService;
+
+    @Inject
+    RenderExecutor renderExecutor;
+
+    /** Threads generating mazes; 0 for one per available processor. */
+    @ConfigProperty(
+            name = "calendar.maze.batch.parallelism",
+            defaultValue = "0")
+    int parallelism;
+
+    @ConfigProperty(
+            name = "calendar.maze.batch.max-size",
+            defaultValue = "100")
+    int maxBatchSize;
+
+    /** Most pages in one PDF batch, which holds render threads for the whole batch. */
+    @ConfigProperty(
+            name = "calendar.maze.batch.pdf-max-size",
+            defaultValue = "52")
+    int maxPdfBatchSize;
+
+    private ExecutorService executor;
+
+    /**
+     * A generated maze.
+     *
+     * @param index
+     *            Position of the maze's configuration in the batch
+     * @param seed
+     *            Seed the maze was generated with, so the page can be generated again
+     * @param svg
+     *            The rendered maze
+     */
+    public record MazePage(int index, long seed, String svg) {
+    }
+
+    // A task's result with its position in the batch
+    private record Indexed<T>(int index, T value) {
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "maze-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOG.infof("Maze batch executor started: %d threads, at most %d mazes per batch (%d per PDF)", threads,
+                maxBatchSize, maxPdfBatchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** One configuration per seed, otherwise the same as {@code template}. */
+    public static List<MazeGenerationConfig> withSeeds(MazeGenerationConfig template, List<Long> seeds) {
+        return seeds.stream().map(template::withSeed).toList();
+    }
+
+    /**
+     * Generate and render a batch of mazes, passing each one to {@code onPage} as soon as it is done. Pages therefore
+     * arrive in completion order, not batch order; {@link MazePage#index()} tells them apart. {@code onPage} is called
+     * on the calling thread, one page at a time.
+     *
+     * @param configs
+     *            One configuration per maze. A null seed is replaced by a random one, reported in the page.
+     * @param onPage
+     *            Receives each page as it finishes
+     * @throws IllegalArgumentException
+     *             If the batch is empty or larger than {@code calendar.maze.batch.max-size}
+     * @throws RenderingException
+     *             If generating a maze fails with a checked exception or the caller is interrupted
+     */
+    public void generate(List<MazeGenerationConfig> configs, Consumer<MazePage> onPage) {
+        List<MazeGenerationConfig> seeded = resolveSeeds(configs, maxBatchSize);
+        run(seeded, seeded.size(), mazeGenerationService::generateMazeSvg,
+                (svg, index) -> onPage.accept(new MazePage(index, seeded.get(index).seed(), svg)));
+    }
+
+    /**
+     * Generate a batch of mazes as one PDF, a page per maze in batch order.
+     *
+     * @param configs
+     *            One configuration per maze. A null seed is replaced by a random one.
+     * @param title
+     *            Title for the PDF's metadata
+     * @return PDF bytes
+     * @throws IllegalArgumentException
+     *             If the batch is empty or larger than {@code calendar.maze.batch.pdf-max-size}
+     * @throws RenderRejectedException
+     *             If other batches hold every render thread batches may use
+     * @throws RenderingException
+     *             If generating or transcoding a page fails
+     */
+    public byte[] generatePdf(List<MazeGenerationConfig> configs, String title) {
+        List<MazeGenerationConfig> seeded = resolveSeeds(configs, maxPdfBatchSize);
+        byte[][] pages = new byte[seeded.size()][];
+
+        try (RenderExecutor.Reservation reservation = renderExecutor.reserve("maze batch PDF", seeded.size())) {
+            // A page in flight holds a batch thread until its render finishes, so keep no more in flight than the
+            // reservation covers; the rest of the pool stays free for other batches
+            run(seeded, reservation.slots(),
+                    config -> pdfRenderingService.renderSVGToPDF(mazeGenerationService.generateMazeSvg(config), title),
+                    (pdf, index) -> pages[index] = pdf);
+        }
+
+        return pdfRenderingService.mergePDFs(Arrays.asList(pages), title);
+    }
+
+    /**
+     * Check that a batch can be generated, e.g. before a response starts streaming it.
+     *
+     * @throws IllegalArgumentException
+     *             If the batch is empty or larger than {@code calendar.maze.batch.max-size}
+     */
+    public void validate(List<MazeGenerationConfig> configs) {
+        validate(configs, maxBatchSize);
+    }
+
+    private static void validate(List<MazeGenerationConfig> configs, int maxSize) {
+        if (configs == null || configs.isEmpty()) {
+            throw new IllegalArgumentException("At least one maze is required");
+        }
+        if (configs.size() > maxSize) {
+            throw new IllegalArgumentException(
+                    "At most " + maxSize + " mazes can be generated at once, got " + configs.size());
+        }
+    }
+
+    private List<MazeGenerationConfig> resolveSeeds(List<MazeGenerationConfig> configs, int maxSize) {
+        validate(configs, maxSize);
+        return configs.stream()
+                .map(config -> config.seed() != null ? config : config.withSeed(ThreadLocalRandom.current().nextLong()))
+                .toList();
+    }
+
+    /**
+     * Run {@code task} for every configuration on the batch executor and hand each result to {@code onResult} on the
+     * calling thread as it completes. At most {@code maxInFlight} tasks are submitted at a time; the next one is
+     * submitted as each result arrives. If a task or {@code onResult} fails, the tasks still pending are cancelled.
+     */
+    private <T> void run(List<MazeGenerationConfig> configs, int maxInFlight, Function<MazeGenerationConfig, T> task,
+            ObjIntConsumer<T> onResult) {
+        long start = System.nanoTime();
+        CompletionService<Indexed<T>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Indexed<T>>> futures = new ArrayList<>(configs.size());
+        IntConsumer submit = index -> {
+            MazeGenerationConfig config = configs.get(index);
+            futures.add(completion.submit(() -> new Indexed<>(index, task.apply(config))));
+        };
+        int submitted = Math.min(Math.max(maxInFlight, 1), configs.size());
+        for (int i = 0; i < submitted; i++) {
+            submit.accept(i);
+        }
+
+        boolean completed = false;
+        try {
+            for (int i = 0; i < configs.size(); i++) {
+                Indexed<T> result = completion.take().get();
+                if (submitted < configs.size()) {
+                    submit.accept(submitted++);
+                }
+                onResult.accept(result.value(), result.index());
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RenderingException("Maze batch interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RenderingException("Maze batch failed: " + cause.getMessage(), cause);
+        } finally {
+            if (!completed) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        LOG.infof("Generated %d mazes in %d ms", configs.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -5,12 +5,15 @@ import java.util.List;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.jboss.logging.Logger;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import villagecompute.calendar.data.models.UserMaze;
 import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.maze.MazeAlgorithm;
 import villagecompute.calendar.services.maze.MazeGrid;
 import villagecompute.calendar.services.maze.MazeSvgRenderer;
 
@@ -21,6 +24,8 @@ import villagecompute.calendar.services.maze.MazeSvgRenderer;
 @ApplicationScoped
 public class MazeGenerationService {
 
+    private static final Logger LOG = Logger.getLogger(MazeGenerationService.class);
+
     // Printable area aspect ratio (33" x 21")
     private static final double ASPECT_RATIO = 33.0 / 21.0; // ~1.57
 
@@ -54,16 +59,33 @@ public class MazeGenerationService {
      *            Whether to highlight dead-end paths
      * @param deadEndColor
      *            Color for dead-end highlighting (null for default)
+     * @param algorithm
+     *            Algorithm that carves the passages (null for the recursive backtracker)
      */
     public record MazeGenerationConfig(MazeType type, int size, int difficulty, Long seed, boolean showSolution,
-            String innerWallColor, String outerWallColor, String pathColor, boolean showDeadEnds, String deadEndColor) {
+            String innerWallColor, String outerWallColor, String pathColor, boolean showDeadEnds, String deadEndColor,
+            MazeAlgorithm algorithm) {
+
+        /** Configuration using the default algorithm. */
+        public MazeGenerationConfig(MazeType type, int size, int difficulty, Long seed, boolean showSolution,
+                String innerWallColor, String outerWallColor, String pathColor, boolean showDeadEnds,
+                String deadEndColor) {
+            this(type, size, difficulty, seed, showSolution, innerWallColor, outerWallColor, pathColor, showDeadEnds,
+                    deadEndColor, null);
+        }
+
+        /** This configuration with a different seed, e.g. for each page of a maze book. */
+        public MazeGenerationConfig withSeed(Long newSeed) {
+            return new MazeGenerationConfig(type, size, difficulty, newSeed, showSolution, innerWallColor,
+                    outerWallColor, pathColor, showDeadEnds, deadEndColor, algorithm);
+        }
     }
 
     /**
      * Convert size (1-20) to grid dimensions. Size 1 = ~15 cells wide (simple maze, ~2.2" paths) Size 20 = ~132 cells
      * wide (complex maze, ~0.25" / 1/4" paths) Height is calculated to maintain aspect ratio.
      */
-    private int[] sizeToGridDimensions(int size) {
+    int[] sizeToGridDimensions(int size) {
         // Clamp size to 1-20
         size = Math.clamp(size, 1, 20);
 
@@ -85,7 +107,8 @@ public class MazeGenerationService {
      */
     public String generateMazeSvg(MazeGenerationConfig config) {
         int[] dims = sizeToGridDimensions(config.size());
-        MazeGrid grid = new MazeGrid(dims[0], dims[1], config.type(), config.difficulty(), config.seed());
+        MazeGrid grid = new MazeGrid(dims[0], dims[1], config.type(), config.difficulty(), config.seed(),
+                config.algorithm());
         grid.generate();
 
         MazeSvgRenderer renderer = new MazeSvgRenderer(grid, config.innerWallColor(), config.outerWallColor(),
@@ -99,7 +122,8 @@ public class MazeGenerationService {
      */
     public void generateAndUpdateMaze(UserMaze maze) {
         int[] dims = sizeToGridDimensions(maze.size);
-        MazeGrid grid = new MazeGrid(dims[0], dims[1], maze.mazeType, maze.difficulty, maze.seed);
+        MazeAlgorithm algorithm = configuredAlgorithm(maze);
+        MazeGrid grid = new MazeGrid(dims[0], dims[1], maze.mazeType, maze.difficulty, maze.seed, algorithm);
         grid.generate();
 
         // Get configuration options
@@ -147,6 +171,20 @@ public class MazeGenerationService {
         generateAndUpdateMaze(maze);
     }
 
+    /**
+     * The algorithm named in the maze's configuration. The configuration is free-form JSON, so an unknown name falls
+     * back to the default algorithm instead of failing the request.
+     */
+    private MazeAlgorithm configuredAlgorithm(UserMaze maze) {
+        String name = getConfigString(maze.configuration, "algorithm", null);
+        try {
+            return MazeAlgorithm.forName(name);
+        } catch (IllegalArgumentException e) {
+            LOG.warnf("Maze %s has unknown algorithm '%s', using the default", maze.id, name);
+            return MazeAlgorithm.forName(null);
+        }
+    }
+
     private boolean getConfigBoolean(JsonNode config, String key, boolean defaultValue) {
         if (config == null || !config.has(key)) {
             return defaultValue;
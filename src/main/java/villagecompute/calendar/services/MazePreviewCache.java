@@ -0,0 +1,265 @@
+package villagecompute.calendar.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Cache of maze preview SVGs. A preview uses a fixed seed, so it is a pure function of its type, size, difficulty and
+ * overlay flags; size and difficulty are clamped the way the generator clamps them, which leaves at most 4 x 20 x 5 x 2
+ * x 2 distinct previews. Moving a slider back and forth in the editor therefore hits the cache instead of generating
+ * and rendering the maze again.
+ *
+ * <p>
+ * Like {@link CalendarSvgCache}, the cache is an LRU bounded by the total size of the cached SVGs, since a size 20 maze
+ * is many times larger than a size 1 maze. With {@code calendar.maze-preview-cache.prewarm} the previews the editor
+ * shows first are generated on a background thread at startup. Each entry carries a SHA-256 of its SVG, computed
+ * once when it is cached, which serves as a strong ETag: it changes exactly when the rendered preview does.
+ */
+@ApplicationScoped
+public class MazePreviewCache {
+
+    private static final Logger LOG = Logger.getLogger(MazePreviewCache.class);
+
+    static final String CACHE_NAME = "maze-preview";
+
+    // The editor's initial settings, see MazeGraphQL.getMazePreview
+    static final int DEFAULT_SIZE = 10;
+    static final int DEFAULT_DIFFICULTY = 3;
+
+    @Inject
+    MazeGenerationService mazeGenerationService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "calendar.maze-preview-cache.enabled",
+            defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(
+            name = "calendar.maze-preview-cache.max-size-mb",
+            defaultValue = "32")
+    long maxSizeMb;
+
+    @ConfigProperty(
+            name = "calendar.maze-preview-cache.prewarm",
+            defaultValue = "true")
+    boolean prewarm;
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<PreviewKey, Preview> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentSize;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    /**
+     * The parameters a preview depends on, normalized so that requests producing the same maze share an entry.
+     *
+     * @param type
+     *            Maze tessellation
+     * @param size
+     *            1-20
+     * @param difficulty
+     *            1-5
+     * @param showSolution
+     *            Whether the solution path is drawn
+     * @param showDeadEnds
+     *            Whether dead ends are shaded
+     */
+    public record PreviewKey(MazeType type, int size, int difficulty, boolean showSolution, boolean showDeadEnds) {
+
+        /** Key for the given parameters, defaulting a missing type to orthogonal and clamping out-of-range values. */
+        public static PreviewKey of(MazeType type, int size, int difficulty, boolean showSolution,
+                boolean showDeadEnds) {
+            return new PreviewKey(type != null ? type : MazeType.ORTHOGONAL, Math.clamp(size, 1, 20),
+                    Math.clamp(difficulty, 1, 5), showSolution, showDeadEnds);
+        }
+    }
+
+    /**
+     * A rendered preview and its entity tag.
+     *
+     * @param svg
+     *            Preview SVG
+     * @param etag
+     *            Hex SHA-256 of the SVG's UTF-8 bytes
+     */
+    public record Preview(String svg, String etag) {
+
+        /** Wrap a rendered SVG, hashing it for the ETag. */
+        static Preview of(String svg) {
+            return new Preview(svg, sha256(svg));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Maze preview cache hits").register(meterRegistry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Maze preview cache misses").register(meterRegistry);
+        evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Maze previews evicted from memory").register(meterRegistry);
+        Gauge.builder("cache.size", this, MazePreviewCache::entryCount).tag("cache", CACHE_NAME)
+                .description("Maze previews held in memory").register(meterRegistry);
+        Gauge.builder("cache.weight", this, MazePreviewCache::weight).tag("cache", CACHE_NAME)
+                .description("Characters of maze preview SVG held in memory").baseUnit("chars")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled || !prewarm) {
+            return;
+        }
+        Thread thread = new Thread(this::warm, "maze-preview-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Generate the {@link #warmKeys} previews not cached yet. A failure is logged and only costs latency later. */
+    void warm() {
+        long start = System.nanoTime();
+        List<PreviewKey> keys = warmKeys();
+        try {
+            for (PreviewKey key : keys) {
+                getPreview(key);
+            }
+            LOG.infof("Warmed %d maze previews in %d ms", keys.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Maze preview warm-up failed");
+        }
+    }
+
+    /**
+     * The previews the editor is most likely to ask for: every type at the default size and difficulty with each
+     * combination of overlays, then every size and difficulty of the default orthogonal maze without overlays.
+     */
+    static List<PreviewKey> warmKeys() {
+        Set<PreviewKey> keys = new LinkedHashSet<>();
+        for (MazeType type : MazeType.values()) {
+            for (int flags = 0; flags < 4; flags++) {
+                keys.add(PreviewKey.of(type, DEFAULT_SIZE, DEFAULT_DIFFICULTY, (flags & 1) != 0, (flags & 2) != 0));
+            }
+        }
+        for (int difficulty = 1; difficulty <= 5; difficulty++) {
+            for (int size = 1; size <= 20; size++) {
+                keys.add(PreviewKey.of(MazeType.ORTHOGONAL, size, difficulty, false, false));
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Return the preview SVG for the given parameters, generating and caching it on a miss.
+     *
+     * @see MazeGenerationService#generatePreview(MazeType, int, int, boolean, boolean)
+     */
+    public String getPreview(MazeType type, int size, int difficulty, boolean showSolution, boolean showDeadEnds) {
+        return getPreview(PreviewKey.of(type, size, difficulty, showSolution, showDeadEnds)).svg();
+    }
+
+    /**
+     * Return the preview for a key with its ETag, generating and caching it on a miss. With the cache disabled the SVG
+     * is generated and hashed on every call.
+     *
+     * @param key
+     *            Key from {@link PreviewKey#of}
+     * @return The preview SVG and its ETag
+     */
+    public Preview getPreview(PreviewKey key) {
+        if (!enabled) {
+            return Preview.of(render(key));
+        }
+
+        Preview preview = getFromMemory(key);
+        if (preview != null) {
+            hits.increment();
+            return preview;
+        }
+
+        misses.increment();
+        preview = Preview.of(render(key));
+        putInMemory(key, preview);
+        return preview;
+    }
+
+    /** Remove all cached previews. */
+    public synchronized void clear() {
+        entries.clear();
+        currentSize = 0;
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return currentSize;
+    }
+
+    private String render(PreviewKey key) {
+        return mazeGenerationService.generatePreview(key.type(), key.size(), key.difficulty(), key.showSolution(),
+                key.showDeadEnds());
+    }
+
+    private synchronized Preview getFromMemory(PreviewKey key) {
+        return entries.get(key);
+    }
+
+    private synchronized void putInMemory(PreviewKey key, Preview preview) {
+        long maxSize = maxSizeMb * 1024 * 1024;
+        if (preview.svg().length() > maxSize) {
+            return;
+        }
+
+        Preview previous = entries.put(key, preview);
+        if (previous != null) {
+            currentSize -= previous.svg().length();
+        }
+        currentSize += preview.svg().length();
+
+        Iterator<Map.Entry<PreviewKey, Preview>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<PreviewKey, Preview> eldest = iterator.next();
+            currentSize -= eldest.getValue().svg().length();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    static String sha256(String svg) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(svg.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
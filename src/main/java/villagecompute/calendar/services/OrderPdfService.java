@@ -0,0 +1,400 @@
+package villagecompute.calendar.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.data.models.CalendarOrder;
+import villagecompute.calendar.data.models.CalendarOrderItem;
+import villagecompute.calendar.data.models.ItemAsset;
+import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.services.exceptions.StorageException;
+import villagecompute.calendar.services.jobs.OrderPdfJobHandler;
+
+/**
+ * Renders the PDF for an order item once and serves it from storage afterwards. A PDF is identified by the SHA-256 of
+ * the item's SVG plus the calendar year (which ends up in the PDF metadata), so repeated downloads of the same item
+ * never re-run the transcoder. Rendered PDFs are uploaded via {@link StorageService} and kept in a local disk cache;
+ * the key doubles as the download's ETag. The disk cache is bounded by {@code calendar.order-pdf.cache-max-size-mb}
+ * and drops the least recently downloaded PDFs first; storage still has them.
+ *
+ * <p>
+ * PDFs are rendered ahead of time when an order is paid ({@link OrderPdfJobHandler}), or on first download if that
+ * has not happened yet.
+ */
+@ApplicationScoped
+public class OrderPdfService {
+
+    private static final Logger LOG = Logger.getLogger(OrderPdfService.class);
+
+    private static final String STORAGE_PREFIX = "orders/";
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    @Inject
+    PDFRenderingService pdfRenderingService;
+
+    @Inject
+    StorageService storageService;
+
+    @Inject
+    DelayedJobService delayedJobService;
+
+    /** Local cache of rendered PDFs. Defaults to a directory under java.io.tmpdir. */
+    @ConfigProperty(
+            name = "calendar.order-pdf.cache-dir")
+    Optional<String> cacheDir;
+
+    /** Whether rendered PDFs are uploaded to and looked up in object storage, or only kept on local disk. */
+    @ConfigProperty(
+            name = "calendar.order-pdf.storage-enabled",
+            defaultValue = "true")
+    boolean storageEnabled;
+
+    /** Size limit of the local cache. The least recently used PDFs are deleted once it is exceeded. */
+    @ConfigProperty(
+            name = "calendar.order-pdf.cache-max-size-mb",
+            defaultValue = "1024")
+    long cacheMaxSizeMb;
+
+    // Renders in progress, so concurrent first downloads of the same PDF render it once
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private Path cachePath;
+
+    @PostConstruct
+    void init() {
+        Path dir = cacheDir.filter(d -> !d.isBlank()).map(Path::of)
+                .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "calendar-order-pdfs"));
+        try {
+            cachePath = Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create order PDF cache directory " + dir, e);
+        }
+        LOG.infof("Order PDF cache at %s, up to %d MB (object storage %s)", cachePath, cacheMaxSizeMb,
+                storageEnabled ? "enabled" : "disabled");
+        // The limit may have been lowered, or the directory shared with a previous process
+        trimCache(null);
+    }
+
+    /**
+     * Content key for an order item's PDF, used for storage and as its ETag.
+     *
+     * @param svgContent
+     *            The item's SVG
+     * @param year
+     *            The calendar year
+     * @return Hex SHA-256 of the SVG followed by the year
+     */
+    public String pdfKey(String svgContent, int year) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(svgContent.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest()) + "-" + year;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Return the local file holding the PDF for the given SVG, downloading it from storage or rendering and storing it
+     * first if needed.
+     *
+     * @param pdfKey
+     *            Key from {@link #pdfKey(String, int)} for the same SVG and year
+     * @param svgContent
+     *            The item's SVG
+     * @param year
+     *            The calendar year
+     * @return Path of the cached PDF
+     * @throws RenderingException
+     *             if the PDF has to be rendered and rendering fails
+     */
+    public Path getPdf(String pdfKey, String svgContent, int year) {
+        Path file = cachePath.resolve(pdfKey + ".pdf");
+        if (Files.isRegularFile(file)) {
+            touch(file);
+            return file;
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(pdfKey, created);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            created.complete(fetchOrRender(pdfKey, file, svgContent, year));
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(pdfKey);
+        }
+        trimCache(file);
+        return created.join();
+    }
+
+    /**
+     * Open the PDF for the given SVG for reading, downloading it from storage or rendering and storing it first if
+     * needed. The file is opened while {@link #trimCache} cannot run, and an open file stays readable after it is
+     * evicted, so a concurrent download that trims the cache cannot delete it before or while it is being sent.
+     *
+     * @param pdfKey
+     *            Key from {@link #pdfKey(String, int)} for the same SVG and year
+     * @param svgContent
+     *            The item's SVG
+     * @param year
+     *            The calendar year
+     * @return Stream of the PDF; the caller closes it
+     * @throws RenderingException
+     *             if the PDF has to be rendered and rendering fails
+     */
+    public InputStream openPdf(String pdfKey, String svgContent, int year) {
+        // The PDF can be evicted between being cached and being opened; fetch or render it once more if so
+        for (int attempt = 1;; attempt++) {
+            InputStream pdf = openCached(getPdf(pdfKey, svgContent, year));
+            if (pdf != null) {
+                return pdf;
+            }
+            if (attempt == 2) {
+                throw new StorageException("Order PDF " + pdfKey + " was evicted before it could be served");
+            }
+        }
+    }
+
+    /**
+     * Render and store the PDF for an order item if it is not stored yet.
+     *
+     * @return true if the item has SVG content, false if there is nothing to render
+     */
+    public boolean prerender(CalendarOrderItem item) {
+        String svgContent = extractSvg(item);
+        if (svgContent == null) {
+            return false;
+        }
+        int year = item.getYear();
+        getPdf(pdfKey(svgContent, year), svgContent, year);
+        return true;
+    }
+
+    /**
+     * Enqueue a job per item with SVG content to render the order's PDFs ahead of the first download. Failures are
+     * logged but swallowed so they never fail the payment; the PDF is then rendered on first download instead.
+     */
+    public void schedulePrerender(CalendarOrder order) {
+        for (CalendarOrderItem item : order.items) {
+            if (extractSvg(item) == null) {
+                continue;
+            }
+            try {
+                delayedJobService.enqueue(OrderPdfJobHandler.class, item.id.toString());
+            } catch (Exception e) {
+                LOG.error("Failed to enqueue PDF render for order item " + item.id, e);
+            }
+        }
+    }
+
+    /**
+     * Extract SVG content from order item assets.
+     *
+     * @param orderItem
+     *            The order item
+     * @return SVG content string, or null if not found
+     */
+    public String extractSvg(CalendarOrderItem orderItem) {
+        // Get the main SVG asset from the order item
+        ItemAsset mainAsset = orderItem.getMainAsset();
+        if (mainAsset != null && mainAsset.svgContent != null && !mainAsset.svgContent.isEmpty()) {
+            LOG.debugf("Found SVG in main asset for item %s (%d chars)", orderItem.id, mainAsset.svgContent.length());
+            return mainAsset.svgContent;
+        }
+
+        // Fallback: check configuration JSON for legacy orders
+        if (orderItem.configuration != null && orderItem.configuration.has("generatedSvg")) {
+            String svgContent = orderItem.configuration.get("generatedSvg").asText();
+            if (svgContent != null && !svgContent.isEmpty()) {
+                LOG.debugf("Found SVG in configuration.generatedSvg for item %s (%d chars)", orderItem.id,
+                        svgContent.length());
+                return svgContent;
+            }
+        }
+
+        return null;
+    }
+
+    private Path fetchOrRender(String pdfKey, Path file, String svgContent, int year) {
+        // Another caller may have finished between the first check and claiming the key
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+
+        String filename = STORAGE_PREFIX + pdfKey + ".pdf";
+        Path temp = null;
+        try {
+            // Write to a temp file and move so concurrent readers never see a partial PDF
+            temp = Files.createTempFile(cachePath, pdfKey, ".tmp");
+
+            if (storageEnabled && download(filename, temp)) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOG.infof("Order PDF %s fetched from storage", pdfKey);
+                return file;
+            }
+
+            byte[] pdf = pdfRenderingService.renderSVGToPDF(svgContent, year);
+            Files.write(temp, pdf);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.infof("Order PDF %s rendered (%d bytes)", pdfKey, pdf.length);
+
+            if (storageEnabled) {
+                upload(filename, pdf);
+            }
+            return file;
+
+        } catch (IOException e) {
+            throw new StorageException("Failed to cache order PDF " + pdfKey + ": " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Delete the least recently used PDFs until the local cache fits in {@code calendar.order-pdf.cache-max-size-mb}.
+     * An evicted PDF is fetched from storage again on its next download, or rendered again if storage is disabled.
+     *
+     * @param keep
+     *            A PDF that is about to be served and must not be deleted, or null
+     */
+    synchronized void trimCache(Path keep) {
+        List<CachedPdf> pdfs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(cachePath)) {
+            files.filter(path -> path.getFileName().toString().endsWith(".pdf") && !path.equals(keep))
+                    .forEach(path -> {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                            pdfs.add(new CachedPdf(path, attributes.size(), attributes.lastModifiedTime()));
+                        } catch (IOException e) {
+                            // Deleted concurrently; nothing to account for
+                        }
+                    });
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to list order PDF cache %s", cachePath);
+            return;
+        }
+
+        long total = pdfs.stream().mapToLong(CachedPdf::size).sum();
+        if (keep != null) {
+            total += sizeOf(keep);
+        }
+        long maxBytes = cacheMaxSizeMb * 1024 * 1024;
+        if (total <= maxBytes) {
+            return;
+        }
+
+        pdfs.sort(Comparator.comparing(CachedPdf::lastUsed));
+        int evicted = 0;
+        for (CachedPdf pdf : pdfs) {
+            if (total <= maxBytes) {
+                break;
+            }
+            deleteQuietly(pdf.path());
+            total -= pdf.size();
+            evicted++;
+        }
+        LOG.infof("Evicted %d order PDFs from the local cache, %d bytes remain", evicted, total);
+    }
+
+    /** Open a cached PDF, or return null if it has been evicted. Synchronized with {@link #trimCache}. */
+    private synchronized InputStream openCached(Path file) {
+        try {
+            InputStream in = Files.newInputStream(file);
+            touch(file);
+            return in;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new StorageException("Failed to read order PDF " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** A PDF in the local cache. Its modification time is bumped on every hit, so it orders by last use. */
+    private record CachedPdf(Path path, long size, FileTime lastUsed) {
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOG.debugf(e, "Failed to update last use of %s", file);
+        }
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean download(String filename, Path target) {
+        try {
+            return storageService.downloadFile(filename, target);
+        } catch (StorageException e) {
+            // Storage being unavailable should not stop the download; render it instead
+            LOG.warnf("Could not fetch %s from storage, rendering instead: %s", filename, e.getMessage());
+            return false;
+        }
+    }
+
+    private void upload(String filename, byte[] pdf) {
+        try {
+            storageService.uploadFile(filename, pdf, PDF_CONTENT_TYPE);
+        } catch (StorageException e) {
+            // Still served from the local cache; the next instance to miss will render and upload it again
+            LOG.warnf("Could not store %s, keeping local copy only: %s", filename, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debugf(e, "Failed to delete %s", path);
+        }
+    }
+}
@@ -48,6 +48,9 @@ public class OrderService {
     @Inject
     DelayedJobService delayedJobService;
 
+    @Inject
+    OrderPdfService orderPdfService;
+
     /**
      * Create a new order for a calendar. The order is created in PENDING status and needs payment confirmation.
      *
@@ -749,6 +752,7 @@ public class OrderService {
 
         // Enqueue confirmation email
         enqueueEmailJob(order, OrderEmailJobHandler.class);
+        orderPdfService.schedulePrerender(order);
 
         return orderNumber;
     }
@@ -1,25 +1,37 @@
 package villagecompute.calendar.services;
 
 import java.io.ByteArrayOutputStream;
-import java.io.StringReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 import org.apache.batik.transcoder.SVGAbstractTranscoder;
-import org.apache.batik.transcoder.TranscoderInput;
-import org.apache.batik.transcoder.TranscoderOutput;
 import org.apache.batik.transcoder.image.PNGTranscoder;
+import org.apache.fop.configuration.ConfigurationException;
 import org.apache.fop.svg.AbstractFOPTranscoder;
-import org.apache.fop.svg.PDFTranscoder;
-import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import villagecompute.calendar.exceptions.RenderRejectedException;
 import villagecompute.calendar.exceptions.RenderingException;
 
 /**
- * Service for rendering SVG content to PDF using Apache Batik. Also handles PDF metadata cleaning to remove technology
- * fingerprints.
+ * Service for rendering SVG content to PDF using Apache Batik. PDFs carry our own document information rather than
+ * technology fingerprints. Transcodes run on the bounded {@link RenderExecutor}, not the calling thread.
+ *
+ * <p>
+ * PDF fonts are located once at startup (see {@link PdfFontConfig}) instead of letting every transcoder auto-detect
+ * the system fonts.
  */
 @ApplicationScoped
 public class PDFRenderingService {
@@ -32,6 +44,35 @@ public class PDFRenderingService {
     private static final float PDF_WIDTH_POINTS = 35 * 72f; // 2520 points
     private static final float PDF_HEIGHT_POINTS = 23 * 72f; // 1656 points
 
+    @Inject
+    RenderExecutor renderExecutor;
+
+    @ConfigProperty(
+            name = "calendar.pdf.font-dirs",
+            defaultValue = "/usr/share/fonts,/usr/local/share/fonts")
+    List<String> fontDirs = PdfFontConfig.DEFAULT_FONT_DIRS;
+
+    // FOP font configuration XML shared by every PDF transcoder; null falls back to font auto-detection
+    byte[] fontConfig;
+
+    // Transcoders are configured once per render thread and reused for every render on it
+    private final ThreadLocal<SvgTranscoders.PdfTranscoder> pdfTranscoders = ThreadLocal
+            .withInitial(this::createPdfTranscoder);
+    private final ThreadLocal<SvgTranscoders.PngTranscoder> pngTranscoders = ThreadLocal
+            .withInitial(SvgTranscoders.PngTranscoder::new);
+
+    @PostConstruct
+    void init() {
+        Map<PdfFontConfig.FontFile, Path> fonts = PdfFontConfig.locate(fontDirs.stream().map(Path::of).toList());
+        if (fonts.isEmpty()) {
+            LOG.warnf("No PDF fonts found under %s, falling back to FOP font auto-detection", fontDirs);
+            return;
+        }
+
+        fontConfig = PdfFontConfig.toXml(fonts).getBytes(StandardCharsets.UTF_8);
+        LOG.infof("PDF fonts: %s", fonts.values());
+    }
+
     /**
      * Render SVG content to PDF format. Uses Apache Batik's PDFTranscoder for SVG to PDF conversion.
      *
@@ -40,6 +81,8 @@ public class PDFRenderingService {
      * @param year
      *            The calendar year (for PDF metadata)
      * @return PDF bytes
+     * @throws RenderRejectedException
+     *             if the render executor is saturated
      * @throws RenderingException
      *             if rendering fails
      */
@@ -48,44 +91,46 @@ public class PDFRenderingService {
             throw new IllegalArgumentException("SVG content cannot be null or empty");
         }
 
+        return renderSVGToPDF(svgContent, "Calendar " + year);
+    }
+
+    /**
+     * Render SVG content to PDF format with the given document title.
+     *
+     * @param svgContent
+     *            The SVG content as a string
+     * @param title
+     *            Title for the PDF metadata, e.g. "Calendar 2026"
+     * @return PDF bytes
+     * @throws RenderRejectedException
+     *             if the render executor is saturated
+     * @throws RenderingException
+     *             if rendering fails
+     */
+    public byte[] renderSVGToPDF(String svgContent, String title) {
+        if (svgContent == null || svgContent.isEmpty()) {
+            throw new IllegalArgumentException("SVG content cannot be null or empty");
+        }
+
+        return renderExecutor.submit("PDF", () -> transcodeToPDF(svgContent, title));
+    }
+
+    private byte[] transcodeToPDF(String svgContent, String title) {
         try {
             LOG.debugf("Rendering SVG to PDF (SVG length: %d bytes)", svgContent.length());
 
             // Preprocess SVG to fix various issues
             svgContent = preprocessSVG(svgContent);
 
-            // Create transcoder for PDF
-            PDFTranscoder transcoder = new PDFTranscoder();
-
-            // Set PDF page size
-            transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_WIDTH, PDF_WIDTH_POINTS);
-            transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_HEIGHT, PDF_HEIGHT_POINTS);
+            // Document information is written during generation, so the PDF needs no post-processing
+            SvgTranscoders.PdfTranscoder transcoder = pdfTranscoders.get();
+            transcoder.setTitle(title);
 
-            // Enable auto-font detection to use system fonts (Noto Emoji, DejaVu Sans, etc.)
-            transcoder.addTranscodingHint(AbstractFOPTranscoder.KEY_AUTO_FONTS, Boolean.TRUE);
-
-            // Create input and output
-            StringReader reader = new StringReader(svgContent);
-            TranscoderInput input = new TranscoderInput(reader);
-
-            // Set a dummy URI to avoid null pointer exception with style elements
-            // This is CRITICAL when the SVG contains <style> tags
-            input.setURI("file:///calendar.svg");
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            TranscoderOutput output = new TranscoderOutput(outputStream);
-
-            // Perform the transcoding
             LOG.debug("Transcoding SVG to PDF...");
-            transcoder.transcode(input, output);
-
-            byte[] pdfBytes = outputStream.toByteArray();
+            byte[] pdfBytes = SvgTranscoders.transcode(transcoder, SvgTranscoders.parse(svgContent));
 
             LOG.infof("PDF generated successfully, size: %d bytes", pdfBytes.length);
 
-            // Post-process the PDF to clean metadata
-            pdfBytes = cleanPdfMetadata(pdfBytes, year);
-
             return pdfBytes;
 
         } catch (Exception e) {
@@ -94,6 +139,70 @@ public class PDFRenderingService {
         }
     }
 
+    /**
+     * Combine single-document PDFs into one, with a page per document in the given order. Merging copies pages without
+     * rendering them, so it runs on the calling thread rather than the render executor.
+     *
+     * @param pdfs
+     *            PDFs to combine, e.g. from {@link #renderSVGToPDF(String, String)}
+     * @param title
+     *            Title for the combined PDF's metadata
+     * @return PDF bytes
+     * @throws RenderingException
+     *             if a PDF cannot be read or the result cannot be written
+     */
+    public byte[] mergePDFs(List<byte[]> pdfs, String title) {
+        if (pdfs == null || pdfs.isEmpty()) {
+            throw new IllegalArgumentException("At least one PDF is required");
+        }
+
+        PDFMergerUtility merger = new PDFMergerUtility();
+        for (byte[] pdf : pdfs) {
+            merger.addSource(new RandomAccessReadBuffer(pdf));
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        merger.setDestinationStream(outputStream);
+
+        PDDocumentInformation info = new PDDocumentInformation();
+        info.setProducer(SvgTranscoders.PDF_PRODUCER);
+        info.setCreator(SvgTranscoders.PDF_CREATOR);
+        info.setTitle(title);
+        merger.setDestinationDocumentInformation(info);
+
+        try {
+            merger.mergeDocuments(IOUtils.createMemoryOnlyStreamCache());
+        } catch (IOException e) {
+            LOG.errorf(e, "Error merging %d PDFs", pdfs.size());
+            throw new RenderingException("PDF merge failed: " + e.getMessage(), e);
+        }
+
+        LOG.infof("Merged %d PDFs, size: %d bytes", pdfs.size(), outputStream.size());
+        return outputStream.toByteArray();
+    }
+
+    /** A PDF transcoder with the page size and fonts set, for one render thread. */
+    private SvgTranscoders.PdfTranscoder createPdfTranscoder() {
+        SvgTranscoders.PdfTranscoder transcoder = new SvgTranscoders.PdfTranscoder();
+
+        // Set PDF page size
+        transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_WIDTH, PDF_WIDTH_POINTS);
+        transcoder.addTranscodingHint(SVGAbstractTranscoder.KEY_HEIGHT, PDF_HEIGHT_POINTS);
+
+        if (fontConfig != null) {
+            // Only the fonts located at startup; FOP reads a font file when a PDF first uses it
+            transcoder.addTranscodingHint(AbstractFOPTranscoder.KEY_AUTO_FONTS, Boolean.FALSE);
+            try {
+                transcoder.configure(PdfFontConfig.parse(fontConfig));
+            } catch (ConfigurationException e) {
+                throw new RenderingException("Invalid PDF font configuration: " + e.getMessage(), e);
+            }
+        } else {
+            // Auto-detect system fonts (Noto Emoji, DejaVu Sans, etc.), scanning the font directories
+            transcoder.addTranscodingHint(AbstractFOPTranscoder.KEY_AUTO_FONTS, Boolean.TRUE);
+        }
+        return transcoder;
+    }
+
     /**
      * Render SVG content to PNG format for email preview. Uses Apache Batik's PNGTranscoder for SVG to PNG conversion.
      *
@@ -102,6 +211,8 @@ public class PDFRenderingService {
      * @param width
      *            Target width in pixels (height calculated to maintain aspect ratio)
      * @return PNG bytes
+     * @throws RenderRejectedException
+     *             if the render executor is saturated
      * @throws RenderingException
      *             if rendering fails
      */
@@ -110,33 +221,22 @@ public class PDFRenderingService {
             throw new IllegalArgumentException("SVG content cannot be null or empty");
         }
 
+        return renderExecutor.submit("PNG", () -> transcodeToPNG(svgContent, width));
+    }
+
+    private byte[] transcodeToPNG(String svgContent, int width) {
         try {
             LOG.debugf("Rendering SVG to PNG (SVG length: %d bytes, target width: %d)", svgContent.length(), width);
 
             // Preprocess SVG to fix various issues
             svgContent = preprocessSVG(svgContent);
 
-            // Create transcoder for PNG
-            PNGTranscoder transcoder = new PNGTranscoder();
-
-            // Set width - height will be calculated automatically to maintain aspect ratio
+            // Width varies per call - height is calculated automatically to maintain aspect ratio
+            SvgTranscoders.PngTranscoder transcoder = pngTranscoders.get();
             transcoder.addTranscodingHint(PNGTranscoder.KEY_WIDTH, (float) width);
 
-            // Create input and output
-            StringReader reader = new StringReader(svgContent);
-            TranscoderInput input = new TranscoderInput(reader);
-
-            // Set a dummy URI to avoid null pointer exception with style elements
-            input.setURI("file:///calendar.svg");
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            TranscoderOutput output = new TranscoderOutput(outputStream);
-
-            // Perform the transcoding
             LOG.debug("Transcoding SVG to PNG...");
-            transcoder.transcode(input, output);
-
-            byte[] pngBytes = outputStream.toByteArray();
+            byte[] pngBytes = SvgTranscoders.transcode(transcoder, SvgTranscoders.parse(svgContent));
 
             LOG.infof("PNG generated successfully, size: %d bytes", pngBytes.length);
 
@@ -166,7 +266,8 @@ public class PDFRenderingService {
     }
 
     /**
-     * Preprocess SVG content to fix various issues that cause Batik transcoding problems.
+     * Preprocess SVG content to fix various issues that cause Batik transcoding problems. See {@link SvgPreprocessor}
+     * for the fixes, which are applied in one pass.
      *
      * @param svgContent
      *            Original SVG content
@@ -175,213 +276,21 @@ public class PDFRenderingService {
     private String preprocessSVG(String svgContent) {
         try {
             // Validate input
-            if (svgContent == null || svgContent.trim().isEmpty()) {
+            if (svgContent == null || svgContent.isBlank()) {
                 LOG.warn("SVG content is null or empty, skipping preprocessing");
                 return svgContent;
             }
 
             // Ensure content starts with proper XML structure
-            String trimmedContent = svgContent.trim();
-            if (!trimmedContent.startsWith("<")) {
+            if (!svgContent.stripLeading().startsWith("<")) {
                 LOG.warn("SVG content doesn't start with XML tag, skipping preprocessing");
                 return svgContent;
             }
 
-            // Fix xlink namespace issues
-            svgContent = fixXlinkNamespace(svgContent);
-
-            // Fix CSS URI references that cause invalid URI errors
-            svgContent = fixCSSUriReferences(svgContent);
-
-            // Fix transparent fill values not supported by PDF renderers
-            svgContent = fixTransparentFill(svgContent);
-
-            return svgContent;
+            return SvgPreprocessor.preprocess(svgContent);
         } catch (Exception e) {
             LOG.warnf(e, "Error during SVG preprocessing, returning original content");
             return svgContent;
         }
     }
-
-    /**
-     * Fix SVG content that contains xlink:href attributes without proper namespace declaration. This is required for
-     * Batik to properly process SVG with xlink references.
-     *
-     * @param svgContent
-     *            Original SVG content
-     * @return Fixed SVG content with proper xlink namespace declaration
-     */
-    private String fixXlinkNamespace(String svgContent) {
-        // Check if SVG contains xlink:href but doesn't declare xmlns:xlink
-        if (svgContent.contains("xlink:href") && !svgContent.contains("xmlns:xlink")) {
-            LOG.debug("Fixing xlink namespace declaration in SVG");
-
-            // Find the opening <svg> tag more carefully to handle XML properly
-            String xlinkNamespace = "xmlns:xlink=\"http://www.w3.org/1999/xlink\"";
-
-            // Use regex to find the svg tag and handle various formats
-            java.util.regex.Pattern svgPattern = java.util.regex.Pattern.compile("(<svg[^>]*?)>",
-                    java.util.regex.Pattern.CASE_INSENSITIVE | java.util.regex.Pattern.DOTALL);
-            java.util.regex.Matcher matcher = svgPattern.matcher(svgContent);
-
-            if (matcher.find()) {
-                String svgOpenTag = matcher.group(1);
-                String replacement = svgOpenTag + " " + xlinkNamespace + ">";
-                svgContent = svgContent.replace(matcher.group(0), replacement);
-                LOG.debug("Added xlink namespace to SVG using regex approach");
-            } else {
-                // Fallback to simple approach if regex fails
-                int svgStart = svgContent.indexOf("<svg");
-                if (svgStart != -1) {
-                    int svgEnd = svgContent.indexOf(">", svgStart);
-                    if (svgEnd != -1) {
-                        String beforeTag = svgContent.substring(0, svgEnd);
-                        String afterTag = svgContent.substring(svgEnd);
-                        svgContent = beforeTag + " " + xlinkNamespace + afterTag;
-                        LOG.debug("Added xlink namespace to SVG using fallback approach");
-                    }
-                }
-            }
-        }
-
-        return svgContent;
-    }
-
-    /**
-     * Fix SVG elements with fill="transparent" which is not properly supported by PDF renderers. Replaces transparent
-     * fills with "none" which is the standard SVG way to indicate no fill.
-     *
-     * @param svgContent
-     *            Original SVG content
-     * @return Fixed SVG content
-     */
-    private String fixTransparentFill(String svgContent) {
-        // Handle fill="transparent" attribute (case-insensitive)
-        if (svgContent.toLowerCase().contains("fill=\"transparent\"")
-                || svgContent.toLowerCase().contains("fill='transparent'")) {
-            LOG.debug("Fixing transparent fill values in SVG");
-
-            // Replace fill="transparent" with fill="none"
-            svgContent = svgContent.replaceAll("(?i)fill\\s*=\\s*[\"']transparent[\"']", "fill=\"none\"");
-        }
-
-        // Also handle CSS style declarations: fill:transparent or fill: transparent
-        if (svgContent.toLowerCase().contains("fill:transparent")
-                || svgContent.toLowerCase().contains("fill: transparent")) {
-            LOG.debug("Fixing transparent fill values in SVG style declarations");
-
-            svgContent = svgContent.replaceAll("(?i)fill\\s*:\\s*transparent", "fill:none");
-        }
-
-        return svgContent;
-    }
-
-    /**
-     * Fix CSS URI references that cause "invalid URI" errors in Batik. The main issue is with the base URI resolution
-     * causing problems with internal ID references.
-     *
-     * <p>
-     * IMPORTANT: Only clip-path can use bare #id syntax. Other properties like filter, fill, stroke require the
-     * url(#id) syntax and should NOT be modified.
-     *
-     * @param svgContent
-     *            Original SVG content
-     * @return Fixed SVG content
-     */
-    private String fixCSSUriReferences(String svgContent) {
-        if (svgContent.contains("url(#")) {
-            LOG.debug("SVG contains CSS URI references - fixing clip-path properties only");
-
-            // ONLY clip-path needs fixing - it can use bare #id syntax
-            // Other properties (filter, fill, stroke, mask, markers) MUST keep url(#id) syntax
-            // Modifying filter="url(#id)" to filter="#id" breaks the filter completely!
-
-            String[] cssProperties = {"clip-path"};
-
-            for (String property : cssProperties) {
-                // Handle attribute form: property="url(#id)"
-                java.util.regex.Pattern attributePattern = java.util.regex.Pattern.compile(
-                        property + "\\s*=\\s*[\"']url\\(#([^)]+)\\)[\"']", java.util.regex.Pattern.CASE_INSENSITIVE);
-
-                java.util.regex.Matcher matcher = attributePattern.matcher(svgContent);
-                StringBuffer result = new StringBuffer();
-
-                while (matcher.find()) {
-                    String idRef = matcher.group(1);
-                    String replacement = property + "=\"#" + idRef + "\"";
-                    matcher.appendReplacement(result, replacement);
-                    LOG.debugf("Fixed %s attribute: url(#%s) -> #%s", property, idRef, idRef);
-                }
-                matcher.appendTail(result);
-                svgContent = result.toString();
-
-                // Handle style form: style="...property:url(#id)..."
-                java.util.regex.Pattern stylePattern = java.util.regex.Pattern.compile(
-                        "(style\\s*=\\s*[\"'][^\"']*?)" + property + "\\s*:\\s*url\\(#([^)]+)\\)([^\"']*[\"'])",
-                        java.util.regex.Pattern.CASE_INSENSITIVE);
-
-                matcher = stylePattern.matcher(svgContent);
-                result = new StringBuffer();
-
-                while (matcher.find()) {
-                    String beforeProperty = matcher.group(1);
-                    String idRef = matcher.group(2);
-                    String afterProperty = matcher.group(3);
-                    String replacement = beforeProperty + property + ":#" + idRef + afterProperty;
-                    matcher.appendReplacement(result, replacement);
-                    LOG.debugf("Fixed %s style: url(#%s) -> #%s", property, idRef, idRef);
-                }
-                matcher.appendTail(result);
-                svgContent = result.toString();
-            }
-        }
-
-        return svgContent;
-    }
-
-    /**
-     * Clean PDF metadata to remove backend technology fingerprints. Replaces Apache FOP producer strings with custom
-     * branding.
-     *
-     * @param pdfBytes
-     *            Original PDF bytes
-     * @param year
-     *            Calendar year for metadata
-     * @return Cleaned PDF bytes
-     */
-    private byte[] cleanPdfMetadata(byte[] pdfBytes, int year) {
-        try {
-            LOG.debug("Cleaning PDF metadata...");
-
-            // Load the PDF document using PDFBox 3.x Loader API
-            PDDocument document = org.apache.pdfbox.Loader.loadPDF(pdfBytes);
-
-            // Get and modify the document information
-            PDDocumentInformation info = document.getDocumentInformation();
-
-            // Clear existing metadata that reveals technology
-            info.setProducer("villagecompute.com"); // Override Apache FOP producer string
-            info.setCreator("Village Compute Calendar Generator");
-            info.setTitle("Calendar " + year);
-            info.setSubject("Calendar");
-
-            // Remove or override any custom metadata that might exist
-            info.setAuthor("");
-            info.setKeywords("");
-
-            // Save the modified PDF to a byte array
-            ByteArrayOutputStream cleanOutputStream = new ByteArrayOutputStream();
-            document.save(cleanOutputStream);
-            document.close();
-
-            LOG.debug("PDF metadata cleaned successfully");
-
-            return cleanOutputStream.toByteArray();
-
-        } catch (Exception e) {
-            // If cleaning fails, return original PDF
-            LOG.warnf(e, "Warning: Could not clean PDF metadata, returning original PDF");
-            return pdfBytes;
-        }
-    }
 }
@@ -82,6 +82,9 @@ public class PaymentService {
     @Inject
     DelayedJobService delayedJobService;
 
+    @Inject
+    OrderPdfService orderPdfService;
+
     @Inject
     ObjectMapper objectMapper;
 
@@ -352,6 +355,7 @@ public class PaymentService {
             // Log but don't fail - scheduled processor will pick it up
             LOG.error("Failed to enqueue email job for order " + order.id, e);
         }
+        orderPdfService.schedulePrerender(order);
 
         return true;
     }
@@ -686,6 +690,7 @@ public class PaymentService {
         LOG.infof("Order %s marked as PAID via Checkout Session", order.id);
 
         enqueueOrderConfirmationEmail(order);
+        orderPdfService.schedulePrerender(order);
 
         return true;
     }
@@ -0,0 +1,112 @@
+package villagecompute.calendar.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.fop.configuration.Configuration;
+import org.apache.fop.configuration.ConfigurationException;
+import org.apache.fop.configuration.DefaultConfigurationBuilder;
+import org.jboss.logging.Logger;
+
+/**
+ * FOP font configuration for PDF transcodes. With {@code KEY_AUTO_FONTS} every new {@code PDFTranscoder} scans the
+ * system font directories and reads every font it finds. Our SVGs only name a few fonts, so those files are located
+ * once and registered explicitly, and FOP reads a font file only when a PDF actually uses it.
+ *
+ * <pre>
+ * &lt;fop&gt;&lt;fonts&gt;
+ *   &lt;font embed-url="file:///usr/share/fonts/noto/NotoEmoji-Regular.ttf" kerning="yes"&gt;
+ *     &lt;font-triplet name="Noto Emoji" style="normal" weight="normal"/&gt;
+ *   &lt;/font&gt;
+ * &lt;/fonts&gt;&lt;/fop&gt;
+ * </pre>
+ */
+final class PdfFontConfig {
+
+    private static final Logger LOG = Logger.getLogger(PdfFontConfig.class);
+
+    /** Directories searched when {@code calendar.pdf.font-dirs} is not set. */
+    static final List<String> DEFAULT_FONT_DIRS = List.of("/usr/share/fonts", "/usr/local/share/fonts");
+
+    // Package layouts nest fonts a few levels deep, e.g. /usr/share/fonts/dejavu-sans-fonts/DejaVuSans.ttf
+    private static final int MAX_DEPTH = 4;
+
+    /** A font file our SVGs can ask for, and the family and weight it is registered under. */
+    record FontFile(String family, String weight, String fileName) {
+    }
+
+    /**
+     * Fonts named by the emoji font-family lists in {@link CalendarRenderingService}. Helvetica and Arial text uses the
+     * PDF base fonts, which need no files.
+     */
+    static final List<FontFile> FONTS = List.of(new FontFile("Noto Emoji", "normal", "NotoEmoji-Regular.ttf"),
+            new FontFile("DejaVu Sans", "normal", "DejaVuSans.ttf"),
+            new FontFile("DejaVu Sans", "bold", "DejaVuSans-Bold.ttf"));
+
+    private PdfFontConfig() {
+    }
+
+    /**
+     * Find the files of {@link #FONTS} under the given directories, in order. Fonts that are not installed are left
+     * out.
+     *
+     * @param fontDirs
+     *            Directories to search, including subdirectories
+     * @return Font file paths, in the order of {@link #FONTS}
+     */
+    static Map<FontFile, Path> locate(List<Path> fontDirs) {
+        Map<String, Path> found = new LinkedHashMap<>();
+        for (Path dir : fontDirs) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(dir, MAX_DEPTH)) {
+                files.filter(Files::isRegularFile)
+                        .forEach(file -> found.putIfAbsent(file.getFileName().toString(), file));
+            } catch (IOException | UncheckedIOException e) {
+                // An unreadable directory only loses the fonts inside it
+                LOG.debugf("Unable to search %s for fonts: %s", dir, e.getMessage());
+            }
+        }
+
+        Map<FontFile, Path> fonts = new LinkedHashMap<>();
+        for (FontFile font : FONTS) {
+            Path file = found.get(font.fileName());
+            if (file != null) {
+                fonts.put(font, file);
+            }
+        }
+        return fonts;
+    }
+
+    /** FOP configuration registering the given fonts, as XML. */
+    static String toXml(Map<FontFile, Path> fonts) {
+        StringBuilder xml = new StringBuilder("<fop version=\"1.0\"><fonts>");
+        for (Map.Entry<FontFile, Path> entry : fonts.entrySet()) {
+            FontFile font = entry.getKey();
+            xml.append("<font embed-url=\"").append(escape(entry.getValue().toUri().toString()))
+                    .append("\" kerning=\"yes\"><font-triplet name=\"").append(escape(font.family()))
+                    .append("\" style=\"normal\" weight=\"").append(font.weight()).append("\"/></font>");
+        }
+        return xml.append("</fonts></fop>").toString();
+    }
+
+    /**
+     * Parse a configuration produced by {@link #toXml}. FOP's configuration objects wrap a DOM, which is not safe to
+     * read from several threads, so each transcoder gets its own copy of the shared XML.
+     */
+    static Configuration parse(byte[] xml) throws ConfigurationException {
+        return new DefaultConfigurationBuilder().build(new ByteArrayInputStream(xml));
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;");
+    }
+}
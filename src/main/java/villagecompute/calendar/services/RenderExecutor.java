@@ -0,0 +1,259 @@
+package villagecompute.calendar.services;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.exceptions.RenderingException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded executor for Batik/FOP transcodes. A single render can hold hundreds of megabytes of DOM and graphics state,
+ * so renders run on a small dedicated pool instead of the request thread, with a short queue in front of it. When the
+ * pool and queue are both full the job is rejected with {@link RenderRejectedException} (HTTP 429) rather than piling
+ * more work onto the heap.
+ *
+ * <p>
+ * The per-job heap budget is applied as a cap on concurrency: no more renders run at once than fit into half of the
+ * maximum heap at {@code calendar.render.heap-budget-mb} each.
+ *
+ * <p>
+ * Batches of renders, such as a maze book PDF, {@link #reserve(String, int) reserve} render threads up front and keep
+ * no more renders in flight than they hold. Batches share all but one thread between them, so single renders such as
+ * order PDFs keep a thread of their own, and a batch that cannot get a thread is rejected before any work is done.
+ */
+@ApplicationScoped
+public class RenderExecutor {
+
+    private static final Logger LOG = Logger.getLogger(RenderExecutor.class);
+
+    static final String METRIC_PREFIX = "render.executor";
+
+    // Share of the maximum heap that concurrent renders may use between them
+    private static final double HEAP_SHARE = 0.5;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "calendar.render.max-concurrency",
+            defaultValue = "2")
+    int maxConcurrency;
+
+    @ConfigProperty(
+            name = "calendar.render.queue-depth",
+            defaultValue = "8")
+    int queueDepth;
+
+    @ConfigProperty(
+            name = "calendar.render.heap-budget-mb",
+            defaultValue = "256")
+    long heapBudgetMb;
+
+    @ConfigProperty(
+            name = "calendar.render.timeout",
+            defaultValue = "60s")
+    Duration timeout;
+
+    @ConfigProperty(
+            name = "calendar.render.retry-after",
+            defaultValue = "5s")
+    Duration retryAfter;
+
+    private ThreadPoolExecutor executor;
+
+    // Render threads that batches may hold between them
+    private Semaphore batchSlots;
+    private int batchCapacity;
+
+    private Timer waitTimer;
+    private Counter rejected;
+    private Counter timeouts;
+
+    @PostConstruct
+    void init() {
+        int concurrency = effectiveConcurrency(maxConcurrency, heapBudgetMb, Runtime.getRuntime().maxMemory());
+        BlockingQueue<Runnable> queue = queueDepth > 0 ? new ArrayBlockingQueue<>(queueDepth)
+                : new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "render-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        batchCapacity = batchCapacity(concurrency);
+        batchSlots = new Semaphore(batchCapacity);
+
+        LOG.infof("Render executor started: %d concurrent renders (max %d, %d MB each), queue depth %d, timeout %s",
+                concurrency, maxConcurrency, heapBudgetMb, queueDepth, timeout);
+
+        waitTimer = Timer.builder(METRIC_PREFIX + ".wait").description("Time renders spend queued before starting")
+                .register(meterRegistry);
+        rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Renders rejected because the executor was saturated").register(meterRegistry);
+        timeouts = Counter.builder(METRIC_PREFIX + ".timeouts").description("Renders abandoned after the timeout")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Renders waiting for a render thread").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Renders in progress").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".concurrency", executor, ThreadPoolExecutor::getMaximumPoolSize)
+                .description("Maximum concurrent renders").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".batch.reserved", batchSlots, slots -> batchCapacity - slots.availablePermits())
+                .description("Render threads reserved by batches").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run a render on the executor and wait for its result. The timeout covers both the time spent queued and the
+     * render itself; a render that times out is interrupted and its result discarded.
+     *
+     * @param kind
+     *            Short description of the render for logs and errors, e.g. "PDF"
+     * @param task
+     *            The render to run
+     * @return The task's result
+     * @throws RenderRejectedException
+     *             If all render threads are busy and the queue is full
+     * @throws RenderingException
+     *             If the render times out or fails with a checked exception; unchecked exceptions are rethrown as-is
+     */
+    public <T> T submit(String kind, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            LOG.warnf("Render executor saturated, rejecting %s render (%d active, %d queued)", kind,
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new RenderRejectedException("Too many renders in progress, try again later", retryAfter.toSeconds());
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new RenderingException(kind + " rendering timed out after " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RenderingException(kind + " rendering interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RenderingException(kind + " rendering failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Reserve render threads for a batch of renders. The batch gets as many of the threads it asks for as other batches
+     * have left, and must not have more renders in flight than {@link Reservation#slots()}. Close the reservation when
+     * the batch is done.
+     *
+     * @param kind
+     *            Short description of the batch for logs, e.g. "maze book PDF"
+     * @param wanted
+     *            Render threads the batch could use, usually its number of pages
+     * @return The reservation, holding at least one thread
+     * @throws RenderRejectedException
+     *             If other batches hold every thread batches may use
+     */
+    public Reservation reserve(String kind, int wanted) {
+        for (int slots = Math.min(Math.max(1, wanted), batchCapacity); slots > 0; slots--) {
+            if (batchSlots.tryAcquire(slots)) {
+                return new Reservation(slots);
+            }
+        }
+        rejected.increment();
+        LOG.warnf("All %d batch render threads are reserved, rejecting %s", batchCapacity, kind);
+        throw new RenderRejectedException("Too many batch renders in progress, try again later",
+                retryAfter.toSeconds());
+    }
+
+    /** Render threads held by one batch. Closing it more than once releases them only once. */
+    public final class Reservation implements AutoCloseable {
+
+        private final int slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(int slots) {
+            this.slots = slots;
+        }
+
+        /** The most renders the batch may have in flight. */
+        public int slots() {
+            return slots;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                batchSlots.release(slots);
+            }
+        }
+    }
+
+    /** Number of renders running at once, after applying the heap budget. */
+    public int getConcurrency() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /** Render threads batches may hold between them: all but one, so single renders always have a thread left. */
+    static int batchCapacity(int concurrency) {
+        return Math.max(1, concurrency - 1);
+    }
+
+    /**
+     * The configured concurrency, reduced so that {@code concurrency * heapBudgetMb} fits into half the maximum heap.
+     * Always at least one.
+     */
+    static int effectiveConcurrency(int maxConcurrency, long heapBudgetMb, long maxHeapBytes) {
+        int limit = Math.max(1, maxConcurrency);
+        if (heapBudgetMb <= 0 || maxHeapBytes == Long.MAX_VALUE) {
+            return limit;
+        }
+        long byHeap = (long) (maxHeapBytes * HEAP_SHARE) / (heapBudgetMb * 1024 * 1024);
+        return (int) Math.max(1, Math.min(limit, byHeap));
+    }
+}
@@ -0,0 +1,179 @@
+package villagecompute.calendar.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.types.CalendarConfigType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Optional warm-up of the rendering pipeline at startup. The first render in a fresh JVM pays for loading Batik and
+ * FOP, JIT compilation, decoding emoji SVGs and building holiday tables. With {@code calendar.warmup.enabled} those
+ * costs are paid by representative renders on a background thread instead, and this readiness check stays DOWN until
+ * they finish so no customer traffic is routed to the instance before then.
+ *
+ * <p>
+ * The renders cover every theme, moon display mode and layout, a maze, and one PDF and one PNG transcode. They bypass
+ * the SVG cache. A failed warm-up is logged and still reports ready, since it only costs latency.
+ */
+@Readiness
+@ApplicationScoped
+public class RenderWarmup implements HealthCheck {
+
+    private static final Logger LOG = Logger.getLogger(RenderWarmup.class);
+
+    static final String CHECK_NAME = "render-warmup";
+    static final String METRIC_NAME = "render.warmup";
+
+    static final List<String> MOON_DISPLAY_MODES = List.of("none", "illumination", "phases", "full-only");
+    static final List<String> LAYOUT_STYLES = List.of("grid", "weekday-grid");
+    static final List<String> EMOJI_FONTS = List.of("noto-color", CalendarRenderingService.EMOJI_FONT_NOTO_MONO,
+            "mono-red");
+
+    // Width of the PNG transcode, as used for small previews
+    private static final int PREVIEW_WIDTH = 400;
+
+    /** Progress of the warm-up. Ready in every state except PENDING and RUNNING. */
+    enum Status {
+        PENDING, RUNNING, WARM, FAILED, DISABLED
+    }
+
+    @Inject
+    CalendarRenderingService calendarRenderingService;
+
+    @Inject
+    PDFRenderingService pdfRenderingService;
+
+    @Inject
+    MazeGenerationService mazeGenerationService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(
+            name = "calendar.warmup.enabled",
+            defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(
+            name = "calendar.warmup.rounds",
+            defaultValue = "3")
+    int rounds;
+
+    private volatile Status status = Status.PENDING;
+    private volatile long durationMillis = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            status = Status.DISABLED;
+            return;
+        }
+
+        status = Status.RUNNING;
+        Thread thread = new Thread(this::warmUp, "render-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Run the warm-up renders, record how long they took and report ready. */
+    void warmUp() {
+        status = Status.RUNNING;
+        LOG.info("Warming up the rendering pipeline");
+        long start = System.nanoTime();
+
+        Status result = Status.FAILED;
+        try {
+            renderAll();
+            result = Status.WARM;
+        } catch (RuntimeException | Error e) {
+            // Errors too: a transcoder failing to initialize must not leave the instance unready forever
+            LOG.warnf(e, "Render warm-up failed, reporting ready anyway");
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            status = result;
+            Timer.builder(METRIC_NAME).tag("outcome", result == Status.WARM ? "success" : "failure")
+                    .description("Time spent warming up the rendering pipeline at startup").register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            LOG.infof("Render warm-up %s in %d ms", result == Status.WARM ? "finished" : "failed", durationMillis);
+        }
+    }
+
+    private void renderAll() {
+        List<CalendarConfigType> configs = warmupConfigs(LocalDate.now().getYear());
+        String svg = null;
+        for (int round = 0; round < Math.max(1, rounds); round++) {
+            for (CalendarConfigType config : configs) {
+                svg = calendarRenderingService.renderCalendarSVGUncached(config);
+            }
+        }
+
+        mazeGenerationService.generatePreview(MazeType.ORTHOGONAL, 5, 3, true, true);
+
+        // One transcode of each kind, called the way orders and previews call them
+        pdfRenderingService.renderSVGToPDF(svg, configs.get(configs.size() - 1).year);
+        pdfRenderingService.renderSVGToPNG(calendarRenderingService.wrapSvgForPreview(svg), PREVIEW_WIDTH);
+    }
+
+    /**
+     * One config per theme, moon display mode and layout, with holidays, and emoji fonts rotating between them. The
+     * last one uses moon phases, so the transcodes include moons and emojis.
+     */
+    static List<CalendarConfigType> warmupConfigs(int year) {
+        List<CalendarConfigType> configs = new ArrayList<>();
+        for (String theme : CalendarRenderingService.themeNames()) {
+            configs.add(warmupConfig(year, theme, "none", "grid", configs.size()));
+        }
+        for (String moonDisplayMode : MOON_DISPLAY_MODES) {
+            configs.add(warmupConfig(year, CalendarRenderingService.DEFAULT_THEME, moonDisplayMode, "grid",
+                    configs.size()));
+        }
+        for (String layoutStyle : LAYOUT_STYLES) {
+            configs.add(warmupConfig(year, CalendarRenderingService.DEFAULT_THEME, "phases", layoutStyle,
+                    configs.size()));
+        }
+        return configs;
+    }
+
+    private static CalendarConfigType warmupConfig(int year, String theme, String moonDisplayMode, String layoutStyle,
+            int index) {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = year;
+        config.theme = theme;
+        config.moonDisplayMode = moonDisplayMode;
+        config.layoutStyle = layoutStyle;
+        config.latitude = 44.26;
+        config.longitude = -72.58;
+        config.holidaySets = List.of(HolidayService.SET_US, HolidayService.SET_JEWISH);
+        config.emojiFont = EMOJI_FONTS.get(index % EMOJI_FONTS.size());
+        return config;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        Status current = status;
+        return HealthCheckResponse.named(CHECK_NAME)
+                .status(current != Status.PENDING && current != Status.RUNNING)
+                .withData("status", current.name().toLowerCase()).withData("durationMs", durationMillis).build();
+    }
+
+    Status getStatus() {
+        return status;
+    }
+}
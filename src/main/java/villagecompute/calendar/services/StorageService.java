@@ -1,6 +1,10 @@
 package villagecompute.calendar.services;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -14,6 +18,8 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
@@ -124,6 +130,39 @@ public class StorageService {
         }
     }
 
+    /**
+     * Download a file previously stored with {@link #uploadFile} to a local path, replacing anything already there.
+     *
+     * @param filename
+     *            The filename the file was uploaded under
+     * @param target
+     *            Local file to write to
+     * @return true if the file was downloaded, false if no such file is stored
+     * @throws StorageException
+     *             if the download fails for any other reason
+     */
+    public boolean downloadFile(String filename, Path target) {
+        if (filename == null || filename.isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+
+        String key = "calendar-pdfs/" + filename;
+        GetObjectRequest getRequest = GetObjectRequest.builder().bucket(r2Bucket).key(key).build();
+
+        try (InputStream in = getS3Client().getObject(getRequest)) {
+            long size = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            LOG.infof("File downloaded from R2: %s (size: %d bytes)", key, size);
+            return true;
+
+        } catch (NoSuchKeyException e) {
+            LOG.debugf("File not found in R2: %s", key);
+            return false;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to download file from R2: %s", filename);
+            throw new StorageException("Failed to download file from R2: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Delete a file from R2 by its public URL. Extracts the key from the URL and deletes the object.
      *
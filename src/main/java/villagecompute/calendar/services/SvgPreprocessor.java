@@ -0,0 +1,193 @@
+package villagecompute.calendar.services;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites the SVG constructs that Batik or PDF renderers mishandle, in a single pass over the document:
+ *
+ * <ul>
+ * <li>Adds the {@code xmlns:xlink} declaration to the root {@code <svg>} tag when {@code xlink:href} is used without
+ * it.</li>
+ * <li>Turns {@code clip-path} references from {@code url(#id)} into bare {@code #id}, in attributes and in
+ * {@code style} attributes. Only clip-path: filter, fill, stroke, mask and markers need the {@code url(#id)} form, and
+ * rewriting them breaks them.</li>
+ * <li>Replaces {@code transparent} fills, which PDF renderers do not support, with {@code none}.</li>
+ * </ul>
+ *
+ * <p>
+ * All patterns are compiled once, and a document that needs no fixes is returned as-is without being copied.
+ */
+final class SvgPreprocessor {
+
+    private static final String TRANSPARENT = "transparent";
+
+    private static final String XLINK_NAMESPACE = "xmlns:xlink=\"http://www.w3.org/1999/xlink\"";
+
+    // Each fix is tried only where its keyword appears, so the document is scanned once without running a regex
+    // at every position
+    private static final Pattern CLIP_PATH_ATTR = Pattern.compile("clip-path\\s*=\\s*[\"']url\\(#([^)]+)\\)[\"']",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern STYLE_ATTR = Pattern.compile("(style\\s*=\\s*[\"'])([^\"']*)([\"'])",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FILL_CSS = Pattern.compile("fill\\s*:\\s*transparent", Pattern.CASE_INSENSITIVE);
+    private static final Pattern STYLE_FIXES = Pattern.compile("clip-path\\s*:\\s*url\\(#([^)]+)\\)|" + FILL_CSS,
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SVG_TAG = Pattern.compile("<svg[^>]*?>", Pattern.CASE_INSENSITIVE);
+
+    private SvgPreprocessor() {
+    }
+
+    /**
+     * Apply all fixes to an SVG document.
+     *
+     * @param svgContent
+     *            SVG document
+     * @return The fixed document, or {@code svgContent} itself if nothing needed fixing
+     */
+    static String preprocess(String svgContent) {
+        // Where the xlink declaration goes: before the '>' of the first <svg> tag, if it is needed at all
+        int namespaceAt = -1;
+        if (svgContent.contains("xlink:href") && !svgContent.contains("xmlns:xlink")) {
+            Matcher svgTag = SVG_TAG.matcher(svgContent);
+            if (svgTag.find()) {
+                namespaceAt = svgTag.end() - 1;
+            }
+        }
+
+        Matcher clipPathAttr = CLIP_PATH_ATTR.matcher(svgContent);
+        Matcher styleAttr = STYLE_ATTR.matcher(svgContent);
+
+        StringBuilder out = namespaceAt >= 0 ? new StringBuilder(svgContent.length() + XLINK_NAMESPACE.length() + 64)
+                : null;
+        int copied = 0;
+        int length = svgContent.length();
+        for (int i = 0; i < length; i++) {
+            int end;
+            String replacement;
+            switch (svgContent.charAt(i) | 0x20) {
+                case 'c' :
+                    if (!lookingAt(svgContent, "clip-path", clipPathAttr, i)) {
+                        continue;
+                    }
+                    end = clipPathAttr.end();
+                    replacement = "clip-path=\"#" + clipPathAttr.group(1) + "\"";
+                    break;
+                case 's' :
+                    if (!lookingAt(svgContent, "style", styleAttr, i)) {
+                        continue;
+                    }
+                    end = styleAttr.end();
+                    String value = styleAttr.group(2);
+                    String fixed = fixStyle(value);
+                    // Skip past the value either way, it has been checked
+                    replacement = fixed == value ? null : styleAttr.group(1) + fixed + styleAttr.group(3);
+                    break;
+                case 'f' :
+                    end = transparentFillEnd(svgContent, i);
+                    if (end < 0) {
+                        continue;
+                    }
+                    replacement = svgContent.charAt(skipSpaces(svgContent, i + 4)) == '=' ? "fill=\"none\""
+                            : "fill:none";
+                    break;
+                default :
+                    continue;
+            }
+
+            if (replacement != null) {
+                if (out == null) {
+                    out = new StringBuilder(length + 64);
+                }
+                copy(svgContent, copied, i, namespaceAt, out).append(replacement);
+                copied = end;
+            }
+            i = end - 1;
+        }
+
+        if (out == null) {
+            return svgContent;
+        }
+        return copy(svgContent, copied, length, namespaceAt, out).toString();
+    }
+
+    /** Whether the pattern matches at {@code start}, checking its keyword before running the regex. */
+    private static boolean lookingAt(String svgContent, String keyword, Matcher matcher, int start) {
+        return svgContent.regionMatches(true, start, keyword, 0, keyword.length())
+                && matcher.region(start, svgContent.length()).lookingAt();
+    }
+
+    /**
+     * End of a transparent fill at {@code start}, either {@code fill="transparent"} or {@code fill:transparent} with
+     * optional whitespace, or -1 if there is none. Fills are everywhere in our SVGs, so this is checked by hand rather
+     * than with a regex.
+     */
+    private static int transparentFillEnd(String svgContent, int start) {
+        if (!svgContent.regionMatches(true, start, "fill", 0, 4)) {
+            return -1;
+        }
+        int i = skipSpaces(svgContent, start + 4);
+        if (i >= svgContent.length()) {
+            return -1;
+        }
+        char separator = svgContent.charAt(i);
+        if (separator != '=' && separator != ':') {
+            return -1;
+        }
+        i = skipSpaces(svgContent, i + 1);
+
+        boolean quoted = separator == '=';
+        if (quoted) {
+            if (i >= svgContent.length() || !isQuote(svgContent.charAt(i))) {
+                return -1;
+            }
+            i++;
+        }
+        if (!svgContent.regionMatches(true, i, TRANSPARENT, 0, TRANSPARENT.length())) {
+            return -1;
+        }
+        i += TRANSPARENT.length();
+        if (quoted) {
+            return i < svgContent.length() && isQuote(svgContent.charAt(i)) ? i + 1 : -1;
+        }
+        return i;
+    }
+
+    // Whitespace as matched by \\s
+    private static int skipSpaces(String svgContent, int i) {
+        while (i < svgContent.length() && " \t\n\u000B\f\r".indexOf(svgContent.charAt(i)) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    /** Copy {@code svgContent[from, to)}, adding the xlink declaration if it goes in that range. */
+    private static StringBuilder copy(String svgContent, int from, int to, int namespaceAt, StringBuilder out) {
+        if (namespaceAt >= from && namespaceAt < to) {
+            return out.append(svgContent, from, namespaceAt).append(' ').append(XLINK_NAMESPACE).append(svgContent,
+                    namespaceAt, to);
+        }
+        return out.append(svgContent, from, to);
+    }
+
+    /** Fix the declarations of a style attribute, returning the same instance if none needed fixing. */
+    private static String fixStyle(String style) {
+        Matcher matcher = STYLE_FIXES.matcher(style);
+        if (!matcher.find()) {
+            return style;
+        }
+
+        StringBuilder out = new StringBuilder(style.length());
+        do {
+            matcher.appendReplacement(out, "");
+            out.append(matcher.start(1) >= 0 ? "clip-path:#" + matcher.group(1) : "fill:none");
+        } while (matcher.find());
+        matcher.appendTail(out);
+        return out.toString();
+    }
+}
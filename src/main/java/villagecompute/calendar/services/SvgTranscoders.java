@@ -0,0 +1,110 @@
+package villagecompute.calendar.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
+import org.apache.batik.bridge.BridgeContext;
+import org.apache.batik.transcoder.Transcoder;
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.PNGTranscoder;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.apache.fop.pdf.PDFInfo;
+import org.apache.fop.svg.PDFTranscoder;
+import org.w3c.dom.Document;
+import org.w3c.dom.svg.SVGDocument;
+
+/**
+ * Batik pieces that are reused across renders on the same thread. SVG text is parsed straight into a Batik DOM with a
+ * per-thread parser, and the transcoders below can be configured once and kept per render thread: they drop the
+ * document, GVT tree and graphics of each render when it finishes, so an idle transcoder holds only its hints.
+ */
+final class SvgTranscoders {
+
+    /**
+     * Base URI of parsed documents. Batik needs one to resolve references from {@code <style>} elements, even though
+     * our SVGs are self-contained.
+     */
+    static final String DOCUMENT_URI = "file:///calendar.svg";
+
+    static final String PDF_PRODUCER = "villagecompute.com";
+    static final String PDF_CREATOR = "Village Compute Calendar Generator";
+    static final String PDF_SUBJECT = "Calendar";
+
+    private static final ThreadLocal<SAXSVGDocumentFactory> DOCUMENT_FACTORY = ThreadLocal
+            .withInitial(() -> new SAXSVGDocumentFactory(XMLResourceDescriptor.getXMLParserClassName()));
+
+    private SvgTranscoders() {
+    }
+
+    /** Parse SVG text into a Batik DOM. */
+    static SVGDocument parse(String svgContent) throws IOException {
+        return DOCUMENT_FACTORY.get().createSVGDocument(DOCUMENT_URI, new StringReader(svgContent));
+    }
+
+    /** Transcode a parsed document and return the output bytes. */
+    static byte[] transcode(Transcoder transcoder, Document document) throws TranscoderException {
+        TranscoderInput input = new TranscoderInput(document);
+        input.setURI(DOCUMENT_URI);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transcoder.transcode(input, new TranscoderOutput(outputStream));
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * PDF transcoder that writes our document information while the PDF is generated, in place of FOP's producer
+     * string, so the PDF does not have to be loaded and saved again to rewrite it.
+     */
+    static final class PdfTranscoder extends PDFTranscoder {
+
+        private String title;
+
+        /** Title for the next PDF, e.g. "Calendar 2026". */
+        void setTitle(String title) {
+            this.title = title;
+        }
+
+        // Called after the PDF graphics are created and before anything is painted
+        @Override
+        public BridgeContext createBridgeContext(String svgVersion) {
+            if (graphics != null) {
+                PDFInfo info = graphics.getPDFDocument().getInfo();
+                info.setProducer(PDF_PRODUCER);
+                info.setCreator(PDF_CREATOR);
+                info.setTitle(title);
+                info.setSubject(PDF_SUBJECT);
+            }
+            return super.createBridgeContext(svgVersion);
+        }
+
+        @Override
+        protected void transcode(Document document, String uri, TranscoderOutput output) throws TranscoderException {
+            try {
+                super.transcode(document, uri, output);
+            } finally {
+                graphics = null;
+                root = null;
+                ctx = null;
+                builder = null;
+            }
+        }
+    }
+
+    /** PNG transcoder that drops each render's state when it finishes. */
+    static final class PngTranscoder extends PNGTranscoder {
+
+        @Override
+        protected void transcode(Document document, String uri, TranscoderOutput output) throws TranscoderException {
+            try {
+                super.transcode(document, uri, output);
+            } finally {
+                root = null;
+                ctx = null;
+                builder = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package villagecompute.calendar.services.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Thrown by a DelayedJob handler that could not start its work yet, e.g. because a shared resource is saturated. The
+ * job runs again after the given delay without counting as a failed attempt, so its backoff does not grow.
+ */
+public class DelayedJobRequeueException extends DelayedJobException {
+
+    private final Duration delay;
+
+    /**
+     * Create a DelayedJobRequeueException.
+     *
+     * @param message
+     *            Why the job could not run
+     * @param delay
+     *            How long to wait before running the job again
+     * @param cause
+     *            Underlying exception
+     */
+    public DelayedJobRequeueException(String message, Duration delay, Throwable cause) {
+        super(true, message, cause);
+        this.delay = delay;
+    }
+
+    /**
+     * How long to wait before running the job again.
+     *
+     * @return Delay before the next run
+     */
+    public Duration getDelay() {
+        return delay;
+    }
+}
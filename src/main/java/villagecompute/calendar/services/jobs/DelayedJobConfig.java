@@ -20,4 +20,11 @@ public @interface DelayedJobConfig {
 
     /** Human-readable description for logging and monitoring. */
     String description() default "";
+
+    /**
+     * Whether {@link DelayedJobHandler#run} executes inside the transaction that locked the job. Handlers doing slow
+     * work away from the database, such as rendering or uploads, set this to false and open short transactions of
+     * their own, so the job does not hold a pooled connection while they run.
+     */
+    boolean transactional() default true;
 }
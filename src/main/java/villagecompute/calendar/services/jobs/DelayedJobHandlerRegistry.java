@@ -40,9 +40,11 @@ public class DelayedJobHandlerRegistry {
 
             int priority = 5;
             String description = "";
+            boolean transactional = true;
             if (config != null) {
                 priority = config.priority();
                 description = config.description();
+                transactional = config.transactional();
             } else {
                 LOG.warnf("Handler %s missing @DelayedJobConfig annotation, using defaults",
                         handlerClass.getSimpleName());
@@ -55,7 +57,8 @@ public class DelayedJobHandlerRegistry {
                         + handlersByQueue.get(queueName).getClass().getName() + " and " + handlerClass.getName());
             }
 
-            HandlerMetadata metadata = new HandlerMetadata(queueName, priority, description, handlerClass);
+            HandlerMetadata metadata = new HandlerMetadata(queueName, priority, description, transactional,
+                    handlerClass);
 
             handlersByQueue.put(queueName, handler);
             metadataByClass.put(handlerClass, metadata);
@@ -87,13 +90,19 @@ public class DelayedJobHandlerRegistry {
         return Optional.ofNullable(metadataByClass.get(handlerClass));
     }
 
+    /** Get metadata for a queue (for job execution). */
+    public Optional<HandlerMetadata> getMetadata(String queueName) {
+        DelayedJobHandler handler = handlersByQueue.get(queueName);
+        return handler != null ? getMetadata(getActualClass(handler)) : Optional.empty();
+    }
+
     /** Get all registered queue names. */
     public Set<String> getRegisteredQueues() {
         return Collections.unmodifiableSet(handlersByQueue.keySet());
     }
 
     /** Metadata about a registered handler. */
-    public record HandlerMetadata(String queueName, int priority, String description,
+    public record HandlerMetadata(String queueName, int priority, String description, boolean transactional,
             Class<? extends DelayedJobHandler> handlerClass) {
     }
 }
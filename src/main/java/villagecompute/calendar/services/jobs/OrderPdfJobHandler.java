@@ -0,0 +1,57 @@
+package villagecompute.calendar.services.jobs;
+
+import java.util.UUID;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.data.models.CalendarOrderItem;
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.services.OrderPdfService;
+import villagecompute.calendar.services.exceptions.DelayedJobException;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+
+/**
+ * DelayedJob handler that renders and stores the PDF for a paid order item, so the first download is served from
+ * storage. The actor ID is the CalendarOrderItem ID. A failed render is not retried here; the download renders it on
+ * demand instead.
+ */
+@ApplicationScoped
+@DelayedJobConfig(
+        priority = 1,
+        description = "Order PDF pre-renderer")
+public class OrderPdfJobHandler implements DelayedJobHandler {
+
+    private static final Logger LOG = Logger.getLogger(OrderPdfJobHandler.class);
+
+    @Inject
+    OrderPdfService orderPdfService;
+
+    @Override
+    @WithSpan("OrderPdfJobHandler.run")
+    public void run(String actorId) throws Exception {
+        CalendarOrderItem item = CalendarOrderItem.findById(UUID.fromString(actorId));
+        if (item == null) {
+            LOG.errorf("Order item not found: %s", actorId);
+            throw new DelayedJobException(false, "Order item not found: " + actorId);
+        }
+
+        Span.current().setAttribute("order_item.id", actorId);
+
+        try {
+            if (orderPdfService.prerender(item)) {
+                LOG.infof("PDF ready for order item %s", actorId);
+            } else {
+                LOG.infof("Order item %s has no SVG content, nothing to render", actorId);
+            }
+        } catch (RenderRejectedException e) {
+            throw new DelayedJobException(true, "Renderer busy for order item " + actorId, e);
+        } catch (Exception e) {
+            throw new DelayedJobException(false, "Failed to render PDF for order item " + actorId, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package villagecompute.calendar.services.jobs;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import villagecompute.calendar.data.models.PdfJob;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.services.CalendarGenerationService;
+import villagecompute.calendar.services.PDFRenderingService;
+import villagecompute.calendar.services.StorageService;
+import villagecompute.calendar.services.exceptions.DelayedJobException;
+import villagecompute.calendar.services.exceptions.DelayedJobRequeueException;
+import villagecompute.calendar.services.exceptions.StorageException;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+
+/**
+ * DelayedJob handler that renders a calendar PDF for a {@link PdfJob}. Generates the SVG, renders it with
+ * PDFRenderingService, uploads the result via StorageService and records the URL on the job. The actor ID is the
+ * PdfJob ID.
+ *
+ * <p>
+ * The handler runs outside DelayedJobService's transaction and commits each status change in a short transaction of
+ * its own, so no database connection is held while Batik transcodes or the upload is in flight.
+ */
+@ApplicationScoped
+@DelayedJobConfig(
+        priority = 5,
+        description = "Calendar PDF renderer",
+        transactional = false)
+public class PdfGenerationJobHandler implements DelayedJobHandler {
+
+    private static final Logger LOG = Logger.getLogger(PdfGenerationJobHandler.class);
+
+    /** Attempts before an upload failure is treated as permanent. Rendering failures are never retried. */
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    private static final String WATERMARK = "<text x=\"50%\" y=\"55%\" text-anchor=\"middle\""
+            + " font-family=\"Helvetica, Arial, sans-serif\" font-size=\"240\" font-weight=\"bold\""
+            + " fill=\"#000000\" fill-opacity=\"0.12\">PREVIEW</text>";
+
+    @Inject
+    CalendarGenerationService calendarGenerationService;
+
+    @Inject
+    PDFRenderingService pdfRenderingService;
+
+    @Inject
+    StorageService storageService;
+
+    @Override
+    @WithSpan("PdfGenerationJobHandler.run")
+    public void run(String actorId) throws Exception {
+        UUID jobId = UUID.fromString(actorId);
+
+        // Commit RUNNING on its own so polling clients see it while the render is in progress
+        RenderRequest request = QuarkusTransaction.requiringNew().call(() -> startAttempt(jobId));
+        if (request == null) {
+            LOG.errorf("PDF job not found: %s", actorId);
+            throw new DelayedJobException(false, "PDF job not found: " + actorId);
+        }
+        if (request.status() != PdfJobStatus.RUNNING) {
+            LOG.infof("PDF job %s is already %s, skipping", actorId, request.status());
+            return;
+        }
+
+        Span.current().setAttribute("pdf_job.id", actorId);
+        Span.current().setAttribute("pdf_job.calendar_id", request.calendarId().toString());
+        Span.current().setAttribute("pdf_job.watermark", request.includeWatermark());
+
+        // Only loading the calendar needs a transaction; rendering and uploading run without one so the job does not
+        // hold a pooled connection through a transcode and an upload
+        String url;
+        int size;
+        try {
+            String svg = QuarkusTransaction.requiringNew().call(
+                    () -> calendarGenerationService.generateCalendarSVG(UserCalendar.findById(request.calendarId())));
+            if (request.includeWatermark()) {
+                svg = addWatermark(svg);
+            }
+
+            byte[] pdfBytes = pdfRenderingService.renderSVGToPDF(svg, request.year());
+            url = storageService.uploadFile(request.filename(), pdfBytes, PDF_CONTENT_TYPE);
+            size = pdfBytes.length;
+
+        } catch (StorageException e) {
+            boolean retrying = QuarkusTransaction.requiringNew().call(() -> recordUploadFailure(jobId, e.getMessage()));
+            throw new DelayedJobException(retrying, "Failed to upload PDF for job " + actorId, e);
+        } catch (RenderRejectedException e) {
+            // The render executor is saturated, so the render never started
+            QuarkusTransaction.requiringNew().run(() -> PdfJob.<PdfJob>findById(jobId).markRequeued(e.getMessage()));
+            throw new DelayedJobRequeueException("Renderer busy for PDF job " + actorId,
+                    Duration.ofSeconds(e.getRetryAfterSeconds()), e);
+        } catch (Exception e) {
+            QuarkusTransaction.requiringNew().run(() -> PdfJob.<PdfJob>findById(jobId).markFailed(e.getMessage()));
+            throw new DelayedJobException(false, "Failed to render PDF for job " + actorId, e);
+        }
+
+        QuarkusTransaction.requiringNew().run(() -> recordDone(jobId, url));
+        LOG.infof("PDF job %s completed: %s (%d bytes)", actorId, url, size);
+        Span.current().addEvent("PDF uploaded");
+    }
+
+    /**
+     * Move a PENDING job to RUNNING and capture what rendering needs from it.
+     *
+     * @return The job's status and render parameters after the call, or null if the job does not exist
+     */
+    private RenderRequest startAttempt(UUID jobId) {
+        PdfJob job = PdfJob.findById(jobId);
+        if (job == null) {
+            return null;
+        }
+        if (job.status == PdfJobStatus.PENDING || job.status == PdfJobStatus.RUNNING) {
+            // A RUNNING job here was interrupted (e.g. by a restart) and its delayed job is being retried
+            job.markRunning();
+        }
+        UserCalendar calendar = job.calendar;
+        return new RenderRequest(job.status, calendar.id, calendar.year, job.includeWatermark,
+                generateFilename(job, calendar));
+    }
+
+    /**
+     * Record a failed upload as a retry, or as a permanent failure once {@link #MAX_ATTEMPTS} is reached.
+     *
+     * @return Whether the job will be retried
+     */
+    private boolean recordUploadFailure(UUID jobId, String error) {
+        PdfJob job = PdfJob.findById(jobId);
+        if (job.attempts + 1 < MAX_ATTEMPTS) {
+            job.markRetrying(error);
+            return true;
+        }
+        job.markFailed(error);
+        return false;
+    }
+
+    private void recordDone(UUID jobId, String url) {
+        PdfJob job = PdfJob.findById(jobId);
+        job.markDone(url);
+        // A clean PDF is the calendar's printable output; previews stay on the job only
+        if (!job.includeWatermark) {
+            job.calendar.generatedPdfUrl = url;
+        }
+    }
+
+    /** Draw a translucent PREVIEW label across the calendar, on top of everything else. */
+    static String addWatermark(String svg) {
+        int close = svg.lastIndexOf("</svg>");
+        if (close < 0) {
+            return svg;
+        }
+        return svg.substring(0, close) + WATERMARK + svg.substring(close);
+    }
+
+    private String generateFilename(PdfJob job, UserCalendar calendar) {
+        return String.format("calendar-%s-%d-%s%s.pdf", calendar.id.toString().substring(0, 8), calendar.year,
+                job.id.toString().substring(0, 8), job.includeWatermark ? "-preview" : "");
+    }
+
+    /** What rendering needs from a job, captured when its attempt starts. */
+    private record RenderRequest(PdfJobStatus status, UUID calendarId, Integer year, boolean includeWatermark,
+            String filename) {
+    }
+}
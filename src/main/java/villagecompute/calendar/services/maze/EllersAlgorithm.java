@@ -0,0 +1,185 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import villagecompute.calendar.services.maze.MazeGrid.NeighborFilter;
+
+/**
+ * Eller's algorithm: the maze is carved one row at a time, tracking only which cells of the current row are already
+ * connected (through rows above). Its state is a handful of arrays the width of one row, whatever the height, which
+ * makes it the algorithm for very large mazes.
+ *
+ * <p>
+ * For each row:
+ *
+ * <ol>
+ * <li>Randomly join horizontally adjacent cells that are not yet connected.</li>
+ * <li>Randomly carve passages down to the next row, at least one per connected set so no set is cut off. In hexagonal
+ * mazes a cell below can be reached from two cells above; a passage that would join a set to itself is skipped.</li>
+ * <li>Cells of the next row without a passage from above start sets of their own.</li>
+ * </ol>
+ *
+ * <p>
+ * The last row joins every remaining set, which connects the whole maze.
+ */
+public final class EllersAlgorithm implements MazeAlgorithm {
+
+    private static final int NONE = -1;
+
+    @Override
+    public void carve(MazeGrid grid, Random random) {
+        new Carver(grid, random).carve();
+    }
+
+    /** Per-maze state: one row's worth of set labels. */
+    private static final class Carver {
+
+        private final MazeGrid grid;
+        private final Random random;
+        private final int width;
+
+        // Set label of each cell in the current row and in the row below, NONE until a passage reaches it
+        private int[] row;
+        private int[] nextRow;
+        private final UnionFind sets;
+
+        // Per set root: whether it has a passage down, and a member picked at random to carve one if not
+        private final boolean[] hasDown;
+        private final int[] members;
+        private final int[] candidates;
+        private final int[] relabel;
+
+        Carver(MazeGrid grid, Random random) {
+            this.grid = grid;
+            this.random = random;
+            this.width = grid.getWidth();
+            this.row = new int[width];
+            this.nextRow = new int[width];
+            this.sets = new UnionFind(width);
+            this.hasDown = new boolean[width];
+            this.members = new int[width];
+            this.candidates = new int[width];
+            this.relabel = new int[width];
+        }
+
+        void carve() {
+            int height = grid.getHeight();
+            for (int x = 0; x < width; x++) {
+                row[x] = x;
+            }
+
+            for (int y = 0; y < height; y++) {
+                boolean lastRow = y == height - 1;
+                joinRow(y, lastRow);
+                if (!lastRow) {
+                    carveDown(y);
+                    startNextRow();
+                }
+            }
+        }
+
+        /** Join adjacent cells of different sets: at random, or all of them on the last row. */
+        private void joinRow(int y, boolean lastRow) {
+            for (int x = 0; x < width - 1; x++) {
+                if (sets.find(row[x]) != sets.find(row[x + 1]) && (lastRow || random.nextBoolean())) {
+                    int cell = grid.index(x, y);
+                    grid.removeWall(cell, cell + 1, MazeGrid.EAST);
+                    sets.union(row[x], row[x + 1]);
+                }
+            }
+        }
+
+        /** Carve random passages down, then one more for every set that did not get any. */
+        private void carveDown(int y) {
+            Arrays.fill(nextRow, NONE);
+            Arrays.fill(hasDown, false);
+            Arrays.fill(members, 0);
+
+            for (int x = 0; x < width; x++) {
+                int cell = grid.index(x, y);
+                int count = grid.collectNeighbors(cell, NeighborFilter.ALL);
+                for (int i = 0; i < count; i++) {
+                    int neighbor = grid.neighborCell(i);
+                    if (neighbor / width > y && random.nextBoolean()) {
+                        carveDown(x, cell, neighbor, grid.neighborWall(i));
+                    }
+                }
+            }
+
+            // Pick one member of each set still without a passage down, uniformly by reservoir sampling
+            for (int x = 0; x < width; x++) {
+                int root = sets.find(row[x]);
+                if (!hasDown[root] && random.nextInt(++members[root]) == 0) {
+                    candidates[root] = x;
+                }
+            }
+            for (int x = 0; x < width; x++) {
+                int root = sets.find(row[x]);
+                if (!hasDown[root] && candidates[root] == x) {
+                    // No cell below belongs to this set yet, so any passage down is safe
+                    int cell = grid.index(x, y);
+                    int count = grid.collectNeighbors(cell, NeighborFilter.ALL);
+                    int choice = random.nextInt(countBelow(count, y));
+                    for (int i = 0; i < count; i++) {
+                        int neighbor = grid.neighborCell(i);
+                        if (neighbor / width > y && choice-- == 0) {
+                            carveDown(x, cell, neighbor, grid.neighborWall(i));
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int countBelow(int count, int y) {
+            int below = 0;
+            for (int i = 0; i < count; i++) {
+                if (grid.neighborCell(i) / width > y) {
+                    below++;
+                }
+            }
+            return below;
+        }
+
+        /** Carve from cell x of the row to a cell below, unless that would join the set to itself. */
+        private void carveDown(int x, int cell, int neighbor, int wall) {
+            int below = neighbor % width;
+            int root = sets.find(row[x]);
+            if (nextRow[below] == NONE) {
+                nextRow[below] = row[x];
+            } else {
+                int otherRoot = sets.find(nextRow[below]);
+                if (otherRoot == root) {
+                    return;
+                }
+                root = sets.union(root, otherRoot);
+            }
+            grid.removeWall(cell, neighbor, wall);
+            hasDown[root] = true;
+        }
+
+        /** Move to the next row, giving unreached cells new sets and renumbering the labels from 0. */
+        private void startNextRow() {
+            Arrays.fill(relabel, NONE);
+            int labels = 0;
+            for (int x = 0; x < width; x++) {
+                if (nextRow[x] == NONE) {
+                    nextRow[x] = labels++;
+                } else {
+                    int root = sets.find(nextRow[x]);
+                    if (relabel[root] == NONE) {
+                        relabel[root] = labels++;
+                    }
+                    nextRow[x] = relabel[root];
+                }
+            }
+
+            // Each set now has a single label, so the sets start over as singletons
+            sets.reset(width);
+            int[] swap = row;
+            row = nextRow;
+            nextRow = swap;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Random;
+
+import villagecompute.calendar.services.maze.MazeGrid.NeighborFilter;
+
+/**
+ * Randomized Kruskal's algorithm: every wall between two cells is visited in random order and removed when the cells on
+ * either side are not yet connected. The walls are packed into an int array (cell index and wall bit position) and the
+ * connected sets are tracked with a {@link UnionFind}, so no objects are allocated per cell or per wall.
+ */
+public final class KruskalsAlgorithm implements MazeAlgorithm {
+
+    @Override
+    public void carve(MazeGrid grid, Random random) {
+        int cellCount = grid.cellCount();
+
+        // Each inner wall once, from the cell with the lower index
+        int[] edges = new int[cellCount * 3];
+        int edgeCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = grid.collectNeighbors(cell, NeighborFilter.ALL);
+            for (int i = 0; i < count; i++) {
+                if (grid.neighborCell(i) > cell) {
+                    edges[edgeCount++] = cell << 3 | Integer.numberOfTrailingZeros(grid.neighborWall(i));
+                }
+            }
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = edgeCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+
+        UnionFind sets = new UnionFind(cellCount);
+        int joined = 0;
+        for (int i = 0; i < edgeCount && joined < cellCount - 1; i++) {
+            int cell = edges[i] >>> 3;
+            int wall = 1 << (edges[i] & 7);
+            int neighbor = grid.neighbor(cell, wall);
+            if (sets.union(cell, neighbor) >= 0) {
+                grid.removeWall(cell, neighbor, wall);
+                joined++;
+            }
+        }
+    }
+}
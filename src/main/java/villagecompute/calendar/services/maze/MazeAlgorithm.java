@@ -0,0 +1,61 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Strategy that carves the passages of a {@link MazeGrid}. The grid starts with every wall in place, and the algorithm
+ * removes walls until every cell is connected by exactly one path (a perfect maze), using the grid's neighbors so the
+ * same algorithm works for orthogonal and hexagonal mazes. Difficulty shortcuts, the solution and dead ends are
+ * computed by the grid afterwards.
+ *
+ * <p>
+ * The algorithms differ in the texture of the mazes they produce and in the memory they need beyond the grid:
+ *
+ * <ul>
+ * <li>{@link RecursiveBacktracker}: long winding corridors with few branches, an O(cells) stack. The default.</li>
+ * <li>{@link EllersAlgorithm}: one row at a time with O(width) state, so very wide mazes stay cheap.</li>
+ * <li>{@link WilsonsAlgorithm}: uniformly random spanning trees, many short dead ends.</li>
+ * <li>{@link KruskalsAlgorithm}: random edge order joined with a union-find, many short dead ends.</li>
+ * <li>{@link PrimsAlgorithm}: grows outward from the start cell, short branches radiating from it.</li>
+ * </ul>
+ */
+public interface MazeAlgorithm {
+
+    /**
+     * Carve passages into a grid whose walls are all in place.
+     *
+     * @param grid
+     *            Grid to carve, of any {@link villagecompute.calendar.data.models.enums.MazeType}
+     * @param random
+     *            Source of randomness, seeded when the maze must be reproducible
+     */
+    void carve(MazeGrid grid, Random random);
+
+    /** The algorithm mazes are generated with when none is chosen. */
+    static MazeAlgorithm defaultAlgorithm() {
+        return new RecursiveBacktracker();
+    }
+
+    /**
+     * Look up an algorithm by the name used in maze configurations.
+     *
+     * @param name
+     *            "backtracker", "eller", "wilson", "kruskal" or "prim" (case-insensitive), null for the default
+     * @throws IllegalArgumentException
+     *             if the name is not known
+     */
+    static MazeAlgorithm forName(String name) {
+        if (name == null) {
+            return defaultAlgorithm();
+        }
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "backtracker" -> new RecursiveBacktracker();
+            case "eller" -> new EllersAlgorithm();
+            case "wilson" -> new WilsonsAlgorithm();
+            case "kruskal" -> new KruskalsAlgorithm();
+            case "prim" -> new PrimsAlgorithm();
+            default -> throw new IllegalArgumentException("Unknown maze algorithm: " + name);
+        };
+    }
+}
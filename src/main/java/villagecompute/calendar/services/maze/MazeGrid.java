@@ -4,14 +4,68 @@ import java.util.*;
 
 import villagecompute.calendar.data.models.enums.MazeType;
 
-/** Represents a maze grid and provides generation algorithms. */
+/**
+ * Represents a maze grid and generates it with a {@link MazeAlgorithm}, the recursive backtracker unless another is
+ * given.
+ *
+ * <p>
+ * Cells are stored in flat arrays indexed by {@code y * width + x} rather than as {@link MazeCell} objects: one byte of
+ * wall bits and one byte of flags per cell, plus the BFS parent and dead-end depth as ints. Neighbors are collected
+ * into reused scratch arrays, so generating, solving and marking dead ends allocate nothing per step. {@link #getCell}
+ * and {@link #getCells} still hand out {@link MazeCell} objects, built on demand as snapshots.
+ */
 public class MazeGrid {
+
+    // Wall bits, one per side of a cell. Orthogonal mazes use the first four, sigma mazes E, W and the diagonals.
+    public static final int NORTH = 1;
+    public static final int SOUTH = 1 << 1;
+    public static final int EAST = 1 << 2;
+    public static final int WEST = 1 << 3;
+    public static final int NORTH_EAST = 1 << 4;
+    public static final int SOUTH_EAST = 1 << 5;
+    public static final int SOUTH_WEST = 1 << 6;
+    public static final int NORTH_WEST = 1 << 7;
+
+    private static final byte ALL_WALLS = (byte) 0xFF;
+
+    // Cell flags
+    private static final byte VISITED = 1;
+    private static final byte ON_SOLUTION_PATH = 1 << 1;
+    private static final byte DEAD_END = 1 << 2;
+
+    private static final int NO_PARENT = -1;
+
+    // Neighbor directions in the order the generators have always tried them, which keeps seeded mazes unchanged.
+    // Orthogonal: W, E, N, S. Hexagonal: E, W, NW, NE, SW, SE, where the diagonal x offsets depend on the row parity
+    // because odd rows are shifted right.
+    private static final int[] ORTHOGONAL_WALLS = {WEST, EAST, NORTH, SOUTH};
+    private static final int[] ORTHOGONAL_DX = {-1, 1, 0, 0};
+    private static final int[] ORTHOGONAL_DY = {0, 0, -1, 1};
+    private static final int[] HEX_WALLS = {EAST, WEST, NORTH_WEST, NORTH_EAST, SOUTH_WEST, SOUTH_EAST};
+    private static final int[] HEX_EVEN_ROW_DX = {1, -1, -1, 0, -1, 0};
+    private static final int[] HEX_ODD_ROW_DX = {1, -1, 0, 1, 0, 1};
+    private static final int[] HEX_DY = {0, 0, -1, -1, 1, 1};
+
+    /** Which neighbors {@link #collectNeighbors} returns. */
+    enum NeighborFilter {
+        ALL, UNVISITED, ACCESSIBLE, BLOCKED
+    }
+
     private final int width;
     private final int height;
     private final MazeType type;
-    private final MazeCell[][] cells;
     private final Random random;
     private final int difficulty;
+    private final MazeAlgorithm algorithm;
+
+    private final byte[] walls;
+    private final byte[] flags;
+    private final int[] parents;
+    private final int[] deadEndDepths;
+
+    // Scratch space for collectNeighbors: neighbor cell indexes and the wall between each one and the cell
+    private final int[] neighborCells = new int[HEX_WALLS.length];
+    private final int[] neighborWalls = new int[HEX_WALLS.length];
 
     // Start and end positions
     private int startX = 0;
@@ -23,178 +77,149 @@ public class MazeGrid {
     private List<int[]> solutionPath;
 
     public MazeGrid(int width, int height, MazeType type, int difficulty, Long seed) {
+        this(width, height, type, difficulty, seed, null);
+    }
+
+    /**
+     * @param algorithm
+     *            Algorithm that carves the passages, null for the recursive backtracker
+     */
+    public MazeGrid(int width, int height, MazeType type, int difficulty, Long seed, MazeAlgorithm algorithm) {
         this.width = width;
         this.height = height;
         this.type = type;
         this.difficulty = Math.clamp(difficulty, 1, 5);
         this.random = seed != null ? new Random(seed) : new Random();
-        this.cells = new MazeCell[width][height];
+        this.algorithm = algorithm != null ? algorithm : MazeAlgorithm.defaultAlgorithm();
         this.endX = width - 1;
         this.endY = height - 1;
 
-        // Initialize cells
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                cells[x][y] = new MazeCell(x, y);
-            }
-        }
+        int cellCount = width * height;
+        this.walls = new byte[cellCount];
+        Arrays.fill(walls, ALL_WALLS);
+        this.flags = new byte[cellCount];
+        this.parents = new int[cellCount];
+        Arrays.fill(parents, NO_PARENT);
+        this.deadEndDepths = new int[cellCount];
     }
 
     public void generate() {
-        switch (type) {
-            case ORTHOGONAL :
-                generateOrthogonal();
-                break;
-            case DELTA :
-                generateDelta();
-                break;
-            case SIGMA :
-                generateSigma();
-                break;
-            case THETA :
-                generateTheta();
-                break;
-        }
-        findSolution();
-        markDeadEnds();
-    }
-
-    /** Generate orthogonal maze using recursive backtracker algorithm. */
-    private void generateOrthogonal() {
-        Deque<MazeCell> stack = new ArrayDeque<>();
-        MazeCell current = cells[startX][startY];
-        current.visited = true;
-        stack.push(current);
-
-        while (!stack.isEmpty()) {
-            current = stack.peek();
-            List<MazeCell> unvisitedNeighbors = getUnvisitedNeighbors(current);
-
-            if (unvisitedNeighbors.isEmpty()) {
-                stack.pop();
-            } else {
-                MazeCell next = unvisitedNeighbors.get(random.nextInt(unvisitedNeighbors.size()));
-                current.removeWallTo(next);
-                next.visited = true;
-                stack.push(next);
-            }
+        // Delta mazes use triangular cells - simplified version for now
+        // They use orthogonal neighbors and rendering will handle triangular display
+        if (type == MazeType.THETA) {
+            // Theta mazes are circular - simplified version for now
+            // Start from center, end at edge
+            startX = width / 2;
+            startY = height / 2;
+            endX = 0;
+            endY = height / 2;
         }
+        algorithm.carve(this, random);
 
         // Apply difficulty modifications
         applyDifficultyModifications();
+
+        findSolution();
+        markDeadEnds();
     }
 
     /**
-     * Generate delta (triangular) maze. For now, using a modified orthogonal approach with different neighbor logic.
+     * Collect the neighbors of a cell that pass the filter into {@link #neighborCells} and {@link #neighborWalls}.
+     * Sigma mazes use the six hexagonal neighbors, every other type the four orthogonal ones.
+     *
+     * @return The number of neighbors collected
      */
-    private void generateDelta() {
-        // Delta mazes use triangular cells - simplified version for now
-        // Uses same algorithm but rendering will handle triangular display
-        generateOrthogonal();
-    }
-
-    /** Generate sigma (hexagonal) maze using recursive backtracker algorithm with hex neighbors. */
-    private void generateSigma() {
-        Deque<MazeCell> stack = new ArrayDeque<>();
-        MazeCell current = cells[startX][startY];
-        current.visited = true;
-        stack.push(current);
-
-        while (!stack.isEmpty()) {
-            current = stack.peek();
-            List<MazeCell> unvisitedNeighbors = getUnvisitedHexNeighbors(current);
-
-            if (unvisitedNeighbors.isEmpty()) {
-                stack.pop();
-            } else {
-                MazeCell next = unvisitedNeighbors.get(random.nextInt(unvisitedNeighbors.size()));
-                current.removeHexWallTo(next, type);
-                next.visited = true;
-                stack.push(next);
+    int collectNeighbors(int cell, NeighborFilter filter) {
+        int x = cell % width;
+        int y = cell / width;
+        int[] cellWalls = directionWalls();
+        int[] dx = directionDx(y);
+        int[] dy = directionDy();
+
+        int count = 0;
+        for (int i = 0; i < cellWalls.length; i++) {
+            int nx = x + dx[i];
+            int ny = y + dy[i];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                continue;
+            }
+            int neighbor = index(nx, ny);
+            boolean matches = switch (filter) {
+                case ALL -> true;
+                case UNVISITED -> (flags[neighbor] & VISITED) == 0;
+                case ACCESSIBLE -> (walls[cell] & cellWalls[i]) == 0;
+                case BLOCKED -> (walls[cell] & cellWalls[i]) != 0;
+            };
+            if (matches) {
+                neighborCells[count] = neighbor;
+                neighborWalls[count] = cellWalls[i];
+                count++;
             }
         }
-
-        // Apply difficulty modifications
-        applyHexDifficultyModifications();
+        return count;
     }
 
-    /** Generate theta (circular) maze. */
-    private void generateTheta() {
-        // Theta mazes are circular - simplified version for now
-        // Start from center, end at edge
-        startX = width / 2;
-        startY = height / 2;
-        endX = 0;
-        endY = height / 2;
-        generateOrthogonal();
+    /** Cell index of the {@code i}th neighbor found by the last {@link #collectNeighbors} call. */
+    int neighborCell(int i) {
+        return neighborCells[i];
     }
 
-    private List<MazeCell> getUnvisitedNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        int x = cell.x;
-        int y = cell.y;
-
-        if (x > 0 && !cells[x - 1][y].visited)
-            neighbors.add(cells[x - 1][y]);
-        if (x < width - 1 && !cells[x + 1][y].visited)
-            neighbors.add(cells[x + 1][y]);
-        if (y > 0 && !cells[x][y - 1].visited)
-            neighbors.add(cells[x][y - 1]);
-        if (y < height - 1 && !cells[x][y + 1].visited)
-            neighbors.add(cells[x][y + 1]);
-
-        return neighbors;
+    /** Wall between the cell and the {@code i}th neighbor found by the last {@link #collectNeighbors} call. */
+    int neighborWall(int i) {
+        return neighborWalls[i];
     }
 
     /**
-     * Get unvisited neighbors for hexagonal (sigma) maze. Uses offset coordinates where odd rows are shifted right.
-     * Pointy-top hexagons have 6 neighbors: NW, NE, E, SE, SW, W.
+     * Neighbor on the other side of a wall, or -1 if the wall is on the edge of the grid or not used by this maze type.
      */
-    private List<MazeCell> getUnvisitedHexNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        int x = cell.x;
-        int y = cell.y;
-        boolean evenRow = (y % 2) == 0;
-
-        // East and West neighbors (same for all rows)
-        tryAddUnvisitedNeighbor(neighbors, x + 1, y);
-        tryAddUnvisitedNeighbor(neighbors, x - 1, y);
-
-        // Diagonal neighbors depend on even/odd row
-        if (evenRow) {
-            addEvenRowDiagonalNeighbors(neighbors, x, y);
-        } else {
-            addOddRowDiagonalNeighbors(neighbors, x, y);
+    int neighbor(int cell, int wall) {
+        int x = cell % width;
+        int y = cell / width;
+        int[] cellWalls = directionWalls();
+        for (int i = 0; i < cellWalls.length; i++) {
+            if (cellWalls[i] == wall) {
+                int nx = x + directionDx(y)[i];
+                int ny = y + directionDy()[i];
+                return nx < 0 || nx >= width || ny < 0 || ny >= height ? -1 : index(nx, ny);
+            }
         }
+        return -1;
+    }
 
-        return neighbors;
+    // Sigma mazes use the six hexagonal directions, every other type the four orthogonal ones
+    private int[] directionWalls() {
+        return type == MazeType.SIGMA ? HEX_WALLS : ORTHOGONAL_WALLS;
     }
 
-    /** Try to add an unvisited neighbor at the given coordinates. */
-    private void tryAddUnvisitedNeighbor(List<MazeCell> neighbors, int x, int y) {
-        if (x >= 0 && x < width && y >= 0 && y < height && !cells[x][y].visited) {
-            neighbors.add(cells[x][y]);
+    private int[] directionDx(int y) {
+        if (type != MazeType.SIGMA) {
+            return ORTHOGONAL_DX;
         }
+        return (y % 2) == 0 ? HEX_EVEN_ROW_DX : HEX_ODD_ROW_DX;
+    }
+
+    private int[] directionDy() {
+        return type == MazeType.SIGMA ? HEX_DY : ORTHOGONAL_DY;
     }
 
-    /** Add diagonal neighbors for even rows in hex grid. */
-    private void addEvenRowDiagonalNeighbors(List<MazeCell> neighbors, int x, int y) {
-        // Even row: NW is at (x-1, y-1), NE is at (x, y-1)
-        tryAddUnvisitedNeighbor(neighbors, x - 1, y - 1); // NW
-        tryAddUnvisitedNeighbor(neighbors, x, y - 1); // NE
-        // Even row: SW is at (x-1, y+1), SE is at (x, y+1)
-        tryAddUnvisitedNeighbor(neighbors, x - 1, y + 1); // SW
-        tryAddUnvisitedNeighbor(neighbors, x, y + 1); // SE
+    /** Remove the given wall of a cell and the matching wall of the neighbor on the other side. */
+    void removeWall(int cell, int neighbor, int wall) {
+        walls[cell] &= (byte) ~wall;
+        walls[neighbor] &= (byte) ~oppositeWall(wall);
     }
 
-    /** Add diagonal neighbors for odd rows in hex grid. */
-    private void addOddRowDiagonalNeighbors(List<MazeCell> neighbors, int x, int y) {
-        // Odd row: NW is at (x, y-1), NE is at (x+1, y-1)
-        tryAddUnvisitedNeighbor(neighbors, x, y - 1); // NW
-        tryAddUnvisitedNeighbor(neighbors, x + 1, y - 1); // NE
-        // Odd row: SW is at (x, y+1), SE is at (x+1, y+1)
-        tryAddUnvisitedNeighbor(neighbors, x, y + 1); // SW
-        tryAddUnvisitedNeighbor(neighbors, x + 1, y + 1); // SE
+    private static int oppositeWall(int wall) {
+        return switch (wall) {
+            case NORTH -> SOUTH;
+            case SOUTH -> NORTH;
+            case EAST -> WEST;
+            case WEST -> EAST;
+            case NORTH_EAST -> SOUTH_WEST;
+            case SOUTH_WEST -> NORTH_EAST;
+            case SOUTH_EAST -> NORTH_WEST;
+            case NORTH_WEST -> SOUTH_EAST;
+            default -> throw new IllegalArgumentException("Not a single wall: " + wall);
+        };
     }
 
     /**
@@ -204,8 +229,8 @@ public class MazeGrid {
      * openings) 5 = Very hard (pure perfect maze - no shortcuts, single solution path)
      *
      * <p>
-     * The recursive backtracker creates a "perfect" maze with exactly one path between any two points. Adding shortcuts
-     * (removing walls) creates alternative routes that can make the solution shorter and easier to find.
+     * Every {@link MazeAlgorithm} creates a "perfect" maze with exactly one path between any two points. Adding
+     * shortcuts (removing walls) creates alternative routes that can make the solution shorter and easier to find.
      */
     private void applyDifficultyModifications() {
         int totalCells = width * height;
@@ -230,7 +255,7 @@ public class MazeGrid {
             case 5 :
             default :
                 // Very hard: Pure perfect maze, no modifications
-                // The recursive backtracker already creates the hardest possible maze
+                // The algorithm already creates a perfect maze
                 break;
         }
     }
@@ -240,332 +265,148 @@ public class MazeGrid {
         for (int i = 0; i < count; i++) {
             int x = random.nextInt(width);
             int y = random.nextInt(height);
-            MazeCell cell = cells[x][y];
+            int cell = index(x, y);
 
             // Only remove if cell doesn't already have all passages open
-            List<MazeCell> blocked = getBlockedNeighbors(cell);
-            if (!blocked.isEmpty()) {
-                MazeCell neighbor = blocked.get(random.nextInt(blocked.size()));
-                cell.removeWallTo(neighbor);
+            int blocked = collectNeighbors(cell, NeighborFilter.BLOCKED);
+            if (blocked > 0) {
+                int choice = random.nextInt(blocked);
+                removeWall(cell, neighborCells[choice], neighborWalls[choice]);
             }
         }
     }
 
-    private List<MazeCell> getAccessibleNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        int x = cell.x;
-        int y = cell.y;
-
-        if (x > 0 && !cell.westWall)
-            neighbors.add(cells[x - 1][y]);
-        if (x < width - 1 && !cell.eastWall)
-            neighbors.add(cells[x + 1][y]);
-        if (y > 0 && !cell.northWall)
-            neighbors.add(cells[x][y - 1]);
-        if (y < height - 1 && !cell.southWall)
-            neighbors.add(cells[x][y + 1]);
-
-        return neighbors;
-    }
-
-    private List<MazeCell> getBlockedNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        int x = cell.x;
-        int y = cell.y;
-
-        if (x > 0 && cell.westWall)
-            neighbors.add(cells[x - 1][y]);
-        if (x < width - 1 && cell.eastWall)
-            neighbors.add(cells[x + 1][y]);
-        if (y > 0 && cell.northWall)
-            neighbors.add(cells[x][y - 1]);
-        if (y < height - 1 && cell.southWall)
-            neighbors.add(cells[x][y + 1]);
-
-        return neighbors;
-    }
-
-    /** Get accessible neighbors for hexagonal maze (cells connected by open passages). */
-    private List<MazeCell> getAccessibleHexNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        int x = cell.x;
-        int y = cell.y;
-
-        addAccessibleEastWestHexNeighbors(cell, x, y, neighbors);
-        if ((y % 2) == 0) {
-            addAccessibleEvenRowDiagonalHexNeighbors(cell, x, y, neighbors);
-        } else {
-            addAccessibleOddRowDiagonalHexNeighbors(cell, x, y, neighbors);
-        }
-
-        return neighbors;
-    }
-
-    private void addAccessibleEastWestHexNeighbors(MazeCell cell, int x, int y, List<MazeCell> neighbors) {
-        if (x < width - 1 && !cell.eastWall) {
-            neighbors.add(cells[x + 1][y]);
-        }
-        if (x > 0 && !cell.westWall) {
-            neighbors.add(cells[x - 1][y]);
-        }
-    }
-
-    private void addAccessibleEvenRowDiagonalHexNeighbors(MazeCell cell, int x, int y, List<MazeCell> neighbors) {
-        boolean hasNorthRow = y > 0;
-        boolean hasSouthRow = y < height - 1;
-        boolean hasWestCol = x > 0;
-        // NW neighbor at (x-1, y-1)
-        if (hasNorthRow && hasWestCol && !cell.northWestWall) {
-            neighbors.add(cells[x - 1][y - 1]);
-        }
-        // NE neighbor at (x, y-1)
-        if (hasNorthRow && !cell.northEastWall) {
-            neighbors.add(cells[x][y - 1]);
-        }
-        // SW neighbor at (x-1, y+1)
-        if (hasSouthRow && hasWestCol && !cell.southWestWall) {
-            neighbors.add(cells[x - 1][y + 1]);
-        }
-        // SE neighbor at (x, y+1)
-        if (hasSouthRow && !cell.southEastWall) {
-            neighbors.add(cells[x][y + 1]);
-        }
-    }
-
-    private void addAccessibleOddRowDiagonalHexNeighbors(MazeCell cell, int x, int y, List<MazeCell> neighbors) {
-        boolean hasNorthRow = y > 0;
-        boolean hasSouthRow = y < height - 1;
-        boolean hasEastCol = x < width - 1;
-        // NW neighbor at (x, y-1)
-        if (hasNorthRow && !cell.northWestWall) {
-            neighbors.add(cells[x][y - 1]);
-        }
-        // NE neighbor at (x+1, y-1)
-        if (hasNorthRow && hasEastCol && !cell.northEastWall) {
-            neighbors.add(cells[x + 1][y - 1]);
-        }
-        // SW neighbor at (x, y+1)
-        if (hasSouthRow && !cell.southWestWall) {
-            neighbors.add(cells[x][y + 1]);
-        }
-        // SE neighbor at (x+1, y+1)
-        if (hasSouthRow && hasEastCol && !cell.southEastWall) {
-            neighbors.add(cells[x + 1][y + 1]);
-        }
-    }
-
-    /** Get blocked neighbors for hexagonal maze (cells separated by walls). */
-    private List<MazeCell> getBlockedHexNeighbors(MazeCell cell) {
-        List<MazeCell> neighbors = new ArrayList<>();
-        addBlockedHorizontalHexNeighbors(cell, neighbors);
-        if ((cell.y % 2) == 0) {
-            addBlockedEvenRowDiagonalHexNeighbors(cell, neighbors);
-        } else {
-            addBlockedOddRowDiagonalHexNeighbors(cell, neighbors);
-        }
-        return neighbors;
-    }
-
-    /** Add east/west blocked neighbors (shared between even and odd hex rows). */
-    private void addBlockedHorizontalHexNeighbors(MazeCell cell, List<MazeCell> neighbors) {
-        int x = cell.x;
-        int y = cell.y;
-        if (x < width - 1 && cell.eastWall) {
-            neighbors.add(cells[x + 1][y]);
-        }
-        if (x > 0 && cell.westWall) {
-            neighbors.add(cells[x - 1][y]);
-        }
-    }
-
-    /** Add diagonal blocked neighbors for an even-row hex cell. */
-    private void addBlockedEvenRowDiagonalHexNeighbors(MazeCell cell, List<MazeCell> neighbors) {
-        int x = cell.x;
-        int y = cell.y;
-        if (y > 0 && x > 0 && cell.northWestWall) {
-            neighbors.add(cells[x - 1][y - 1]);
-        }
-        if (y > 0 && cell.northEastWall) {
-            neighbors.add(cells[x][y - 1]);
-        }
-        if (y < height - 1 && x > 0 && cell.southWestWall) {
-            neighbors.add(cells[x - 1][y + 1]);
-        }
-        if (y < height - 1 && cell.southEastWall) {
-            neighbors.add(cells[x][y + 1]);
-        }
-    }
-
-    /** Add diagonal blocked neighbors for an odd-row hex cell. */
-    private void addBlockedOddRowDiagonalHexNeighbors(MazeCell cell, List<MazeCell> neighbors) {
-        int x = cell.x;
-        int y = cell.y;
-        if (y > 0 && cell.northWestWall) {
-            neighbors.add(cells[x][y - 1]);
-        }
-        if (y > 0 && x < width - 1 && cell.northEastWall) {
-            neighbors.add(cells[x + 1][y - 1]);
-        }
-        if (y < height - 1 && cell.southWestWall) {
-            neighbors.add(cells[x][y + 1]);
-        }
-        if (y < height - 1 && x < width - 1 && cell.southEastWall) {
-            neighbors.add(cells[x + 1][y + 1]);
-        }
-    }
-
-    /** Apply difficulty modifications for hexagonal mazes. */
-    private void applyHexDifficultyModifications() {
-        int totalCells = width * height;
-
-        switch (difficulty) {
-            case 1 :
-                removeHexWallsForShortcuts(totalCells / 4);
-                break;
-            case 2 :
-                removeHexWallsForShortcuts(totalCells / 8);
-                break;
-            case 3 :
-                removeHexWallsForShortcuts(totalCells / 20);
-                break;
-            case 4 :
-                removeHexWallsForShortcuts(totalCells / 50);
-                break;
-            case 5 :
-            default :
-                break;
-        }
-    }
-
-    /** Remove walls to create shortcuts in hexagonal maze. */
-    private void removeHexWallsForShortcuts(int count) {
-        for (int i = 0; i < count; i++) {
-            int x = random.nextInt(width);
-            int y = random.nextInt(height);
-            MazeCell cell = cells[x][y];
-
-            List<MazeCell> blocked = getBlockedHexNeighbors(cell);
-            if (!blocked.isEmpty()) {
-                MazeCell neighbor = blocked.get(random.nextInt(blocked.size()));
-                cell.removeHexWallTo(neighbor, type);
-            }
-        }
-    }
-
-    /** Get accessible neighbors based on maze type. */
-    private List<MazeCell> getAccessibleNeighborsForType(MazeCell cell) {
-        if (type == MazeType.SIGMA) {
-            return getAccessibleHexNeighbors(cell);
-        }
-        return getAccessibleNeighbors(cell);
-    }
-
     /** Find the solution path using BFS. */
     private void findSolution() {
         // Reset visited flags
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                cells[x][y].visited = false;
-                cells[x][y].parent = null;
-            }
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] &= ~VISITED;
         }
+        Arrays.fill(parents, NO_PARENT);
 
-        Queue<MazeCell> queue = new LinkedList<>();
-        MazeCell start = cells[startX][startY];
-        start.visited = true;
-        queue.add(start);
+        int[] queue = new int[walls.length];
+        int head = 0;
+        int tail = 0;
+        int start = index(startX, startY);
+        int end = index(endX, endY);
+        flags[start] |= VISITED;
+        queue[tail++] = start;
 
-        while (!queue.isEmpty()) {
-            MazeCell current = queue.poll();
+        while (head < tail) {
+            int current = queue[head++];
 
-            if (current.x == endX && current.y == endY) {
+            if (current == end) {
                 // Found the end - trace back the path
-                solutionPath = new ArrayList<>();
-                MazeCell pathCell = current;
-                while (pathCell != null) {
-                    pathCell.onSolutionPath = true;
-                    solutionPath.add(0, new int[]{pathCell.x, pathCell.y});
-                    pathCell = pathCell.parent;
-                }
+                traceSolutionPath(current);
                 return;
             }
 
-            for (MazeCell neighbor : getAccessibleNeighborsForType(current)) {
-                if (!neighbor.visited) {
-                    neighbor.visited = true;
-                    neighbor.parent = current;
-                    queue.add(neighbor);
+            int count = collectNeighbors(current, NeighborFilter.ACCESSIBLE);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborCells[i];
+                if ((flags[neighbor] & VISITED) == 0) {
+                    flags[neighbor] |= VISITED;
+                    parents[neighbor] = current;
+                    queue[tail++] = neighbor;
                 }
             }
         }
     }
 
+    /** Mark the cells from the end back to the start as the solution path, and record it in start-to-end order. */
+    private void traceSolutionPath(int end) {
+        int length = 0;
+        for (int cell = end; cell != NO_PARENT; cell = parents[cell]) {
+            length++;
+        }
+
+        int[][] path = new int[length][];
+        int i = length;
+        for (int cell = end; cell != NO_PARENT; cell = parents[cell]) {
+            flags[cell] |= ON_SOLUTION_PATH;
+            path[--i] = new int[]{cell % width, cell / width};
+        }
+        solutionPath = new ArrayList<>(Arrays.asList(path));
+    }
+
     /**
      * Mark all cells that are not on the solution path as dead ends. Also calculates the depth of each dead end (how
      * far from the solution path).
      */
     private void markDeadEnds() {
-        markNonSolutionCellsAsDeadEnds();
-        resetVisitedFlags();
-        Queue<MazeCell> queue = seedQueueFromSolutionPath();
-        propagateDeadEndDepth(queue);
-    }
+        int[] queue = new int[walls.length];
+        int head = 0;
+        int tail = 0;
 
-    /**
-     * First pass: mark every cell that is not on the solution path as a dead end.
-     */
-    private void markNonSolutionCellsAsDeadEnds() {
+        // Every cell off the solution path is a dead end. Solution cells seed a BFS at depth 0, in the same x-major
+        // order as before.
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                MazeCell cell = cells[x][y];
-                cell.isDeadEnd = !cell.onSolutionPath;
+                int cell = index(x, y);
+                if ((flags[cell] & ON_SOLUTION_PATH) != 0) {
+                    flags[cell] = (byte) ((flags[cell] & ~DEAD_END) | VISITED);
+                    deadEndDepths[cell] = 0;
+                    queue[tail++] = cell;
+                } else {
+                    flags[cell] = (byte) ((flags[cell] | DEAD_END) & ~VISITED);
+                }
             }
         }
-    }
 
-    /**
-     * Reset the visited flag on every cell so a fresh BFS traversal can run.
-     */
-    private void resetVisitedFlags() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                cells[x][y].visited = false;
+        // Record each unvisited neighbor's distance from the solution path
+        while (head < tail) {
+            int current = queue[head++];
+            int count = collectNeighbors(current, NeighborFilter.ACCESSIBLE);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborCells[i];
+                if ((flags[neighbor] & VISITED) == 0) {
+                    flags[neighbor] |= VISITED;
+                    deadEndDepths[neighbor] = deadEndDepths[current] + 1;
+                    queue[tail++] = neighbor;
+                }
             }
         }
     }
 
-    /**
-     * Seed a BFS queue with all cells on the solution path, marking them as visited at depth 0.
-     */
-    private Queue<MazeCell> seedQueueFromSolutionPath() {
-        Queue<MazeCell> queue = new LinkedList<>();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                MazeCell cell = cells[x][y];
-                if (cell.onSolutionPath) {
-                    cell.deadEndDepth = 0;
-                    cell.visited = true;
-                    queue.add(cell);
-                }
-            }
-        }
-        return queue;
+    /** Whether a cell has been visited by the generator. Algorithms may use this flag while carving. */
+    boolean isVisited(int cell) {
+        return (flags[cell] & VISITED) != 0;
+    }
+
+    void markVisited(int cell) {
+        flags[cell] |= VISITED;
+    }
+
+    int cellCount() {
+        return walls.length;
+    }
+
+    int index(int x, int y) {
+        return y * width + x;
     }
 
     /**
-     * Run BFS from the seeded queue, recording each unvisited neighbor's distance from the solution path.
+     * Whether a cell has the given wall.
+     *
+     * @param wall
+     *            One of {@link #NORTH}, {@link #SOUTH}, {@link #EAST}, {@link #WEST}, {@link #NORTH_EAST},
+     *            {@link #SOUTH_EAST}, {@link #SOUTH_WEST} or {@link #NORTH_WEST}
      */
-    private void propagateDeadEndDepth(Queue<MazeCell> queue) {
-        while (!queue.isEmpty()) {
-            MazeCell current = queue.poll();
-            for (MazeCell neighbor : getAccessibleNeighborsForType(current)) {
-                if (!neighbor.visited) {
-                    neighbor.visited = true;
-                    neighbor.deadEndDepth = current.deadEndDepth + 1;
-                    queue.add(neighbor);
-                }
-            }
-        }
+    public boolean hasWall(int x, int y, int wall) {
+        return (walls[index(x, y)] & wall) != 0;
+    }
+
+    public boolean isOnSolutionPath(int x, int y) {
+        return (flags[index(x, y)] & ON_SOLUTION_PATH) != 0;
+    }
+
+    public boolean isDeadEnd(int x, int y) {
+        return (flags[index(x, y)] & DEAD_END) != 0;
+    }
+
+    /** How deep into a dead-end branch a cell is, 0 on the solution path. */
+    public int getDeadEndDepth(int x, int y) {
+        return deadEndDepths[index(x, y)];
     }
 
     // Getters
@@ -581,12 +422,60 @@ public class MazeGrid {
         return type;
     }
 
+    /**
+     * Snapshot of every cell as {@link MazeCell} objects, with parents linked. Changes to the snapshot are not written
+     * back to the grid.
+     */
     public MazeCell[][] getCells() {
+        MazeCell[][] cells = new MazeCell[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                cells[x][y] = toCell(index(x, y));
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int parent = parents[index(x, y)];
+                if (parent != NO_PARENT) {
+                    cells[x][y].parent = cells[parent % width][parent / width];
+                }
+            }
+        }
         return cells;
     }
 
+    /**
+     * Snapshot of a cell as a {@link MazeCell}, with its chain of parents. Changes to the snapshot are not written back
+     * to the grid; prefer {@link #hasWall} and the other per-cell accessors when reading many cells.
+     */
     public MazeCell getCell(int x, int y) {
-        return cells[x][y];
+        int cell = index(x, y);
+        MazeCell snapshot = toCell(cell);
+        MazeCell child = snapshot;
+        for (int parent = parents[cell]; parent != NO_PARENT; parent = parents[parent]) {
+            child.parent = toCell(parent);
+            child = child.parent;
+        }
+        return snapshot;
+    }
+
+    private MazeCell toCell(int cell) {
+        MazeCell snapshot = new MazeCell(cell % width, cell / width);
+        byte cellWalls = walls[cell];
+        snapshot.northWall = (cellWalls & NORTH) != 0;
+        snapshot.southWall = (cellWalls & SOUTH) != 0;
+        snapshot.eastWall = (cellWalls & EAST) != 0;
+        snapshot.westWall = (cellWalls & WEST) != 0;
+        snapshot.northEastWall = (cellWalls & NORTH_EAST) != 0;
+        snapshot.southEastWall = (cellWalls & SOUTH_EAST) != 0;
+        snapshot.southWestWall = (cellWalls & SOUTH_WEST) != 0;
+        snapshot.northWestWall = (cellWalls & NORTH_WEST) != 0;
+        byte cellFlags = flags[cell];
+        snapshot.visited = (cellFlags & VISITED) != 0;
+        snapshot.onSolutionPath = (cellFlags & ON_SOLUTION_PATH) != 0;
+        snapshot.isDeadEnd = (cellFlags & DEAD_END) != 0;
+        snapshot.deadEndDepth = deadEndDepths[cell];
+        return snapshot;
     }
 
     public int getStartX() {
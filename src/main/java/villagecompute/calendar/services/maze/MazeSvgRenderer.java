@@ -1,6 +1,15 @@
 package villagecompute.calendar.services.maze;
 
-/** Renders a MazeGrid to SVG format. Designed for 35" x 23" page with 1" margins on all sides. */
+import villagecompute.calendar.util.SvgWriter;
+
+/**
+ * Renders a MazeGrid to SVG format. Designed for 35" x 23" page with 1" margins on all sides.
+ *
+ * <p>
+ * Each layer (dead-end shading, solution path, walls) is drawn as a few {@code <path>} elements rather than an element
+ * per cell: adjacent collinear wall segments are merged into one run, and the solution is a single polyline. A size-20
+ * maze would otherwise have tens of thousands of elements, which makes the stored SVG large and PDF transcoding slow.
+ */
 public class MazeSvgRenderer {
 
     /** Geometry parameters for laying out a pointy-top hexagonal grid. */
@@ -17,20 +26,8 @@ public class MazeSvgRenderer {
     /** SVG document closing tag */
     private static final String SVG_DOC_CLOSE = "</svg>";
 
-    /** Format fragment with width/height attributes that closes the opening tag */
-    private static final String SVG_WIDTH_HEIGHT_OPEN_TAIL = " width=\"%d\" height=\"%d\">%n";
-
-    /** Format string for the white background rectangle */
-    private static final String SVG_BACKGROUND_RECT_FORMAT = "  <rect width=\"%d\" height=\"%d\" fill=\"white\"/>%n";
-
-    /** Format fragment with stroke color and width attributes */
-    private static final String SVG_STROKE_ATTRS_TAIL = " stroke=\"%s\" stroke-width=\"%d\"/>%n";
-
-    /** Format fragment for the start-marker class attribute */
-    private static final String SVG_START_MARKER_CLASS_TAIL = " class=\"start-marker\"/>%n";
-
-    /** Format fragment for the end-marker class attribute */
-    private static final String SVG_END_MARKER_CLASS_TAIL = " class=\"end-marker\"/>%n";
+    /** Indentation for elements inside a group */
+    private static final String GROUP_INDENT = "    ";
 
     // Page dimensions at 100 DPI
     private static final int PAGE_WIDTH = 3500; // 35 inches
@@ -112,13 +109,8 @@ public class MazeSvgRenderer {
         int gridWidth = grid.getWidth();
         int gridHeight = grid.getHeight();
 
-        StringBuilder svg = new StringBuilder();
-        svg.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 %d %d\"" + SVG_WIDTH_HEIGHT_OPEN_TAIL,
-                PAGE_WIDTH, PAGE_HEIGHT, PAGE_WIDTH, PAGE_HEIGHT));
-
-        // Background
-        svg.append(String.format(SVG_BACKGROUND_RECT_FORMAT, PAGE_WIDTH, PAGE_HEIGHT));
+        SvgWriter svg = new SvgWriter();
+        appendDocumentStart(svg);
 
         // Draw dead-end depth visualization if enabled (before walls so it appears behind)
         appendOrthogonalDeadEnds(svg, gridWidth, gridHeight);
@@ -130,134 +122,246 @@ public class MazeSvgRenderer {
         appendOrthogonalInnerWalls(svg, gridWidth, gridHeight);
 
         // Draw outer border (thick rectangle)
-        svg.append("  <g class=\"outer-border\">").append(System.lineSeparator());
-        svg.append(String.format(
-                "    <rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\"" + SVG_STROKE_ATTRS_TAIL, offsetX,
-                offsetY, mazeWidth, mazeHeight, outerWallColor, OUTER_WALL_THICKNESS));
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        beginGroup(svg, "outer-border");
+        svg.raw(GROUP_INDENT).begin("rect").attr("x", offsetX).attr("y", offsetY).attr("width", mazeWidth)
+                .attr("height", mazeHeight).attr("fill", "none").attr("stroke", outerWallColor)
+                .attr("stroke-width", OUTER_WALL_THICKNESS).selfClose().newline();
+        endGroup(svg);
 
         // Draw start/end markers
         appendOrthogonalMarkers(svg);
 
-        svg.append("</svg>");
+        svg.raw(SVG_DOC_CLOSE);
         return svg.toString();
     }
 
-    private void appendOrthogonalDeadEnds(StringBuilder svg, int gridWidth, int gridHeight) {
+    /** Append the opening SVG element and the white page background. */
+    private void appendDocumentStart(SvgWriter svg) {
+        svg.begin("svg").attr("xmlns", "http://www.w3.org/2000/svg").raw(" viewBox=\"0 0 ").num(PAGE_WIDTH).raw(' ')
+                .num(PAGE_HEIGHT).raw('"').attr("width", PAGE_WIDTH).attr("height", PAGE_HEIGHT).content().newline();
+
+        // Background
+        svg.raw("  ").begin("rect").attr("width", PAGE_WIDTH).attr("height", PAGE_HEIGHT).attr("fill", "white")
+                .selfClose().newline();
+    }
+
+    /** Open a group with the given class on its own line. */
+    private static void beginGroup(SvgWriter svg, String className) {
+        svg.raw("  ").begin("g").attr("class", className).content().newline();
+    }
+
+    private static void endGroup(SvgWriter svg) {
+        svg.raw(SVG_GROUP_CLOSE).newline();
+    }
+
+    /** Start an indented {@code <path>} with the given path data. */
+    private static SvgWriter beginPath(SvgWriter svg, SvgWriter pathData) {
+        return svg.raw(GROUP_INDENT).begin("path").attr("d", pathData.buffer());
+    }
+
+    /** Start an indented {@code <line>} with integer end points. */
+    private static SvgWriter beginLine(SvgWriter svg, int x1, int y1, int x2, int y2) {
+        return svg.raw(GROUP_INDENT).begin("line").attr("x1", x1).attr("y1", y1).attr("x2", x2).attr("y2", y2);
+    }
+
+    /** Append a start or end marker circle. */
+    private static void appendMarker(SvgWriter svg, int cx, int cy, int radius, String color, String className) {
+        svg.raw("  ").begin("circle").attr("cx", cx).attr("cy", cy).attr("r", radius).attr("fill", color)
+                .attr("class", className).selfClose().newline();
+    }
+
+    private static void appendMarker(SvgWriter svg, double cx, double cy, int radius, String color,
+            String className) {
+        svg.raw("  ").begin("circle").attr("cx", cx, 1).attr("cy", cy, 1).attr("r", radius).attr("fill", color)
+                .attr("class", className).selfClose().newline();
+    }
+
+    private void appendOrthogonalDeadEnds(SvgWriter svg, int gridWidth, int gridHeight) {
         if (!showDeadEnds) {
             return;
         }
-        svg.append("  <g class=\"dead-end-depth\">").append(System.lineSeparator());
+        beginGroup(svg, "dead-end-depth");
 
         int maxDepth = findMaxDeadEndDepth(gridWidth, gridHeight);
-
-        // Draw cells colored by depth - deeper dead ends are more visible
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                appendDeadEndCell(svg, x, y, maxDepth);
+        int[] depthStarts = new int[maxDepth + 2];
+        int[] cells = deadEndCellsByDepth(depthStarts);
+
+        // One path per depth, with each row's run of adjacent cells as a single rectangle
+        SvgWriter pathData = new SvgWriter();
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            pathData.reset();
+            int i = depthStarts[depth];
+            while (i < depthStarts[depth + 1]) {
+                int first = cells[i];
+                int runLength = 1;
+                while (i + runLength < depthStarts[depth + 1] && cells[i + runLength] == first + runLength
+                        && (first + runLength) % gridWidth != 0) {
+                    runLength++;
+                }
+                int cellX = offsetX + (first % gridWidth) * cellSize;
+                int cellY = offsetY + (first / gridWidth) * cellSize;
+                pathData.raw('M').num(cellX).raw(',').num(cellY).raw('H').num(cellX + runLength * cellSize).raw('V')
+                        .num(cellY + cellSize).raw('H').num(cellX).raw('Z');
+                i += runLength;
             }
+            appendDeadEndPath(svg, pathData, depth, maxDepth);
         }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        endGroup(svg);
     }
 
     private int findMaxDeadEndDepth(int gridWidth, int gridHeight) {
         int maxDepth = 1;
         for (int x = 0; x < gridWidth; x++) {
             for (int y = 0; y < gridHeight; y++) {
-                MazeCell cell = grid.getCell(x, y);
-                if (cell.deadEndDepth > maxDepth) {
-                    maxDepth = cell.deadEndDepth;
-                }
+                maxDepth = Math.max(maxDepth, grid.getDeadEndDepth(x, y));
             }
         }
         return maxDepth;
     }
 
-    private void appendDeadEndCell(StringBuilder svg, int x, int y, int maxDepth) {
-        MazeCell cell = grid.getCell(x, y);
-        if (!cell.isDeadEnd || cell.deadEndDepth <= 0) {
-            return;
+    /**
+     * Dead-end cells grouped by depth (a counting sort), as row-major cell indexes. The cells of depth {@code d} are
+     * {@code cells[depthStarts[d]]} up to {@code cells[depthStarts[d + 1]]}, in row-major order.
+     */
+    private int[] deadEndCellsByDepth(int[] depthStarts) {
+        int gridWidth = grid.getWidth();
+        int cellCount = gridWidth * grid.getHeight();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int depth = deadEndDepth(cell % gridWidth, cell / gridWidth);
+            if (depth > 0) {
+                depthStarts[depth + 1]++;
+            }
         }
-        int cellX = offsetX + x * cellSize;
-        int cellY = offsetY + y * cellSize;
-        // Deeper = more opaque (worse wrong turns)
-        double opacity = 0.1 + (0.5 * cell.deadEndDepth / maxDepth);
-        svg.append(String.format(
-                "    <rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\"" + " fill=\"%s\" opacity=\"%.2f\"/>%n", cellX,
-                cellY, cellSize, cellSize, deadEndColor, opacity));
+        for (int depth = 1; depth < depthStarts.length; depth++) {
+            depthStarts[depth] += depthStarts[depth - 1];
+        }
+
+        int[] next = depthStarts.clone();
+        int[] cells = new int[depthStarts[depthStarts.length - 1]];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int depth = deadEndDepth(cell % gridWidth, cell / gridWidth);
+            if (depth > 0) {
+                cells[next[depth]++] = cell;
+            }
+        }
+        return cells;
     }
 
-    private void appendOrthogonalSolutionPath(StringBuilder svg) {
-        if (!showSolution || grid.getSolutionPath() == null) {
+    /** Depth of a dead-end cell, or 0 if the cell is not shaded. */
+    private int deadEndDepth(int x, int y) {
+        return grid.isDeadEnd(x, y) ? Math.max(grid.getDeadEndDepth(x, y), 0) : 0;
+    }
+
+    /** Append the shading for all dead-end cells of one depth. Deeper = more opaque (worse wrong turns). */
+    private void appendDeadEndPath(SvgWriter svg, SvgWriter pathData, int depth, int maxDepth) {
+        if (pathData.length() == 0) {
             return;
         }
-        svg.append("  <g class=\"solution-path\">").append(System.lineSeparator());
+        double opacity = 0.1 + (0.5 * depth / maxDepth);
+        beginPath(svg, pathData).attr("fill", deadEndColor).attr("opacity", opacity, 2).selfClose().newline();
+    }
+
+    private void appendOrthogonalSolutionPath(SvgWriter svg) {
         var path = grid.getSolutionPath();
+        if (!showSolution || path == null || path.size() < 2) {
+            return;
+        }
+        beginGroup(svg, "solution-path");
         int pathWidth = Math.max(cellSize / 4, 6);
-        for (int i = 0; i < path.size() - 1; i++) {
-            int[] from = path.get(i);
-            int[] to = path.get(i + 1);
-            int x1 = offsetX + from[0] * cellSize + cellSize / 2;
-            int y1 = offsetY + from[1] * cellSize + cellSize / 2;
-            int x2 = offsetX + to[0] * cellSize + cellSize / 2;
-            int y2 = offsetY + to[1] * cellSize + cellSize / 2;
-            svg.append(String.format(
-                    "    <line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\""
-                            + " stroke-width=\"%d\" stroke-linecap=\"round\"" + " opacity=\"0.6\"/>%n",
-                    x1, y1, x2, y2, pathColor, pathWidth));
-        }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
-    }
-
-    private void appendOrthogonalInnerWalls(StringBuilder svg, int gridWidth, int gridHeight) {
-        svg.append("  <g class=\"inner-walls\">").append(System.lineSeparator());
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                appendInnerWallsForCell(svg, x, y, gridWidth, gridHeight);
+
+        // One polyline through the cell centers, with a vertex only where the path turns
+        SvgWriter pathData = new SvgWriter();
+        int[] first = path.get(0);
+        pathData.raw('M').num(cellCenter(offsetX, first[0])).raw(',').num(cellCenter(offsetY, first[1]));
+        for (int i = 1; i < path.size(); i++) {
+            int[] from = path.get(i - 1);
+            int[] to = path.get(i);
+            if (i < path.size() - 1 && isStraight(from, to, path.get(i + 1))) {
+                continue;
+            }
+            if (to[1] == from[1]) {
+                pathData.raw('H').num(cellCenter(offsetX, to[0]));
+            } else {
+                pathData.raw('V').num(cellCenter(offsetY, to[1]));
             }
         }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        beginPath(svg, pathData).attr("fill", "none").attr("stroke", pathColor).attr("stroke-width", pathWidth)
+                .attr("stroke-linecap", "round").attr("stroke-linejoin", "round").attr("opacity", "0.6")
+                .selfClose().newline();
+        endGroup(svg);
+    }
+
+    private int cellCenter(int offset, int cell) {
+        return offset + cell * cellSize + cellSize / 2;
+    }
+
+    /** Whether the step into {@code via} continues in the same direction into {@code to}. */
+    private static boolean isStraight(int[] from, int[] via, int[] to) {
+        return via[0] - from[0] == to[0] - via[0] && via[1] - from[1] == to[1] - via[1];
     }
 
-    private void appendInnerWallsForCell(StringBuilder svg, int x, int y, int gridWidth, int gridHeight) {
-        MazeCell cell = grid.getCell(x, y);
-        int cellX = offsetX + x * cellSize;
-        int cellY = offsetY + y * cellSize;
+    private void appendOrthogonalInnerWalls(SvgWriter svg, int gridWidth, int gridHeight) {
+        beginGroup(svg, "inner-walls");
+        SvgWriter pathData = new SvgWriter();
 
-        // East wall (only if not on right edge - outer border handles that)
-        boolean drawEast = cell.eastWall && x < gridWidth - 1;
-        if (drawEast) {
-            svg.append(String.format(
-                    "    <line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\"" + " stroke=\"%s\" stroke-width=\"%d\""
-                            + " stroke-linecap=\"square\"/>%n",
-                    cellX + cellSize, cellY, cellX + cellSize, cellY + cellSize, innerWallColor, INNER_WALL_THICKNESS));
+        // East walls as vertical runs along each column boundary, except the right edge (the outer border draws it)
+        for (int x = 0; x < gridWidth - 1; x++) {
+            int lineX = offsetX + (x + 1) * cellSize;
+            int y = 0;
+            while (y < gridHeight) {
+                int start = y;
+                while (y < gridHeight && grid.hasWall(x, y, MazeGrid.EAST)) {
+                    y++;
+                }
+                if (y > start) {
+                    pathData.raw('M').num(lineX).raw(',').num(offsetY + start * cellSize).raw('V')
+                            .num(offsetY + y * cellSize);
+                } else {
+                    y++;
+                }
+            }
+        }
+
+        // South walls as horizontal runs along each row boundary, except the bottom edge
+        for (int y = 0; y < gridHeight - 1; y++) {
+            int lineY = offsetY + (y + 1) * cellSize;
+            int x = 0;
+            while (x < gridWidth) {
+                int start = x;
+                while (x < gridWidth && grid.hasWall(x, y, MazeGrid.SOUTH)) {
+                    x++;
+                }
+                if (x > start) {
+                    pathData.raw('M').num(offsetX + start * cellSize).raw(',').num(lineY).raw('H')
+                            .num(offsetX + x * cellSize);
+                } else {
+                    x++;
+                }
+            }
         }
 
-        // South wall (only if not on bottom edge - outer border handles that)
-        boolean drawSouth = cell.southWall && y < gridHeight - 1;
-        if (drawSouth) {
-            svg.append(String.format(
-                    "    <line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\"" + " stroke=\"%s\" stroke-width=\"%d\""
-                            + " stroke-linecap=\"square\"/>%n",
-                    cellX, cellY + cellSize, cellX + cellSize, cellY + cellSize, innerWallColor, INNER_WALL_THICKNESS));
+        // Square caps extend each run by half the wall thickness, exactly as they did each segment
+        if (pathData.length() > 0) {
+            beginPath(svg, pathData).attr("fill", "none").attr("stroke", innerWallColor)
+                    .attr("stroke-width", INNER_WALL_THICKNESS).attr("stroke-linecap", "square").selfClose()
+                    .newline();
         }
+        endGroup(svg);
     }
 
-    private void appendOrthogonalMarkers(StringBuilder svg) {
+    private void appendOrthogonalMarkers(SvgWriter svg) {
         // Calculate marker size based on cell size
         int markerRadius = Math.max(cellSize / 5, 8);
 
         // Draw start marker
         int startX = offsetX + grid.getStartX() * cellSize + cellSize / 2;
         int startY = offsetY + grid.getStartY() * cellSize + cellSize / 2;
-        svg.append(String.format("  <circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\"" + SVG_START_MARKER_CLASS_TAIL,
-                startX, startY, markerRadius, DEFAULT_START_COLOR));
+        appendMarker(svg, startX, startY, markerRadius, DEFAULT_START_COLOR, "start-marker");
 
         // Draw end marker
         int endX = offsetX + grid.getEndX() * cellSize + cellSize / 2;
         int endY = offsetY + grid.getEndY() * cellSize + cellSize / 2;
-        svg.append(String.format("  <circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\"" + SVG_END_MARKER_CLASS_TAIL, endX,
-                endY, markerRadius, DEFAULT_END_COLOR));
+        appendMarker(svg, endX, endY, markerRadius, DEFAULT_END_COLOR, "end-marker");
     }
 
     private String renderDelta() {
@@ -287,95 +391,95 @@ public class MazeSvgRenderer {
 
         HexGeometry geom = new HexGeometry(hexWidth, vertSpacing, hexOffsetX, hexOffsetY, hexSize);
 
-        StringBuilder svg = new StringBuilder();
-        svg.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 %d %d\"" + SVG_WIDTH_HEIGHT_OPEN_TAIL,
-                PAGE_WIDTH, PAGE_HEIGHT, PAGE_WIDTH, PAGE_HEIGHT));
-
-        // Background
-        svg.append(String.format(SVG_BACKGROUND_RECT_FORMAT, PAGE_WIDTH, PAGE_HEIGHT));
+        SvgWriter svg = new SvgWriter();
+        appendDocumentStart(svg);
 
         appendSigmaDeadEnds(svg, dims, geom);
         appendSigmaSolutionPath(svg, geom);
         appendSigmaInnerWalls(svg, dims, geom);
 
         // Draw outer border (hexagon outline for edge cells)
-        svg.append("  <g class=\"outer-border\">").append(System.lineSeparator());
-        drawHexOuterBorder(svg, dims, geom);
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        beginGroup(svg, "outer-border");
+        SvgWriter pathData = new SvgWriter();
+        drawHexOuterBorder(pathData, dims, geom);
+        beginPath(svg, pathData).attr("fill", "none").attr("stroke", outerWallColor)
+                .attr("stroke-width", OUTER_WALL_THICKNESS).selfClose().newline();
+        endGroup(svg);
 
         appendSigmaMarkers(svg, geom);
 
-        svg.append("</svg>");
+        svg.raw(SVG_DOC_CLOSE);
         return svg.toString();
     }
 
-    /** Append dead-end depth visualization for sigma maze if enabled. */
-    private void appendSigmaDeadEnds(StringBuilder svg, GridDimensions dims, HexGeometry geom) {
+    /** Append dead-end depth visualization for sigma maze if enabled, one path per depth. */
+    private void appendSigmaDeadEnds(SvgWriter svg, GridDimensions dims, HexGeometry geom) {
         if (!showDeadEnds) {
             return;
         }
-        svg.append("  <g class=\"dead-end-depth\">").append(System.lineSeparator());
+        beginGroup(svg, "dead-end-depth");
         int maxDepth = findMaxDeadEndDepth(dims.width(), dims.height());
-        for (int y = 0; y < dims.height(); y++) {
-            for (int x = 0; x < dims.width(); x++) {
-                MazeCell cell = grid.getCell(x, y);
-                if (!cell.isDeadEnd || cell.deadEndDepth <= 0) {
-                    continue;
+        int[] depthStarts = new int[maxDepth + 2];
+        int[] cells = deadEndCellsByDepth(depthStarts);
+
+        SvgWriter pathData = new SvgWriter();
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            pathData.reset();
+            for (int i = depthStarts[depth]; i < depthStarts[depth + 1]; i++) {
+                double[] center = getHexCenter(cells[i] % dims.width(), cells[i] / dims.width(), geom);
+                if (pathData.length() > 0) {
+                    pathData.raw(' ');
                 }
-                double[] center = getHexCenter(x, y, geom);
-                double opacity = 0.1 + (0.5 * cell.deadEndDepth / maxDepth);
-                String hexPath = getHexPath(center[0], center[1], geom.hexSize());
-                svg.append(String.format("    <path d=\"%s\" fill=\"%s\" opacity=\"%.2f\"/>%n", hexPath, deadEndColor,
-                        opacity));
+                appendHexPath(pathData, center[0], center[1], geom.hexSize());
             }
+            appendDeadEndPath(svg, pathData, depth, maxDepth);
         }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        endGroup(svg);
     }
 
-    /** Append solution path lines for sigma maze if enabled. */
-    private void appendSigmaSolutionPath(StringBuilder svg, HexGeometry geom) {
-        if (!showSolution || grid.getSolutionPath() == null) {
+    /** Append the solution for sigma maze if enabled, as one polyline through the hexagon centers. */
+    private void appendSigmaSolutionPath(SvgWriter svg, HexGeometry geom) {
+        var path = grid.getSolutionPath();
+        if (!showSolution || path == null || path.size() < 2) {
             return;
         }
-        svg.append("  <g class=\"solution-path\">").append(System.lineSeparator());
-        var path = grid.getSolutionPath();
+        beginGroup(svg, "solution-path");
         int pathWidth = Math.max((int) (geom.hexSize() / 3), 6);
-        for (int i = 0; i < path.size() - 1; i++) {
-            int[] from = path.get(i);
-            int[] to = path.get(i + 1);
-            double[] fromCenter = getHexCenter(from[0], from[1], geom);
-            double[] toCenter = getHexCenter(to[0], to[1], geom);
-            svg.append(String.format(
-                    "    <line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\" stroke=\"%s\""
-                            + " stroke-width=\"%d\" stroke-linecap=\"round\" opacity=\"0.6\"/>%n",
-                    fromCenter[0], fromCenter[1], toCenter[0], toCenter[1], pathColor, pathWidth));
-        }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
-    }
-
-    /** Append inner hexagon walls for sigma maze. */
-    private void appendSigmaInnerWalls(StringBuilder svg, GridDimensions dims, HexGeometry geom) {
-        svg.append("  <g class=\"inner-walls\">").append(System.lineSeparator());
+        SvgWriter pathData = new SvgWriter();
+        for (int i = 0; i < path.size(); i++) {
+            double[] center = getHexCenter(path.get(i)[0], path.get(i)[1], geom);
+            pathData.raw(i == 0 ? "M" : " L").num(center[0], 1).raw(',').num(center[1], 1);
+        }
+        beginPath(svg, pathData).attr("fill", "none").attr("stroke", pathColor).attr("stroke-width", pathWidth)
+                .attr("stroke-linecap", "round").attr("stroke-linejoin", "round").attr("opacity", "0.6")
+                .selfClose().newline();
+        endGroup(svg);
+    }
+
+    /** Append inner hexagon walls for sigma maze, each wall a subpath of one path. */
+    private void appendSigmaInnerWalls(SvgWriter svg, GridDimensions dims, HexGeometry geom) {
+        beginGroup(svg, "inner-walls");
+        SvgWriter pathData = new SvgWriter();
         for (int y = 0; y < dims.height(); y++) {
             for (int x = 0; x < dims.width(); x++) {
-                MazeCell cell = grid.getCell(x, y);
                 double[] center = getHexCenter(x, y, geom);
-                drawHexWalls(svg, cell, x, y, center, geom.hexSize(), dims);
+                drawHexWalls(pathData, x, y, center, geom.hexSize(), dims);
             }
         }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        if (pathData.length() > 0) {
+            beginPath(svg, pathData).attr("fill", "none").attr("stroke", innerWallColor)
+                    .attr("stroke-width", INNER_WALL_THICKNESS).selfClose().newline();
+        }
+        endGroup(svg);
     }
 
     /** Append start and end markers for sigma maze. */
-    private void appendSigmaMarkers(StringBuilder svg, HexGeometry geom) {
+    private void appendSigmaMarkers(SvgWriter svg, HexGeometry geom) {
         int markerRadius = Math.max((int) (geom.hexSize() / 3), 8);
         double[] startCenter = getHexCenter(grid.getStartX(), grid.getStartY(), geom);
-        svg.append(String.format("  <circle cx=\"%.1f\" cy=\"%.1f\" r=\"%d\" fill=\"%s\"" + SVG_START_MARKER_CLASS_TAIL,
-                startCenter[0], startCenter[1], markerRadius, DEFAULT_START_COLOR));
+        appendMarker(svg, startCenter[0], startCenter[1], markerRadius, DEFAULT_START_COLOR, "start-marker");
         double[] endCenter = getHexCenter(grid.getEndX(), grid.getEndY(), geom);
-        svg.append(String.format("  <circle cx=\"%.1f\" cy=\"%.1f\" r=\"%d\" fill=\"%s\"" + SVG_END_MARKER_CLASS_TAIL,
-                endCenter[0], endCenter[1], markerRadius, DEFAULT_END_COLOR));
+        appendMarker(svg, endCenter[0], endCenter[1], markerRadius, DEFAULT_END_COLOR, "end-marker");
     }
 
     /** Calculate hex size to fit grid in printable area. */
@@ -396,26 +500,19 @@ public class MazeSvgRenderer {
         return new double[]{cx, cy};
     }
 
-    /** Generate SVG path for a hexagon centered at (cx, cy). */
-    private String getHexPath(double cx, double cy, double size) {
-        StringBuilder path = new StringBuilder();
+    /** Append SVG path data for a hexagon centered at (cx, cy). */
+    private void appendHexPath(SvgWriter path, double cx, double cy, double size) {
         for (int i = 0; i < 6; i++) {
             double angle = Math.PI / 6 + i * Math.PI / 3; // Start from top vertex
             double vx = cx + size * Math.cos(angle);
             double vy = cy - size * Math.sin(angle);
-            if (i == 0) {
-                path.append(String.format("M%.1f,%.1f", vx, vy));
-            } else {
-                path.append(String.format(" L%.1f,%.1f", vx, vy));
-            }
+            path.raw(i == 0 ? "M" : " L").num(vx, 1).raw(',').num(vy, 1);
         }
-        path.append(" Z");
-        return path.toString();
+        path.raw(" Z");
     }
 
     /** Draw walls for a single hexagon cell. */
-    private void drawHexWalls(StringBuilder svg, MazeCell cell, int x, int y, double[] center, double hexSize,
-            GridDimensions dims) {
+    private void drawHexWalls(SvgWriter pathData, int x, int y, double[] center, double hexSize, GridDimensions dims) {
         // Calculate vertex positions for pointy-top hexagon
         double[][] vertices = new double[6][2];
         for (int i = 0; i < 6; i++) {
@@ -429,30 +526,33 @@ public class MazeSvgRenderer {
 
         // Draw internal walls only (edges shared between cells)
         // NE wall: vertices 0-1 (if wall exists and not at edge)
-        if (cell.northEastWall && hasNENeighbor(x, y, dims.width(), evenRow)) {
-            svg.append(String.format(
-                    "    <line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\"" + SVG_STROKE_ATTRS_TAIL, vertices[0][0],
-                    vertices[0][1], vertices[1][0], vertices[1][1], innerWallColor, INNER_WALL_THICKNESS));
+        if (grid.hasWall(x, y, MazeGrid.NORTH_EAST) && hasNENeighbor(x, y, dims.width(), evenRow)) {
+            appendHexSegment(pathData, vertices, 0, 1);
         }
 
         // E wall: vertices 1-2 (if wall exists and not at right edge)
-        if (cell.eastWall && x < dims.width() - 1) {
-            svg.append(String.format(
-                    "    <line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\"" + SVG_STROKE_ATTRS_TAIL, vertices[1][0],
-                    vertices[1][1], vertices[2][0], vertices[2][1], innerWallColor, INNER_WALL_THICKNESS));
+        if (grid.hasWall(x, y, MazeGrid.EAST) && x < dims.width() - 1) {
+            appendHexSegment(pathData, vertices, 1, 2);
         }
 
         // SE wall: vertices 2-3 (if wall exists and not at edge)
-        if (cell.southEastWall && hasSENeighbor(x, y, dims, evenRow)) {
-            svg.append(String.format(
-                    "    <line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\"" + SVG_STROKE_ATTRS_TAIL, vertices[2][0],
-                    vertices[2][1], vertices[3][0], vertices[3][1], innerWallColor, INNER_WALL_THICKNESS));
+        if (grid.hasWall(x, y, MazeGrid.SOUTH_EAST) && hasSENeighbor(x, y, dims, evenRow)) {
+            appendHexSegment(pathData, vertices, 2, 3);
         }
 
         // We don't draw SW, W, NW walls here - they will be drawn by neighboring cells
         // This prevents double-drawing internal walls
     }
 
+    /** Append a straight subpath between two hexagon vertices, rounded to one decimal. */
+    private static void appendHexSegment(SvgWriter pathData, double[][] vertices, int from, int to) {
+        if (pathData.length() > 0) {
+            pathData.raw(' ');
+        }
+        pathData.raw('M').num(vertices[from][0], 1).raw(',').num(vertices[from][1], 1).raw(" L")
+                .num(vertices[to][0], 1).raw(',').num(vertices[to][1], 1);
+    }
+
     /** Check if cell has NE neighbor. */
     private boolean hasNENeighbor(int x, int y, int gridWidth, boolean evenRow) {
         if (y == 0) {
@@ -478,12 +578,12 @@ public class MazeSvgRenderer {
     }
 
     /** Draw outer border for hexagonal maze. */
-    private void drawHexOuterBorder(StringBuilder svg, GridDimensions dims, HexGeometry geom) {
+    private void drawHexOuterBorder(SvgWriter pathData, GridDimensions dims, HexGeometry geom) {
         // Draw border walls for edge cells
         for (int y = 0; y < dims.height(); y++) {
             for (int x = 0; x < dims.width(); x++) {
                 double[][] vertices = computeHexVertices(x, y, geom);
-                drawHexCellBorderWalls(svg, x, y, dims, vertices);
+                drawHexCellBorderWalls(pathData, x, y, dims, vertices);
             }
         }
     }
@@ -501,57 +601,47 @@ public class MazeSvgRenderer {
     }
 
     /** Draw any outer-border walls for a single hex cell at (x, y). */
-    private void drawHexCellBorderWalls(StringBuilder svg, int x, int y, GridDimensions dims, double[][] vertices) {
+    private void drawHexCellBorderWalls(SvgWriter pathData, int x, int y, GridDimensions dims, double[][] vertices) {
         boolean evenRow = (y % 2) == 0;
         boolean leftColumn = (x == 0);
         boolean rightColumn = (x == dims.width() - 1);
 
         if (y == 0) {
-            drawHexTopBorder(svg, vertices, evenRow, leftColumn, rightColumn);
+            drawHexTopBorder(pathData, vertices, evenRow, leftColumn, rightColumn);
         }
         if (y == dims.height() - 1) {
-            drawHexBottomBorder(svg, vertices, evenRow, leftColumn, rightColumn);
+            drawHexBottomBorder(pathData, vertices, evenRow, leftColumn, rightColumn);
         }
         if (leftColumn) {
-            appendHexBorderLine(svg, vertices, 4, 5);
+            appendHexSegment(pathData, vertices, 4, 5);
         }
         if (rightColumn) {
-            appendHexBorderLine(svg, vertices, 1, 2);
+            appendHexSegment(pathData, vertices, 1, 2);
         }
     }
 
     /** Draw top-edge walls (vertices 5-0 and 0-1) when needed. */
-    private void drawHexTopBorder(StringBuilder svg, double[][] vertices, boolean evenRow, boolean leftColumn,
+    private static void drawHexTopBorder(SvgWriter pathData, double[][] vertices, boolean evenRow, boolean leftColumn,
             boolean rightColumn) {
         if (evenRow || leftColumn) {
-            appendHexBorderLine(svg, vertices, 5, 0);
+            appendHexSegment(pathData, vertices, 5, 0);
         }
         if (evenRow || rightColumn) {
-            appendHexBorderLine(svg, vertices, 0, 1);
+            appendHexSegment(pathData, vertices, 0, 1);
         }
     }
 
     /** Draw bottom-edge walls (vertices 4-3 and 3-2) when needed. */
-    private void drawHexBottomBorder(StringBuilder svg, double[][] vertices, boolean evenRow, boolean leftColumn,
-            boolean rightColumn) {
+    private static void drawHexBottomBorder(SvgWriter pathData, double[][] vertices, boolean evenRow,
+            boolean leftColumn, boolean rightColumn) {
         if (evenRow || leftColumn) {
-            appendHexBorderLine(svg, vertices, 4, 3);
+            appendHexSegment(pathData, vertices, 4, 3);
         }
         if (evenRow || rightColumn) {
-            appendHexBorderLine(svg, vertices, 3, 2);
+            appendHexSegment(pathData, vertices, 3, 2);
         }
     }
 
-    /** Append a single SVG line element between two hexagon vertices. */
-    private void appendHexBorderLine(StringBuilder svg, double[][] vertices, int from, int to) {
-        svg.append(
-                String.format(
-                        "    <line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\""
-                                + " stroke=\"%s\" stroke-width=\"%d\"/>%n",
-                        vertices[from][0], vertices[from][1], vertices[to][0], vertices[to][1], outerWallColor,
-                        OUTER_WALL_THICKNESS));
-    }
-
     private String renderTheta() {
         // Circular maze rendering
         int rings = Math.min(grid.getWidth(), grid.getHeight()) / 2;
@@ -563,21 +653,16 @@ public class MazeSvgRenderer {
         int centerX = PAGE_WIDTH / 2;
         int centerY = PAGE_HEIGHT / 2;
 
-        StringBuilder svg = new StringBuilder();
-        svg.append(String.format(
-                "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 %d %d\"" + SVG_WIDTH_HEIGHT_OPEN_TAIL,
-                PAGE_WIDTH, PAGE_HEIGHT, PAGE_WIDTH, PAGE_HEIGHT));
-
-        // Background
-        svg.append(String.format(SVG_BACKGROUND_RECT_FORMAT, PAGE_WIDTH, PAGE_HEIGHT));
+        SvgWriter svg = new SvgWriter();
+        appendDocumentStart(svg);
 
         // Draw concentric circles and radial walls
-        svg.append("  <g class=\"walls\">").append(System.lineSeparator());
+        beginGroup(svg, "walls");
         for (int ring = 1; ring <= rings; ring++) {
             int radius = ring * ringSpacing;
-            svg.append(String.format(
-                    "    <circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"none\" stroke=\"%s\"" + " stroke-width=\"%d\"/>%n",
-                    centerX, centerY, radius, innerWallColor, INNER_WALL_THICKNESS));
+            svg.raw(GROUP_INDENT).begin("circle").attr("cx", centerX).attr("cy", centerY).attr("r", radius)
+                    .attr("fill", "none").attr("stroke", innerWallColor).attr("stroke-width", INNER_WALL_THICKNESS)
+                    .selfClose().newline();
         }
 
         // Draw radial walls (simplified)
@@ -586,24 +671,22 @@ public class MazeSvgRenderer {
             double angle = 2 * Math.PI * i / segments;
             int x2 = centerX + (int) (maxRadius * Math.cos(angle));
             int y2 = centerY + (int) (maxRadius * Math.sin(angle));
-            svg.append(String.format(
-                    "    <line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\"" + " stroke-width=\"%d\"/>%n",
-                    centerX, centerY, x2, y2, innerWallColor, INNER_WALL_THICKNESS));
+            beginLine(svg, centerX, centerY, x2, y2).attr("stroke", innerWallColor)
+                    .attr("stroke-width", INNER_WALL_THICKNESS).selfClose().newline();
         }
-        svg.append(SVG_GROUP_CLOSE).append(System.lineSeparator());
+        endGroup(svg);
 
         // Marker size
         int markerRadius = Math.max(ringSpacing / 4, 12);
 
         // Start marker (center)
-        svg.append(String.format("  <circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\"" + SVG_START_MARKER_CLASS_TAIL,
-                centerX, centerY, markerRadius, DEFAULT_START_COLOR));
+        appendMarker(svg, centerX, centerY, markerRadius, DEFAULT_START_COLOR, "start-marker");
 
         // End marker (edge)
-        svg.append(String.format("  <circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\"" + SVG_END_MARKER_CLASS_TAIL,
-                centerX + maxRadius - ringSpacing / 2, centerY, markerRadius, DEFAULT_END_COLOR));
+        appendMarker(svg, centerX + maxRadius - ringSpacing / 2, centerY, markerRadius, DEFAULT_END_COLOR,
+                "end-marker");
 
-        svg.append(SVG_DOC_CLOSE);
+        svg.raw(SVG_DOC_CLOSE);
         return svg.toString();
     }
 }
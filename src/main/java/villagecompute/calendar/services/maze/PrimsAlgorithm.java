@@ -0,0 +1,63 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Random;
+
+import villagecompute.calendar.services.maze.MazeGrid.NeighborFilter;
+
+/**
+ * Randomized Prim's algorithm: the maze grows from the start cell by repeatedly taking a random cell from its frontier
+ * (cells next to the maze) and joining it to a random neighbor already in the maze. Produces many short branches
+ * radiating from the start. The frontier is an int array with swap-removal, so no objects are allocated per cell.
+ */
+public final class PrimsAlgorithm implements MazeAlgorithm {
+
+    @Override
+    public void carve(MazeGrid grid, Random random) {
+        int cellCount = grid.cellCount();
+        int[] frontier = new int[cellCount];
+        boolean[] inFrontier = new boolean[cellCount];
+
+        int start = grid.index(grid.getStartX(), grid.getStartY());
+        grid.markVisited(start);
+        int frontierSize = addFrontier(grid, start, frontier, inFrontier, 0);
+
+        while (frontierSize > 0) {
+            int pick = random.nextInt(frontierSize);
+            int cell = frontier[pick];
+            frontier[pick] = frontier[--frontierSize];
+
+            // Join to a random neighbor already in the maze. There is at least one, or the cell would not be in the
+            // frontier.
+            int count = grid.collectNeighbors(cell, NeighborFilter.ALL);
+            int inMaze = 0;
+            for (int i = 0; i < count; i++) {
+                if (grid.isVisited(grid.neighborCell(i))) {
+                    inMaze++;
+                }
+            }
+            int choice = random.nextInt(inMaze);
+            for (int i = 0; i < count; i++) {
+                if (grid.isVisited(grid.neighborCell(i)) && choice-- == 0) {
+                    grid.removeWall(cell, grid.neighborCell(i), grid.neighborWall(i));
+                    break;
+                }
+            }
+
+            grid.markVisited(cell);
+            frontierSize = addFrontier(grid, cell, frontier, inFrontier, frontierSize);
+        }
+    }
+
+    /** Add the neighbors of a new maze cell that are neither in the maze nor in the frontier yet. */
+    private static int addFrontier(MazeGrid grid, int cell, int[] frontier, boolean[] inFrontier, int frontierSize) {
+        int count = grid.collectNeighbors(cell, NeighborFilter.UNVISITED);
+        for (int i = 0; i < count; i++) {
+            int neighbor = grid.neighborCell(i);
+            if (!inFrontier[neighbor]) {
+                inFrontier[neighbor] = true;
+                frontier[frontierSize++] = neighbor;
+            }
+        }
+        return frontierSize;
+    }
+}
@@ -0,0 +1,36 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Random;
+
+import villagecompute.calendar.services.maze.MazeGrid.NeighborFilter;
+
+/**
+ * Recursive backtracker (randomized depth-first search) from the start cell. Produces long winding corridors with few
+ * branches. The stack is an int array sized to the grid, since each cell is pushed at most once.
+ */
+public final class RecursiveBacktracker implements MazeAlgorithm {
+
+    @Override
+    public void carve(MazeGrid grid, Random random) {
+        int[] stack = new int[grid.cellCount()];
+        int top = 0;
+        int start = grid.index(grid.getStartX(), grid.getStartY());
+        grid.markVisited(start);
+        stack[top++] = start;
+
+        while (top > 0) {
+            int current = stack[top - 1];
+            int count = grid.collectNeighbors(current, NeighborFilter.UNVISITED);
+
+            if (count == 0) {
+                top--;
+            } else {
+                int choice = random.nextInt(count);
+                int next = grid.neighborCell(choice);
+                grid.removeWall(current, next, grid.neighborWall(choice));
+                grid.markVisited(next);
+                stack[top++] = next;
+            }
+        }
+    }
+}
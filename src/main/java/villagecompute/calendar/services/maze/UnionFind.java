@@ -0,0 +1,57 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets over the integers {@code 0..size-1}, stored in a single int array: a root holds the negated size of its
+ * set, any other element its parent. Used to tell whether carving a passage would close a loop.
+ */
+final class UnionFind {
+
+    private final int[] parents;
+
+    UnionFind(int size) {
+        parents = new int[size];
+        reset(size);
+    }
+
+    /** Make each of the first {@code size} elements a set of its own. */
+    void reset(int size) {
+        Arrays.fill(parents, 0, size, -1);
+    }
+
+    int find(int element) {
+        int root = element;
+        while (parents[root] >= 0) {
+            root = parents[root];
+        }
+        // Path compression
+        while (parents[element] >= 0) {
+            int next = parents[element];
+            parents[element] = root;
+            element = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merge the sets of two elements, the smaller into the larger.
+     *
+     * @return The root of the merged set, or -1 if the elements were already in the same set
+     */
+    int union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return -1;
+        }
+        if (parents[rootA] > parents[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootA] += parents[rootB];
+        parents[rootB] = rootA;
+        return rootA;
+    }
+}
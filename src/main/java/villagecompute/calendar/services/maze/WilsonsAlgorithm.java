@@ -0,0 +1,48 @@
+package villagecompute.calendar.services.maze;
+
+import java.util.Random;
+
+import villagecompute.calendar.services.maze.MazeGrid.NeighborFilter;
+
+/**
+ * Wilson's algorithm: loop-erased random walks from each cell not yet in the maze until the walk reaches the maze,
+ * which then becomes a passage. Every spanning tree is equally likely, so the mazes have no directional bias. Each walk
+ * only remembers the last exit taken from every cell, which erases loops for free.
+ */
+public final class WilsonsAlgorithm implements MazeAlgorithm {
+
+    @Override
+    public void carve(MazeGrid grid, Random random) {
+        int cellCount = grid.cellCount();
+        // Last exit of the current walk from each cell: the neighbor and the wall between them
+        int[] nextCells = new int[cellCount];
+        byte[] nextWalls = new byte[cellCount];
+
+        // The maze starts as the start cell, marked visited
+        grid.markVisited(grid.index(grid.getStartX(), grid.getStartY()));
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (grid.isVisited(cell)) {
+                continue;
+            }
+
+            // Walk until the maze is reached, overwriting the exit of any cell the walk crosses again
+            int current = cell;
+            while (!grid.isVisited(current)) {
+                int count = grid.collectNeighbors(current, NeighborFilter.ALL);
+                int choice = random.nextInt(count);
+                nextCells[current] = grid.neighborCell(choice);
+                nextWalls[current] = (byte) grid.neighborWall(choice);
+                current = nextCells[current];
+            }
+
+            // Carve the loop-erased walk into the maze
+            current = cell;
+            while (!grid.isVisited(current)) {
+                grid.markVisited(current);
+                grid.removeWall(current, nextCells[current], nextWalls[current] & 0xFF);
+                current = nextCells[current];
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ public final class MimeTypes {
     public static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
     public static final String HEADER_X_SESSION_ID = "X-Session-ID";
     public static final String HEADER_STRIPE_SIGNATURE = "Stripe-Signature";
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
 
     // Content-Disposition value prefixes
     public static final String DISPOSITION_INLINE_PREFIX = "inline; filename=\"";
@@ -28,6 +29,9 @@ public final class MimeTypes {
     public static final String TEXT_HTML = MediaType.TEXT_HTML;
     public static final String TEXT_PLAIN = MediaType.TEXT_PLAIN;
 
+    // Newline-delimited JSON, for responses streamed one record at a time
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     // Image types
     public static final String IMAGE_PNG = "image/png";
     public static final String IMAGE_JPEG = "image/jpeg";
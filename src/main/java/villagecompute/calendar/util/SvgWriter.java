@@ -0,0 +1,276 @@
+package villagecompute.calendar.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Minimal SVG writer used by the renderers in place of {@link String#format}. Elements and attributes are appended
+ * straight into the underlying buffer, and numbers are formatted without boxing or parsing a format string.
+ *
+ * <p>
+ * Output is byte-identical to the {@code String.format} patterns it replaces: {@link #num(double, int)} matches
+ * {@code %.Nf} (half-up rounding, {@code -0.0} for small negatives) and {@link #newline()} matches {@code %n}.
+ * Attribute values and text are written as-is, so callers escape them exactly as they did before.
+ *
+ * <p>
+ * A writer can also stream to a {@link Writer} sink: renderers call {@link #flush()} at natural boundaries (e.g. after
+ * each month row) to push what has been rendered so far, so the first bytes go out before the document is finished.
+ *
+ * <pre>
+ * svg.begin("rect").attr("x", 10).attr("y", 20).attr("fill", color).selfClose().newline();
+ * </pre>
+ */
+public final class SvgWriter {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L};
+
+    // Beyond this the scaled value no longer has enough precision to decide rounding on its own
+    private static final double FAST_PATH_LIMIT = 1e9;
+    // Scaled fractions this close to .5 may round differently than the decimal value, so defer to Formatter
+    private static final double TIE_TOLERANCE = 1e-6;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final StringBuilder out;
+    private final Writer sink;
+    private final boolean retain;
+    private char[] chunk;
+    // Length of the buffer prefix already written to the sink
+    private int flushed;
+
+    /** Create a writer with a new buffer. */
+    public SvgWriter() {
+        this(new StringBuilder(4096));
+    }
+
+    /** Create a writer that appends to an existing buffer. */
+    public SvgWriter(StringBuilder out) {
+        this.out = out;
+        this.sink = null;
+        this.retain = true;
+    }
+
+    /**
+     * Create a writer that streams to {@code sink} on every {@link #flush()}.
+     *
+     * @param sink
+     *            Destination for the rendered document
+     * @param retain
+     *            If true the whole document is also kept in the buffer (e.g. to be cached), otherwise the buffer is
+     *            cleared after each flush and only holds what has been rendered since
+     */
+    public SvgWriter(Writer sink, boolean retain) {
+        this.out = new StringBuilder(retain ? 4096 : CHUNK_SIZE * 2);
+        this.sink = sink;
+        this.retain = retain;
+    }
+
+    /** The underlying buffer, for APIs that append to a {@link StringBuilder} directly. */
+    public StringBuilder buffer() {
+        return out;
+    }
+
+    /** Clear the buffer so the writer and its capacity can be reused for another document. */
+    public SvgWriter reset() {
+        out.setLength(0);
+        flushed = 0;
+        return this;
+    }
+
+    /**
+     * Write everything appended since the last flush to the sink and flush it. Does nothing if the writer has no sink.
+     *
+     * @throws UncheckedIOException
+     *             If writing to the sink fails, so rendering code does not have to declare IOException
+     */
+    public SvgWriter flush() {
+        if (sink == null) {
+            return this;
+        }
+        try {
+            if (chunk == null) {
+                chunk = new char[CHUNK_SIZE];
+            }
+            int end = out.length();
+            while (flushed < end) {
+                int count = Math.min(CHUNK_SIZE, end - flushed);
+                out.getChars(flushed, flushed + count, chunk, 0);
+                sink.write(chunk, 0, count);
+                flushed += count;
+            }
+            if (!retain) {
+                out.setLength(0);
+                flushed = 0;
+            }
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Copy already rendered text to a writer in fixed-size chunks, so a large document is never duplicated in one piece
+     * by the writer's encoder.
+     */
+    public static void copy(CharSequence text, Writer sink) throws IOException {
+        char[] chunk = new char[Math.min(CHUNK_SIZE, Math.max(text.length(), 1))];
+        for (int start = 0; start < text.length(); start += chunk.length) {
+            int count = Math.min(chunk.length, text.length() - start);
+            if (text instanceof String string) {
+                string.getChars(start, start + count, chunk, 0);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    chunk[i] = text.charAt(start + i);
+                }
+            }
+            sink.write(chunk, 0, count);
+        }
+    }
+
+    public int length() {
+        return out.length();
+    }
+
+    /** The buffered document. For a writer that does not retain its output, only the part not yet flushed. */
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    // ========== ELEMENTS ==========
+
+    /** Write the start of an element's opening tag: {@code <name}. */
+    public SvgWriter begin(String name) {
+        out.append('<').append(name);
+        return this;
+    }
+
+    /** Finish an opening tag so content can follow: {@code >}. */
+    public SvgWriter content() {
+        out.append('>');
+        return this;
+    }
+
+    /** Finish an opening tag as an empty element: {@code />}. */
+    public SvgWriter selfClose() {
+        out.append("/>");
+        return this;
+    }
+
+    /** Write a closing tag: {@code </name>}. */
+    public SvgWriter end(String name) {
+        out.append("</").append(name).append('>');
+        return this;
+    }
+
+    // ========== ATTRIBUTES ==========
+
+    public SvgWriter attr(String name, CharSequence value) {
+        out.append(' ').append(name).append("=\"").append(value).append('"');
+        return this;
+    }
+
+    public SvgWriter attr(String name, int value) {
+        out.append(' ').append(name).append("=\"").append(value).append('"');
+        return this;
+    }
+
+    /** Write a numeric attribute formatted like {@code %.Nf} with the given number of decimals. */
+    public SvgWriter attr(String name, double value, int decimals) {
+        out.append(' ').append(name).append("=\"");
+        num(value, decimals);
+        out.append('"');
+        return this;
+    }
+
+    // ========== RAW CONTENT ==========
+
+    /** Append text or markup as-is. */
+    public SvgWriter raw(CharSequence text) {
+        out.append(text);
+        return this;
+    }
+
+    public SvgWriter raw(char c) {
+        out.append(c);
+        return this;
+    }
+
+    public SvgWriter num(int value) {
+        out.append(value);
+        return this;
+    }
+
+    /** Append a number formatted like {@code String.format("%.Nf", value)}. */
+    public SvgWriter num(double value, int decimals) {
+        appendFixed(out, value, decimals);
+        return this;
+    }
+
+    /** Append the platform line separator, as {@code %n} does. */
+    public SvgWriter newline() {
+        out.append(LINE_SEPARATOR);
+        return this;
+    }
+
+    // ========== NUMBER FORMATTING ==========
+
+    /**
+     * Append {@code value} with exactly {@code decimals} fraction digits, producing the same characters as
+     * {@code %.Nf}. {@link java.util.Formatter} rounds the shortest decimal representation half-up; that only differs
+     * from rounding the binary value when the scaled fraction sits on .5, so those cases (and very large or non-finite
+     * values) are handed to Formatter itself.
+     *
+     * @param out
+     *            Buffer to append to
+     * @param value
+     *            The value to format
+     * @param decimals
+     *            Number of fraction digits, 0 to 8
+     */
+    public static void appendFixed(StringBuilder out, double value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported number of decimals: " + decimals);
+        }
+        double magnitude = Math.abs(value);
+        if (!(magnitude < FAST_PATH_LIMIT)) {
+            out.append(String.format(Locale.ROOT, "%." + decimals + "f", value));
+            return;
+        }
+
+        long scale = POWERS_OF_TEN[decimals];
+        double scaled = magnitude * scale;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        long units;
+        if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+            units = (long) floor + (fraction > 0.5 ? 1 : 0);
+        } else if (decimals == 0 && fraction == 0.5) {
+            // Without scaling the tie is exact, and half-up rounds it away from zero
+            units = (long) floor + 1;
+        } else {
+            out.append(String.format(Locale.ROOT, "%." + decimals + "f", value));
+            return;
+        }
+
+        // Formatter keeps the sign of negative values that round to zero, including -0.0
+        if (Double.compare(value, 0.0) < 0) {
+            out.append('-');
+        }
+        out.append(units / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fractionDigits = units % scale;
+            for (long digit = scale / 10; digit > 1 && fractionDigits < digit; digit /= 10) {
+                out.append('0');
+            }
+            out.append(fractionDigits);
+        }
+    }
+}
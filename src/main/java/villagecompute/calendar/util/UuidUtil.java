@@ -17,6 +17,7 @@ public final class UuidUtil {
     public static final String FIELD_ORDER_ID = "order ID";
     public static final String FIELD_USER_ID = "user ID";
     public static final String FIELD_TEMPLATE_ID = "template ID";
+    public static final String FIELD_PDF_JOB_ID = "PDF job ID";
 
     private UuidUtil() {
         // Utility class
@@ -0,0 +1,159 @@
+package villagecompute.calendar.util.astronomical;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Utility class for calculating the instants of equinoxes and solstices.
+ *
+ * <p>
+ * Uses the method from Jean Meeus, <i>Astronomical Algorithms</i> (2nd ed.), chapter 27: a polynomial for the mean
+ * event, corrected by the 24 periodic terms of table 27.C, then converted from dynamical time to UT with a ΔT
+ * approximation. Results are within a minute or two of published values between the years 1000 and 3000, so they can
+ * be converted to a local date in any time zone. The four instants of a year are computed once and memoized.
+ */
+public final class SeasonalEventCalculator {
+
+    /** Equinox and solstice types, in calendar order. */
+    public enum EventType {
+        SPRING_EQUINOX, SUMMER_SOLSTICE, AUTUMN_EQUINOX, WINTER_SOLSTICE
+    }
+
+    // Julian day of the Unix epoch, and milliseconds per day
+    private static final double JD_UNIX_EPOCH = 2440587.5;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    // Periodic terms (table 27.C): amplitude A, phase B and rate C of A cos(B + C T), B and C in degrees
+    private static final double[][] PERIODIC_TERMS = {{485, 324.96, 1934.136}, {203, 337.23, 32964.467},
+            {199, 342.08, 20.186}, {182, 27.85, 445267.112}, {156, 73.14, 45036.886}, {136, 171.52, 22518.443},
+            {77, 222.54, 65928.934}, {74, 296.72, 3034.906}, {70, 243.58, 9037.513}, {58, 119.81, 33718.147},
+            {52, 297.17, 150.678}, {50, 21.02, 2281.226}, {45, 247.54, 29929.562}, {44, 325.15, 31555.956},
+            {29, 60.93, 4443.417}, {18, 155.12, 67555.328}, {17, 288.79, 4562.452}, {16, 198.04, 62894.029},
+            {14, 199.76, 31436.921}, {12, 95.39, 14577.848}, {12, 287.11, 31931.756}, {12, 320.81, 34777.259},
+            {9, 227.73, 1222.114}, {8, 15.45, 16859.074}};
+
+    // Bound on memoized years; beyond this, instants are computed without being kept
+    private static final int MAX_CACHED_YEARS = 512;
+
+    private static final ConcurrentMap<Integer, Instant[]> EVENTS = new ConcurrentHashMap<>();
+
+    private SeasonalEventCalculator() {
+    }
+
+    /**
+     * Get the instant of an equinox or solstice.
+     *
+     * @param year
+     *            Gregorian year
+     * @param type
+     *            The event
+     * @return The moment of the event (UT)
+     */
+    public static Instant getInstant(int year, EventType type) {
+        return eventsFor(year)[type.ordinal()];
+    }
+
+    /**
+     * Get the date of an equinox or solstice as observed in a time zone. The same event can fall on different dates in
+     * different zones, e.g. the December 2024 solstice was on December 21 in UTC but December 20 in Hawaii.
+     *
+     * @param year
+     *            Gregorian year
+     * @param type
+     *            The event
+     * @param zone
+     *            Time zone of the observer
+     * @return Local date of the event
+     */
+    public static LocalDate getDate(int year, EventType type, ZoneId zone) {
+        return LocalDate.ofInstant(getInstant(year, type), zone);
+    }
+
+    private static Instant[] eventsFor(int year) {
+        Instant[] events = EVENTS.get(year);
+        if (events != null) {
+            return events;
+        }
+        if (EVENTS.size() >= MAX_CACHED_YEARS) {
+            return computeEvents(year);
+        }
+        return EVENTS.computeIfAbsent(year, SeasonalEventCalculator::computeEvents);
+    }
+
+    /** The four instants of a year, in {@link EventType} order, computed without the cache. */
+    static Instant[] computeEvents(int year) {
+        EventType[] types = EventType.values();
+        Instant[] events = new Instant[types.length];
+        for (EventType type : types) {
+            double jd = julianEphemerisDay(year, type) - deltaTSeconds(year) / 86400.0;
+            events[type.ordinal()] = Instant.ofEpochMilli(Math.round((jd - JD_UNIX_EPOCH) * MILLIS_PER_DAY));
+        }
+        return events;
+    }
+
+    /** Julian Ephemeris Day (dynamical time) of the event. */
+    static double julianEphemerisDay(int year, EventType type) {
+        double jde0 = meanJulianEphemerisDay(year, type);
+
+        double t = (jde0 - 2451545.0) / 36525;
+        double w = Math.toRadians(35999.373 * t - 2.47);
+        double deltaLambda = 1 + 0.0334 * Math.cos(w) + 0.0007 * Math.cos(2 * w);
+
+        double s = 0;
+        for (double[] term : PERIODIC_TERMS) {
+            s += term[0] * Math.cos(Math.toRadians(term[1] + term[2] * t));
+        }
+
+        return jde0 + 0.00001 * s / deltaLambda;
+    }
+
+    /** Mean event from the polynomials of table 27.B, valid for the years 1000 to 3000. */
+    static double meanJulianEphemerisDay(int year, EventType type) {
+        double y = (year - 2000) / 1000.0;
+        return switch (type) {
+            case SPRING_EQUINOX -> 2451623.80984 + 365242.37404 * y + 0.05169 * y * y - 0.00411 * y * y * y
+                    - 0.00057 * y * y * y * y;
+            case SUMMER_SOLSTICE -> 2451716.56767 + 365241.62603 * y + 0.00325 * y * y + 0.00888 * y * y * y
+                    - 0.00030 * y * y * y * y;
+            case AUTUMN_EQUINOX -> 2451810.21715 + 365242.01767 * y - 0.11575 * y * y + 0.00337 * y * y * y
+                    + 0.00078 * y * y * y * y;
+            case WINTER_SOLSTICE -> 2451900.05952 + 365242.74049 * y - 0.06223 * y * y - 0.00823 * y * y * y
+                    + 0.00032 * y * y * y * y;
+        };
+    }
+
+    /**
+     * Difference between dynamical time and UT in seconds, from the Espenak and Meeus polynomials used for NASA's
+     * eclipse predictions. Under two minutes for the 20th and 21st centuries.
+     */
+    static double deltaTSeconds(int year) {
+        double y = year + 0.5;
+        if (year >= 1900 && year < 1920) {
+            double t = y - 1900;
+            return -2.79 + 1.494119 * t - 0.0598939 * t * t + 0.0061966 * t * t * t - 0.000197 * t * t * t * t;
+        } else if (year >= 1920 && year < 1941) {
+            double t = y - 1920;
+            return 21.20 + 0.84493 * t - 0.076100 * t * t + 0.0020936 * t * t * t;
+        } else if (year >= 1941 && year < 1961) {
+            double t = y - 1950;
+            return 29.07 + 0.407 * t - t * t / 233 + t * t * t / 2547;
+        } else if (year >= 1961 && year < 1986) {
+            double t = y - 1975;
+            return 45.45 + 1.067 * t - t * t / 260 - t * t * t / 718;
+        } else if (year >= 1986 && year < 2005) {
+            double t = y - 2000;
+            return 63.86 + 0.3345 * t - 0.060374 * t * t + 0.0017275 * t * t * t + 0.000651814 * t * t * t * t
+                    + 0.00002373599 * t * t * t * t * t;
+        } else if (year >= 2005 && year < 2050) {
+            double t = y - 2000;
+            return 62.92 + 0.32217 * t + 0.005589 * t * t;
+        } else if (year >= 2050 && year < 2150) {
+            return -20 + 32 * Math.pow((y - 1820) / 100, 2) - 0.5628 * (2150 - y);
+        }
+        // Long-term parabola outside the fitted ranges
+        return -20 + 32 * Math.pow((y - 1820) / 100, 2);
+    }
+}
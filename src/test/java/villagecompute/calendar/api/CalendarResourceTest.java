@@ -364,6 +364,47 @@ class CalendarResourceTest {
                 .then().statusCode(200).contentType(ContentType.JSON);
     }
 
+    // ========== GET /api/calendar/almanac TESTS ==========
+
+    @Test
+    void testAlmanac_YearRangeWithSets() {
+        given().queryParam("fromYear", 2025).queryParam("toYear", 2035).queryParam("sets", "us,jewish").when()
+                .get("/api/calendar/almanac").then().statusCode(200).contentType(ContentType.JSON)
+                .header("ETag", notNullValue()).body("holidaySets", contains("US", "JEWISH"))
+                .body("years", hasSize(11)).body("years[0].year", is(2025)).body("years[10].year", is(2035))
+                .body("years[0].holidays.day", not(empty())).body("years[0].seasons.type", hasSize(4))
+                .body("years[0].sun", nullValue());
+    }
+
+    @Test
+    void testAlmanac_WithLocation_IncludesSunriseAndSunset() {
+        given().queryParam("fromYear", 2024).queryParam("lat", 44.4759).queryParam("lng", -73.2121).when()
+                .get("/api/calendar/almanac").then().statusCode(200).body("years", hasSize(1))
+                .body("years[0].sun.rise", hasSize(366)).body("years[0].sun.set", hasSize(366));
+    }
+
+    @Test
+    void testAlmanac_MatchingETag_NotModified() {
+        String etag = given().queryParam("fromYear", 2025).queryParam("toYear", 2026).queryParam("sets", "us").when()
+                .get("/api/calendar/almanac").then().statusCode(200).extract().header("ETag");
+
+        given().queryParam("fromYear", 2025).queryParam("toYear", 2026).queryParam("sets", "us")
+                .header("If-None-Match", etag).when().get("/api/calendar/almanac").then().statusCode(304)
+                .header("ETag", etag);
+    }
+
+    @Test
+    void testAlmanac_TooManyYears_BadRequest() {
+        given().queryParam("fromYear", 2000).queryParam("toYear", 2100).when().get("/api/calendar/almanac").then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testAlmanac_LatitudeWithoutLongitude_BadRequest() {
+        given().queryParam("fromYear", 2025).queryParam("lat", 44.4759).when().get("/api/calendar/almanac").then()
+                .statusCode(400);
+    }
+
     // ========== EDGE CASES ==========
 
     @Test
@@ -245,6 +245,34 @@ class OrderResourceTest {
                 .header(HEADER_CONTENT_DISPOSITION, containsString("-2027.pdf"));
     }
 
+    @Test
+    @DisplayName("PDF download sends an ETag and honours If-None-Match")
+    void testPdfDownload_IfNoneMatch_ReturnsNotModified() {
+        CalendarOrder order = QuarkusTransaction.requiringNew().call(() -> {
+            CalendarOrder newOrder = new CalendarOrder();
+            newOrder.user = null;
+            newOrder.subtotal = new BigDecimal("25.00");
+            newOrder.totalPrice = new BigDecimal("25.00");
+            newOrder.status = CalendarOrder.STATUS_PAID;
+            newOrder.orderNumber = "VC-ETAG-" + System.currentTimeMillis();
+            newOrder.customerEmail = "test@example.com";
+            newOrder.shippingAddress = objectMapper.createObjectNode();
+            newOrder.persist();
+
+            createOrderItemWithAsset(newOrder, createTestSvg(), 2025);
+
+            return newOrder;
+        });
+        String url = "/api/orders/" + order.orderNumber + "/items/" + order.items.get(0).id + "/pdf";
+
+        String etag = given().when().get(url).then().statusCode(200).contentType("application/pdf")
+                .header("ETag", notNullValue()).extract().header("ETag");
+
+        given().header("If-None-Match", etag).when().get(url).then().statusCode(304).header("ETag", etag);
+        given().header("If-None-Match", "\"stale\"").when().get(url).then().statusCode(200)
+                .contentType("application/pdf");
+    }
+
     @Test
     @DisplayName("PDF download with no SVG returns 400")
     void testPdfDownload_ItemWithNoSvg_ReturnsBadRequest() {
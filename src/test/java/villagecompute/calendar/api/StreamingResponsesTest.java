@@ -0,0 +1,73 @@
+package villagecompute.calendar.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.http.HttpServerResponse;
+
+/** Unit tests for StreamingResponses covering mid-stream failures of streamed bodies. */
+class StreamingResponsesTest {
+
+    private HttpServerResponse response;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() {
+        response = mock(HttpServerResponse.class);
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void testAbortOnFailure_Success_WritesBody() throws IOException {
+        StreamingOutput body = StreamingResponses.abortOnFailure(response, "test",
+                out -> out.write("<svg/>".getBytes(StandardCharsets.UTF_8)));
+
+        body.write(output);
+
+        assertEquals("<svg/>", output.toString(StandardCharsets.UTF_8));
+        verify(response, never()).reset();
+    }
+
+    @Test
+    void testAbortOnFailure_AfterResponseStarted_DropsConnection() {
+        when(response.headWritten()).thenReturn(true);
+        StreamingOutput body = StreamingResponses.abortOnFailure(response, "test", out -> {
+            out.write("<svg><g>".getBytes(StandardCharsets.UTF_8));
+            throw new IllegalStateException("Render failed in month 7");
+        });
+
+        assertThrows(IllegalStateException.class, () -> body.write(output));
+        verify(response).reset();
+    }
+
+    @Test
+    void testAbortOnFailure_BeforeResponseStarted_LeavesErrorToFramework() {
+        when(response.headWritten()).thenReturn(false);
+        StreamingOutput body = StreamingResponses.abortOnFailure(response, "test", out -> {
+            throw new IOException("Failed before the first flush");
+        });
+
+        assertThrows(IOException.class, () -> body.write(output));
+        verify(response, never()).reset();
+    }
+
+    @Test
+    void testAbortOnFailure_Error_DropsConnection() {
+        when(response.headWritten()).thenReturn(true);
+        StreamingOutput body = StreamingResponses.abortOnFailure(response, "test", out -> {
+            throw new OutOfMemoryError("Java heap space");
+        });
+
+        assertThrows(OutOfMemoryError.class, () -> body.write(output));
+        verify(response).reset();
+    }
+}
@@ -18,12 +18,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import villagecompute.calendar.data.models.UserMaze;
 import villagecompute.calendar.data.models.enums.MazeType;
-import villagecompute.calendar.services.MazeGenerationService;
+import villagecompute.calendar.services.MazePreviewCache;
 import villagecompute.calendar.services.MazeService;
 
 /**
  * Unit tests for MazeGraphQL. Tests all query and mutation methods with mocked dependencies. Verifies the GraphQL
- * resolver delegates correctly to MazeService and MazeGenerationService without exercising any database, security, or
+ * resolver delegates correctly to MazeService and MazePreviewCache without exercising any database, security, or
  * rendering side effects.
  */
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +36,7 @@ class MazeGraphQLTest {
     MazeService mazeService;
 
     @Mock
-    MazeGenerationService mazeGenerationService;
+    MazePreviewCache mazePreviewCache;
 
     private UserMaze sampleMaze;
     private UUID sampleId;
@@ -147,28 +147,28 @@ class MazeGraphQLTest {
         @Test
         void getMazePreview_DefaultParameters_ReturnsSvgString() {
             String svg = "<svg>preview</svg>";
-            when(mazeGenerationService.generatePreview(MazeType.ORTHOGONAL, 10, 3, false, false)).thenReturn(svg);
+            when(mazePreviewCache.getPreview(MazeType.ORTHOGONAL, 10, 3, false, false)).thenReturn(svg);
 
             String result = mazeGraphQL.getMazePreview(MazeType.ORTHOGONAL, 10, 3, false, false);
 
             assertEquals(svg, result);
-            verify(mazeGenerationService).generatePreview(MazeType.ORTHOGONAL, 10, 3, false, false);
+            verify(mazePreviewCache).getPreview(MazeType.ORTHOGONAL, 10, 3, false, false);
         }
 
         @Test
         void getMazePreview_CustomParameters_PassesAllArguments() {
             String svg = "<svg>delta</svg>";
-            when(mazeGenerationService.generatePreview(MazeType.DELTA, 15, 8, true, true)).thenReturn(svg);
+            when(mazePreviewCache.getPreview(MazeType.DELTA, 15, 8, true, true)).thenReturn(svg);
 
             String result = mazeGraphQL.getMazePreview(MazeType.DELTA, 15, 8, true, true);
 
             assertEquals(svg, result);
-            verify(mazeGenerationService).generatePreview(MazeType.DELTA, 15, 8, true, true);
+            verify(mazePreviewCache).getPreview(MazeType.DELTA, 15, 8, true, true);
         }
 
         @Test
         void getMazePreview_ServiceThrows_PropagatesException() {
-            when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+            when(mazePreviewCache.getPreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
                     .thenThrow(new IllegalArgumentException("Invalid maze parameters"));
 
             IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
@@ -1,10 +1,13 @@
 package villagecompute.calendar.api.graphql;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +15,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import villagecompute.calendar.data.models.CalendarUser;
+import villagecompute.calendar.data.models.PdfJob;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
 import villagecompute.calendar.services.AuthenticationService;
+import villagecompute.calendar.services.CalendarService;
+import villagecompute.calendar.services.DelayedJobService;
 
 /**
- * Unit tests for PdfGraphQL. Tests both stub query and mutation methods with mocked dependencies. PDF rendering and R2
- * storage are not exercised here because the implementation is a stub.
+ * Unit tests for PdfGraphQL with mocked dependencies. Covers argument validation and authorization, which happen before
+ * any job is persisted, and the mapping from PdfJob to its GraphQL type. Job creation and processing are covered by
+ * PdfGenerationJobHandlerTest.
  */
 @ExtendWith(MockitoExtension.class)
 class PdfGraphQLTest {
@@ -30,30 +40,48 @@ class PdfGraphQLTest {
     @Mock
     AuthenticationService authService;
 
-    @Nested
-    class PdfJobQueryTests {
-
-        @Test
-        void pdfJob_ValidUuid_ReturnsNullStub() {
-            String jobId = UUID.randomUUID().toString();
+    @Mock
+    CalendarService calendarService;
 
-            PdfGraphQL.PdfJobStub result = pdfGraphQL.pdfJob(jobId);
+    @Mock
+    DelayedJobService delayedJobService;
+
+    private CalendarUser owner;
+    private CalendarUser otherUser;
+    private UserCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        owner = new CalendarUser();
+        owner.id = UUID.randomUUID();
+        owner.isAdmin = false;
+
+        otherUser = new CalendarUser();
+        otherUser.id = UUID.randomUUID();
+        otherUser.isAdmin = false;
+
+        calendar = new UserCalendar();
+        calendar.id = UUID.randomUUID();
+        calendar.user = owner;
+        calendar.year = 2026;
+        calendar.isPublic = true;
+    }
 
-            assertNull(result, "Stub implementation must return null until PdfJob entity is wired up");
-        }
+    @Nested
+    class PdfJobQueryTests {
 
         @Test
-        void pdfJob_ArbitraryStringId_ReturnsNullStub() {
-            PdfGraphQL.PdfJobStub result = pdfGraphQL.pdfJob("not-a-uuid-but-still-handled");
+        void pdfJob_InvalidId_ThrowsIllegalArgument() {
+            when(authService.requireCurrentUser(jwt)).thenReturn(owner);
 
-            assertNull(result);
+            assertThrows(IllegalArgumentException.class, () -> pdfGraphQL.pdfJob("not-a-uuid"));
         }
 
         @Test
-        void pdfJob_EmptyStringId_ReturnsNullStub() {
-            PdfGraphQL.PdfJobStub result = pdfGraphQL.pdfJob("");
+        void pdfJob_Unauthenticated_Throws() {
+            when(authService.requireCurrentUser(jwt)).thenThrow(new SecurityException("Unauthorized"));
 
-            assertNull(result);
+            assertThrows(SecurityException.class, () -> pdfGraphQL.pdfJob(UUID.randomUUID().toString()));
         }
     }
 
@@ -61,98 +89,93 @@ class PdfGraphQLTest {
     class GeneratePdfMutationTests {
 
         @Test
-        void generatePdf_WithWatermark_ThrowsUnsupportedOperation() {
-            String calendarId = UUID.randomUUID().toString();
+        void generatePdf_InvalidCalendarId_ThrowsIllegalArgument() {
+            when(authService.requireCurrentUser(jwt)).thenReturn(owner);
 
-            UnsupportedOperationException ex = assertThrows(UnsupportedOperationException.class,
-                    () -> pdfGraphQL.generatePdf(calendarId, Boolean.TRUE));
-
-            assertNotNull(ex.getMessage());
-            assertTrue(ex.getMessage().contains("PDF generation not yet implemented"),
-                    "Stub error message should explain that PDF generation is not implemented");
+            assertThrows(IllegalArgumentException.class, () -> pdfGraphQL.generatePdf("not-a-uuid", Boolean.TRUE));
+            verifyNoInteractions(delayedJobService);
         }
 
         @Test
-        void generatePdf_WithoutWatermark_ThrowsUnsupportedOperation() {
-            String calendarId = UUID.randomUUID().toString();
-
-            UnsupportedOperationException ex = assertThrows(UnsupportedOperationException.class,
-                    () -> pdfGraphQL.generatePdf(calendarId, Boolean.FALSE));
-
-            assertTrue(ex.getMessage().contains("PDF rendering"),
-                    "Stub error message should reference the future PDF rendering job");
+        void generatePdf_CalendarNotAccessible_PropagatesSecurityException() {
+            when(authService.requireCurrentUser(jwt)).thenReturn(otherUser);
+            when(calendarService.getCalendar(calendar.id, otherUser))
+                    .thenThrow(new SecurityException("This calendar is private"));
+
+            assertThrows(SecurityException.class,
+                    () -> pdfGraphQL.generatePdf(calendar.id.toString(), Boolean.TRUE));
+            verifyNoInteractions(delayedJobService);
         }
 
         @Test
-        void generatePdf_EmptyCalendarId_StillThrowsUnsupportedOperation() {
-            // Until the stub is replaced, every invocation should fail fast with the same exception type.
-            assertThrows(UnsupportedOperationException.class, () -> pdfGraphQL.generatePdf("", Boolean.TRUE));
+        void generatePdf_WithoutWatermarkForOthersPublicCalendar_ThrowsSecurityException() {
+            when(authService.requireCurrentUser(jwt)).thenReturn(otherUser);
+            when(calendarService.getCalendar(calendar.id, otherUser)).thenReturn(calendar);
+
+            SecurityException ex = assertThrows(SecurityException.class,
+                    () -> pdfGraphQL.generatePdf(calendar.id.toString(), Boolean.FALSE));
+
+            assertTrue(ex.getMessage().contains("watermark"));
+            verifyNoInteractions(delayedJobService);
         }
     }
 
     @Nested
-    class PdfJobStubTests {
+    class PdfJobTypeTests {
 
         @Test
-        void pdfJobStub_FieldsAreAssignable() {
-            PdfGraphQL.PdfJobStub stub = new PdfGraphQL.PdfJobStub();
-            stub.id = UUID.randomUUID().toString();
-            stub.calendarId = UUID.randomUUID().toString();
-            stub.status = "PENDING";
-            stub.progress = 0;
-            stub.attempts = 0;
-            stub.includeWatermark = Boolean.FALSE;
-            stub.pdfUrl = null;
-            stub.errorMessage = null;
-            stub.createdAt = "2026-04-29T00:00:00Z";
-            stub.startedAt = null;
-            stub.completedAt = null;
-
-            assertEquals("PENDING", stub.status);
-            assertEquals(0, stub.progress);
-            assertEquals(0, stub.attempts);
-            assertFalse(stub.includeWatermark);
-            assertNull(stub.pdfUrl);
-            assertNull(stub.errorMessage);
-            assertEquals("2026-04-29T00:00:00Z", stub.createdAt);
-            assertNull(stub.startedAt);
-            assertNull(stub.completedAt);
+        void from_PendingJob_HasNoUrlOrProgress() {
+            PdfJob job = new PdfJob();
+            job.id = UUID.randomUUID();
+            job.calendar = calendar;
+            job.includeWatermark = true;
+            job.created = Instant.parse("2026-04-29T00:00:00Z");
+
+            PdfGraphQL.PdfJobType type = PdfGraphQL.PdfJobType.from(job);
+
+            assertEquals(job.id.toString(), type.id);
+            assertEquals(calendar.id.toString(), type.calendarId);
+            assertEquals("PENDING", type.status);
+            assertEquals(0, type.progress);
+            assertEquals(0, type.attempts);
+            assertTrue(type.includeWatermark);
+            assertNull(type.pdfUrl);
+            assertEquals("2026-04-29T00:00:00Z", type.createdAt);
+            assertNull(type.startedAt);
+            assertNull(type.completedAt);
         }
 
         @Test
-        void pdfJobStub_CompletedJob_HoldsUrl() {
-            PdfGraphQL.PdfJobStub stub = new PdfGraphQL.PdfJobStub();
-            stub.id = UUID.randomUUID().toString();
-            stub.calendarId = UUID.randomUUID().toString();
-            stub.status = "COMPLETED";
-            stub.progress = 100;
-            stub.attempts = 1;
-            stub.includeWatermark = Boolean.TRUE;
-            stub.pdfUrl = "https://r2.example/calendars/foo.pdf";
-            stub.completedAt = "2026-04-29T00:05:00Z";
-
-            assertEquals("COMPLETED", stub.status);
-            assertEquals(100, stub.progress);
-            assertTrue(stub.includeWatermark);
-            assertEquals("https://r2.example/calendars/foo.pdf", stub.pdfUrl);
+        void from_DoneJob_HoldsUrl() {
+            PdfJob job = new PdfJob();
+            job.id = UUID.randomUUID();
+            job.calendar = calendar;
+            job.markRunning();
+            job.markDone("https://r2.example/calendar-pdfs/foo.pdf");
+
+            PdfGraphQL.PdfJobType type = PdfGraphQL.PdfJobType.from(job);
+
+            assertEquals(PdfJobStatus.DONE.name(), type.status);
+            assertEquals(100, type.progress);
+            assertEquals(1, type.attempts);
+            assertEquals("https://r2.example/calendar-pdfs/foo.pdf", type.pdfUrl);
+            assertNotNull(type.startedAt);
+            assertNotNull(type.completedAt);
         }
 
         @Test
-        void pdfJobStub_FailedJob_HoldsErrorMessage() {
-            PdfGraphQL.PdfJobStub stub = new PdfGraphQL.PdfJobStub();
-            stub.id = UUID.randomUUID().toString();
-            stub.calendarId = UUID.randomUUID().toString();
-            stub.status = "FAILED";
-            stub.progress = 42;
-            stub.attempts = 3;
-            stub.includeWatermark = Boolean.FALSE;
-            stub.errorMessage = "Rendering failed";
-            stub.completedAt = "2026-04-29T00:05:00Z";
-
-            assertEquals("FAILED", stub.status);
-            assertEquals(3, stub.attempts);
-            assertEquals("Rendering failed", stub.errorMessage);
-            assertNull(stub.pdfUrl);
+        void from_FailedJob_HoldsErrorMessage() {
+            PdfJob job = new PdfJob();
+            job.id = UUID.randomUUID();
+            job.calendar = calendar;
+            job.markRunning();
+            job.markFailed("Rendering failed");
+
+            PdfGraphQL.PdfJobType type = PdfGraphQL.PdfJobType.from(job);
+
+            assertEquals("FAILED", type.status);
+            assertEquals("Rendering failed", type.errorMessage);
+            assertNull(type.pdfUrl);
         }
     }
 }
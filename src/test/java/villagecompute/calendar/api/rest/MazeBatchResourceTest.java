@@ -0,0 +1,77 @@
+package villagecompute.calendar.api.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+
+/** Tests for the POST /api/mazes/batch endpoints: streamed NDJSON pages, validation and access to both variants. */
+@QuarkusTest
+class MazeBatchResourceTest {
+
+    @Test
+    @TestSecurity(
+            user = "testuser",
+            roles = "USER")
+    void testGenerateBatch_StreamsOneLinePerSeed() {
+        String body = given().contentType(ContentType.JSON).body("{\"size\": 2, \"seeds\": [1, 2, 3]}").when()
+                .post("/api/mazes/batch").then().statusCode(200).contentType(containsString("application/x-ndjson"))
+                .extract().asString();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertTrue(line.contains("\"svg\":\"<svg"), line);
+        }
+    }
+
+    @Test
+    @TestSecurity(
+            user = "testuser",
+            roles = "USER")
+    void testGenerateBatch_NamedAndHexColors_Accepted() {
+        String body = given().contentType(ContentType.JSON)
+                .body("{\"size\": 2, \"seeds\": [1], \"showSolution\": true, \"innerWallColor\": \"navy\","
+                        + " \"pathColor\": \"#ABC\"}")
+                .when().post("/api/mazes/batch").then().statusCode(200).extract().asString();
+
+        assertTrue(body.contains("navy"), body);
+        assertTrue(body.contains("#ABC"), body);
+    }
+
+    @Test
+    @TestSecurity(
+            user = "testuser",
+            roles = "USER")
+    void testGenerateBatch_NoSeedsOrCount_Returns400() {
+        given().contentType(ContentType.JSON).body("{\"size\": 2}").when().post("/api/mazes/batch").then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestSecurity(
+            user = "testuser",
+            roles = "USER")
+    void testGenerateBatch_InvalidColor_Returns400() {
+        given().contentType(ContentType.JSON)
+                .body("{\"size\": 2, \"count\": 1, \"pathColor\": \"red\\\" onload=\\\"alert(1)\"}").when()
+                .post("/api/mazes/batch").then().statusCode(400).body(containsString("pathColor"));
+    }
+
+    @Test
+    void testGenerateBatch_Unauthenticated_Returns401() {
+        given().contentType(ContentType.JSON).body("{\"size\": 2, \"count\": 3}").when().post("/api/mazes/batch")
+                .then().statusCode(401);
+    }
+
+    @Test
+    void testGenerateBatchPdf_Unauthenticated_Returns401() {
+        given().contentType(ContentType.JSON).body("{\"size\": 2, \"count\": 3}").when().post("/api/mazes/batch/pdf")
+                .then().statusCode(401);
+    }
+}
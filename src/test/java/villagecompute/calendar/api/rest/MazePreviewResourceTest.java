@@ -0,0 +1,71 @@
+package villagecompute.calendar.api.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+/** Tests for the GET /api/mazes/preview endpoint, including conditional requests. */
+@QuarkusTest
+class MazePreviewResourceTest {
+
+    private static final String CONTENT_TYPE_SVG = "image/svg+xml";
+
+    @Test
+    void testPreview_DefaultParameters() {
+        given().when().get("/api/mazes/preview").then().statusCode(200).contentType(CONTENT_TYPE_SVG)
+                .header("ETag", notNullValue()).header("Cache-Control", containsString("max-age"))
+                .body(containsString("<svg"));
+    }
+
+    @Test
+    void testPreview_SameParameters_SameBodyAndETag() {
+        String etag = given().queryParam("type", "SIGMA").queryParam("size", 5).queryParam("showSolution", true)
+                .when().get("/api/mazes/preview").then().statusCode(200).extract().header("ETag");
+        String body = given().queryParam("type", "SIGMA").queryParam("size", 5).queryParam("showSolution", true)
+                .when().get("/api/mazes/preview").then().statusCode(200).extract().asString();
+
+        given().queryParam("type", "SIGMA").queryParam("size", 5).queryParam("showSolution", true).when()
+                .get("/api/mazes/preview").then().statusCode(200).header("ETag", etag).body(equalTo(body));
+    }
+
+    @Test
+    void testPreview_DifferentParameters_DifferentETag() {
+        String etag = given().queryParam("size", 5).when().get("/api/mazes/preview").then().extract().header("ETag");
+
+        given().queryParam("size", 6).when().get("/api/mazes/preview").then().statusCode(200)
+                .header("ETag", not(equalTo(etag)));
+    }
+
+    @Test
+    void testPreview_MatchingETag_NotModified() {
+        String etag = given().queryParam("size", 3).queryParam("difficulty", 2).when().get("/api/mazes/preview")
+                .then().statusCode(200).extract().header("ETag");
+
+        given().queryParam("size", 3).queryParam("difficulty", 2).header("If-None-Match", etag).when()
+                .get("/api/mazes/preview").then().statusCode(304).header("ETag", etag);
+    }
+
+    @Test
+    void testPreview_ClampedParameters_ShareETag() {
+        String etag = given().queryParam("size", 20).when().get("/api/mazes/preview").then().extract().header("ETag");
+
+        given().queryParam("size", 100).header("If-None-Match", etag).when().get("/api/mazes/preview").then()
+                .statusCode(304);
+    }
+
+    @Test
+    void testPreview_ETagIsHashOfBody() throws Exception {
+        var response = given().queryParam("type", "DELTA").queryParam("size", 4).when().get("/api/mazes/preview")
+                .then().statusCode(200).extract();
+
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(response.asByteArray());
+        assertEquals("\"" + HexFormat.of().formatHex(digest) + "\"", response.header("ETag"));
+    }
+}
@@ -118,6 +118,17 @@ class EnumsTest {
         assertTrue(OrderStatus.REFUNDED.ordinal() > OrderStatus.PAID.ordinal());
     }
 
+    // ========== PdfJobStatus Tests ==========
+
+    @Test
+    void testPdfJobStatus_HasExpectedValues() {
+        assertEquals(4, PdfJobStatus.values().length);
+        assertEquals(PdfJobStatus.PENDING, PdfJobStatus.valueOf("PENDING"));
+        assertEquals(PdfJobStatus.RUNNING, PdfJobStatus.valueOf("RUNNING"));
+        assertEquals(PdfJobStatus.DONE, PdfJobStatus.valueOf("DONE"));
+        assertEquals(PdfJobStatus.FAILED, PdfJobStatus.valueOf("FAILED"));
+    }
+
     // ========== ProductType Tests ==========
 
     @Test
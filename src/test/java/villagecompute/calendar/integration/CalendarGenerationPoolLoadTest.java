@@ -0,0 +1,142 @@
+package villagecompute.calendar.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.data.models.CalendarUser;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.services.CalendarGenerationService;
+import villagecompute.calendar.services.PDFRenderingService;
+import villagecompute.calendar.services.StorageService;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Load test for CalendarGenerationService's transaction boundaries. Runs several generations at once with the upload
+ * blocked, and checks the Agroal pool while they are all in flight: none of them may be holding a connection.
+ */
+@QuarkusTest
+class CalendarGenerationPoolLoadTest {
+
+    private static final Logger LOG = Logger.getLogger(CalendarGenerationPoolLoadTest.class);
+
+    private static final int CONCURRENT_GENERATIONS = 6;
+
+    @Inject
+    CalendarGenerationService calendarGenerationService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @InjectMock
+    PDFRenderingService pdfRenderingService;
+
+    @InjectMock
+    StorageService storageService;
+
+    private UUID userId;
+    private final List<UUID> calendarIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            CalendarUser user = new CalendarUser();
+            user.oauthProvider = "GOOGLE";
+            user.oauthSubject = "pool-load-test-" + System.nanoTime();
+            user.email = "pool-load-test-" + System.nanoTime() + "@example.com";
+            user.persist();
+            userId = user.id;
+
+            for (int i = 0; i < CONCURRENT_GENERATIONS; i++) {
+                UserCalendar calendar = new UserCalendar();
+                calendar.user = user;
+                calendar.name = "Pool Load Test " + i;
+                calendar.year = 2025;
+                calendar.persist();
+                calendarIds.add(calendar.id);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            UserCalendar.delete("user.id", userId);
+            CalendarUser.deleteById(userId);
+        });
+    }
+
+    @Test
+    void testConcurrentGenerations_HoldNoConnectionsWhileUploading() throws Exception {
+        CountDownLatch uploading = new CountDownLatch(CONCURRENT_GENERATIONS);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(new byte[]{1, 2, 3});
+        when(storageService.uploadFile(anyString(), any(byte[].class), anyString())).thenAnswer(invocation -> {
+            uploading.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return "https://r2.example.com/calendar-pdfs/" + invocation.getArgument(0, String.class);
+        });
+
+        AgroalDataSourceMetrics metrics = dataSource.getMetrics();
+        metrics.reset();
+
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_GENERATIONS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (UUID calendarId : calendarIds) {
+                UserCalendar calendar = QuarkusTransaction.requiringNew().call(() -> UserCalendar.findById(calendarId));
+                results.add(callers.submit(() -> calendarGenerationService.generateCalendar(calendar)));
+            }
+
+            // Every generation is now inside the upload, the slow step that used to hold a connection
+            assertTrue(uploading.await(30, TimeUnit.SECONDS), "All generations should reach the upload");
+            long activeDuringUpload = metrics.activeCount();
+            long awaitingDuringUpload = metrics.awaitingCount();
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertNotNull(result.get(30, TimeUnit.SECONDS));
+            }
+
+            LOG.infof("%d concurrent generations: %d connections active during upload, %d max used, %d max pool size",
+                    CONCURRENT_GENERATIONS, activeDuringUpload, metrics.maxUsedCount(),
+                    dataSource.getConfiguration().connectionPoolConfiguration().maxSize());
+            assertEquals(0, activeDuringUpload, "Uploads must not hold a pooled connection");
+            assertEquals(0, awaitingDuringUpload, "No generation should be waiting for a connection");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (UUID calendarId : calendarIds) {
+                UserCalendar calendar = UserCalendar.findById(calendarId);
+                assertNotNull(calendar.generatedPdfUrl, "Each generation should store its PDF URL");
+                assertNotNull(calendar.generatedSvg);
+            }
+        });
+    }
+}
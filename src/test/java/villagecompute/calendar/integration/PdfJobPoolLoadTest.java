@@ -0,0 +1,168 @@
+package villagecompute.calendar.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.data.models.CalendarUser;
+import villagecompute.calendar.data.models.DelayedJob;
+import villagecompute.calendar.data.models.PdfJob;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
+import villagecompute.calendar.services.DelayedJobService;
+import villagecompute.calendar.services.PDFRenderingService;
+import villagecompute.calendar.services.StorageService;
+import villagecompute.calendar.services.jobs.PdfGenerationJobHandler;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Load test for the transaction boundaries of PDF jobs. Runs several jobs through DelayedJobService at once with the
+ * upload blocked, and checks the Agroal pool while they are all in flight: none of them may be holding a connection.
+ */
+@QuarkusTest
+class PdfJobPoolLoadTest {
+
+    private static final Logger LOG = Logger.getLogger(PdfJobPoolLoadTest.class);
+
+    private static final int CONCURRENT_JOBS = 6;
+
+    @Inject
+    DelayedJobService delayedJobService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @InjectMock
+    PDFRenderingService pdfRenderingService;
+
+    @InjectMock
+    StorageService storageService;
+
+    private UUID userId;
+    private UUID calendarId;
+    private final List<UUID> pdfJobIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            CalendarUser user = new CalendarUser();
+            user.oauthProvider = "GOOGLE";
+            user.oauthSubject = "pdf-pool-load-test-" + System.nanoTime();
+            user.email = "pdf-pool-load-test-" + System.nanoTime() + "@example.com";
+            user.persist();
+            userId = user.id;
+
+            UserCalendar calendar = new UserCalendar();
+            calendar.user = user;
+            calendar.name = "PDF Pool Load Test";
+            calendar.year = 2025;
+            calendar.persist();
+            calendarId = calendar.id;
+
+            for (int i = 0; i < CONCURRENT_JOBS; i++) {
+                pdfJobIds.add(PdfJob.create(calendar, user, false).id);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (UUID pdfJobId : pdfJobIds) {
+                DelayedJob.delete("actorId", pdfJobId.toString());
+            }
+            PdfJob.delete("calendar.id", calendarId);
+            UserCalendar.deleteById(calendarId);
+            CalendarUser.deleteById(userId);
+        });
+    }
+
+    @Test
+    void testConcurrentPdfJobs_HoldNoConnectionsWhileUploading() throws Exception {
+        CountDownLatch uploading = new CountDownLatch(CONCURRENT_JOBS);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(new byte[]{1, 2, 3});
+        when(storageService.uploadFile(anyString(), any(byte[].class), anyString())).thenAnswer(invocation -> {
+            uploading.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return "https://r2.example.com/calendar-pdfs/" + invocation.getArgument(0, String.class);
+        });
+
+        List<UUID> delayedJobIds = new ArrayList<>();
+        for (UUID pdfJobId : pdfJobIds) {
+            delayedJobIds.add(delayedJobService.enqueue(PdfGenerationJobHandler.class, pdfJobId.toString()).id);
+        }
+
+        AgroalDataSourceMetrics metrics = dataSource.getMetrics();
+        metrics.reset();
+
+        // The event bus may pick a job up first; whichever caller locks it runs it
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENT_JOBS);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (UUID delayedJobId : delayedJobIds) {
+                runs.add(callers.submit(() -> delayedJobService.handleDelayedJobRun(delayedJobId.toString())));
+            }
+
+            // Every job is now inside the upload, after rendering
+            assertTrue(uploading.await(30, TimeUnit.SECONDS), "All jobs should reach the upload");
+            long activeDuringUpload = metrics.activeCount();
+            long awaitingDuringUpload = metrics.awaitingCount();
+            release.countDown();
+
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+
+            LOG.infof("%d concurrent PDF jobs: %d connections active during upload, %d max used, %d max pool size",
+                    CONCURRENT_JOBS, activeDuringUpload, metrics.maxUsedCount(),
+                    dataSource.getConfiguration().connectionPoolConfiguration().maxSize());
+            assertEquals(0, activeDuringUpload, "PDF jobs must not hold a pooled connection while uploading");
+            assertEquals(0, awaitingDuringUpload, "No PDF job should be waiting for a connection");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+
+        for (UUID pdfJobId : pdfJobIds) {
+            assertEquals(PdfJobStatus.DONE, awaitStatus(pdfJobId, PdfJobStatus.DONE));
+        }
+    }
+
+    /** Poll a PDF job until it has the given status, since a run started by the event bus may still be finishing. */
+    private PdfJobStatus awaitStatus(UUID pdfJobId, PdfJobStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        PdfJobStatus status;
+        do {
+            status = QuarkusTransaction.requiringNew().call(() -> PdfJob.<PdfJob>findById(pdfJobId).status);
+            if (status == expected) {
+                return status;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        return status;
+    }
+}
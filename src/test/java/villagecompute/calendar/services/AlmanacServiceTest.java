@@ -0,0 +1,171 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.services.AlmanacService.Almanac;
+import villagecompute.calendar.services.AlmanacService.AlmanacQuery;
+import villagecompute.calendar.services.AlmanacService.AlmanacYear;
+import villagecompute.calendar.types.HolidayType;
+
+/**
+ * Unit tests for AlmanacService. Checks query validation, that the columnar payload holds the same data as the
+ * per-year services, and that the ETag only depends on the normalized query.
+ */
+class AlmanacServiceTest {
+
+    private HolidayService holidayService;
+    private AstronomicalCalculationService astronomicalService;
+    private AlmanacService service;
+
+    @BeforeEach
+    void setUp() {
+        holidayService = new HolidayService();
+        astronomicalService = new AstronomicalCalculationService();
+        service = new AlmanacService();
+        service.holidayService = holidayService;
+        service.astronomicalService = astronomicalService;
+        service.parallelism = 4;
+        service.buildInfo = BuildInfo.of("test");
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    // ========== QUERY TESTS ==========
+
+    @Test
+    void testQuery_NormalizesSets() {
+        AlmanacQuery query = service.query(2025, 2027, List.of("us,hebrew", "jewish", "unknown", "wiccan"), null,
+                null);
+
+        assertEquals(List.of("US", "JEWISH", "PAGAN"), query.holidaySets());
+        assertEquals(2025, query.fromYear());
+        assertEquals(2027, query.toYear());
+    }
+
+    @Test
+    void testQuery_DefaultsToCurrentYear() {
+        AlmanacQuery query = service.query(null, null, null, null, null);
+
+        int currentYear = LocalDate.now().getYear();
+        assertEquals(currentYear, query.fromYear());
+        assertEquals(currentYear, query.toYear());
+        assertTrue(query.holidaySets().isEmpty());
+    }
+
+    @Test
+    void testQuery_InvalidRanges_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.query(2030, 2025, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.query(2025, 2025 + AlmanacService.MAX_YEARS,
+                null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.query(1800, 1801, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.query(2025, 2025, null, 44.0, null));
+        assertThrows(IllegalArgumentException.class, () -> service.query(2025, 2025, null, 91.0, 0.0));
+    }
+
+    // ========== ETAG TESTS ==========
+
+    @Test
+    void testEtag_DependsOnNormalizedQuery() {
+        String etag = service.etag(service.query(2025, 2026, List.of("us", "jewish"), null, null));
+
+        assertEquals(etag, service.etag(service.query(2025, 2026, List.of("US,hebrew"), null, null)));
+        assertNotEquals(etag, service.etag(service.query(2025, 2027, List.of("us", "jewish"), null, null)));
+        assertNotEquals(etag, service.etag(service.query(2025, 2026, List.of("jewish", "us"), null, null)));
+        assertNotEquals(etag, service.etag(service.query(2025, 2026, List.of("us", "jewish"), 44.5, -73.2)));
+        assertTrue(etag.matches("[0-9a-f]{64}"), etag);
+    }
+
+    @Test
+    void testEtag_ChangesWithBuild() {
+        AlmanacQuery query = service.query(2025, 2025, List.of("us"), null, null);
+        String etag = service.etag(query);
+
+        service.buildInfo = BuildInfo.of("next");
+
+        assertNotEquals(etag, service.etag(query));
+    }
+
+    // ========== PAYLOAD TESTS ==========
+
+    @Test
+    void testGetAlmanac_MatchesPerYearData() {
+        Almanac almanac = service.getAlmanac(service.query(2024, 2035, List.of("us", "jewish"), null, null));
+
+        assertEquals(12, almanac.years.size());
+        assertEquals(List.of("US", "JEWISH"), almanac.holidaySets);
+        for (int i = 0; i < almanac.years.size(); i++) {
+            AlmanacYear year = almanac.years.get(i);
+            assertEquals(2024 + i, year.year, "Years are in ascending order");
+            assertNull(year.sun, "No sunrise or sunset without a location");
+
+            int rows = 0;
+            for (int set = 0; set < almanac.holidaySets.size(); set++) {
+                Map<LocalDate, HolidayType> expected = holidayService.getHolidays(year.year,
+                        almanac.holidaySets.get(set));
+                for (Map.Entry<LocalDate, HolidayType> entry : expected.entrySet()) {
+                    if (entry.getKey().getYear() != year.year) {
+                        continue;
+                    }
+                    rows++;
+                    int row = findRow(year, entry.getKey().getDayOfYear(), set);
+                    assertTrue(row >= 0, "Missing " + entry.getValue().name + " on " + entry.getKey());
+                    assertEquals(entry.getValue().name, year.holidays.name[row]);
+                    assertEquals(entry.getValue().emoji, year.holidays.emoji[row]);
+                }
+            }
+            assertEquals(rows, year.holidays.day.length);
+
+            List<AstronomicalCalculationService.SeasonalEvent> seasons = astronomicalService
+                    .calculateSeasonalEvents(year.year);
+            assertEquals(seasons.size(), year.seasons.day.length);
+            assertEquals(seasons.get(0).date.getDayOfYear(), year.seasons.day[0]);
+            assertEquals(seasons.get(0).type.name(), year.seasons.type[0]);
+
+            assertEquals(astronomicalService.getMoonPhases(year.year).size(), year.moonPhases.day.length);
+        }
+    }
+
+    @Test
+    void testGetAlmanac_HolidaysSortedByDay() {
+        AlmanacYear year = service.getAlmanac(service.query(2025, 2025, List.of("us", "christian"), null, null)).years
+                .get(0);
+
+        for (int row = 1; row < year.holidays.day.length; row++) {
+            assertTrue(year.holidays.day[row - 1] <= year.holidays.day[row]);
+        }
+    }
+
+    @Test
+    void testGetAlmanac_SunriseAndSunsetForEveryDay() {
+        AlmanacYear year = service.getAlmanac(service.query(2024, 2024, null, 44.4759, -73.2121)).years.get(0);
+
+        assertEquals(366, year.sun.rise.length);
+        assertEquals(366, year.sun.set.length);
+        AstronomicalCalculationService.SunriseSunset july4 = astronomicalService
+                .getSunriseSunset(LocalDate.of(2024, 7, 4), 44.4759, -73.2121);
+        int index = LocalDate.of(2024, 7, 4).getDayOfYear() - 1;
+        assertEquals(july4.sunrise, year.sun.rise[index]);
+        assertEquals(july4.sunset, year.sun.set[index]);
+    }
+
+    private static int findRow(AlmanacYear year, int day, int set) {
+        for (int row = 0; row < year.holidays.day.length; row++) {
+            if (year.holidays.day[row] == day && year.holidays.set[row] == set) {
+                return row;
+            }
+        }
+        return -1;
+    }
+}
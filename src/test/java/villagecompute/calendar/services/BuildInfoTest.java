@@ -0,0 +1,63 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for BuildInfo covering the configured id and the code fingerprint. */
+class BuildInfoTest {
+
+    private static BuildInfo create(Optional<String> configuredId) {
+        BuildInfo buildInfo = new BuildInfo();
+        buildInfo.configuredId = configuredId;
+        buildInfo.applicationVersion = "1.0-SNAPSHOT";
+        buildInfo.init();
+        return buildInfo;
+    }
+
+    @Test
+    void testId_ConfiguredIdWins() {
+        assertEquals("abc123", create(Optional.of(" abc123 ")).id());
+    }
+
+    @Test
+    void testId_DefaultsToVersionAndFingerprint() {
+        String id = create(Optional.empty()).id();
+
+        assertTrue(id.matches("1\\.0-SNAPSHOT\\+[0-9a-f]{64}"), id);
+        assertEquals(id, create(Optional.of(" ")).id(), "The fingerprint should be stable");
+    }
+
+    @Test
+    void testFingerprint_ChangesWithAnyFile(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("villagecompute"));
+        Files.writeString(tempDir.resolve("villagecompute/Renderer.class"), "v1");
+        Files.writeString(tempDir.resolve("emoji-svg.pack"), "pack");
+        String original = BuildInfo.fingerprint(tempDir);
+
+        assertEquals(original, BuildInfo.fingerprint(tempDir));
+
+        Files.writeString(tempDir.resolve("villagecompute/Renderer.class"), "v2");
+        String changed = BuildInfo.fingerprint(tempDir);
+        assertNotEquals(original, changed);
+
+        Files.writeString(tempDir.resolve("villagecompute/Extra.class"), "");
+        assertNotEquals(changed, BuildInfo.fingerprint(tempDir));
+    }
+
+    @Test
+    void testFingerprint_OfJarFile(@TempDir Path tempDir) throws Exception {
+        Path jar = tempDir.resolve("app.jar");
+        Files.write(jar, new byte[]{1, 2, 3});
+        String original = BuildInfo.fingerprint(jar);
+
+        Files.write(jar, new byte[]{1, 2, 4});
+
+        assertNotEquals(original, BuildInfo.fingerprint(jar));
+    }
+}
@@ -4,12 +4,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.OptimisticLockException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,6 +25,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import villagecompute.calendar.data.models.CalendarTemplate;
 import villagecompute.calendar.data.models.CalendarUser;
 import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.repositories.UserCalendarRepository;
 import villagecompute.calendar.services.exceptions.CalendarGenerationException;
 import villagecompute.calendar.services.exceptions.StorageException;
 import villagecompute.calendar.types.CalendarConfigType;
@@ -46,6 +51,9 @@ class CalendarGenerationServiceTest {
     @Mock
     AstronomicalCalculationService astronomicalService;
 
+    @Mock
+    UserCalendarRepository userCalendarRepository;
+
     ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     private UserCalendar testUserCalendar;
@@ -78,6 +86,11 @@ class CalendarGenerationServiceTest {
         testUserCalendar.name = "Test Calendar";
         testUserCalendar.template = testTemplate;
         testUserCalendar.configuration = createUserConfiguration();
+        testUserCalendar.version = 1L;
+
+        // Generation reloads the calendar by ID in its own short transactions
+        lenient().when(userCalendarRepository.findCalendarById(testUserCalendar.id))
+                .thenReturn(Optional.of(testUserCalendar));
     }
 
     private JsonNode createTestConfiguration() {
@@ -755,4 +768,49 @@ class CalendarGenerationServiceTest {
         assertTrue(capturedConfig.holidaySets.isEmpty(), "User's empty holidaySets should override template");
         assertTrue(capturedConfig.holidays.isEmpty(), "User's empty holidays should override template");
     }
+
+    // ========== TRANSACTION BOUNDARY TESTS ==========
+
+    @Test
+    void testGenerateCalendar_RendersAndUploadsBetweenLoadAndSave() {
+        when(calendarRenderingService.generateCalendarSVG(any())).thenReturn("<svg>test</svg>");
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(new byte[]{1, 2, 3});
+        when(storageService.uploadFile(anyString(), any(byte[].class), anyString())).thenReturn("https://r2/test.pdf");
+
+        calendarGenerationService.generateCalendar(testUserCalendar);
+
+        InOrder inOrder = inOrder(userCalendarRepository, pdfRenderingService, storageService);
+        inOrder.verify(userCalendarRepository).findCalendarById(testUserCalendar.id);
+        inOrder.verify(pdfRenderingService).renderSVGToPDF(anyString(), anyInt());
+        inOrder.verify(storageService).uploadFile(anyString(), any(byte[].class), anyString());
+        inOrder.verify(userCalendarRepository).findCalendarById(testUserCalendar.id);
+    }
+
+    @Test
+    void testGenerateCalendar_CalendarModifiedDuringRender_DiscardsUpload() {
+        String mockPublicUrl = "https://r2.villagecompute.com/calendar-pdfs/test.pdf";
+        when(calendarRenderingService.generateCalendarSVG(any())).thenReturn("<svg>test</svg>");
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenAnswer(invocation -> {
+            // Simulate the user saving a configuration change while the PDF renders
+            testUserCalendar.version = 2L;
+            return new byte[]{1, 2, 3};
+        });
+        when(storageService.uploadFile(anyString(), any(byte[].class), anyString())).thenReturn(mockPublicUrl);
+
+        assertThrows(OptimisticLockException.class, () -> calendarGenerationService.generateCalendar(testUserCalendar));
+
+        verify(storageService).deleteFile(mockPublicUrl);
+        assertNull(testUserCalendar.generatedPdfUrl);
+        assertNull(testUserCalendar.generatedSvg);
+    }
+
+    @Test
+    void testGenerateCalendar_CalendarNotFound_ThrowsGenerationException() {
+        when(userCalendarRepository.findCalendarById(testUserCalendar.id)).thenReturn(Optional.empty());
+
+        assertThrows(CalendarGenerationException.class,
+                () -> calendarGenerationService.generateCalendar(testUserCalendar));
+
+        verifyNoInteractions(pdfRenderingService, storageService);
+    }
 }
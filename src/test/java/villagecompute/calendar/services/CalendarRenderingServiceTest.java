@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import villagecompute.calendar.types.CalendarConfigType;
 import villagecompute.calendar.types.CustomDateEntryType;
 import villagecompute.calendar.types.DisplaySettingsType;
+import villagecompute.calendar.types.HolidayType;
 
 import io.quarkus.test.junit.QuarkusTest;
 
@@ -452,6 +453,22 @@ class CalendarRenderingServiceTest {
         assertTrue(svg.contains(SVG_OPEN_TAG));
     }
 
+    @Test
+    void testGenerateCalendarSVG_HolidaySetsDoNotModifyConfig() {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = TEST_YEAR;
+        config.eventDisplayMode = "text";
+        config.holidaySets.add("us-federal");
+        config.holidays.put(LocalDate.of(TEST_YEAR, 3, 14), new HolidayType("Pi Day", null));
+
+        String svg = calendarRenderingService.generateCalendarSVG(config);
+
+        assertTrue(svg.contains("Pi Day"), "Config holidays are drawn");
+        assertTrue(svg.contains("Independence Day"), "Holiday set holidays are drawn");
+        assertEquals(1, config.holidays.size(), "Rendering leaves the config's holidays untouched");
+        assertEquals(svg, calendarRenderingService.generateCalendarSVG(config));
+    }
+
     @Test
     void testGenerateCalendarSVG_WithCustomDates() {
         CalendarConfigType config = new CalendarConfigType();
@@ -0,0 +1,224 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.types.CustomDateEntryType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Unit tests for CalendarSvgCache covering key canonicalization, LRU eviction, the disk tier and metrics. */
+class CalendarSvgCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CalendarSvgCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = createCache(64, Optional.empty());
+    }
+
+    private CalendarSvgCache createCache(long maxSizeMb, Optional<String> diskDir) {
+        CalendarSvgCache svgCache = new CalendarSvgCache();
+        svgCache.objectMapper = new ObjectMapper().findAndRegisterModules();
+        svgCache.meterRegistry = meterRegistry;
+        svgCache.enabled = true;
+        svgCache.maxSizeMb = maxSizeMb;
+        svgCache.diskDir = diskDir;
+        svgCache.buildInfo = BuildInfo.of("test");
+        svgCache.init();
+        return svgCache;
+    }
+
+    private CalendarConfigType createConfig() {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2025;
+        config.theme = "default";
+        return config;
+    }
+
+    private double counter(String name, String result) {
+        var search = meterRegistry.find(name).tag("cache", CalendarSvgCache.CACHE_NAME);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        return search.counter().count();
+    }
+
+    // ========== KEY TESTS ==========
+
+    @Test
+    void testKeyFor_EqualConfigs_SameKey() {
+        assertEquals(cache.keyFor(createConfig()), cache.keyFor(createConfig()));
+    }
+
+    @Test
+    void testKeyFor_DifferentYear_DifferentKey() {
+        CalendarConfigType other = createConfig();
+        other.year = 2026;
+
+        assertNotEquals(cache.keyFor(createConfig()), cache.keyFor(other));
+    }
+
+    @Test
+    void testKeyFor_DifferentCustomDates_DifferentKey() {
+        CalendarConfigType other = createConfig();
+        other.customDates.put(LocalDate.of(2025, 3, 14), new CustomDateEntryType("🥧", "Pi Day"));
+
+        assertNotEquals(cache.keyFor(createConfig()), cache.keyFor(other));
+    }
+
+    @Test
+    void testKeyFor_MapInsertionOrder_DoesNotChangeKey() {
+        Map<LocalDate, CustomDateEntryType> forward = new LinkedHashMap<>();
+        forward.put(LocalDate.of(2025, 1, 1), new CustomDateEntryType("🎉"));
+        forward.put(LocalDate.of(2025, 12, 25), new CustomDateEntryType("🎄"));
+
+        Map<LocalDate, CustomDateEntryType> reversed = new LinkedHashMap<>();
+        reversed.put(LocalDate.of(2025, 12, 25), new CustomDateEntryType("🎄"));
+        reversed.put(LocalDate.of(2025, 1, 1), new CustomDateEntryType("🎉"));
+
+        CalendarConfigType first = createConfig();
+        first.customDates = forward;
+        CalendarConfigType second = createConfig();
+        second.customDates = reversed;
+
+        assertEquals(cache.keyFor(first), cache.keyFor(second));
+    }
+
+    @Test
+    void testKeyFor_DifferentBuild_DifferentKey() {
+        CalendarConfigType config = createConfig();
+        String key = cache.keyFor(config);
+
+        cache.buildInfo = BuildInfo.of("next");
+
+        assertNotEquals(key, cache.keyFor(config));
+    }
+
+    @Test
+    void testKeyFor_EmojiSymbolsFlag_DifferentKey() {
+        CalendarConfigType config = createConfig();
+        String key = cache.keyFor(config);
+
+        cache.emojiSymbols = true;
+
+        assertNotEquals(key, cache.keyFor(config));
+    }
+
+    // ========== CACHE BEHAVIOR TESTS ==========
+
+    @Test
+    void testGetOrRender_SecondCall_ServedFromCache() {
+        AtomicInteger renders = new AtomicInteger();
+
+        String first = cache.getOrRender(createConfig(), () -> "<svg>" + renders.incrementAndGet() + "</svg>");
+        String second = cache.getOrRender(createConfig(), () -> "<svg>" + renders.incrementAndGet() + "</svg>");
+
+        assertEquals(1, renders.get());
+        assertSame(first, second);
+        assertEquals(1.0, counter("cache.gets", "hit"));
+        assertEquals(1.0, counter("cache.gets", "miss"));
+    }
+
+    @Test
+    void testGetOrRender_Disabled_AlwaysRenders() {
+        cache.enabled = false;
+        AtomicInteger renders = new AtomicInteger();
+
+        cache.getOrRender(createConfig(), () -> "<svg/>" + renders.incrementAndGet());
+        cache.getOrRender(createConfig(), () -> "<svg/>" + renders.incrementAndGet());
+
+        assertEquals(2, renders.get());
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    void testGetOrRender_OverBudget_EvictsLeastRecentlyUsed() {
+        // 1 MB budget; each entry is just under a quarter of it so four fit
+        cache = createCache(1, Optional.empty());
+        String body = "x".repeat(250 * 1024);
+
+        CalendarConfigType[] configs = new CalendarConfigType[5];
+        for (int i = 0; i < configs.length; i++) {
+            configs[i] = createConfig();
+            configs[i].year = 2020 + i;
+            int year = configs[i].year;
+            cache.getOrRender(configs[i], () -> year + body);
+        }
+
+        assertEquals(4, cache.entryCount());
+        assertTrue(cache.weight() <= 1024 * 1024);
+        assertEquals(1.0, counter("cache.evictions", null));
+
+        // The first config was evicted and must be rendered again
+        AtomicInteger renders = new AtomicInteger();
+        cache.getOrRender(configs[0], () -> {
+            renders.incrementAndGet();
+            return "2020" + body;
+        });
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testGetOrRender_OversizedSvg_NotKeptInMemory() {
+        cache = createCache(1, Optional.empty());
+
+        cache.getOrRender(createConfig(), () -> "x".repeat(512 * 1024));
+
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    void testGetOrRender_DiskTier_SurvivesMemoryClear(@TempDir Path tempDir) throws Exception {
+        cache = createCache(64, Optional.of(tempDir.toString()));
+        CalendarConfigType config = createConfig();
+
+        cache.getOrRender(config, () -> "<svg>disk</svg>");
+        assertTrue(Files.exists(tempDir.resolve(cache.keyFor(config) + ".svg")));
+
+        cache.clear();
+        String fromDisk = cache.getOrRender(config, () -> fail("Should be served from the disk tier"));
+
+        assertEquals("<svg>disk</svg>", fromDisk);
+        assertEquals(1, cache.entryCount());
+        assertEquals(1.0, counter("cache.disk.hits", null));
+    }
+
+    @Test
+    void testGetOrRender_DiskTier_IgnoresRendersOfOtherBuilds(@TempDir Path tempDir) {
+        cache = createCache(64, Optional.of(tempDir.toString()));
+        cache.getOrRender(createConfig(), () -> "<svg>old renderer</svg>");
+
+        // A new deploy sharing the disk directory must render again rather than serve the old SVG
+        CalendarSvgCache redeployed = createCache(64, Optional.of(tempDir.toString()));
+        redeployed.buildInfo = BuildInfo.of("next");
+        String svg = redeployed.getOrRender(createConfig(), () -> "<svg>new renderer</svg>");
+
+        assertEquals("<svg>new renderer</svg>", svg);
+    }
+
+    @Test
+    void testGauges_ReportSizeAndWeight() {
+        cache.getOrRender(createConfig(), () -> "<svg></svg>");
+
+        assertEquals(1.0, meterRegistry.find("cache.size").tag("cache", CalendarSvgCache.CACHE_NAME).gauge().value());
+        assertEquals(11.0,
+                meterRegistry.find("cache.weight").tag("cache", CalendarSvgCache.CACHE_NAME).gauge().value());
+    }
+}
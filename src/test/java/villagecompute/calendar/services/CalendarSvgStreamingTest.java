@@ -0,0 +1,122 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.types.CustomDateEntryType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Verifies that streaming a calendar SVG writes the same document as rendering it to a String. */
+class CalendarSvgStreamingTest {
+
+    private static EmojiSvgService emojiSvgService;
+    private static HolidayService holidayService;
+
+    @BeforeAll
+    static void setUp() {
+        emojiSvgService = new EmojiSvgService();
+        emojiSvgService.init();
+        holidayService = new HolidayService();
+    }
+
+    private static CalendarRenderingService createRenderer(CalendarSvgCache svgCache) {
+        CalendarRenderingService renderer = new CalendarRenderingService();
+        renderer.holidayService = holidayService;
+        renderer.emojiSvgService = emojiSvgService;
+        renderer.svgCache = svgCache;
+        return renderer;
+    }
+
+    private static CalendarSvgCache createEnabledCache() {
+        CalendarSvgCache svgCache = new CalendarSvgCache();
+        svgCache.objectMapper = new ObjectMapper().findAndRegisterModules();
+        svgCache.meterRegistry = new SimpleMeterRegistry();
+        svgCache.enabled = true;
+        svgCache.maxSizeMb = 64;
+        svgCache.diskDir = Optional.empty();
+        svgCache.buildInfo = BuildInfo.of("test");
+        svgCache.init();
+        return svgCache;
+    }
+
+    private static CalendarConfigType createConfig(String layoutStyle) {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2025;
+        config.layoutStyle = layoutStyle;
+        config.holidaySets = List.of("us");
+        config.customDates.put(LocalDate.of(2025, 3, 14), new CustomDateEntryType("🎂", "Birthday"));
+        return config;
+    }
+
+    /** Counts flushes so the test can tell the output went out in pieces. */
+    private static class FlushCountingStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        String text() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"grid", "weekday-grid"})
+    void testWriteCalendarSVG_MatchesGeneratedSvg(String layoutStyle) throws IOException {
+        CalendarRenderingService renderer = createRenderer(new CalendarSvgCache());
+        String expected = renderer.generateCalendarSVG(createConfig(layoutStyle));
+
+        FlushCountingStream out = new FlushCountingStream();
+        renderer.writeCalendarSVG(createConfig(layoutStyle), out);
+
+        assertEquals(expected, out.text());
+        assertTrue(out.flushes >= 12, "Each month row should be flushed as it is rendered");
+    }
+
+    @Test
+    void testWriteCalendarSVG_PopulatesAndServesCache() throws IOException {
+        CalendarSvgCache svgCache = createEnabledCache();
+        CalendarRenderingService renderer = createRenderer(svgCache);
+
+        FlushCountingStream first = new FlushCountingStream();
+        renderer.writeCalendarSVG(createConfig("grid"), first);
+        assertEquals(1, svgCache.entryCount(), "A streamed render should be cached once complete");
+
+        FlushCountingStream second = new FlushCountingStream();
+        renderer.writeCalendarSVG(createConfig("grid"), second);
+
+        assertEquals(first.text(), second.text());
+        assertEquals(first.text(), renderer.generateCalendarSVG(createConfig("grid")));
+        assertEquals(1, svgCache.entryCount());
+    }
+
+    @Test
+    void testWriteAndReturnCalendarSVG_ReturnsRenderWhenNotCached() throws IOException {
+        CalendarRenderingService renderer = createRenderer(new CalendarSvgCache());
+
+        StringWriter out = new StringWriter();
+        String returned = renderer.writeAndReturnCalendarSVG(createConfig("grid"), out);
+
+        assertEquals(out.toString(), returned);
+        assertEquals(renderer.generateCalendarSVG(createConfig("grid")), returned);
+    }
+}
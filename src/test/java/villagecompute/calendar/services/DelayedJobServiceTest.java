@@ -15,9 +15,11 @@ import org.junit.jupiter.api.Test;
 
 import villagecompute.calendar.data.models.DelayedJob;
 import villagecompute.calendar.data.repositories.TestDataCleaner;
+import villagecompute.calendar.services.exceptions.DelayedJobRequeueException;
 import villagecompute.calendar.services.jobs.DelayedJobHandler;
 import villagecompute.calendar.services.jobs.DelayedJobHandlerRegistry;
 import villagecompute.calendar.services.jobs.OrderEmailJobHandler;
+import villagecompute.calendar.services.jobs.PdfGenerationJobHandler;
 
 import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
@@ -212,6 +214,26 @@ class DelayedJobServiceTest {
         assertNull(result);
     }
 
+    @Test
+    void testGetDelayedJobToWorkOn_ReclaimsStaleLock() {
+        // Given - A lock left behind by a worker that died while running the job outside a transaction
+        UUID jobId = QuarkusTransaction.requiringNew().call(() -> {
+            DelayedJob job = createReadyJob("actor-stale-lock");
+            job.locked = true;
+            job.lockedAt = Instant.now().minus(DelayedJob.LOCK_TIMEOUT).minus(1, ChronoUnit.MINUTES);
+            job.persist();
+            return job.id;
+        });
+
+        // When
+        DelayedJob result = QuarkusTransaction.requiringNew()
+                .call(() -> delayedJobService.getDelayedJobToWorkOn(jobId));
+
+        // Then
+        assertNotNull(result);
+        assertTrue(result.lockedAt.isAfter(Instant.now().minus(1, ChronoUnit.MINUTES)));
+    }
+
     @Test
     void testGetDelayedJobToWorkOn_ReturnsNullForCompleteJob() {
         // Given
@@ -340,6 +362,46 @@ class DelayedJobServiceTest {
         assertTrue(metadata.isPresent());
         assertEquals("OrderEmailJobHandler", metadata.get().queueName());
         assertEquals(10, metadata.get().priority());
+        assertTrue(metadata.get().transactional());
+    }
+
+    @Test
+    void testHandlerRegistry_PdfHandlerRunsOutsideTransaction() {
+        // When
+        var metadata = handlerRegistry.getMetadata(PdfGenerationJobHandler.class);
+
+        // Then
+        assertTrue(metadata.isPresent());
+        assertFalse(metadata.get().transactional());
+        assertEquals(metadata, handlerRegistry.getMetadata("PdfGenerationJobHandler"));
+    }
+
+    // ============================================================================
+    // FAILURE HANDLING TESTS
+    // ============================================================================
+
+    @Test
+    void testHandleJobFailure_Requeue_DoesNotConsumeAnAttempt() {
+        // Given
+        UUID jobId = QuarkusTransaction.requiringNew().call(() -> {
+            DelayedJob job = createReadyJob("actor-requeue");
+            job.locked = true;
+            job.lockedAt = Instant.now();
+            job.persist();
+            return job.id;
+        });
+
+        // When
+        QuarkusTransaction.requiringNew().run(() -> delayedJobService.handleJobFailure(DelayedJob.findById(jobId),
+                new DelayedJobRequeueException("Renderer busy", Duration.ofSeconds(30), null)));
+
+        // Then
+        DelayedJob job = QuarkusTransaction.requiringNew().call(() -> DelayedJob.findById(jobId));
+        assertEquals(0, job.attempts);
+        assertFalse(job.complete);
+        assertFalse(job.locked);
+        assertEquals("Renderer busy", job.failureReason);
+        assertTrue(job.runAt.isAfter(Instant.now().plusSeconds(20)));
     }
 
     // ============================================================================
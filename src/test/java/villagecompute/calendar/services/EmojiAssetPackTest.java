@@ -0,0 +1,150 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for EmojiAssetPack: the pack format, SVG extraction, and that packed bodies match the individual SVG
+ * resources exactly.
+ */
+class EmojiAssetPackTest {
+
+    private static final String TREE = "emoji-svg/emoji_u1f384";
+
+    // ========== Format Tests ==========
+
+    @Test
+    void testBuild_RoundTripsEntries() {
+        EmojiAssetPack pack = new EmojiAssetPack.Builder().add("b", "0 0 10 10", "<circle/>")
+                .add("a", "0 0 20 20", "<path d=\"M0,0\"/> ☃").build();
+
+        assertEquals(2, pack.size());
+        assertEquals("0 0 20 20", pack.get("a").viewBox());
+        assertEquals("<path d=\"M0,0\"/> ☃", pack.get("a").body().decode());
+        assertEquals("<circle/>", pack.get("b").body().decode());
+        assertNull(pack.get("c"));
+    }
+
+    @Test
+    void testBuild_IdenticalBodiesStoredOnce() {
+        EmojiAssetPack.Builder builder = new EmojiAssetPack.Builder().add("color", "0 0 128 128", "<circle/>")
+                .add("mono", "0 0 100 100", "<circle/>");
+        int withDuplicate = builder.toByteArray().length;
+        int withoutDuplicate = new EmojiAssetPack.Builder().add("color", "0 0 128 128", "<circle/>")
+                .add("mono", "0 0 100 100", "<square/>").toByteArray().length;
+        EmojiAssetPack pack = builder.build();
+
+        assertEquals(pack.get("color").body(), pack.get("mono").body());
+        assertEquals("0 0 100 100", pack.get("mono").viewBox());
+        assertEquals(withoutDuplicate - "<square/>".length(), withDuplicate);
+    }
+
+    @Test
+    void testRead_RejectsOtherFiles() {
+        assertThrows(IOException.class, () -> EmojiAssetPack.read(ByteBuffer.wrap("<svg></svg>".getBytes())));
+
+        byte[] pack = new EmojiAssetPack.Builder().add("a", "0 0 1 1", "<circle/>").toByteArray();
+        ByteBuffer truncated = ByteBuffer.wrap(pack, 0, pack.length - 2).slice();
+        assertThrows(IOException.class, () -> EmojiAssetPack.read(truncated));
+    }
+
+    @Test
+    void testAddSvg_ExtractsViewBoxOrDefault() {
+        EmojiAssetPack pack = new EmojiAssetPack.Builder()
+                .addSvg("sized", "<svg viewBox=\"0 0 36 36\">\n  <circle/>\n</svg>")
+                .addSvg("unsized", "<svg><circle/></svg>").build();
+
+        assertEquals("0 0 36 36", pack.get("sized").viewBox());
+        assertEquals("<circle/>", pack.get("sized").body().decode());
+        assertEquals(EmojiAssetPack.DEFAULT_VIEWBOX, pack.get("unsized").viewBox());
+    }
+
+    // ========== Bundled Pack Tests ==========
+
+    @Test
+    void testMain_PacksEveryBundledSvg(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("emoji-svg.pack");
+        EmojiAssetPack.main(new String[]{"src/main/resources", file.toString()});
+
+        EmojiAssetPack pack = EmojiAssetPack.map(file);
+        int svgFiles = 0;
+        for (String folder : new String[]{EmojiAssetPack.COLOR_DIR, EmojiAssetPack.MONO_DIR}) {
+            try (var files = Files.list(Path.of("src/main/resources", folder))) {
+                svgFiles += (int) files.filter(f -> f.toString().endsWith(".svg")).count();
+            }
+        }
+        assertEquals(svgFiles, pack.size());
+
+        String expected;
+        try (InputStream in = Files.newInputStream(Path.of("src/main/resources", TREE + ".svg"))) {
+            expected = EmojiAssetPack.extractSvgInnerContent(EmojiAssetPack.readSvg(in));
+        }
+        assertEquals(expected, pack.get(TREE).body().decode());
+    }
+
+    @Test
+    void testLoad_MatchesFolders() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        EmojiAssetPack pack = EmojiAssetPack.load(classLoader);
+        EmojiAssetPack fromFolders = EmojiAssetPack.fromFolders(classLoader);
+
+        assertEquals(fromFolders.names(), pack.names());
+        assertEquals(fromFolders.get(TREE).viewBox(), pack.get(TREE).viewBox());
+        assertEquals(fromFolders.get(TREE).body().decode(), pack.get(TREE).body().decode());
+    }
+
+    // ========== extractSvgInnerContent Tests ==========
+
+    @Test
+    void testExtractSvgInnerContent_NoSvgTag_ReturnsOriginal() {
+        String input = "<div>no svg here</div>";
+
+        String result = EmojiAssetPack.extractSvgInnerContent(input);
+
+        assertEquals(input, result);
+    }
+
+    @Test
+    void testExtractSvgInnerContent_NoClosingBracket_ReturnsOriginal() {
+        String input = "<svg viewBox=\"0 0 100 100\" this tag never closes";
+
+        String result = EmojiAssetPack.extractSvgInnerContent(input);
+
+        assertEquals(input, result);
+    }
+
+    @Test
+    void testExtractSvgInnerContent_NoClosingSvgTag_ReturnsOriginal() {
+        String input = "<svg viewBox=\"0 0 100 100\"><circle/>";
+
+        String result = EmojiAssetPack.extractSvgInnerContent(input);
+
+        assertEquals(input, result);
+    }
+
+    @Test
+    void testExtractSvgInnerContent_ValidSvg_ReturnsInnerContent() {
+        String input = "<svg viewBox=\"0 0 100 100\"><circle cx=\"50\" cy=\"50\" r=\"40\"/></svg>";
+
+        String result = EmojiAssetPack.extractSvgInnerContent(input);
+
+        assertEquals("<circle cx=\"50\" cy=\"50\" r=\"40\"/>", result);
+    }
+
+    @Test
+    void testExtractSvgInnerContent_ValidSvgWithWhitespace_ReturnsTrimmedContent() {
+        String input = "<svg viewBox=\"0 0 100 100\">   <circle/>   </svg>";
+
+        String result = EmojiAssetPack.extractSvgInnerContent(input);
+
+        assertEquals("<circle/>", result);
+    }
+}
@@ -2,9 +2,11 @@ package villagecompute.calendar.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,7 +59,7 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
 
         // Add only to color cache
-        getColorSvgCache(testService).put("coloronly", TEST_SVG_CONTENT);
+        putColorSvg(testService, "coloronly", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         assertTrue(testService.hasEmojiSvg("coloronly"));
     }
@@ -67,7 +69,7 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
 
         // Add only to mono cache
-        getMonoSvgCache(testService).put("monoonly", TEST_MONO_SVG_CONTENT);
+        putMonoSvg(testService, "monoonly", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         assertTrue(testService.hasEmojiSvg("monoonly"));
     }
@@ -88,7 +90,7 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
 
         // Add only to mono cache
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         assertTrue(testService.hasEmojiSvg("test", true));
         assertFalse(testService.hasEmojiSvg("test", false));
@@ -99,7 +101,7 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
 
         // Add only to color cache
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         assertTrue(testService.hasEmojiSvg("test", false));
         assertFalse(testService.hasEmojiSvg("test", true));
@@ -110,8 +112,8 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
 
         // Add to both caches
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         assertTrue(testService.hasEmojiSvg("test", false));
         assertTrue(testService.hasEmojiSvg("test", true));
@@ -122,8 +124,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_ColorMode_ReturnsColorSvg() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", false, null);
 
@@ -136,8 +137,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_MonochromeMode_ReturnsMonoSvg() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", true, null);
 
@@ -150,8 +150,7 @@ class EmojiSvgServiceTest {
     void testGetStandaloneSvg_MonochromeMode_FallsBackToColorWhenMonoMissing() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
         // Only add to color cache, not mono
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", true, null);
 
@@ -162,8 +161,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_WithColorHex_AddsColorFill() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", true, "#DC2626");
 
@@ -175,8 +173,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_WithColorHexWithoutHash_AddsHash() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", true, "DC2626");
 
@@ -187,8 +184,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_ColorHexWithColorMode_IgnoresColorHex() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         // colorHex should be ignored when monochrome=false
         String result = testService.getStandaloneSvg("test", false, "#DC2626");
@@ -209,8 +205,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetStandaloneSvg_EmptyColorHex_IgnoresColorHex() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getStandaloneSvg("test", true, "");
 
@@ -223,8 +218,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_BasicCall_ReturnsColorSvg() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -238,9 +232,8 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_MonochromeWithMonoSvg_UsesMonoSvg() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50, true);
 
@@ -254,8 +247,7 @@ class EmojiSvgServiceTest {
     void testGetEmojiAsSvg_MonochromeWithoutMonoSvg_UsesGrayscaleFilter() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
         // Only add color SVG, no mono
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50, true);
 
@@ -269,8 +261,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_WithColorHex_AddsColorFill() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50, true, "#FF0000");
 
@@ -282,8 +273,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_ColorHexWithoutHash_AddsHash() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getMonoSvgCache(testService).put("test", TEST_MONO_SVG_CONTENT);
-        getMonoViewBoxCache(testService).put("test", TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "test", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50, true, "00FF00");
 
@@ -294,8 +284,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_ColorHexWithNonMonochrome_IgnoresColorHex() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50, false, "#FF0000");
 
@@ -315,8 +304,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_IncludesXlinkNamespace() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -331,8 +319,7 @@ class EmojiSvgServiceTest {
         EmojiSvgService testService = createServiceWithTestCaches();
         String svgWithIds = "<defs><linearGradient id=\"grad1\"></linearGradient></defs>"
                 + "<rect fill=\"url(#grad1)\"/>";
-        getColorSvgCache(testService).put("test", svgWithIds);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", svgWithIds, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -347,8 +334,7 @@ class EmojiSvgServiceTest {
     void testGetEmojiAsSvg_UpdatesXlinkHrefReferences() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
         String svgWithXlink = "<defs><symbol id=\"mySymbol\"></symbol></defs>" + "<use xlink:href=\"#mySymbol\"/>";
-        getColorSvgCache(testService).put("test", svgWithXlink);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", svgWithXlink, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -360,8 +346,7 @@ class EmojiSvgServiceTest {
     void testGetEmojiAsSvg_UpdatesHrefReferences() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
         String svgWithHref = "<defs><symbol id=\"mySymbol2\"></symbol></defs>" + "<use href=\"#mySymbol2\"/>";
-        getColorSvgCache(testService).put("test", svgWithHref);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", svgWithHref, TEST_VIEWBOX);
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -390,10 +375,10 @@ class EmojiSvgServiceTest {
     @Test
     void testGetAvailableEmojis_ReturnsCombinedSet() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("color1", TEST_SVG_CONTENT);
-        getColorSvgCache(testService).put("both", TEST_SVG_CONTENT);
-        getMonoSvgCache(testService).put("mono1", TEST_MONO_SVG_CONTENT);
-        getMonoSvgCache(testService).put("both", TEST_MONO_SVG_CONTENT);
+        putColorSvg(testService, "color1", TEST_SVG_CONTENT, TEST_VIEWBOX);
+        putColorSvg(testService, "both", TEST_SVG_CONTENT, TEST_VIEWBOX);
+        putMonoSvg(testService, "mono1", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
+        putMonoSvg(testService, "both", TEST_MONO_SVG_CONTENT, TEST_MONO_VIEWBOX);
 
         Set<String> available = testService.getAvailableEmojis();
 
@@ -417,8 +402,8 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_MissingViewBox_UsesDefault() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        // Don't set viewBox - should use default
+        putColorSvg(testService, "test", "<svg xmlns=\"http://www.w3.org/2000/svg\">" + TEST_SVG_CONTENT + "</svg>");
+        // The SVG has no viewBox - should use default
 
         String result = testService.getEmojiAsSvg("test", 10, 20, 50);
 
@@ -486,8 +471,7 @@ class EmojiSvgServiceTest {
     @Test
     void testGetEmojiAsSvg_GrayscaleFilter_HasUniqueFilterId() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        getColorSvgCache(testService).put("test", TEST_SVG_CONTENT);
-        getColorViewBoxCache(testService).put("test", TEST_VIEWBOX);
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
         String result1 = testService.getEmojiAsSvg("test", 10, 20, 50, true);
         String result2 = testService.getEmojiAsSvg("test", 30, 40, 50, true);
@@ -499,183 +483,188 @@ class EmojiSvgServiceTest {
         assertTrue(result2.contains("id=\"e30_40_grayscale\""));
     }
 
-    // ========== extractSvgInnerContent Branch Coverage Tests ==========
+    // ========== Hot Cache Tests ==========
 
     @Test
-    void testExtractSvgInnerContent_NoSvgTag_ReturnsOriginal() throws Exception {
+    void testHotCache_CountsHitsAndMisses() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        String input = "<div>no svg here</div>";
+        putColorSvg(testService, "test", TEST_SVG_CONTENT, TEST_VIEWBOX);
 
-        String result = invokeExtractSvgInnerContent(testService, input);
+        testService.getEmojiAsSvg("test", 0, 0, 10);
+        testService.getEmojiAsSvg("test", 20, 0, 10);
+        testService.getStandaloneSvg("test", false, null);
 
-        assertEquals(input, result);
+        assertEquals(1, getHotCacheCount(testService, "hotCacheMisses"));
+        assertEquals(2, getHotCacheCount(testService, "hotCacheHits"));
     }
 
     @Test
-    void testExtractSvgInnerContent_NoClosingBracket_ReturnsOriginal() throws Exception {
+    void testHotCache_SharedBodyCompiledOnce() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        String input = "<svg viewBox=\"0 0 100 100\" this tag never closes";
+        EmojiAssetPack pack = new EmojiAssetPack.Builder().add("color", TEST_VIEWBOX, TEST_SVG_CONTENT)
+                .add("mono", TEST_MONO_VIEWBOX, TEST_SVG_CONTENT).build();
+        getEntries(testService, "colorEntries").put("test", pack.get("color"));
+        getEntries(testService, "monoEntries").put("test", pack.get("mono"));
 
-        String result = invokeExtractSvgInnerContent(testService, input);
+        testService.getEmojiAsSvg("test", 0, 0, 10, false);
+        String mono = testService.getEmojiAsSvg("test", 0, 0, 10, true);
 
-        assertEquals(input, result);
+        assertTrue(mono.contains("viewBox=\"" + TEST_MONO_VIEWBOX + "\""));
+        assertEquals(1, getHotCacheCount(testService, "hotCacheMisses"));
+        assertEquals(1, getHotCache(testService).size());
     }
 
     @Test
-    void testExtractSvgInnerContent_NoClosingSvgTag_ReturnsOriginal() throws Exception {
+    void testHotCache_EvictsLeastRecentlyUsed() throws Exception {
         EmojiSvgService testService = createServiceWithTestCaches();
-        String input = "<svg viewBox=\"0 0 100 100\"><circle/>";
+        testService.hotCacheSize = 2;
+        putColorSvg(testService, "a", "<circle id=\"a\"/>", TEST_VIEWBOX);
+        putColorSvg(testService, "b", "<circle id=\"b\"/>", TEST_VIEWBOX);
+        putColorSvg(testService, "c", "<circle id=\"c\"/>", TEST_VIEWBOX);
 
-        String result = invokeExtractSvgInnerContent(testService, input);
+        testService.getEmojiAsSvg("a", 0, 0, 10);
+        testService.getEmojiAsSvg("b", 0, 0, 10);
+        testService.getEmojiAsSvg("a", 0, 0, 10);
+        testService.getEmojiAsSvg("c", 0, 0, 10);
 
-        assertEquals(input, result);
+        Map<EmojiAssetPack.Body, EmojiSvgTemplate> hotCache = getHotCache(testService);
+        assertEquals(2, hotCache.size());
+        assertFalse(hotCache.containsKey(getEntries(testService, "colorEntries").get("b").body()),
+                "Least recently used body should be evicted");
+
+        // Evicted bodies are decoded again on the next use
+        String result = testService.getEmojiAsSvg("b", 0, 0, 10);
+        assertTrue(result.contains("id=\"e0_0_b\""));
+        assertEquals(4, getHotCacheCount(testService, "hotCacheMisses"));
     }
 
     @Test
-    void testExtractSvgInnerContent_ValidSvg_ReturnsInnerContent() throws Exception {
-        EmojiSvgService testService = createServiceWithTestCaches();
-        String input = "<svg viewBox=\"0 0 100 100\"><circle cx=\"50\" cy=\"50\" r=\"40\"/></svg>";
+    void testInit_DoesNotDecodeBodies() throws Exception {
+        assertTrue(getHotCache(emojiSvgService).isEmpty(), "Bodies should only be decoded when rendered");
 
-        String result = invokeExtractSvgInnerContent(testService, input);
+        emojiSvgService.getEmojiAsSvg("🎄", 0, 0, 10);
 
-        assertEquals("<circle cx=\"50\" cy=\"50\" r=\"40\"/>", result);
+        assertEquals(1, getHotCache(emojiSvgService).size());
     }
 
-    @Test
-    void testExtractSvgInnerContent_ValidSvgWithWhitespace_ReturnsTrimmedContent() throws Exception {
-        EmojiSvgService testService = createServiceWithTestCaches();
-        String input = "<svg viewBox=\"0 0 100 100\">   <circle/>   </svg>";
-
-        String result = invokeExtractSvgInnerContent(testService, input);
+    // ========== Sequence Resolution Tests ==========
 
-        assertEquals("<circle/>", result);
+    @Test
+    void testFilenameFor_BuildsNotoNames() {
+        assertEquals("emoji_u1f384", EmojiSvgService.filenameFor("🎄"));
+        assertEquals("emoji_u2764", EmojiSvgService.filenameFor("❤️"), "VS16 is not part of the name");
+        assertEquals("emoji_u0023_20e3", EmojiSvgService.filenameFor("#️⃣"), "Codepoints are padded to 4 digits");
+        assertEquals("emoji_u1f468_200d_1f469_200d_1f467_200d_1f466", EmojiSvgService.filenameFor("👨‍👩‍👧‍👦"));
+        assertNull(EmojiSvgService.filenameFor(""));
     }
 
-    private String invokeExtractSvgInnerContent(EmojiSvgService service, String input) throws Exception {
-        java.lang.reflect.Method method = EmojiSvgService.class.getDeclaredMethod("extractSvgInnerContent",
-                String.class);
-        method.setAccessible(true);
-        return (String) method.invoke(service, input);
+    @Test
+    void testEmojiForFilename_RoundTrips() {
+        for (String emoji : new String[]{"🎄", "#⃣", "🇺🇸", "👨‍👩‍👧‍👦", "🧪"}) {
+            assertEquals(emoji, EmojiSvgService.emojiForFilename(EmojiSvgService.filenameFor(emoji)));
+        }
+        assertNull(EmojiSvgService.emojiForFilename("emoji_u"));
+        assertNull(EmojiSvgService.emojiForFilename("emoji_uzzzz"));
+        assertNull(EmojiSvgService.emojiForFilename("emoji_u110000"));
+        assertNull(EmojiSvgService.emojiForFilename("u1f384"));
     }
 
-    // ========== Init Method Branch Coverage Tests ==========
-
     @Test
-    void testInit_ColorSvgNotFound_HandlesGracefully() throws Exception {
-        // Add a fake entry to EMOJI_TO_FILENAME that points to a non-existent file
-        String testEmoji = "🧪"; // Test tube emoji - not in the real mapping
-        String fakeFilename = "emoji_nonexistent_test_file";
-
-        Map<String, String> emojiToFilename = getEmojiToFilenameMap();
-        // Store original state
-        String originalValue = emojiToFilename.get(testEmoji);
-
-        try {
-            // Add test entry pointing to non-existent file
-            emojiToFilename.put(testEmoji, fakeFilename);
+    void testSimplify_OnlyDropsSkinTones() {
+        assertEquals("👨", EmojiSvgService.simplify("👨🏽"));
+        assertEquals("👨‍💻", EmojiSvgService.simplify("👨🏽‍💻"));
+        assertNull(EmojiSvgService.simplify("👨‍💻"));
+        assertNull(EmojiSvgService.simplify("👨"));
+        assertNull(EmojiSvgService.simplify("🏽"));
+    }
 
-            // Create new service and init
-            EmojiSvgService testService = new EmojiSvgService();
-            testService.init();
+    @Test
+    void testInit_IndexesEveryPackedFile() throws Exception {
+        File[] files = new File("src/main/resources/emoji-svg").listFiles((dir, name) -> name.endsWith(".svg"));
+        assertNotNull(files);
 
-            // The emoji should NOT be in the cache because the file doesn't exist
-            assertFalse(testService.hasEmojiSvg(testEmoji, false),
-                    "Emoji with non-existent color SVG should not be in color cache");
-        } finally {
-            // Clean up - restore original state
-            if (originalValue == null) {
-                emojiToFilename.remove(testEmoji);
-            } else {
-                emojiToFilename.put(testEmoji, originalValue);
-            }
+        for (File file : files) {
+            String filename = file.getName().substring(0, file.getName().length() - 4);
+            String emoji = EmojiSvgService.emojiForFilename(filename);
+            assertNotNull(emoji, "Filename should spell out an emoji: " + filename);
+            assertTrue(emojiSvgService.hasEmojiSvg(emoji, false), "Should have color SVG for " + filename);
         }
+        assertEquals(files.length, getEntries(emojiSvgService, "colorEntries").size());
     }
 
     @Test
-    void testInit_MonoSvgNotFound_HandlesGracefully() throws Exception {
-        // Test that mono SVG missing is handled gracefully
-        // We can verify this by checking an emoji that exists in color but not mono
-        EmojiSvgService testService = new EmojiSvgService();
-        testService.init();
-
-        // Get the caches to check their sizes
-        Map<String, String> colorCache = getColorSvgCache(testService);
-
-        // There should be some emojis where color exists but mono doesn't
-        // (or vice versa) - the service should handle this gracefully
-        assertFalse(colorCache.isEmpty(), "Color cache should have entries");
-        // Mono cache may have fewer entries than color cache
-        // The important thing is that init() completed without throwing
+    void testSkinToneVariant_RendersBaseEmoji() {
+        assertTrue(emojiSvgService.hasEmojiSvg("👨🏽"));
+        assertEquals(emojiSvgService.getEmojiAsSvg("👨", 0, 0, 10), emojiSvgService.getEmojiAsSvg("👨🏽", 0, 0, 10));
+        assertEquals(emojiSvgService.getStandaloneSvg("👨", true, "DC2626"),
+                emojiSvgService.getStandaloneSvg("👨🏾", true, "DC2626"));
     }
 
     @Test
-    void testInit_BothSvgsNotFound_HandlesGracefully() throws Exception {
-        String testEmoji = "🔬"; // Microscope - not in the real mapping
-        String fakeFilename = "emoji_completely_fake_file";
-
-        Map<String, String> emojiToFilename = getEmojiToFilenameMap();
-        String originalValue = emojiToFilename.get(testEmoji);
-
-        try {
-            emojiToFilename.put(testEmoji, fakeFilename);
+    void testUnbundledZwjSequence_NotAvailable() {
+        assertTrue(emojiSvgService.hasEmojiSvg("👨"));
+        assertFalse(emojiSvgService.hasEmojiSvg("👨‍💻"));
+        assertFalse(emojiSvgService.hasEmojiSvg("👨🏽‍💻"));
+        assertNull(emojiSvgService.getStandaloneSvg("👨‍💻", false, null));
+    }
 
-            EmojiSvgService testService = new EmojiSvgService();
-            testService.init();
+    @Test
+    void testBundledZwjSequence_RendersItsOwnSvg() {
+        assertNotEquals(emojiSvgService.getStandaloneSvg("👨", false, null),
+                emojiSvgService.getStandaloneSvg("👨‍👩‍👧‍👦", false, null));
+    }
 
-            // Neither cache should have the emoji
-            assertFalse(testService.hasEmojiSvg(testEmoji, false),
-                    "Emoji with non-existent color SVG should not be in color cache");
-            assertFalse(testService.hasEmojiSvg(testEmoji, true),
-                    "Emoji with non-existent mono SVG should not be in mono cache");
-        } finally {
-            if (originalValue == null) {
-                emojiToFilename.remove(testEmoji);
-            } else {
-                emojiToFilename.put(testEmoji, originalValue);
-            }
-        }
+    @Test
+    void testUnbundledEmoji_NotAvailable() {
+        assertFalse(emojiSvgService.hasEmojiSvg("🧪"));
+        assertFalse(emojiSvgService.hasEmojiSvg("🧪‍🔬"));
+        assertNull(emojiSvgService.getStandaloneSvg("🧪", false, null));
     }
 
     // ========== Helper Methods ==========
 
-    @SuppressWarnings("unchecked")
-    private Map<String, String> getEmojiToFilenameMap() throws Exception {
-        Field field = EmojiSvgService.class.getDeclaredField("EMOJI_TO_FILENAME");
-        field.setAccessible(true);
-        return (Map<String, String>) field.get(null);
-    }
-
     private EmojiSvgService createServiceWithTestCaches() {
         EmojiSvgService service = new EmojiSvgService();
         // Don't call init() - we'll populate caches manually
         return service;
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, String> getColorSvgCache(EmojiSvgService service) throws Exception {
-        Field field = EmojiSvgService.class.getDeclaredField("colorSvgCache");
-        field.setAccessible(true);
-        return (Map<String, String>) field.get(service);
+    private void putColorSvg(EmojiSvgService service, String emoji, String innerContent, String viewBox)
+            throws Exception {
+        getEntries(service, "colorEntries").put(emoji, packEntry(innerContent, viewBox));
+    }
+
+    private void putColorSvg(EmojiSvgService service, String emoji, String fullSvg) throws Exception {
+        getEntries(service, "colorEntries").put(emoji,
+                new EmojiAssetPack.Builder().addSvg("test", fullSvg).build().get("test"));
+    }
+
+    private void putMonoSvg(EmojiSvgService service, String emoji, String innerContent, String viewBox)
+            throws Exception {
+        getEntries(service, "monoEntries").put(emoji, packEntry(innerContent, viewBox));
+    }
+
+    private static EmojiAssetPack.Entry packEntry(String innerContent, String viewBox) {
+        return new EmojiAssetPack.Builder().add("test", viewBox, innerContent).build().get("test");
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, String> getColorViewBoxCache(EmojiSvgService service) throws Exception {
-        Field field = EmojiSvgService.class.getDeclaredField("colorViewBoxCache");
+    private Map<String, EmojiAssetPack.Entry> getEntries(EmojiSvgService service, String fieldName) throws Exception {
+        Field field = EmojiSvgService.class.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return (Map<String, String>) field.get(service);
+        return (Map<String, EmojiAssetPack.Entry>) field.get(service);
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, String> getMonoSvgCache(EmojiSvgService service) throws Exception {
-        Field field = EmojiSvgService.class.getDeclaredField("monoSvgCache");
+    private Map<EmojiAssetPack.Body, EmojiSvgTemplate> getHotCache(EmojiSvgService service) throws Exception {
+        Field field = EmojiSvgService.class.getDeclaredField("hotCache");
         field.setAccessible(true);
-        return (Map<String, String>) field.get(service);
+        return (Map<EmojiAssetPack.Body, EmojiSvgTemplate>) field.get(service);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, String> getMonoViewBoxCache(EmojiSvgService service) throws Exception {
-        Field field = EmojiSvgService.class.getDeclaredField("monoViewBoxCache");
+    private long getHotCacheCount(EmojiSvgService service, String fieldName) throws Exception {
+        Field field = EmojiSvgService.class.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return (Map<String, String>) field.get(service);
+        return ((LongAdder) field.get(service)).sum();
     }
 }
@@ -0,0 +1,105 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for EmojiSvgTemplate ID splicing. */
+class EmojiSvgTemplateTest {
+
+    private static final String PREFIX = "e10_20_";
+
+    private static String render(String content) {
+        StringBuilder out = new StringBuilder();
+        EmojiSvgTemplate.compile(content).appendTo(out, PREFIX);
+        return out.toString();
+    }
+
+    @Test
+    void testAppendTo_NoIds_CopiesContentUnchanged() {
+        String content = "<circle cx=\"64\" cy=\"64\" r=\"50\" fill=\"url(#external)\"/>";
+
+        assertEquals(content, render(content));
+        assertEquals(0, EmojiSvgTemplate.compile(content).splicePointCount());
+    }
+
+    @Test
+    void testAppendTo_PrefixesDefinitionsAndReferences() {
+        String content = "<linearGradient id=\"g1\"/><use xlink:href=\"#g1\"/><use href=\"#g1\"/>"
+                + "<path fill=\"url(#g1)\"/>";
+
+        assertEquals("<linearGradient id=\"e10_20_g1\"/><use xlink:href=\"#e10_20_g1\"/><use href=\"#e10_20_g1\"/>"
+                + "<path fill=\"url(#e10_20_g1)\"/>", render(content));
+    }
+
+    @Test
+    void testAppendTo_UndefinedReference_LeftAlone() {
+        String content = "<g id=\"a\"/><path fill=\"url(#b)\"/><path fill=\"url(#a)\"/>";
+
+        assertEquals("<g id=\"e10_20_a\"/><path fill=\"url(#b)\"/><path fill=\"url(#e10_20_a)\"/>", render(content));
+    }
+
+    @Test
+    void testAppendTo_IdThatPrefixesAnotherId_OnlyExactMatchesRewritten() {
+        String content = "<g id=\"a\"/><g id=\"ab\"/><path fill=\"url(#ab)\"/><path fill=\"url(#a)\"/>";
+
+        assertEquals("<g id=\"e10_20_a\"/><g id=\"e10_20_ab\"/><path fill=\"url(#e10_20_ab)\"/>"
+                + "<path fill=\"url(#e10_20_a)\"/>", render(content));
+    }
+
+    @Test
+    void testAppendTo_AppendsToExistingContent() {
+        StringBuilder out = new StringBuilder("<svg>");
+
+        EmojiSvgTemplate.compile("<g id=\"x\"/>").appendTo(out, PREFIX);
+
+        assertEquals("<svg><g id=\"e10_20_x\"/>", out.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAppendTo_AllBundledEmojis_MatchRegexReplacement() throws Exception {
+        EmojiSvgService service = new EmojiSvgService();
+        service.init();
+
+        int checked = 0;
+        for (String entriesName : new String[]{"colorEntries", "monoEntries"}) {
+            Field field = EmojiSvgService.class.getDeclaredField(entriesName);
+            field.setAccessible(true);
+            for (Map.Entry<String, EmojiAssetPack.Entry> entry : ((Map<String, EmojiAssetPack.Entry>) field
+                    .get(service)).entrySet()) {
+                String content = entry.getValue().body().decode();
+                assertEquals(makeIdsUniqueByReplacement(content, PREFIX), render(content),
+                        "Template output differs for " + entry.getKey() + " in " + entriesName);
+                checked++;
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    /** The original regex + String.replace implementation, used as the reference output. */
+    private static String makeIdsUniqueByReplacement(String svgContent, String prefix) {
+        Matcher matcher = Pattern.compile("id=\"([^\"]+)\"").matcher(svgContent);
+        Set<String> foundIds = new HashSet<>();
+        while (matcher.find()) {
+            foundIds.add(matcher.group(1));
+        }
+
+        String result = svgContent;
+        for (String id : foundIds) {
+            String newId = prefix + id;
+            result = result.replace("id=\"" + id + "\"", "id=\"" + newId + "\"");
+            result = result.replace("url(#" + id + ")", "url(#" + newId + ")");
+            result = result.replace("xlink:href=\"#" + id + "\"", "xlink:href=\"#" + newId + "\"");
+            result = result.replace("href=\"#" + id + "\"", "href=\"#" + newId + "\"");
+        }
+        return result;
+    }
+}
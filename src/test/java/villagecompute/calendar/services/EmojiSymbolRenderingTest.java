@@ -0,0 +1,168 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import villagecompute.calendar.types.CalendarConfigType;
+import villagecompute.calendar.types.CustomDateEntryType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifies that rendering emojis as {@code <symbol>}/{@code <use>} produces the same PDF and PNG output as inlining
+ * every emoji body.
+ */
+class EmojiSymbolRenderingTest {
+
+    // Allow a few anti-aliasing differences from the different transform composition in Batik
+    private static final int CHANNEL_TOLERANCE = 8;
+    private static final double MAX_DIFFERING_PIXEL_RATIO = 0.001;
+
+    private static CalendarRenderingService inlineRenderer;
+    private static CalendarRenderingService symbolRenderer;
+    private static PDFRenderingService pdfRenderingService;
+
+    @BeforeAll
+    static void setUp() {
+        EmojiSvgService emojiSvgService = new EmojiSvgService();
+        emojiSvgService.init();
+        HolidayService holidayService = new HolidayService();
+
+        inlineRenderer = createRenderer(holidayService, emojiSvgService, false);
+        symbolRenderer = createRenderer(holidayService, emojiSvgService, true);
+        pdfRenderingService = new PDFRenderingService();
+        pdfRenderingService.renderExecutor = createRenderExecutor();
+    }
+
+    private static RenderExecutor createRenderExecutor() {
+        RenderExecutor renderExecutor = new RenderExecutor();
+        renderExecutor.meterRegistry = new SimpleMeterRegistry();
+        renderExecutor.maxConcurrency = 1;
+        renderExecutor.queueDepth = 1;
+        renderExecutor.timeout = Duration.ofMinutes(2);
+        renderExecutor.retryAfter = Duration.ofSeconds(5);
+        renderExecutor.init();
+        return renderExecutor;
+    }
+
+    private static CalendarRenderingService createRenderer(HolidayService holidayService,
+            EmojiSvgService emojiSvgService, boolean emojiSymbols) {
+        CalendarRenderingService renderer = new CalendarRenderingService();
+        renderer.holidayService = holidayService;
+        renderer.emojiSvgService = emojiSvgService;
+        // A default-constructed cache is disabled, so both renderers always render
+        renderer.svgCache = new CalendarSvgCache();
+        renderer.emojiSymbols = emojiSymbols;
+        return renderer;
+    }
+
+    private static CalendarConfigType createConfig(String emojiFont) {
+        CalendarConfigType config = new CalendarConfigType();
+        config.year = 2025;
+        config.emojiFont = emojiFont;
+        config.holidaySets = List.of("us", "christian");
+        // The same emoji on several days is where symbols pay off
+        for (int month = 1; month <= 12; month++) {
+            config.customDates.put(LocalDate.of(2025, month, 15), new CustomDateEntryType("🎂", "Birthday"));
+        }
+        return config;
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"noto-color", "noto-mono", "mono-red"})
+    void testSymbolMode_DefinesEachEmojiOnceAndShrinksSvg(String emojiFont) {
+        String inline = inlineRenderer.generateCalendarSVG(createConfig(emojiFont));
+        String symbols = symbolRenderer.generateCalendarSVG(createConfig(emojiFont));
+
+        assertTrue(symbols.contains("<symbol id=\"emoji-1f382"), "Birthday cake should be defined as a symbol");
+        assertEquals(1, countOccurrences(symbols, "<symbol id=\"emoji-1f382"));
+        assertEquals(12, countOccurrences(symbols, "<use xlink:href=\"#emoji-1f382"));
+        assertFalse(symbols.contains("<svg x="), "No emoji should be inlined as a nested <svg>");
+        assertTrue(symbols.length() < inline.length(), "Symbol mode should produce a smaller SVG");
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"noto-color", "noto-mono", "mono-red"})
+    void testSymbolMode_PngMatchesInline(String emojiFont) throws IOException {
+        byte[] inlinePng = pdfRenderingService.renderSVGToPNG(
+                inlineRenderer.wrapSvgForPreview(inlineRenderer.generateCalendarSVG(createConfig(emojiFont))), 1200);
+        byte[] symbolPng = pdfRenderingService.renderSVGToPNG(
+                symbolRenderer.wrapSvgForPreview(symbolRenderer.generateCalendarSVG(createConfig(emojiFont))), 1200);
+
+        assertImagesMatch(ImageIO.read(new ByteArrayInputStream(inlinePng)),
+                ImageIO.read(new ByteArrayInputStream(symbolPng)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"noto-color", "noto-mono", "mono-red"})
+    void testSymbolMode_PdfMatchesInline(String emojiFont) throws IOException {
+        byte[] inlinePdf = pdfRenderingService
+                .renderSVGToPDF(inlineRenderer.generateCalendarSVG(createConfig(emojiFont)), 2025);
+        byte[] symbolPdf = pdfRenderingService
+                .renderSVGToPDF(symbolRenderer.generateCalendarSVG(createConfig(emojiFont)), 2025);
+
+        assertImagesMatch(rasterizeFirstPage(inlinePdf), rasterizeFirstPage(symbolPdf));
+    }
+
+    private static BufferedImage rasterizeFirstPage(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return new PDFRenderer(document).renderImageWithDPI(0, 36);
+        }
+    }
+
+    private static void assertImagesMatch(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+
+        long differing = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (!pixelsMatch(expected.getRGB(x, y), actual.getRGB(x, y))) {
+                    differing++;
+                }
+            }
+        }
+
+        long total = (long) expected.getWidth() * expected.getHeight();
+        assertTrue(differing <= total * MAX_DIFFERING_PIXEL_RATIO,
+                "Rendered output differs in " + differing + " of " + total + " pixels");
+    }
+
+    private static boolean pixelsMatch(int expected, int actual) {
+        for (int shift = 0; shift <= 24; shift += 8) {
+            int delta = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+            if (delta > CHANNEL_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        int index = text.indexOf(token);
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(token, index + token.length());
+        }
+        return count;
+    }
+}
@@ -5,6 +5,7 @@ import static villagecompute.calendar.services.HolidayService.*;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -603,6 +604,67 @@ class HolidayServiceTest {
         assertNotNull(holidays);
     }
 
+    // ========== HOLIDAY TABLE CACHE TESTS ==========
+
+    @Test
+    void testGetHolidays_SameTableForAliases() {
+        Map<LocalDate, HolidayType> holidays = holidayService.getHolidays(TEST_YEAR, SET_US);
+
+        assertSame(holidays, holidayService.getHolidays(TEST_YEAR, "us-federal"));
+        assertSame(holidayService.getHolidays(TEST_YEAR, "jewish"), holidayService.getHolidays(TEST_YEAR, "hebrew"));
+        assertNotSame(holidays, holidayService.getHolidays(TEST_YEAR + 1, SET_US));
+    }
+
+    @Test
+    void testGetHolidays_TablesAreUnmodifiable() {
+        Map<LocalDate, HolidayType> holidays = holidayService.getHolidays(TEST_YEAR, SET_US);
+        HolidayType holiday = new HolidayType("Test", null);
+
+        assertThrows(UnsupportedOperationException.class, () -> holidays.put(LocalDate.of(TEST_YEAR, 3, 14), holiday));
+        assertThrows(UnsupportedOperationException.class,
+                () -> holidayService.getHolidays(TEST_YEAR, List.of("us", "christian")).clear());
+    }
+
+    @Test
+    void testGetHolidays_MultipleSets_MergedWithLaterSetsWinning() {
+        LocalDate christmas = LocalDate.of(TEST_YEAR, Month.DECEMBER, 25);
+        Map<LocalDate, HolidayType> us = holidayService.getHolidays(TEST_YEAR, SET_US);
+        Map<LocalDate, HolidayType> christian = holidayService.getHolidays(TEST_YEAR, SET_CHRISTIAN);
+
+        Map<LocalDate, HolidayType> merged = holidayService.getHolidays(TEST_YEAR, List.of("us", "christian"));
+
+        assertTrue(merged.keySet().containsAll(us.keySet()));
+        assertTrue(merged.keySet().containsAll(christian.keySet()));
+        assertSame(christian.get(christmas), merged.get(christmas));
+        assertSame(us.get(christmas), holidayService.getHolidays(TEST_YEAR, List.of("christian", "us")).get(christmas));
+    }
+
+    @Test
+    void testGetHolidays_MultipleSets_CachedByCanonicalSetList() {
+        Map<LocalDate, HolidayType> merged = holidayService.getHolidays(TEST_YEAR, List.of("us", "christian"));
+
+        assertSame(merged, holidayService.getHolidays(TEST_YEAR, List.of("US", "CHRISTIAN")));
+        assertSame(merged, holidayService.getHolidays(TEST_YEAR, List.of("us-federal", "unknown", "christian")));
+        assertSame(merged, holidayService.getHolidays(TEST_YEAR, List.of("christian", "us", "christian")),
+                "A repeated set counts where it appears last");
+    }
+
+    @Test
+    void testGetHolidays_MultipleSets_SingleOrNoKnownSet() {
+        assertSame(holidayService.getHolidays(TEST_YEAR, SET_US),
+                holidayService.getHolidays(TEST_YEAR, List.of("us", "buddhist")));
+        assertTrue(holidayService.getHolidays(TEST_YEAR, List.of("unknown", "european")).isEmpty());
+    }
+
+    @Test
+    void testOnStart_BuildsTablesForUpcomingYears() {
+        holidayService.onStart(null);
+
+        assertEquals(3 * TABLE_SETS.size(), holidayService.cachedTableCount());
+        holidayService.getHolidays(LocalDate.now().getYear() + 2, SET_US);
+        assertEquals(3 * TABLE_SETS.size(), holidayService.cachedTableCount(), "Warmed tables are reused");
+    }
+
     // ========== HELPER METHODS ==========
 
     private boolean hasHolidayNamed(Map<LocalDate, HolidayType> holidays, String name) {
@@ -0,0 +1,143 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for {@link LunarTable}. The table must reproduce the per-day calculation the renderers used before it was
+ * precomputed, so the expected values come from a direct implementation of that calculation.
+ */
+class LunarTableTest {
+
+    private static final double SYNODIC_MONTH = 29.53059;
+
+    private static double expectedPhase(LocalDate date) {
+        long daysSince = ChronoUnit.DAYS.between(LocalDate.of(2000, 1, 6), date);
+        return (daysSince % SYNODIC_MONTH) / SYNODIC_MONTH;
+    }
+
+    private static boolean expectedFullMoonDay(LocalDate date) {
+        double today = Math.abs(expectedPhase(date) - 0.5);
+        return today < Math.abs(expectedPhase(date.minusDays(1)) - 0.5)
+                && today < Math.abs(expectedPhase(date.plusDays(1)) - 0.5) && today < 0.017;
+    }
+
+    // ========== TABLE VALUE TESTS ==========
+
+    @ParameterizedTest
+    @ValueSource(
+            ints = {1999, 2000, 2024, 2026})
+    void testForYear_MatchesPerDayCalculation(int year) {
+        LunarTable table = LunarTable.forYear(year);
+
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            double phase = expectedPhase(date);
+            assertEquals(phase, table.phase(date), date.toString());
+            assertEquals((1 - Math.cos(phase * 2 * Math.PI)) / 2, table.illumination(date), date.toString());
+            assertEquals(expectedFullMoonDay(date), table.isFullMoonDay(date), date.toString());
+        }
+    }
+
+    @Test
+    void testPhaseDays_OneFullMoonAndFourPhasesPerLunarMonth() {
+        LunarTable table = LunarTable.forYear(2026);
+        int fullMoons = 0;
+        int phaseDays = 0;
+        for (LocalDate date = LocalDate.of(2026, 1, 1); date.getYear() == 2026; date = date.plusDays(1)) {
+            if (table.isFullMoonDay(date)) {
+                fullMoons++;
+                assertTrue(table.isPhaseDay(date), "A full moon day is also a phase day: " + date);
+            }
+            if (table.isPhaseDay(date)) {
+                phaseDays++;
+            }
+        }
+
+        assertTrue(fullMoons >= 12 && fullMoons <= 13, "Full moons in 2026: " + fullMoons);
+        assertTrue(phaseDays >= 48 && phaseDays <= 50, "Phase days in 2026: " + phaseDays);
+    }
+
+    @Test
+    void testFirstAndLastDay_ComparedWithNeighbouringYears() {
+        // Phase days at the year boundary depend on Dec 31 and Jan 1 of the adjacent years
+        LunarTable table = LunarTable.forYear(2025);
+
+        assertEquals(expectedFullMoonDay(LocalDate.of(2025, 1, 1)), table.isFullMoonDay(LocalDate.of(2025, 1, 1)));
+        assertEquals(expectedFullMoonDay(LocalDate.of(2025, 12, 31)),
+                table.isFullMoonDay(LocalDate.of(2025, 12, 31)));
+    }
+
+    // ========== MEMOIZATION TESTS ==========
+
+    @Test
+    void testForYear_SharedPerYear() {
+        assertSame(LunarTable.forYear(2024), LunarTable.forYear(2024));
+        assertSame(LunarTable.forYear(2024), LunarTable.forDate(LocalDate.of(2024, 7, 4)));
+        assertNotSame(LunarTable.forYear(2024), LunarTable.forYear(2025));
+    }
+
+    @Test
+    void testParallacticAngle_StablePerLocation() {
+        LunarTable table = LunarTable.forYear(2024);
+        LocalDate date = LocalDate.of(2024, 3, 15);
+
+        double burlington = table.parallacticAngle(date, 44.4759, -73.2121);
+        double sydney = table.parallacticAngle(date, -33.8688, 151.2093);
+
+        assertEquals(burlington, table.parallacticAngle(date, 44.4759, -73.2121));
+        assertNotEquals(burlington, sydney);
+    }
+
+    @Test
+    void testParallacticAngle_NearbyCoordinatesShareBucket() {
+        LunarTable table = LunarTable.forYear(2024);
+        LocalDate date = LocalDate.of(2024, 3, 15);
+
+        assertEquals(table.parallacticAngle(date, 44.4759, -73.2121),
+                table.parallacticAngle(date, 44.47590004, -73.21209996));
+    }
+
+    @Test
+    void testParallacticAngle_EvictsLeastRecentlyUsedLocation() {
+        LunarTable table = LunarTable.forYear(2023);
+        LocalDate date = LocalDate.of(2023, 6, 1);
+        double burlington = table.parallacticAngle(date, 44.4759, -73.2121);
+
+        for (int i = 0; i <= LunarTable.MAX_CACHED_LOCATIONS; i++) {
+            table.parallacticAngle(date, -60 + i, 10);
+            // Keep Burlington recently used
+            assertEquals(burlington, table.parallacticAngle(date, 44.4759, -73.2121));
+        }
+
+        assertEquals(LunarTable.MAX_CACHED_LOCATIONS, table.cachedLocations());
+        assertEquals(table.parallacticAngle(date, -60, 10), table.parallacticAngle(date, -60, 10));
+    }
+
+    @Test
+    void testForYear_EvictsLeastRecentlyUsedYear() {
+        LunarTable current = LunarTable.forYear(2026);
+
+        for (int year = 3000; year <= 3000 + LunarTable.MAX_CACHED_YEARS; year++) {
+            LunarTable.forYear(year);
+            // Keep 2026 recently used
+            assertSame(current, LunarTable.forYear(2026));
+        }
+
+        assertEquals(LunarTable.MAX_CACHED_YEARS, LunarTable.cachedYears());
+        assertSame(LunarTable.forYear(3000 + LunarTable.MAX_CACHED_YEARS),
+                LunarTable.forYear(3000 + LunarTable.MAX_CACHED_YEARS));
+    }
+
+    @Test
+    void testDateOutsideYear_Rejected() {
+        LunarTable table = LunarTable.forYear(2024);
+
+        assertThrows(IllegalArgumentException.class, () -> table.phase(LocalDate.of(2025, 1, 1)));
+    }
+}
@@ -0,0 +1,244 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.services.MazeBatchService.MazePage;
+import villagecompute.calendar.services.MazeGenerationService.MazeGenerationConfig;
+import villagecompute.calendar.services.maze.MazeAlgorithm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for MazeBatchService covering parallel generation, seeds, batch limits, PDF assembly and render thread
+ * reservations.
+ */
+class MazeBatchServiceTest {
+
+    private static final MazeGenerationConfig TEMPLATE = new MazeGenerationConfig(MazeType.ORTHOGONAL, 5, 3, null,
+            true, "#000000", "#000000", "#4CAF50", false, null, MazeAlgorithm.forName(null));
+
+    private MazeGenerationService mazeGenerationService;
+    private PDFRenderingService pdfRenderingService;
+    private RenderExecutor renderExecutor;
+    private MazeBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        mazeGenerationService = new MazeGenerationService();
+        pdfRenderingService = mock(PDFRenderingService.class);
+        // Three render threads, two of which batches may reserve
+        renderExecutor = new RenderExecutor();
+        renderExecutor.meterRegistry = new SimpleMeterRegistry();
+        renderExecutor.maxConcurrency = 3;
+        renderExecutor.queueDepth = 2;
+        renderExecutor.timeout = Duration.ofSeconds(10);
+        renderExecutor.retryAfter = Duration.ofSeconds(5);
+        renderExecutor.init();
+
+        batchService = new MazeBatchService();
+        batchService.mazeGenerationService = mazeGenerationService;
+        batchService.pdfRenderingService = pdfRenderingService;
+        batchService.renderExecutor = renderExecutor;
+        batchService.parallelism = 4;
+        batchService.maxBatchSize = 20;
+        batchService.maxPdfBatchSize = 10;
+        batchService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+        renderExecutor.shutdown();
+    }
+
+    private List<MazePage> generate(List<MazeGenerationConfig> configs) {
+        List<MazePage> pages = new ArrayList<>();
+        batchService.generate(configs, pages::add);
+        return pages;
+    }
+
+    // ========== GENERATION TESTS ==========
+
+    @Test
+    void testGenerate_OnePagePerConfig() {
+        List<Long> seeds = List.of(11L, 22L, 33L, 44L, 55L, 66L, 77L, 88L);
+        List<MazePage> pages = generate(MazeBatchService.withSeeds(TEMPLATE, seeds));
+
+        assertEquals(seeds.size(), pages.size());
+        Set<Integer> indices = pages.stream().map(MazePage::index).collect(Collectors.toSet());
+        assertEquals(seeds.size(), indices.size(), "Every index should be reported exactly once");
+        for (MazePage page : pages) {
+            assertEquals(seeds.get(page.index()), page.seed());
+        }
+    }
+
+    @Test
+    void testGenerate_MatchesSequentialGeneration() {
+        List<MazeGenerationConfig> configs = MazeBatchService.withSeeds(TEMPLATE, List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+        for (MazePage page : generate(configs)) {
+            assertEquals(mazeGenerationService.generateMazeSvg(configs.get(page.index())), page.svg(),
+                    "A maze should not depend on the thread that generated it");
+        }
+    }
+
+    @Test
+    void testGenerate_ResolvesMissingSeeds() {
+        List<MazePage> pages = generate(Collections.nCopies(5, TEMPLATE));
+
+        assertEquals(5, pages.size());
+        for (MazePage page : pages) {
+            // The reported seed regenerates the same maze
+            assertEquals(mazeGenerationService.generateMazeSvg(TEMPLATE.withSeed(page.seed())), page.svg());
+        }
+    }
+
+    @Test
+    void testValidate_RejectsEmptyAndOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(Collections.nCopies(21, TEMPLATE)));
+        assertDoesNotThrow(() -> batchService.validate(Collections.nCopies(20, TEMPLATE)));
+    }
+
+    @Test
+    void testGenerate_PropagatesFailures() {
+        MazeGenerationService failing = mock(MazeGenerationService.class);
+        when(failing.generateMazeSvg(any())).thenThrow(new IllegalStateException("boom"));
+        batchService.mazeGenerationService = failing;
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> generate(Collections.nCopies(3, TEMPLATE)));
+        assertEquals("boom", e.getMessage());
+    }
+
+    // ========== PDF TESTS ==========
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGeneratePdf_MergesPagesInBatchOrder() {
+        // Each page's "PDF" is its SVG, so the merged pages can be matched back to their seeds
+        when(pdfRenderingService.renderSVGToPDF(anyString(), eq("Maze Book")))
+                .thenAnswer(invocation -> invocation.getArgument(0, String.class).getBytes(StandardCharsets.UTF_8));
+        when(pdfRenderingService.mergePDFs(anyList(), eq("Maze Book"))).thenReturn(new byte[]{1});
+
+        List<MazeGenerationConfig> configs = MazeBatchService.withSeeds(TEMPLATE, List.of(5L, 4L, 3L, 2L, 1L));
+        assertArrayEquals(new byte[]{1}, batchService.generatePdf(configs, "Maze Book"));
+
+        ArgumentCaptor<List<byte[]>> merged = ArgumentCaptor.forClass(List.class);
+        verify(pdfRenderingService).mergePDFs(merged.capture(), eq("Maze Book"));
+        assertEquals(configs.size(), merged.getValue().size());
+        for (int i = 0; i < configs.size(); i++) {
+            assertEquals(mazeGenerationService.generateMazeSvg(configs.get(i)),
+                    new String(merged.getValue().get(i), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testGeneratePdf_PropagatesRenderingFailures() {
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyString()))
+                .thenThrow(new RenderingException("Failed to render"));
+
+        assertThrows(RenderingException.class,
+                () -> batchService.generatePdf(Collections.nCopies(3, TEMPLATE), "Maze Book"));
+        verify(pdfRenderingService, never()).mergePDFs(anyList(), anyString());
+
+        // The failed batch gave its render threads back
+        assertDoesNotThrow(() -> renderExecutor.reserve("test", 2).close());
+    }
+
+    @Test
+    void testGeneratePdf_LowerLimitThanStreamedBatches() {
+        assertThrows(IllegalArgumentException.class,
+                () -> batchService.generatePdf(Collections.nCopies(11, TEMPLATE), "Maze Book"));
+        assertDoesNotThrow(() -> batchService.validate(Collections.nCopies(11, TEMPLATE)));
+        verifyNoInteractions(pdfRenderingService);
+    }
+
+    @Test
+    void testGeneratePdf_ConcurrentBatch_RejectedBeforeAnyWork() throws Exception {
+        CountDownLatch firstRendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(pdfRenderingService.renderSVGToPDF(anyString(), eq("First"))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            firstRendering.countDown();
+            release.await();
+            inFlight.decrementAndGet();
+            return new byte[]{1};
+        });
+        when(pdfRenderingService.mergePDFs(anyList(), anyString())).thenReturn(new byte[]{2});
+
+        CompletableFuture<byte[]> first = CompletableFuture
+                .supplyAsync(() -> batchService.generatePdf(Collections.nCopies(8, TEMPLATE), "First"));
+        try {
+            assertTrue(firstRendering.await(5, TimeUnit.SECONDS));
+
+            // The first batch holds every thread batches may use, so the second is turned away up front
+            assertThrows(RenderRejectedException.class,
+                    () -> batchService.generatePdf(Collections.nCopies(8, TEMPLATE), "Second"));
+            verify(pdfRenderingService, never()).renderSVGToPDF(anyString(), eq("Second"));
+        } finally {
+            release.countDown();
+        }
+
+        assertArrayEquals(new byte[]{2}, first.get(10, TimeUnit.SECONDS));
+        assertTrue(maxInFlight.get() <= 2, "A batch keeps no more pages in flight than it reserved");
+        verify(pdfRenderingService, times(8)).renderSVGToPDF(anyString(), eq("First"));
+
+        // Once the first batch is done, the next one runs
+        when(pdfRenderingService.renderSVGToPDF(anyString(), eq("Second"))).thenReturn(new byte[]{3});
+        assertArrayEquals(new byte[]{2}, batchService.generatePdf(Collections.nCopies(3, TEMPLATE), "Second"));
+    }
+
+    @Test
+    void testGeneratePdf_WaitingPagesLeaveBatchThreadsFree() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfRenderingService.renderSVGToPDF(anyString(), eq("Book"))).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await();
+            return new byte[]{1};
+        });
+        when(pdfRenderingService.mergePDFs(anyList(), anyString())).thenReturn(new byte[]{2});
+
+        // Eight pages against four batch threads, with only two render threads reserved
+        CompletableFuture<byte[]> book = CompletableFuture
+                .supplyAsync(() -> batchService.generatePdf(Collections.nCopies(8, TEMPLATE), "Book"));
+        try {
+            assertTrue(rendering.await(5, TimeUnit.SECONDS));
+
+            // Pages waiting for a render thread must not be parked on the batch pool
+            CompletableFuture<List<MazePage>> streamed = CompletableFuture
+                    .supplyAsync(() -> generate(Collections.nCopies(4, TEMPLATE)));
+            assertEquals(4, streamed.get(10, TimeUnit.SECONDS).size());
+        } finally {
+            release.countDown();
+        }
+
+        assertArrayEquals(new byte[]{2}, book.get(10, TimeUnit.SECONDS));
+    }
+}
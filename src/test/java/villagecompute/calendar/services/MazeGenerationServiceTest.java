@@ -6,8 +6,12 @@ import jakarta.inject.Inject;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import villagecompute.calendar.data.models.UserMaze;
 import villagecompute.calendar.data.models.enums.MazeType;
 import villagecompute.calendar.services.MazeGenerationService.MazeGenerationConfig;
+import villagecompute.calendar.services.maze.MazeAlgorithm;
 
 import io.quarkus.test.junit.QuarkusTest;
 
@@ -18,6 +22,9 @@ class MazeGenerationServiceTest {
     @Inject
     MazeGenerationService mazeGenerationService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     // ============================================================================
     // generatePreview() TESTS
     // ============================================================================
@@ -137,6 +144,44 @@ class MazeGenerationServiceTest {
         assertNotEquals(svg1, svg2, "Different seeds should produce different mazes");
     }
 
+    @Test
+    void testGenerateMazeSvg_AlgorithmChangesMaze() {
+        // When
+        String backtracker = mazeGenerationService.generateMazeSvg(new MazeGenerationConfig(MazeType.SIGMA, 5, 5,
+                12345L, false, "#000000", "#000000", "#4CAF50", false, null));
+        String eller = mazeGenerationService.generateMazeSvg(new MazeGenerationConfig(MazeType.SIGMA, 5, 5, 12345L,
+                false, "#000000", "#000000", "#4CAF50", false, null, MazeAlgorithm.forName("eller")));
+
+        // Then
+        assertTrue(eller.startsWith("<svg"));
+        assertNotEquals(backtracker, eller, "A different algorithm should carve a different maze");
+    }
+
+    @Test
+    void testGenerateAndUpdateMaze_UnknownAlgorithm_UsesDefault() {
+        // Given
+        UserMaze unknown = newMaze();
+        unknown.configuration = objectMapper.createObjectNode().put("algorithm", "no-such-algorithm");
+        UserMaze unset = newMaze();
+
+        // When
+        mazeGenerationService.generateAndUpdateMaze(unknown);
+        mazeGenerationService.generateAndUpdateMaze(unset);
+
+        // Then
+        assertNotNull(unknown.generatedSvg);
+        assertEquals(unset.generatedSvg, unknown.generatedSvg, "An unknown algorithm should fall back to the default");
+    }
+
+    private static UserMaze newMaze() {
+        UserMaze maze = new UserMaze();
+        maze.mazeType = MazeType.ORTHOGONAL;
+        maze.size = 5;
+        maze.difficulty = 3;
+        maze.seed = 12345L;
+        return maze;
+    }
+
     // ============================================================================
     // Size parameter TESTS
     // ============================================================================
@@ -0,0 +1,199 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.services.MazePreviewCache.Preview;
+import villagecompute.calendar.services.MazePreviewCache.PreviewKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Unit tests for MazePreviewCache covering key normalization, LRU eviction, content ETags, warm-up and metrics. */
+class MazePreviewCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MazeGenerationService mazeGenerationService;
+    private MazePreviewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mazeGenerationService = mock(MazeGenerationService.class);
+        when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> "<svg>" + invocation.getArgument(0) + " " + invocation.getArgument(1) + " "
+                        + invocation.getArgument(2) + "</svg>");
+        cache = createCache(32);
+    }
+
+    private MazePreviewCache createCache(long maxSizeMb) {
+        MazePreviewCache previewCache = new MazePreviewCache();
+        previewCache.mazeGenerationService = mazeGenerationService;
+        previewCache.meterRegistry = meterRegistry;
+        previewCache.enabled = true;
+        previewCache.maxSizeMb = maxSizeMb;
+        previewCache.prewarm = true;
+        previewCache.init();
+        return previewCache;
+    }
+
+    private double counter(String name, String result) {
+        var search = meterRegistry.find(name).tag("cache", MazePreviewCache.CACHE_NAME);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        return search.counter().count();
+    }
+
+    // ========== KEY TESTS ==========
+
+    @Test
+    void testPreviewKey_ClampsLikeTheGenerator() {
+        assertEquals(PreviewKey.of(MazeType.ORTHOGONAL, 1, 1, false, false),
+                PreviewKey.of(MazeType.ORTHOGONAL, 0, -3, false, false));
+        assertEquals(PreviewKey.of(MazeType.SIGMA, 20, 5, true, false),
+                PreviewKey.of(MazeType.SIGMA, 100, 8, true, false));
+        assertEquals(MazeType.ORTHOGONAL, PreviewKey.of(null, 10, 3, false, false).type());
+    }
+
+    @Test
+    void testPreviewKey_FlagsAreDistinct() {
+        assertNotEquals(PreviewKey.of(MazeType.ORTHOGONAL, 10, 3, true, false),
+                PreviewKey.of(MazeType.ORTHOGONAL, 10, 3, false, true));
+    }
+
+    // ========== CACHE TESTS ==========
+
+    @Test
+    void testGetPreview_SecondCallIsCached() {
+        String first = cache.getPreview(MazeType.DELTA, 5, 2, true, false);
+        String second = cache.getPreview(MazeType.DELTA, 5, 2, true, false);
+
+        assertSame(first, second);
+        verify(mazeGenerationService, times(1)).generatePreview(MazeType.DELTA, 5, 2, true, false);
+        assertEquals(1.0, counter("cache.gets", "hit"));
+        assertEquals(1.0, counter("cache.gets", "miss"));
+    }
+
+    @Test
+    void testGetPreview_EquivalentParametersShareEntry() {
+        cache.getPreview(MazeType.ORTHOGONAL, 25, 9, false, false);
+        cache.getPreview(MazeType.ORTHOGONAL, 20, 5, false, false);
+
+        verify(mazeGenerationService, times(1)).generatePreview(MazeType.ORTHOGONAL, 20, 5, false, false);
+        assertEquals(1, cache.entryCount());
+    }
+
+    @Test
+    void testGetPreview_Disabled_AlwaysGenerates() {
+        cache.enabled = false;
+
+        cache.getPreview(MazeType.THETA, 3, 3, false, false);
+        cache.getPreview(MazeType.THETA, 3, 3, false, false);
+
+        verify(mazeGenerationService, times(2)).generatePreview(MazeType.THETA, 3, 3, false, false);
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    void testGetPreview_EvictsLeastRecentlyUsed() {
+        // Previews of half a megabyte each, so a 1 MB cache holds two
+        when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> "x".repeat(512 * 1024 - invocation.<Integer>getArgument(1)));
+        cache = createCache(1);
+
+        cache.getPreview(MazeType.ORTHOGONAL, 1, 3, false, false);
+        cache.getPreview(MazeType.ORTHOGONAL, 2, 3, false, false);
+        cache.getPreview(MazeType.ORTHOGONAL, 1, 3, false, false);
+        cache.getPreview(MazeType.ORTHOGONAL, 3, 3, false, false);
+
+        assertEquals(2, cache.entryCount());
+        assertEquals(1.0, counter("cache.evictions", null));
+        assertTrue(cache.weight() <= 1024 * 1024);
+
+        // Size 2 was the least recently used, so it is generated again while size 1 is still cached
+        cache.getPreview(MazeType.ORTHOGONAL, 1, 3, false, false);
+        cache.getPreview(MazeType.ORTHOGONAL, 2, 3, false, false);
+        verify(mazeGenerationService, times(1)).generatePreview(MazeType.ORTHOGONAL, 1, 3, false, false);
+        verify(mazeGenerationService, times(2)).generatePreview(MazeType.ORTHOGONAL, 2, 3, false, false);
+    }
+
+    @Test
+    void testClear_RemovesEntries() {
+        cache.getPreview(MazeType.SIGMA, 4, 4, false, true);
+        cache.clear();
+
+        assertEquals(0, cache.entryCount());
+        assertEquals(0, cache.weight());
+    }
+
+    // ========== ETAG TESTS ==========
+
+    @Test
+    void testEtag_IsHashOfSvg() throws Exception {
+        Preview preview = cache.getPreview(PreviewKey.of(MazeType.ORTHOGONAL, 10, 3, false, false));
+
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(preview.svg().getBytes(StandardCharsets.UTF_8));
+        assertEquals(HexFormat.of().formatHex(expected), preview.etag());
+        Preview other = cache.getPreview(PreviewKey.of(MazeType.ORTHOGONAL, 11, 3, false, false));
+        assertNotEquals(preview.etag(), other.etag());
+    }
+
+    @Test
+    void testEtag_FollowsRenderedSvg() {
+        PreviewKey key = PreviewKey.of(MazeType.ORTHOGONAL, 10, 3, false, false);
+        String before = cache.getPreview(key).etag();
+        assertEquals(before, cache.getPreview(key).etag());
+
+        // A renderer change under the same application version produces a new ETag once the old entry is gone
+        when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenReturn("<svg>redrawn</svg>");
+        cache.clear();
+
+        assertNotEquals(before, cache.getPreview(key).etag());
+    }
+
+    @Test
+    void testEtag_Disabled_StillMatchesContent() {
+        cache.enabled = false;
+        PreviewKey key = PreviewKey.of(MazeType.DELTA, 4, 2, false, false);
+
+        assertEquals(cache.getPreview(key).etag(), cache.getPreview(key).etag());
+        assertEquals(MazePreviewCache.sha256(cache.getPreview(key).svg()), cache.getPreview(key).etag());
+    }
+
+    // ========== WARM-UP TESTS ==========
+
+    @Test
+    void testWarm_CachesCommonPreviews() {
+        List<PreviewKey> keys = MazePreviewCache.warmKeys();
+        assertEquals(keys.size(), new HashSet<>(keys).size(), "Warm-up keys should be distinct");
+        assertTrue(keys.contains(PreviewKey.of(MazeType.SIGMA, 10, 3, true, true)));
+        assertTrue(keys.contains(PreviewKey.of(MazeType.ORTHOGONAL, 20, 5, false, false)));
+
+        cache.warm();
+
+        assertEquals(keys.size(), cache.entryCount());
+        cache.getPreview(MazeType.ORTHOGONAL, 10, 3, false, false);
+        assertEquals(1.0, counter("cache.gets", "hit"));
+    }
+
+    @Test
+    void testWarm_FailureIsNotFatal() {
+        when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenThrow(new IllegalStateException("boom"));
+
+        assertDoesNotThrow(cache::warm);
+        assertEquals(0, cache.entryCount());
+    }
+}
@@ -0,0 +1,280 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import villagecompute.calendar.data.models.CalendarOrderItem;
+import villagecompute.calendar.data.models.ItemAsset;
+import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.services.exceptions.StorageException;
+
+/**
+ * Unit tests for OrderPdfService. Mocks rendering and R2 storage to verify that a PDF is rendered once per SVG, looked
+ * up in storage before rendering, and served from the local cache afterwards, which is bounded in size.
+ */
+class OrderPdfServiceTest {
+
+    private static final String SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\"><rect width=\"10\"/></svg>";
+    private static final byte[] PDF = "%PDF-1.4 test".getBytes();
+
+    @TempDir
+    Path cacheDir;
+
+    private PDFRenderingService pdfRenderingService;
+    private StorageService storageService;
+    private OrderPdfService service;
+
+    @BeforeEach
+    void setUp() {
+        pdfRenderingService = mock(PDFRenderingService.class);
+        storageService = mock(StorageService.class);
+        service = createService(true);
+    }
+
+    private OrderPdfService createService(boolean storageEnabled) {
+        return createService(storageEnabled, 1024);
+    }
+
+    private OrderPdfService createService(boolean storageEnabled, long cacheMaxSizeMb) {
+        OrderPdfService orderPdfService = new OrderPdfService();
+        orderPdfService.pdfRenderingService = pdfRenderingService;
+        orderPdfService.storageService = storageService;
+        orderPdfService.cacheDir = Optional.of(cacheDir.toString());
+        orderPdfService.storageEnabled = storageEnabled;
+        orderPdfService.cacheMaxSizeMb = cacheMaxSizeMb;
+        orderPdfService.init();
+        return orderPdfService;
+    }
+
+    // ========== KEY TESTS ==========
+
+    @Test
+    void testPdfKey_DependsOnSvgAndYear() {
+        String key = service.pdfKey(SVG, 2025);
+
+        assertEquals(key, service.pdfKey(SVG, 2025));
+        assertNotEquals(key, service.pdfKey(SVG, 2026));
+        assertNotEquals(key, service.pdfKey(SVG + " ", 2025));
+        assertTrue(key.matches("[0-9a-f]{64}-2025"), key);
+    }
+
+    // ========== GET PDF TESTS ==========
+
+    @Test
+    void testGetPdf_NotStored_RendersOnceAndUploads() throws Exception {
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(PDF);
+        String key = service.pdfKey(SVG, 2025);
+
+        Path first = service.getPdf(key, SVG, 2025);
+        Path second = service.getPdf(key, SVG, 2025);
+
+        assertEquals(first, second);
+        assertArrayEquals(PDF, Files.readAllBytes(first));
+        verify(pdfRenderingService, times(1)).renderSVGToPDF(SVG, 2025);
+        verify(storageService).downloadFile(eq("orders/" + key + ".pdf"), any(Path.class));
+        verify(storageService).uploadFile("orders/" + key + ".pdf", PDF, "application/pdf");
+    }
+
+    @Test
+    void testGetPdf_Stored_DownloadsInsteadOfRendering() throws Exception {
+        when(storageService.downloadFile(anyString(), any(Path.class))).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, Path.class), PDF);
+            return true;
+        });
+        String key = service.pdfKey(SVG, 2025);
+
+        Path pdf = service.getPdf(key, SVG, 2025);
+
+        assertArrayEquals(PDF, Files.readAllBytes(pdf));
+        verifyNoInteractions(pdfRenderingService);
+        verify(storageService, never()).uploadFile(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testGetPdf_StorageUnavailable_StillRendersAndServes() throws Exception {
+        when(storageService.downloadFile(anyString(), any(Path.class)))
+                .thenThrow(new StorageException("R2 unavailable", new RuntimeException("timeout")));
+        when(storageService.uploadFile(anyString(), any(), anyString()))
+                .thenThrow(new StorageException("R2 unavailable", new RuntimeException("timeout")));
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(PDF);
+
+        Path pdf = service.getPdf(service.pdfKey(SVG, 2025), SVG, 2025);
+
+        assertArrayEquals(PDF, Files.readAllBytes(pdf));
+    }
+
+    @Test
+    void testGetPdf_StorageDisabled_OnlyRenders() throws Exception {
+        service = createService(false);
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(PDF);
+
+        Path pdf = service.getPdf(service.pdfKey(SVG, 2025), SVG, 2025);
+
+        assertArrayEquals(PDF, Files.readAllBytes(pdf));
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testGetPdf_RenderFails_NothingCached() throws Exception {
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenThrow(new RenderingException("Broken SVG"));
+        String key = service.pdfKey(SVG, 2025);
+
+        assertThrows(RenderingException.class, () -> service.getPdf(key, SVG, 2025));
+
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(0, files.count(), "A failed render leaves no cached or temporary files");
+        }
+    }
+
+    @Test
+    void testGetPdf_ConcurrentFirstDownloads_RenderOnce() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await();
+            return PDF;
+        });
+        String key = service.pdfKey(SVG, 2025);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Path> first = callers.submit(() -> service.getPdf(key, SVG, 2025));
+            assertTrue(rendering.await(5, TimeUnit.SECONDS));
+            Future<Path> second = callers.submit(() -> service.getPdf(key, SVG, 2025));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(pdfRenderingService, times(1)).renderSVGToPDF(SVG, 2025);
+    }
+
+    // ========== CACHE SIZE TESTS ==========
+
+    @Test
+    void testGetPdf_CacheOverLimit_EvictsLeastRecentlyUsed() throws Exception {
+        // PDFs of 400 KB each, so a 1 MB cache holds two
+        byte[] largePdf = new byte[400 * 1024];
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(largePdf);
+        service = createService(true, 1);
+        String first = service.pdfKey(SVG, 2025);
+        String second = service.pdfKey(SVG, 2026);
+        String third = service.pdfKey(SVG, 2027);
+
+        Path firstPdf = service.getPdf(first, SVG, 2025);
+        Path secondPdf = service.getPdf(second, SVG, 2026);
+        Files.setLastModifiedTime(firstPdf, FileTime.from(Instant.now().minusSeconds(7200)));
+        Files.setLastModifiedTime(secondPdf, FileTime.from(Instant.now().minusSeconds(3600)));
+
+        // Downloading the first PDF again makes the second one the least recently used
+        assertEquals(firstPdf, service.getPdf(first, SVG, 2025));
+        Path thirdPdf = service.getPdf(third, SVG, 2027);
+
+        assertTrue(Files.exists(firstPdf));
+        assertFalse(Files.exists(secondPdf));
+        assertTrue(Files.exists(thirdPdf));
+        verify(pdfRenderingService, times(3)).renderSVGToPDF(anyString(), anyInt());
+
+        // An evicted PDF is fetched or rendered again on its next download
+        assertArrayEquals(largePdf, Files.readAllBytes(service.getPdf(second, SVG, 2026)));
+        verify(pdfRenderingService, times(4)).renderSVGToPDF(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetPdf_NewPdfLargerThanLimit_StillServed() throws Exception {
+        byte[] hugePdf = new byte[2 * 1024 * 1024];
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(hugePdf);
+        service = createService(true, 1);
+
+        Path pdf = service.getPdf(service.pdfKey(SVG, 2025), SVG, 2025);
+
+        assertEquals(hugePdf.length, Files.size(pdf));
+    }
+
+    @Test
+    void testOpenPdf_EvictedWhileOpen_StillReadable() throws Exception {
+        byte[] largePdf = new byte[600 * 1024];
+        largePdf[0] = '%';
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(largePdf);
+        service = createService(true, 1);
+        String key = service.pdfKey(SVG, 2025);
+
+        try (InputStream pdf = service.openPdf(key, SVG, 2025)) {
+            // Another download stores a PDF and trims the cache while this one is being sent
+            service.getPdf(service.pdfKey(SVG, 2026), SVG, 2026);
+            assertFalse(Files.exists(cacheDir.resolve(key + ".pdf")));
+
+            assertArrayEquals(largePdf, pdf.readAllBytes());
+        }
+    }
+
+    @Test
+    void testOpenPdf_EvictedBeforeOpen_FetchesAgain() throws Exception {
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(PDF);
+        String key = service.pdfKey(SVG, 2025);
+        Files.delete(service.getPdf(key, SVG, 2025));
+
+        try (InputStream pdf = service.openPdf(key, SVG, 2025)) {
+            assertArrayEquals(PDF, pdf.readAllBytes());
+        }
+        verify(pdfRenderingService, times(2)).renderSVGToPDF(SVG, 2025);
+    }
+
+    @Test
+    void testInit_CacheOverLimit_TrimsOldestPdfs() throws Exception {
+        Path older = cacheDir.resolve("older.pdf");
+        Path newer = cacheDir.resolve("newer.pdf");
+        Files.write(older, new byte[600 * 1024]);
+        Files.write(newer, new byte[600 * 1024]);
+        Files.setLastModifiedTime(older, FileTime.from(Instant.now().minusSeconds(7200)));
+        Files.setLastModifiedTime(newer, FileTime.from(Instant.now().minusSeconds(3600)));
+
+        createService(true, 1);
+
+        assertFalse(Files.exists(older));
+        assertTrue(Files.exists(newer));
+    }
+
+    // ========== ORDER ITEM TESTS ==========
+
+    @Test
+    void testPrerender_ItemWithMainAsset_RendersPdf() {
+        when(pdfRenderingService.renderSVGToPDF(SVG, 2025)).thenReturn(PDF);
+        CalendarOrderItem item = new CalendarOrderItem();
+        item.setYear(2025);
+        item.addAsset(ItemAsset.create(ItemAsset.KEY_MAIN, SVG));
+
+        assertTrue(service.prerender(item));
+
+        assertTrue(Files.exists(cacheDir.resolve(service.pdfKey(SVG, 2025) + ".pdf")));
+    }
+
+    @Test
+    void testPrerender_ItemWithoutSvg_DoesNothing() {
+        CalendarOrderItem item = new CalendarOrderItem();
+
+        assertFalse(service.prerender(item));
+
+        verifyNoInteractions(pdfRenderingService, storageService);
+    }
+}
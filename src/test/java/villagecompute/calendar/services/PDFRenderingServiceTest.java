@@ -2,10 +2,18 @@ package villagecompute.calendar.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
 
+import javax.imageio.ImageIO;
+
 import jakarta.inject.Inject;
 
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.junit.jupiter.api.Test;
 
 import villagecompute.calendar.types.CalendarConfigType;
@@ -20,6 +28,13 @@ import io.quarkus.test.junit.QuarkusTest;
 @QuarkusTest
 class PDFRenderingServiceTest {
 
+    private static final String SIMPLE_SVG = """
+            <svg xmlns="http://www.w3.org/2000/svg" width="200" height="100" viewBox="0 0 200 100">
+                <style>.box { fill: green; }</style>
+                <rect class="box" x="10" y="10" width="180" height="80"/>
+            </svg>
+            """;
+
     @Inject
     PDFRenderingService pdfRenderingService;
 
@@ -257,4 +272,58 @@ class PDFRenderingServiceTest {
         assertNotNull(colorPdf, "Color PDF output should not be null");
         assertTrue(colorPdf.length > 1000, "Color PDF should have substantial content");
     }
+
+    // ========== POOLED TRANSCODER TESTS ==========
+
+    @Test
+    void testPdfMetadata_WrittenDuringGeneration() throws IOException {
+        byte[] pdf = pdfRenderingService.renderSVGToPDF(SIMPLE_SVG, 2025);
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDDocumentInformation info = document.getDocumentInformation();
+            assertEquals("villagecompute.com", info.getProducer());
+            assertEquals("Village Compute Calendar Generator", info.getCreator());
+            assertEquals("Calendar 2025", info.getTitle());
+            assertEquals("Calendar", info.getSubject());
+        }
+    }
+
+    @Test
+    void testPooledTranscoders_ReusedAcrossRenders() throws IOException {
+        // Renders run on a small pool of render threads, so these reuse the same transcoders
+        for (int year = 2025; year <= 2028; year++) {
+            byte[] pdf = pdfRenderingService.renderSVGToPDF(SIMPLE_SVG, year);
+            try (PDDocument document = Loader.loadPDF(pdf)) {
+                assertEquals("Calendar " + year, document.getDocumentInformation().getTitle());
+                assertEquals(1, document.getNumberOfPages());
+            }
+        }
+
+        for (int width : new int[]{100, 300, 100}) {
+            byte[] png = pdfRenderingService.renderSVGToPNG(SIMPLE_SVG, width);
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            assertEquals(width, image.getWidth(), "Each render should use its own width");
+            assertEquals(width / 2, image.getHeight());
+        }
+    }
+
+    // ========== MERGE TESTS ==========
+
+    @Test
+    void testMergePDFs_OnePagePerDocument() throws IOException {
+        byte[] page = pdfRenderingService.renderSVGToPDF(SIMPLE_SVG, "Maze Book");
+        byte[] merged = pdfRenderingService.mergePDFs(List.of(page, page, page), "Maze Book");
+
+        try (PDDocument document = Loader.loadPDF(merged)) {
+            assertEquals(3, document.getNumberOfPages());
+            PDDocumentInformation info = document.getDocumentInformation();
+            assertEquals("Maze Book", info.getTitle());
+            assertEquals("villagecompute.com", info.getProducer());
+        }
+    }
+
+    @Test
+    void testMergePDFs_RequiresDocuments() {
+        assertThrows(IllegalArgumentException.class, () -> pdfRenderingService.mergePDFs(List.of(), "Empty"));
+    }
 }
@@ -0,0 +1,84 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for PdfFontConfig: locating the PDF font files and writing the FOP configuration. */
+class PdfFontConfigTest {
+
+    private static final PdfFontConfig.FontFile NOTO_EMOJI = PdfFontConfig.FONTS.get(0);
+    private static final PdfFontConfig.FontFile DEJAVU_SANS = PdfFontConfig.FONTS.get(1);
+
+    @TempDir
+    Path tempDir;
+
+    private Path createFont(String relativePath) throws IOException {
+        Path file = tempDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "font");
+        return file;
+    }
+
+    // ========== locate Tests ==========
+
+    @Test
+    void testLocate_FindsFontsInPackageSubdirectories() throws IOException {
+        Path notoEmoji = createFont("fonts/noto/NotoEmoji-Regular.ttf");
+        Path dejaVuSans = createFont("fonts/dejavu-sans-fonts/DejaVuSans.ttf");
+        createFont("fonts/other/Unrelated.ttf");
+
+        Map<PdfFontConfig.FontFile, Path> fonts = PdfFontConfig.locate(List.of(tempDir.resolve("fonts")));
+
+        assertEquals(Map.of(NOTO_EMOJI, notoEmoji, DEJAVU_SANS, dejaVuSans), fonts);
+        assertEquals(List.of(NOTO_EMOJI, DEJAVU_SANS), List.copyOf(fonts.keySet()), "Should keep the FONTS order");
+    }
+
+    @Test
+    void testLocate_EarlierDirectoryWins() throws IOException {
+        Path first = createFont("a/DejaVuSans.ttf");
+        createFont("b/DejaVuSans.ttf");
+
+        Map<PdfFontConfig.FontFile, Path> fonts = PdfFontConfig.locate(
+                List.of(tempDir.resolve("a"), tempDir.resolve("b")));
+
+        assertEquals(first, fonts.get(DEJAVU_SANS));
+    }
+
+    @Test
+    void testLocate_MissingDirectoriesFindNothing() {
+        assertTrue(PdfFontConfig.locate(List.of(tempDir.resolve("missing"))).isEmpty());
+        assertTrue(PdfFontConfig.locate(List.of()).isEmpty());
+    }
+
+    // ========== toXml Tests ==========
+
+    @Test
+    void testToXml_RegistersEachFontWithItsTriplet() {
+        Path notoEmoji = Path.of("/usr/share/fonts/noto/NotoEmoji-Regular.ttf");
+        Path dejaVuBold = Path.of("/usr/share/fonts/dejavu/DejaVuSans-Bold.ttf");
+
+        String xml = PdfFontConfig.toXml(Map.of(NOTO_EMOJI, notoEmoji));
+        assertEquals("<fop version=\"1.0\"><fonts><font embed-url=\"" + notoEmoji.toUri()
+                + "\" kerning=\"yes\"><font-triplet name=\"Noto Emoji\" style=\"normal\" weight=\"normal\"/></font>"
+                + "</fonts></fop>", xml);
+
+        String boldXml = PdfFontConfig.toXml(Map.of(PdfFontConfig.FONTS.get(2), dejaVuBold));
+        assertTrue(boldXml.contains("name=\"DejaVu Sans\" style=\"normal\" weight=\"bold\""));
+    }
+
+    @Test
+    void testToXml_EscapesAttributeValues() {
+        String xml = PdfFontConfig.toXml(Map.of(NOTO_EMOJI, Path.of("/fonts/a&b/NotoEmoji-Regular.ttf")));
+
+        assertTrue(xml.contains("a&amp;b"));
+        assertFalse(xml.contains("a&b"));
+    }
+}
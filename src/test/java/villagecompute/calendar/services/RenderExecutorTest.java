@@ -0,0 +1,218 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.exceptions.RenderingException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Unit tests for RenderExecutor covering admission control, timeouts, error propagation and metrics. */
+class RenderExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RenderExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private RenderExecutor createExecutor(int maxConcurrency, int queueDepth, Duration timeout) {
+        RenderExecutor renderExecutor = new RenderExecutor();
+        renderExecutor.meterRegistry = meterRegistry;
+        renderExecutor.maxConcurrency = maxConcurrency;
+        renderExecutor.queueDepth = queueDepth;
+        renderExecutor.heapBudgetMb = 0;
+        renderExecutor.timeout = timeout;
+        renderExecutor.retryAfter = Duration.ofSeconds(7);
+        renderExecutor.init();
+        return renderExecutor;
+    }
+
+    /** Submit a render that blocks until the test releases it, from a separate caller thread. */
+    private CompletableFuture<String> submitBlocking(CountDownLatch started) {
+        return CompletableFuture.supplyAsync(() -> executor.submit("test", () -> {
+            started.countDown();
+            release.await();
+            return "done";
+        }));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.find(RenderExecutor.METRIC_PREFIX + name).gauge().value();
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge(name) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, gauge(name), name);
+    }
+
+    // ========== EXECUTION TESTS ==========
+
+    @Test
+    void testSubmit_ReturnsResultFromRenderThread() {
+        executor = createExecutor(2, 4, Duration.ofSeconds(5));
+
+        String threadName = executor.submit("test", () -> Thread.currentThread().getName());
+
+        assertTrue(threadName.startsWith("render-"), "Renders run on the executor's threads: " + threadName);
+        assertEquals(1, meterRegistry.find(RenderExecutor.METRIC_PREFIX + ".wait").timer().count());
+    }
+
+    @Test
+    void testSubmit_UncheckedException_RethrownAsIs() {
+        executor = createExecutor(1, 1, Duration.ofSeconds(5));
+
+        RenderingException thrown = assertThrows(RenderingException.class, () -> executor.submit("test", () -> {
+            throw new RenderingException("Broken SVG");
+        }));
+
+        assertEquals("Broken SVG", thrown.getMessage());
+    }
+
+    @Test
+    void testSubmit_CheckedException_WrappedInRenderingException() {
+        executor = createExecutor(1, 1, Duration.ofSeconds(5));
+
+        RenderingException thrown = assertThrows(RenderingException.class, () -> executor.submit("PDF", () -> {
+            throw new IOException("Disk full");
+        }));
+
+        assertInstanceOf(IOException.class, thrown.getCause());
+        assertTrue(thrown.getMessage().startsWith("PDF rendering failed"));
+    }
+
+    @Test
+    void testSubmit_Timeout_InterruptsRender() throws Exception {
+        executor = createExecutor(1, 1, Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        RenderingException thrown = assertThrows(RenderingException.class, () -> executor.submit("PDF", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+
+        assertTrue(thrown.getMessage().contains("timed out"));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "A timed out render is interrupted");
+        assertEquals(1.0, meterRegistry.find(RenderExecutor.METRIC_PREFIX + ".timeouts").counter().count());
+    }
+
+    // ========== ADMISSION CONTROL TESTS ==========
+
+    @Test
+    void testSubmit_Saturated_RejectedWithRetryAfter() throws Exception {
+        executor = createExecutor(1, 1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> running = submitBlocking(started);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = submitBlocking(new CountDownLatch(1));
+        awaitGauge(".queue.depth", 1);
+        assertEquals(1.0, gauge(".active"));
+
+        RenderRejectedException rejected = assertThrows(RenderRejectedException.class,
+                () -> executor.submit("test", () -> "too many"));
+        assertEquals(7, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.find(RenderExecutor.METRIC_PREFIX + ".rejected").counter().count());
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+        awaitGauge(".active", 0);
+        assertEquals(0.0, gauge(".queue.depth"));
+    }
+
+    @Test
+    void testSubmit_NoQueue_RejectsWhenAllThreadsBusy() throws Exception {
+        executor = createExecutor(1, 0, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> running = submitBlocking(started);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RenderRejectedException.class, () -> executor.submit("test", () -> "too many"));
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+    }
+
+    // ========== BATCH RESERVATION TESTS ==========
+
+    @Test
+    void testReserve_BatchesShareAllButOneThread() {
+        executor = createExecutor(3, 2, Duration.ofSeconds(5));
+
+        RenderExecutor.Reservation first = executor.reserve("test", 52);
+        assertEquals(2, first.slots(), "One render thread stays free for single renders");
+        assertEquals(2.0, gauge(".batch.reserved"));
+
+        RenderRejectedException rejected = assertThrows(RenderRejectedException.class,
+                () -> executor.reserve("test", 10));
+        assertEquals(7, rejected.getRetryAfterSeconds());
+
+        first.close();
+        first.close();
+        assertEquals(0.0, gauge(".batch.reserved"));
+        try (RenderExecutor.Reservation second = executor.reserve("test", 1)) {
+            assertEquals(1, second.slots());
+            try (RenderExecutor.Reservation third = executor.reserve("test", 5)) {
+                assertEquals(1, third.slots(), "A later batch gets the threads that are left");
+            }
+        }
+    }
+
+    @Test
+    void testBatchCapacity_AtLeastOneThread() {
+        assertEquals(1, RenderExecutor.batchCapacity(1));
+        assertEquals(1, RenderExecutor.batchCapacity(2));
+        assertEquals(3, RenderExecutor.batchCapacity(4));
+    }
+
+    // ========== HEAP BUDGET TESTS ==========
+
+    @Test
+    void testEffectiveConcurrency_LimitedByHeapBudget() {
+        long gb = 1024L * 1024 * 1024;
+
+        assertEquals(4, RenderExecutor.effectiveConcurrency(4, 256, 4 * gb));
+        assertEquals(2, RenderExecutor.effectiveConcurrency(4, 512, 2 * gb));
+        assertEquals(1, RenderExecutor.effectiveConcurrency(4, 1024, gb), "At least one render can always run");
+        assertEquals(3, RenderExecutor.effectiveConcurrency(3, 0, gb), "A zero budget disables the heap cap");
+        assertEquals(1, RenderExecutor.effectiveConcurrency(0, 256, 4 * gb));
+    }
+
+    @Test
+    void testInit_RegistersConcurrencyGauge() {
+        executor = createExecutor(3, 2, Duration.ofSeconds(5));
+
+        assertEquals(3, executor.getConcurrency());
+        assertEquals(3.0, gauge(".concurrency"));
+    }
+}
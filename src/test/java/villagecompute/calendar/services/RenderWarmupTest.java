@@ -0,0 +1,154 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+import villagecompute.calendar.exceptions.RenderingException;
+import villagecompute.calendar.types.CalendarConfigType;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Unit tests for RenderWarmup covering the renders it runs, readiness reporting and the duration metric. */
+class RenderWarmupTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CalendarRenderingService calendarRenderingService;
+    private PDFRenderingService pdfRenderingService;
+    private MazeGenerationService mazeGenerationService;
+    private RenderWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        calendarRenderingService = mock(CalendarRenderingService.class);
+        pdfRenderingService = mock(PDFRenderingService.class);
+        mazeGenerationService = mock(MazeGenerationService.class);
+        when(calendarRenderingService.renderCalendarSVGUncached(any())).thenReturn("<svg/>");
+        when(calendarRenderingService.wrapSvgForPreview("<svg/>")).thenReturn("<svg><svg/></svg>");
+
+        warmup = new RenderWarmup();
+        warmup.calendarRenderingService = calendarRenderingService;
+        warmup.pdfRenderingService = pdfRenderingService;
+        warmup.mazeGenerationService = mazeGenerationService;
+        warmup.meterRegistry = meterRegistry;
+        warmup.enabled = true;
+        warmup.rounds = 2;
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.find(RenderWarmup.METRIC_NAME).tag("outcome", outcome).timer();
+    }
+
+    // ========== WARM-UP TESTS ==========
+
+    @Test
+    void testWarmUp_RunsRepresentativeRenders() {
+        warmup.warmUp();
+
+        int configs = RenderWarmup.warmupConfigs(2025).size();
+        verify(calendarRenderingService, times(configs * 2)).renderCalendarSVGUncached(any());
+        verify(mazeGenerationService).generatePreview(eq(MazeType.ORTHOGONAL), anyInt(), anyInt(), eq(true),
+                eq(true));
+        verify(pdfRenderingService).renderSVGToPDF(eq("<svg/>"), anyInt());
+        verify(pdfRenderingService).renderSVGToPNG(eq("<svg><svg/></svg>"), anyInt());
+        verify(calendarRenderingService, never()).generateCalendarSVG(any());
+    }
+
+    @Test
+    void testWarmUp_ReportsReadyAndRecordsDuration() {
+        assertEquals(HealthCheckResponse.Status.DOWN, warmup.call().getStatus(), "Not ready before warm-up");
+
+        warmup.warmUp();
+
+        HealthCheckResponse response = warmup.call();
+        assertEquals(RenderWarmup.Status.WARM, warmup.getStatus());
+        assertEquals(HealthCheckResponse.Status.UP, response.getStatus());
+        assertEquals(RenderWarmup.CHECK_NAME, response.getName());
+        assertEquals("warm", response.getData().orElseThrow().get("status"));
+        assertEquals(1, timer("success").count());
+    }
+
+    @Test
+    void testWarmUp_FailureStillReportsReady() {
+        when(pdfRenderingService.renderSVGToPDF(any(), anyInt())).thenThrow(new RenderingException("boom"));
+
+        warmup.warmUp();
+
+        assertEquals(RenderWarmup.Status.FAILED, warmup.getStatus());
+        assertEquals(HealthCheckResponse.Status.UP, warmup.call().getStatus());
+        assertEquals(1, timer("failure").count());
+        assertNull(timer("success"));
+    }
+
+    @Test
+    void testWarmUp_ErrorStillReportsReady() {
+        when(pdfRenderingService.renderSVGToPDF(any(), anyInt())).thenThrow(new ExceptionInInitializerError());
+
+        warmup.warmUp();
+
+        assertEquals(RenderWarmup.Status.FAILED, warmup.getStatus());
+        assertEquals(HealthCheckResponse.Status.UP, warmup.call().getStatus());
+        assertEquals(1, timer("failure").count());
+    }
+
+    @Test
+    void testWarmUp_NotReadyWhileRunning() {
+        // Recorded and asserted afterwards, since warmUp() also catches the AssertionError of a failed assertion
+        List<RenderWarmup.Status> statuses = new ArrayList<>();
+        List<HealthCheckResponse.Status> readiness = new ArrayList<>();
+        when(mazeGenerationService.generatePreview(any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    statuses.add(warmup.getStatus());
+                    readiness.add(warmup.call().getStatus());
+                    return "<svg/>";
+                });
+
+        warmup.warmUp();
+
+        assertEquals(List.of(RenderWarmup.Status.RUNNING), statuses);
+        assertEquals(List.of(HealthCheckResponse.Status.DOWN), readiness);
+        assertEquals(HealthCheckResponse.Status.UP, warmup.call().getStatus());
+    }
+
+    @Test
+    void testOnStart_DisabledIsReadyWithoutRendering() {
+        warmup.enabled = false;
+
+        warmup.onStart(null);
+
+        assertEquals(RenderWarmup.Status.DISABLED, warmup.getStatus());
+        assertEquals(HealthCheckResponse.Status.UP, warmup.call().getStatus());
+        verifyNoInteractions(calendarRenderingService, pdfRenderingService, mazeGenerationService);
+        assertNull(meterRegistry.find(RenderWarmup.METRIC_NAME).timer());
+    }
+
+    // ========== CONFIG TESTS ==========
+
+    @Test
+    void testWarmupConfigs_CoverThemesMoonModesAndLayouts() {
+        List<CalendarConfigType> configs = RenderWarmup.warmupConfigs(2025);
+
+        assertEquals(Set.copyOf(CalendarRenderingService.themeNames()),
+                configs.stream().map(config -> config.theme).collect(Collectors.toSet()));
+        assertEquals(Set.copyOf(RenderWarmup.MOON_DISPLAY_MODES),
+                configs.stream().map(config -> config.moonDisplayMode).collect(Collectors.toSet()));
+        assertEquals(Set.copyOf(RenderWarmup.LAYOUT_STYLES),
+                configs.stream().map(config -> config.layoutStyle).collect(Collectors.toSet()));
+        assertEquals(Set.copyOf(RenderWarmup.EMOJI_FONTS),
+                configs.stream().map(config -> config.emojiFont).collect(Collectors.toSet()));
+        assertTrue(configs.stream().allMatch(config -> config.year == 2025 && !config.holidaySets.isEmpty()));
+        assertEquals("phases", configs.get(configs.size() - 1).moonDisplayMode);
+    }
+}
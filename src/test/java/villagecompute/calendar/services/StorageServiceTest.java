@@ -4,20 +4,29 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 
 import villagecompute.calendar.services.exceptions.StorageException;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
@@ -219,6 +228,47 @@ class StorageServiceTest {
         assertSame(boom, ex.getCause());
     }
 
+    // ========== DOWNLOAD FILE (MOCKED S3) ==========
+
+    @Test
+    void testDownloadFile_Success_WritesTargetFile(@TempDir Path tempDir) throws Exception {
+        byte[] fileBytes = new byte[]{37, 80, 68, 70};
+        ResponseInputStream<GetObjectResponse> body = new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(fileBytes)));
+        when(mockS3Client.getObject(any(GetObjectRequest.class))).thenReturn(body);
+        Path target = tempDir.resolve("download.pdf");
+
+        assertTrue(storageService.downloadFile(VALID_FILENAME, target));
+
+        assertArrayEquals(fileBytes, Files.readAllBytes(target));
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(mockS3Client).getObject(requestCaptor.capture());
+        assertEquals(BUCKET, requestCaptor.getValue().bucket());
+        assertEquals("calendar-pdfs/" + VALID_FILENAME, requestCaptor.getValue().key());
+    }
+
+    @Test
+    void testDownloadFile_NoSuchKey_ReturnsFalse(@TempDir Path tempDir) {
+        when(mockS3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("Not found").build());
+        Path target = tempDir.resolve("download.pdf");
+
+        assertFalse(storageService.downloadFile(VALID_FILENAME, target));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void testDownloadFile_S3Exception_WrappedInStorageException(@TempDir Path tempDir) {
+        AwsServiceException s3Error = AwsServiceException.builder().message("Access Denied").build();
+        when(mockS3Client.getObject(any(GetObjectRequest.class))).thenThrow(s3Error);
+
+        StorageException ex = assertThrows(StorageException.class,
+                () -> storageService.downloadFile(VALID_FILENAME, tempDir.resolve("download.pdf")));
+
+        assertTrue(ex.getMessage().startsWith("Failed to download file from R2:"));
+        assertSame(s3Error, ex.getCause());
+    }
+
     // ========== LAZY S3 CLIENT INITIALIZATION ==========
 
     @Test
@@ -0,0 +1,89 @@
+package villagecompute.calendar.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SvgPreprocessor: the fixes applied to SVG content before Batik transcodes it. */
+class SvgPreprocessorTest {
+
+    private static final String XLINK_NAMESPACE = "xmlns:xlink=\"http://www.w3.org/1999/xlink\"";
+
+    // ========== xlink namespace Tests ==========
+
+    @Test
+    void testPreprocess_AddsXlinkNamespaceToRootSvgOnly() {
+        String svg = "<svg width=\"10\"><svg x=\"1\"><use xlink:href=\"#a\"/></svg></svg>";
+
+        assertEquals("<svg width=\"10\" " + XLINK_NAMESPACE + "><svg x=\"1\"><use xlink:href=\"#a\"/></svg></svg>",
+                SvgPreprocessor.preprocess(svg));
+    }
+
+    @Test
+    void testPreprocess_KeepsDeclaredXlinkNamespace() {
+        String svg = "<svg " + XLINK_NAMESPACE + "><use xlink:href=\"#a\"/></svg>";
+
+        assertSame(svg, SvgPreprocessor.preprocess(svg));
+    }
+
+    // ========== clip-path Tests ==========
+
+    @Test
+    void testPreprocess_RewritesClipPathAttributes() {
+        String svg = "<svg><g clip-path = 'url(#clip_1)'/><g CLIP-PATH=\"url(#clip_2)\"/></svg>";
+
+        assertEquals("<svg><g clip-path=\"#clip_1\"/><g clip-path=\"#clip_2\"/></svg>",
+                SvgPreprocessor.preprocess(svg));
+    }
+
+    @Test
+    void testPreprocess_RewritesEveryClipPathInStyle() {
+        String svg = "<svg><rect style=\"clip-path:url(#a);fill:red;clip-path: url(#b)\"/></svg>";
+
+        assertEquals("<svg><rect style=\"clip-path:#a;fill:red;clip-path:#b\"/></svg>",
+                SvgPreprocessor.preprocess(svg));
+    }
+
+    @Test
+    void testPreprocess_KeepsUrlReferencesOfOtherProperties() {
+        String svg = "<svg><g filter=\"url(#f)\" fill=\"url(#g)\" style=\"stroke:url(#s);mask:url(#m)\"/></svg>";
+
+        assertSame(svg, SvgPreprocessor.preprocess(svg));
+    }
+
+    // ========== transparent fill Tests ==========
+
+    @Test
+    void testPreprocess_ReplacesTransparentFills() {
+        String svg = "<svg><rect fill='TRANSPARENT'/><rect fill = \"transparent\" style=\"fill: transparent\"/>"
+                + "<style>.a{fill:transparent}</style></svg>";
+
+        assertEquals("<svg><rect fill=\"none\"/><rect fill=\"none\" style=\"fill:none\"/>"
+                + "<style>.a{fill:none}</style></svg>", SvgPreprocessor.preprocess(svg));
+    }
+
+    @Test
+    void testPreprocess_KeepsOtherFills() {
+        String svg = "<svg><rect fill=\"transparentish\" fill-opacity=\"0\" style=\"fill:#fff\"/></svg>";
+
+        assertSame(svg, SvgPreprocessor.preprocess(svg));
+    }
+
+    // ========== Combined Tests ==========
+
+    @Test
+    void testPreprocess_AppliesAllFixesInOnePass() {
+        String svg = "<svg a=\"b\"><use xlink:href=\"#a\" clip-path=\"url(#c)\" fill=\"transparent\"/></svg>";
+
+        assertEquals(
+                "<svg a=\"b\" " + XLINK_NAMESPACE + "><use xlink:href=\"#a\" clip-path=\"#c\" fill=\"none\"/></svg>",
+                SvgPreprocessor.preprocess(svg));
+    }
+
+    @Test
+    void testPreprocess_ReturnsSameInstanceWhenNothingNeedsFixing() {
+        String svg = "<svg " + XLINK_NAMESPACE + "><g style=\"fill:red\" clip-rule=\"evenodd\"/></svg>";
+
+        assertSame(svg, SvgPreprocessor.preprocess(svg));
+    }
+}
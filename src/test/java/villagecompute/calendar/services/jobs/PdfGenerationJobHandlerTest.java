@@ -0,0 +1,224 @@
+package villagecompute.calendar.services.jobs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import villagecompute.calendar.data.models.CalendarUser;
+import villagecompute.calendar.data.models.PdfJob;
+import villagecompute.calendar.data.models.UserCalendar;
+import villagecompute.calendar.data.models.enums.PdfJobStatus;
+import villagecompute.calendar.exceptions.RenderRejectedException;
+import villagecompute.calendar.services.PDFRenderingService;
+import villagecompute.calendar.services.StorageService;
+import villagecompute.calendar.services.exceptions.DelayedJobException;
+import villagecompute.calendar.services.exceptions.DelayedJobRequeueException;
+import villagecompute.calendar.services.exceptions.StorageException;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Tests for PdfGenerationJobHandler. The handler commits each status change in its own transaction, so test data is
+ * committed up front and the handler is run without a transaction, as it is under DelayedJobService.
+ */
+@QuarkusTest
+class PdfGenerationJobHandlerTest {
+
+    private static final String PDF_URL = "https://r2.example/calendar-pdfs/test.pdf";
+
+    @Inject
+    PdfGenerationJobHandler handler;
+
+    @InjectMock
+    StorageService storageService;
+
+    @InjectMock
+    PDFRenderingService pdfRenderingService;
+
+    private UUID userId;
+    private UUID calendarId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            CalendarUser user = new CalendarUser();
+            user.oauthProvider = "GOOGLE";
+            user.oauthSubject = "pdfjob-test-" + System.nanoTime();
+            user.email = "pdfjob-test@villagecompute.com";
+            user.persist();
+            userId = user.id;
+
+            UserCalendar calendar = new UserCalendar();
+            calendar.user = user;
+            calendar.name = "PDF Job Test Calendar";
+            calendar.year = 2026;
+            calendar.persist();
+            calendarId = calendar.id;
+        });
+
+        Mockito.reset(storageService, pdfRenderingService);
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt())).thenReturn(new byte[]{'%', 'P', 'D', 'F'});
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            PdfJob.delete("calendar.id", calendarId);
+            UserCalendar.deleteById(calendarId);
+            CalendarUser.deleteById(userId);
+        });
+    }
+
+    private UUID createJob(boolean includeWatermark) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            UserCalendar calendar = UserCalendar.findById(calendarId);
+            CalendarUser user = CalendarUser.findById(userId);
+            return PdfJob.create(calendar, user, includeWatermark).id;
+        });
+    }
+
+    /** Run the handler the way DelayedJobService does for a non-transactional handler. */
+    private DelayedJobException runHandler(UUID jobId) {
+        try {
+            handler.run(jobId.toString());
+            return null;
+        } catch (DelayedJobException e) {
+            return e;
+        } catch (Exception e) {
+            throw new AssertionError("Unexpected exception from the handler", e);
+        }
+    }
+
+    private PdfJob findJob(UUID jobId) {
+        return QuarkusTransaction.requiringNew().call(() -> PdfJob.findById(jobId));
+    }
+
+    @Test
+    void testRun_Success_UploadsPdfAndMarksDone() {
+        when(storageService.uploadFile(anyString(), any(), eq("application/pdf"))).thenReturn(PDF_URL);
+        UUID jobId = createJob(false);
+
+        assertNull(runHandler(jobId));
+
+        PdfJob job = findJob(jobId);
+        assertEquals(PdfJobStatus.DONE, job.status);
+        assertEquals(PDF_URL, job.pdfUrl);
+        assertEquals(1, job.attempts);
+        assertNotNull(job.startedAt);
+        assertNotNull(job.completedAt);
+
+        String calendarPdfUrl = QuarkusTransaction.requiringNew()
+                .call(() -> UserCalendar.<UserCalendar>findById(calendarId).generatedPdfUrl);
+        assertEquals(PDF_URL, calendarPdfUrl, "An unwatermarked PDF becomes the calendar's PDF");
+    }
+
+    @Test
+    void testRun_Watermarked_DrawsWatermarkAndLeavesCalendarPdfAlone() {
+        when(storageService.uploadFile(anyString(), any(), anyString())).thenReturn(PDF_URL);
+        UUID jobId = createJob(true);
+
+        assertNull(runHandler(jobId));
+
+        verify(pdfRenderingService).renderSVGToPDF(contains(">PREVIEW</text>"), eq(2026));
+        verify(storageService).uploadFile(endsWith("-preview.pdf"), any(), eq("application/pdf"));
+        String calendarPdfUrl = QuarkusTransaction.requiringNew()
+                .call(() -> UserCalendar.<UserCalendar>findById(calendarId).generatedPdfUrl);
+        assertNull(calendarPdfUrl);
+    }
+
+    @Test
+    void testRun_UploadFails_IsRetriedUntilMaxAttempts() {
+        when(storageService.uploadFile(anyString(), any(), anyString()))
+                .thenThrow(new StorageException("R2 unavailable", new RuntimeException("timeout")));
+        UUID jobId = createJob(false);
+
+        for (int attempt = 1; attempt < PdfGenerationJobHandler.MAX_ATTEMPTS; attempt++) {
+            DelayedJobException ex = runHandler(jobId);
+            assertNotNull(ex);
+            assertTrue(ex.isRecoverable(), "Upload failures are retried");
+            assertEquals(PdfJobStatus.PENDING, findJob(jobId).status);
+        }
+
+        DelayedJobException ex = runHandler(jobId);
+        assertNotNull(ex);
+        assertFalse(ex.isRecoverable());
+        PdfJob job = findJob(jobId);
+        assertEquals(PdfJobStatus.FAILED, job.status);
+        assertEquals(PdfGenerationJobHandler.MAX_ATTEMPTS, job.attempts);
+        assertNotNull(job.errorMessage);
+    }
+
+    @Test
+    void testRun_RenderFails_MarksFailedWithoutRetry() {
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt()))
+                .thenThrow(new IllegalStateException("Batik exploded"));
+        UUID jobId = createJob(false);
+
+        DelayedJobException ex = runHandler(jobId);
+
+        assertNotNull(ex);
+        assertFalse(ex.isRecoverable());
+        PdfJob job = findJob(jobId);
+        assertEquals(PdfJobStatus.FAILED, job.status);
+        assertEquals("Batik exploded", job.errorMessage);
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testRun_RendererBusy_RetriedWithoutUsingAnAttempt() {
+        when(pdfRenderingService.renderSVGToPDF(anyString(), anyInt()))
+                .thenThrow(new RenderRejectedException("Too many renders in progress", 5));
+        UUID jobId = createJob(false);
+
+        DelayedJobException ex = runHandler(jobId);
+
+        assertInstanceOf(DelayedJobRequeueException.class, ex, "A saturated renderer is retried later");
+        assertEquals(Duration.ofSeconds(5), ((DelayedJobRequeueException) ex).getDelay());
+        PdfJob job = findJob(jobId);
+        assertEquals(PdfJobStatus.PENDING, job.status);
+        assertEquals(0, job.attempts);
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testRun_FinishedJob_IsSkipped() {
+        when(storageService.uploadFile(anyString(), any(), anyString())).thenReturn(PDF_URL);
+        UUID jobId = createJob(false);
+        assertNull(runHandler(jobId));
+
+        assertNull(runHandler(jobId));
+
+        verify(storageService, times(1)).uploadFile(anyString(), any(), anyString());
+        assertEquals(1, findJob(jobId).attempts);
+    }
+
+    @Test
+    void testRun_JobNotFound_ThrowsNonRecoverable() {
+        DelayedJobException ex = runHandler(UUID.randomUUID());
+
+        assertNotNull(ex);
+        assertFalse(ex.isRecoverable());
+        assertTrue(ex.getMessage().contains("PDF job not found"));
+    }
+
+    @Test
+    void testAddWatermark_InsertsBeforeClosingTag() {
+        String watermarked = PdfGenerationJobHandler.addWatermark("<svg><rect/></svg>");
+
+        assertTrue(watermarked.startsWith("<svg><rect/><text "));
+        assertTrue(watermarked.endsWith(">PREVIEW</text></svg>"));
+        assertEquals("not svg", PdfGenerationJobHandler.addWatermark("not svg"));
+    }
+}
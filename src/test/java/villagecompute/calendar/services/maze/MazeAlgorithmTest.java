@@ -0,0 +1,157 @@
+package villagecompute.calendar.services.maze;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import villagecompute.calendar.data.models.enums.MazeType;
+
+/** Unit tests for the MazeAlgorithm implementations: each must carve a perfect maze on every grid type. */
+class MazeAlgorithmTest {
+
+    private static final List<String> ALGORITHMS = List.of("backtracker", "eller", "wilson", "kruskal", "prim");
+
+    private static final int[] ORTHOGONAL_WALLS = {MazeGrid.NORTH, MazeGrid.SOUTH, MazeGrid.EAST, MazeGrid.WEST};
+    private static final int[] HEX_WALLS = {MazeGrid.EAST, MazeGrid.WEST, MazeGrid.NORTH_EAST, MazeGrid.SOUTH_EAST,
+            MazeGrid.SOUTH_WEST, MazeGrid.NORTH_WEST};
+
+    /** Difficulty 5 adds no shortcuts, so the grid is exactly what the algorithm carved. */
+    private static MazeGrid generate(String algorithm, MazeType type, int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height, type, 5, seed, MazeAlgorithm.forName(algorithm));
+        grid.generate();
+        return grid;
+    }
+
+    /** Count the passages of a grid, each once, checking that both sides of every passage agree. */
+    private static int countPassages(MazeGrid grid) {
+        int[] walls = grid.getType() == MazeType.SIGMA ? HEX_WALLS : ORTHOGONAL_WALLS;
+        int passages = 0;
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                int cell = grid.index(x, y);
+                for (int wall : walls) {
+                    int neighbor = grid.neighbor(cell, wall);
+                    if (neighbor < 0) {
+                        continue;
+                    }
+                    boolean open = !grid.hasWall(x, y, wall);
+                    boolean openFromNeighbor = false;
+                    for (int back : walls) {
+                        if (grid.neighbor(neighbor, back) == cell) {
+                            openFromNeighbor = !grid.hasWall(neighbor % grid.getWidth(), neighbor / grid.getWidth(),
+                                    back);
+                        }
+                    }
+                    assertEquals(open, openFromNeighbor, "Passage at (" + x + "," + y + ") should be open both ways");
+                    if (open && neighbor > cell) {
+                        passages++;
+                    }
+                }
+            }
+        }
+        return passages;
+    }
+
+    private static void assertPerfectMaze(MazeGrid grid, String description) {
+        int cells = grid.getWidth() * grid.getHeight();
+        assertEquals(cells - 1, countPassages(grid), description + ": a perfect maze is a spanning tree");
+
+        // Every cell reached by the dead-end BFS from the solution path, so the maze is connected
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                assertTrue(grid.isOnSolutionPath(x, y) || grid.getDeadEndDepth(x, y) > 0,
+                        description + ": cell (" + x + "," + y + ") should be reachable");
+            }
+        }
+    }
+
+    @Test
+    void testEveryAlgorithmCarvesPerfectMazes() {
+        for (String algorithm : ALGORITHMS) {
+            for (MazeType type : MazeType.values()) {
+                for (long seed = 1; seed <= 5; seed++) {
+                    MazeGrid grid = generate(algorithm, type, 13, 9, seed);
+                    assertPerfectMaze(grid, algorithm + " " + type + " seed " + seed);
+                    assertNotNull(grid.getSolutionPath());
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"backtracker", "eller", "wilson", "kruskal", "prim"})
+    void testSingleRowAndColumnMazes(String algorithm) {
+        assertPerfectMaze(generate(algorithm, MazeType.ORTHOGONAL, 12, 1, 7L), algorithm + " single row");
+        assertPerfectMaze(generate(algorithm, MazeType.ORTHOGONAL, 1, 12, 7L), algorithm + " single column");
+        assertPerfectMaze(generate(algorithm, MazeType.SIGMA, 1, 12, 7L), algorithm + " single hex column");
+    }
+
+    @Test
+    void testSeededAlgorithmsAreReproducible() {
+        for (String algorithm : ALGORITHMS) {
+            MazeGrid grid1 = generate(algorithm, MazeType.SIGMA, 10, 8, 12345L);
+            MazeGrid grid2 = generate(algorithm, MazeType.SIGMA, 10, 8, 12345L);
+
+            for (int x = 0; x < 10; x++) {
+                for (int y = 0; y < 8; y++) {
+                    for (int wall : HEX_WALLS) {
+                        assertEquals(grid1.hasWall(x, y, wall), grid2.hasWall(x, y, wall), algorithm);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAlgorithmsProduceDifferentMazes() {
+        MazeGrid backtracker = generate("backtracker", MazeType.ORTHOGONAL, 10, 10, 12345L);
+        MazeGrid eller = generate("eller", MazeType.ORTHOGONAL, 10, 10, 12345L);
+
+        boolean different = false;
+        for (int x = 0; x < 10 && !different; x++) {
+            for (int y = 0; y < 10 && !different; y++) {
+                different = backtracker.hasWall(x, y, MazeGrid.EAST) != eller.hasWall(x, y, MazeGrid.EAST)
+                        || backtracker.hasWall(x, y, MazeGrid.SOUTH) != eller.hasWall(x, y, MazeGrid.SOUTH);
+            }
+        }
+        assertTrue(different, "The algorithm should change the maze for the same seed");
+    }
+
+    @Test
+    void testEllersHandlesVeryWideMazes() {
+        assertPerfectMaze(generate("eller", MazeType.ORTHOGONAL, 2000, 30, 42L), "eller wide orthogonal");
+        assertPerfectMaze(generate("eller", MazeType.SIGMA, 2000, 30, 42L), "eller wide sigma");
+    }
+
+    @Test
+    void testDefaultAlgorithmIsRecursiveBacktracker() {
+        MazeGrid defaultGrid = new MazeGrid(10, 10, MazeType.ORTHOGONAL, 3, 12345L);
+        defaultGrid.generate();
+        MazeGrid backtracker = new MazeGrid(10, 10, MazeType.ORTHOGONAL, 3, 12345L, new RecursiveBacktracker());
+        backtracker.generate();
+
+        assertEquals(defaultGrid.getSolutionPath().size(), backtracker.getSolutionPath().size());
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                assertEquals(defaultGrid.hasWall(x, y, MazeGrid.EAST), backtracker.hasWall(x, y, MazeGrid.EAST));
+                assertEquals(defaultGrid.hasWall(x, y, MazeGrid.SOUTH), backtracker.hasWall(x, y, MazeGrid.SOUTH));
+            }
+        }
+    }
+
+    @Test
+    void testForName() {
+        assertInstanceOf(RecursiveBacktracker.class, MazeAlgorithm.forName(null));
+        assertInstanceOf(RecursiveBacktracker.class, MazeAlgorithm.forName("backtracker"));
+        assertInstanceOf(EllersAlgorithm.class, MazeAlgorithm.forName("Eller"));
+        assertInstanceOf(WilsonsAlgorithm.class, MazeAlgorithm.forName("wilson"));
+        assertInstanceOf(KruskalsAlgorithm.class, MazeAlgorithm.forName("KRUSKAL"));
+        assertInstanceOf(PrimsAlgorithm.class, MazeAlgorithm.forName("prim"));
+        assertThrows(IllegalArgumentException.class, () -> MazeAlgorithm.forName("dijkstra"));
+    }
+}
@@ -473,6 +473,77 @@ class MazeGridTest {
         }
     }
 
+    @Test
+    void testWallAccessorsMatchCellSnapshots() {
+        for (MazeType type : List.of(MazeType.ORTHOGONAL, MazeType.SIGMA)) {
+            MazeGrid grid = new MazeGrid(7, 5, type, 2, 12345L);
+            grid.generate();
+
+            for (int x = 0; x < 7; x++) {
+                for (int y = 0; y < 5; y++) {
+                    MazeCell cell = grid.getCell(x, y);
+                    assertEquals(cell.northWall, grid.hasWall(x, y, MazeGrid.NORTH));
+                    assertEquals(cell.southWall, grid.hasWall(x, y, MazeGrid.SOUTH));
+                    assertEquals(cell.eastWall, grid.hasWall(x, y, MazeGrid.EAST));
+                    assertEquals(cell.westWall, grid.hasWall(x, y, MazeGrid.WEST));
+                    assertEquals(cell.northEastWall, grid.hasWall(x, y, MazeGrid.NORTH_EAST));
+                    assertEquals(cell.southEastWall, grid.hasWall(x, y, MazeGrid.SOUTH_EAST));
+                    assertEquals(cell.southWestWall, grid.hasWall(x, y, MazeGrid.SOUTH_WEST));
+                    assertEquals(cell.northWestWall, grid.hasWall(x, y, MazeGrid.NORTH_WEST));
+                    assertEquals(cell.onSolutionPath, grid.isOnSolutionPath(x, y));
+                    assertEquals(cell.isDeadEnd, grid.isDeadEnd(x, y));
+                    assertEquals(cell.deadEndDepth, grid.getDeadEndDepth(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRemovedWallsArePairedBetweenNeighbors() {
+        MazeGrid grid = new MazeGrid(8, 8, MazeType.SIGMA, 1, 12345L);
+        grid.generate();
+
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                boolean evenRow = (y % 2) == 0;
+                if (x < 7) {
+                    assertEquals(grid.hasWall(x, y, MazeGrid.EAST), grid.hasWall(x + 1, y, MazeGrid.WEST));
+                }
+                int seX = evenRow ? x : x + 1;
+                if (y < 7 && seX < 8) {
+                    assertEquals(grid.hasWall(x, y, MazeGrid.SOUTH_EAST),
+                            grid.hasWall(seX, y + 1, MazeGrid.NORTH_WEST));
+                }
+                int swX = evenRow ? x - 1 : x;
+                if (y < 7 && swX >= 0) {
+                    assertEquals(grid.hasWall(x, y, MazeGrid.SOUTH_WEST),
+                            grid.hasWall(swX, y + 1, MazeGrid.NORTH_EAST));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCellSnapshotParentsLeadBackToStart() {
+        MazeGrid grid = new MazeGrid(10, 10, MazeType.ORTHOGONAL, 3, 12345L);
+        grid.generate();
+
+        MazeCell cell = grid.getCell(grid.getEndX(), grid.getEndY());
+        int steps = 1;
+        while (cell.parent != null) {
+            cell = cell.parent;
+            steps++;
+        }
+        assertEquals(grid.getStartX(), cell.x);
+        assertEquals(grid.getStartY(), cell.y);
+        assertEquals(grid.getSolutionPath().size(), steps);
+
+        MazeCell[][] cells = grid.getCells();
+        MazeCell end = cells[grid.getEndX()][grid.getEndY()];
+        int[] beforeEnd = grid.getSolutionPath().get(grid.getSolutionPath().size() - 2);
+        assertSame(cells[beforeEnd[0]][beforeEnd[1]], end.parent);
+    }
+
     @Test
     void testDeadEndDepthIncreasesAwayFromSolution() {
         MazeGrid grid = new MazeGrid(10, 10, MazeType.ORTHOGONAL, 5, 12345L);
@@ -2,7 +2,22 @@ package villagecompute.calendar.services.maze;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import villagecompute.calendar.data.models.enums.MazeType;
 
@@ -46,7 +61,7 @@ class MazeSvgRendererTest {
 
         assertTrue(svg.contains("class=\"inner-walls\""));
         assertTrue(svg.contains("class=\"outer-border\""));
-        assertTrue(svg.contains("<line")); // Should have wall lines
+        assertTrue(svg.contains("<path")); // Should have wall runs
     }
 
     @Test
@@ -375,6 +390,27 @@ class MazeSvgRendererTest {
         assertTrue(lineCount >= 8, "Should have radial lines. Found: " + lineCount);
     }
 
+    /**
+     * Pins the exact output for fixed seeds, so a change to generation (the grid, the random draws or the carving
+     * order) or to rendering that alters existing mazes fails here. A deliberate change updates the hashes.
+     */
+    @ParameterizedTest
+    @CsvSource({"ORTHOGONAL, false, 4f0e33470656c5b7179d3ba55dbc2d53478a297f742eecf3db704b0080966dd3",
+            "ORTHOGONAL, true, 3922a89c75640ed84a806721b2573c3188d93adef8a928079f4172b2466002fa",
+            "DELTA, true, fbe2f1d77c8cde63588bf382e66049ee40ec555734bff95274789e25635cda74",
+            "SIGMA, false, 4a6b78d02663e66f0f486034700b991567866a53f987ed39380197f66266414f",
+            "SIGMA, true, 8727720d67e421d5c4e56cef34d81c631823ba59e38663620fefd3b294f958b3",
+            "THETA, true, 70fff5ac9c1c98091fd231feb2ba8f2979a8ac44be01930ecc883131d3b7a054"})
+    void testSeededMaze_MatchesPinnedOutput(MazeType type, boolean showSolution, String expectedSha256) {
+        MazeGrid grid = new MazeGrid(16, 12, type, 3, 20250101L);
+        grid.generate();
+
+        String svg = new MazeSvgRenderer(grid, "#000000", "#000000", "#4A90E2", showSolution, showSolution, "#FF6B6B")
+                .render();
+
+        assertEquals(expectedSha256, sha256(svg), "Output changed for seeded " + type + " maze");
+    }
+
     @Test
     void testSvgIsValidXml() {
         MazeGrid grid = new MazeGrid(5, 5, MazeType.ORTHOGONAL, 3, 12345L);
@@ -400,6 +436,95 @@ class MazeSvgRendererTest {
         assertEquals(countOccurrences(svg, "<g"), countOccurrences(svg, "</g>"), "Group tags should be balanced");
     }
 
+    @Test
+    void testOrthogonalLayersAreSinglePaths() {
+        MazeGrid grid = new MazeGrid(40, 25, MazeType.ORTHOGONAL, 3, 12345L);
+        grid.generate();
+
+        String svg = new MazeSvgRenderer(grid, "#000000", "#000000", "#4CAF50", true, false, null).render();
+
+        assertEquals(1, countOccurrences(group(svg, "inner-walls"), "<path"));
+        assertEquals(1, countOccurrences(group(svg, "solution-path"), "<path"));
+        assertFalse(svg.contains("<line"));
+    }
+
+    @Test
+    void testSigmaLayersAreSinglePaths() {
+        MazeGrid grid = new MazeGrid(20, 12, MazeType.SIGMA, 3, 12345L);
+        grid.generate();
+
+        String svg = new MazeSvgRenderer(grid, "#000000", "#000000", "#4CAF50", true, false, null).render();
+
+        assertEquals(1, countOccurrences(group(svg, "inner-walls"), "<path"));
+        assertEquals(1, countOccurrences(group(svg, "outer-border"), "<path"));
+        assertEquals(1, countOccurrences(group(svg, "solution-path"), "<path"));
+        assertFalse(svg.contains("<line"));
+    }
+
+    /**
+     * The merged wall runs and dead-end shading must rasterize exactly like the renderer's earlier output, which drew
+     * one element per cell wall and per dead-end cell. The baselines under {@code maze-baseline/} were produced by that
+     * renderer for the same seeded grids.
+     */
+    @ParameterizedTest
+    @CsvSource({"12, 8, 99", "20, 13, 12345", "30, 19, 20250101"})
+    void testMergedWalls_RasterizeLikeBaselineRenderer(int width, int height, long seed)
+            throws IOException, TranscoderException {
+        String baseline = readBaseline("orthogonal-" + width + "x" + height + "-" + seed + ".svg");
+        MazeGrid grid = new MazeGrid(width, height, MazeType.ORTHOGONAL, 3, seed);
+        grid.generate();
+
+        String svg = new MazeSvgRenderer(grid, "#000000", "#000000", "#4CAF50", false, true, null).render();
+
+        assertTrue(countOccurrences(baseline, "<line") > 50, "Baseline should draw one line per cell wall");
+        assertFalse(svg.contains("<line"));
+        assertArrayEquals(rasterize(baseline), rasterize(svg), "Merged runs should draw exactly the same pixels");
+    }
+
+    private static String readBaseline(String name) throws IOException {
+        try (InputStream in = MazeSvgRendererTest.class.getResourceAsStream("/maze-baseline/" + name)) {
+            assertNotNull(in, "Missing baseline " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /** The contents of the group with the given class. */
+    private static String group(String svg, String className) {
+        int start = svg.indexOf('>', svg.indexOf("<g class=\"" + className + "\"")) + 1;
+        return svg.substring(start, svg.indexOf("</g>", start));
+    }
+
+    /** Rasterize an SVG at its own size with Batik, as for the PDF and PNG output, and return its pixels. */
+    private static int[] rasterize(String svg) throws TranscoderException {
+        BufferedImage[] rendered = new BufferedImage[1];
+        ImageTranscoder transcoder = new ImageTranscoder() {
+            @Override
+            public BufferedImage createImage(int width, int height) {
+                return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+
+            @Override
+            public void writeImage(BufferedImage image, TranscoderOutput output) {
+                rendered[0] = image;
+            }
+        };
+        TranscoderInput input = new TranscoderInput(new StringReader(svg));
+        input.setURI("file:///maze.svg");
+        transcoder.transcode(input, null);
+
+        BufferedImage image = rendered[0];
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private int countOccurrences(String str, String sub) {
         int count = 0;
         int idx = 0;
@@ -0,0 +1,179 @@
+package villagecompute.calendar.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit tests for SvgWriter. Numeric output must match the String.format patterns the renderers used before. */
+class SvgWriterTest {
+
+    private static String fixed(double value, int decimals) {
+        StringBuilder out = new StringBuilder();
+        SvgWriter.appendFixed(out, value, decimals);
+        return out.toString();
+    }
+
+    private static void assertMatchesFormat(double value) {
+        for (int decimals = 0; decimals <= 6; decimals++) {
+            assertEquals(String.format("%." + decimals + "f", value), fixed(value, decimals),
+                    "Mismatch for " + value + " with " + decimals + " decimals");
+        }
+    }
+
+    // ========== NUMBER FORMATTING TESTS ==========
+
+    @ParameterizedTest
+    @ValueSource(
+            doubles = {0.0, 1.0, -1.0, 42.0, 3500.0, 0.5, 1.5, 2.5, -2.5, 0.05, 0.15, 0.25, 0.35, 0.45, 1.005, 2.675,
+                    9.995, 99.95, 0.125, 0.375, 123456789.5, 1e9, -1e9, 1e15, 1e-9})
+    void testAppendFixed_MatchesStringFormat(double value) {
+        assertMatchesFormat(value);
+    }
+
+    @Test
+    void testAppendFixed_NegativeRoundingToZero_KeepsSign() {
+        assertEquals("-0.0", fixed(-0.04, 1));
+        assertEquals("-0.0", fixed(-0.0, 1));
+        assertEquals("-0", fixed(-0.4, 0));
+        assertMatchesFormat(-0.04);
+        assertMatchesFormat(-0.0);
+    }
+
+    @Test
+    void testAppendFixed_NonFiniteValues_MatchStringFormat() {
+        assertMatchesFormat(Double.NaN);
+        assertMatchesFormat(Double.POSITIVE_INFINITY);
+        assertMatchesFormat(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    void testAppendFixed_RandomValues_MatchStringFormat() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            assertMatchesFormat(random.nextDouble() * 4000 - 2000);
+            // Values with few decimal places hit the half-up ties
+            assertMatchesFormat(Math.round(random.nextDouble() * 200_000 - 100_000) / Math.pow(10, random.nextInt(5)));
+            // Float coordinates are widened to double before formatting
+            assertMatchesFormat((float) (random.nextDouble() * 3500));
+        }
+    }
+
+    @Test
+    void testAppendFixed_UnsupportedDecimals_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> fixed(1.0, -1));
+        assertThrows(IllegalArgumentException.class, () -> fixed(1.0, 9));
+    }
+
+    // ========== ELEMENT TESTS ==========
+
+    @Test
+    void testElement_SelfClosing() {
+        SvgWriter svg = new SvgWriter();
+
+        svg.begin("rect").attr("x", 10).attr("y", -5).attr("fill", "#fff").attr("opacity", 0.456, 2).selfClose();
+
+        assertEquals("<rect x=\"10\" y=\"-5\" fill=\"#fff\" opacity=\"0.46\"/>", svg.toString());
+    }
+
+    @Test
+    void testElement_WithContent() {
+        SvgWriter svg = new SvgWriter();
+
+        svg.begin("text").attr("x", 1.25, 1).content().raw("Jan").end("text").newline();
+
+        assertEquals("<text x=\"1.3\">Jan</text>" + System.lineSeparator(), svg.toString());
+    }
+
+    @Test
+    void testWrapsExistingBuffer_AndResets() {
+        StringBuilder buffer = new StringBuilder("<svg>");
+        SvgWriter svg = new SvgWriter(buffer);
+
+        svg.raw('<').raw("g/>").num(7);
+
+        assertSame(buffer, svg.buffer());
+        assertEquals("<svg><g/>7", buffer.toString());
+
+        svg.reset();
+        assertEquals(0, svg.length());
+    }
+
+    // ========== STREAMING TESTS ==========
+
+    @Test
+    void testFlush_WritesOnlyNewContentToSink() {
+        StringWriter sink = new StringWriter();
+        SvgWriter svg = new SvgWriter(sink, true);
+
+        svg.begin("svg").content();
+        assertEquals("", sink.toString(), "Nothing is written before the first flush");
+        svg.flush();
+        svg.begin("g").selfClose().flush();
+        svg.end("svg").flush().flush();
+
+        assertEquals("<svg><g/></svg>", sink.toString());
+        assertEquals("<svg><g/></svg>", svg.toString(), "A retaining writer keeps the whole document");
+    }
+
+    @Test
+    void testFlush_WithoutRetain_ClearsBuffer() {
+        StringWriter sink = new StringWriter();
+        SvgWriter svg = new SvgWriter(sink, false);
+
+        svg.raw("x".repeat(20_000)).flush();
+        assertEquals(0, svg.length());
+        svg.raw("<end/>").flush();
+
+        assertEquals("x".repeat(20_000) + "<end/>", sink.toString());
+    }
+
+    @Test
+    void testFlush_WithoutSink_DoesNothing() {
+        SvgWriter svg = new SvgWriter();
+
+        svg.raw("<svg/>").flush();
+
+        assertEquals("<svg/>", svg.toString());
+    }
+
+    @Test
+    void testFlush_SinkFailure_ThrowsUnchecked() {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        SvgWriter svg = new SvgWriter(failing, false).raw("<svg/>");
+
+        assertThrows(UncheckedIOException.class, svg::flush);
+    }
+
+    @Test
+    void testCopy_WritesTextInChunks() throws Exception {
+        String text = "<svg>" + "a".repeat(30_000) + "</svg>";
+        StringWriter sink = new StringWriter();
+
+        SvgWriter.copy(text, sink);
+        SvgWriter.copy(new StringBuilder("<g/>"), sink);
+        SvgWriter.copy("", sink);
+
+        assertEquals(text + "<g/>", sink.toString());
+    }
+}
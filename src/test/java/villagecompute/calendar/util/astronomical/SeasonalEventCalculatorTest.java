@@ -0,0 +1,141 @@
+package villagecompute.calendar.util.astronomical;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import villagecompute.calendar.util.astronomical.SeasonalEventCalculator.EventType;
+
+/**
+ * Unit tests for {@link SeasonalEventCalculator}.
+ *
+ * <p>
+ * Expected instants are the US Naval Observatory's published equinox and solstice times (to the minute, UT). Over
+ * 1900–2100 every event is also checked against an independent low-precision solar longitude (Meeus chapter 25), and
+ * against the mean-event polynomial that was used on its own before the periodic terms were added.
+ */
+class SeasonalEventCalculatorTest {
+
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2100;
+
+    /** Published times are rounded to the minute. */
+    private static final Duration INSTANT_TOLERANCE = Duration.ofMinutes(2);
+
+    /** Accuracy of the low-precision solar longitude, in degrees (roughly 15 minutes of the Sun's motion). */
+    private static final double LONGITUDE_TOLERANCE = 0.01;
+
+    // ========== PUBLISHED INSTANTS ==========
+
+    @ParameterizedTest
+    @CsvSource({"2000, SPRING_EQUINOX, 2000-03-20T07:35:00Z", "2000, SUMMER_SOLSTICE, 2000-06-21T01:48:00Z",
+            "2000, AUTUMN_EQUINOX, 2000-09-22T17:28:00Z", "2000, WINTER_SOLSTICE, 2000-12-21T13:37:00Z",
+            "2008, SUMMER_SOLSTICE, 2008-06-20T23:59:00Z", "2024, SPRING_EQUINOX, 2024-03-20T03:06:00Z",
+            "2024, SUMMER_SOLSTICE, 2024-06-20T20:51:00Z", "2024, AUTUMN_EQUINOX, 2024-09-22T12:44:00Z",
+            "2024, WINTER_SOLSTICE, 2024-12-21T09:20:00Z", "2025, SPRING_EQUINOX, 2025-03-20T09:01:00Z",
+            "2025, SUMMER_SOLSTICE, 2025-06-21T02:42:00Z", "2025, AUTUMN_EQUINOX, 2025-09-22T18:19:00Z",
+            "2025, WINTER_SOLSTICE, 2025-12-21T15:03:00Z"})
+    void testGetInstant_MatchesPublishedTimes(int year, EventType type, String expected) {
+        Instant instant = SeasonalEventCalculator.getInstant(year, type);
+
+        Duration error = Duration.between(Instant.parse(expected), instant).abs();
+        assertTrue(error.compareTo(INSTANT_TOLERANCE) <= 0, type + " " + year + " was " + instant);
+    }
+
+    @Test
+    void testJulianEphemerisDay_MatchesMeeusExample() {
+        // Example 27.a: June solstice of 1962
+        assertEquals(2437837.39245, SeasonalEventCalculator.julianEphemerisDay(1962, EventType.SUMMER_SOLSTICE),
+                0.00001);
+    }
+
+    // ========== 1900-2100 ==========
+
+    @Test
+    void testEveryEvent_SunAtExpectedLongitude() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (EventType type : EventType.values()) {
+                double longitude = apparentSolarLongitude(SeasonalEventCalculator.julianEphemerisDay(year, type));
+                double error = Math.abs(((longitude - 90.0 * type.ordinal() + 540) % 360) - 180);
+
+                assertTrue(error < LONGITUDE_TOLERANCE, type + " " + year + " is off by " + error + " degrees");
+            }
+        }
+    }
+
+    @Test
+    void testEveryEvent_AgreesWithMeanEventDate() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (EventType type : EventType.values()) {
+                LocalDate meanDate = LocalDate.ofEpochDay(
+                        (long) Math.floor(SeasonalEventCalculator.meanJulianEphemerisDay(year, type) - 2440587.5));
+                Instant instant = SeasonalEventCalculator.getInstant(year, type);
+                LocalDate date = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+
+                if (!date.equals(meanDate)) {
+                    // The periodic terms move the event by at most about half an hour, so dates only differ
+                    // when the event is close to midnight
+                    LocalTime time = LocalTime.ofInstant(instant, ZoneOffset.UTC);
+                    assertTrue(time.isBefore(LocalTime.of(0, 30)) || time.isAfter(LocalTime.of(23, 30)),
+                            type + " " + year + " at " + instant + " differs from mean date " + meanDate);
+                    assertEquals(1, Math.abs(date.toEpochDay() - meanDate.toEpochDay()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEveryEvent_InCalendarOrder() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            LocalDate spring = SeasonalEventCalculator.getDate(year, EventType.SPRING_EQUINOX, ZoneOffset.UTC);
+            LocalDate winter = SeasonalEventCalculator.getDate(year, EventType.WINTER_SOLSTICE, ZoneOffset.UTC);
+
+            assertEquals(3, spring.getMonthValue());
+            assertTrue(spring.getDayOfMonth() >= 19 && spring.getDayOfMonth() <= 21, "Spring equinox " + spring);
+            assertEquals(12, winter.getMonthValue());
+            assertTrue(winter.getDayOfMonth() >= 20 && winter.getDayOfMonth() <= 23, "Winter solstice " + winter);
+        }
+    }
+
+    // ========== TIME ZONES ==========
+
+    @Test
+    void testGetDate_DependsOnTimeZone() {
+        // December 21, 2024 09:20 UT
+        assertEquals(LocalDate.of(2024, 12, 21),
+                SeasonalEventCalculator.getDate(2024, EventType.WINTER_SOLSTICE, ZoneOffset.UTC));
+        assertEquals(LocalDate.of(2024, 12, 20),
+                SeasonalEventCalculator.getDate(2024, EventType.WINTER_SOLSTICE, ZoneId.of("Pacific/Honolulu")));
+        assertEquals(LocalDate.of(2024, 12, 21),
+                SeasonalEventCalculator.getDate(2024, EventType.WINTER_SOLSTICE, ZoneId.of("Asia/Tokyo")));
+    }
+
+    @Test
+    void testGetInstant_Memoized() {
+        assertSame(SeasonalEventCalculator.getInstant(2030, EventType.AUTUMN_EQUINOX),
+                SeasonalEventCalculator.getInstant(2030, EventType.AUTUMN_EQUINOX));
+    }
+
+    /** Apparent geometric longitude of the Sun in degrees, Meeus chapter 25 (low accuracy, about 0.01°). */
+    private static double apparentSolarLongitude(double jde) {
+        double t = (jde - 2451545.0) / 36525;
+        double meanLongitude = 280.46646 + 36000.76983 * t + 0.0003032 * t * t;
+        double meanAnomaly = Math.toRadians(357.52911 + 35999.05029 * t - 0.0001537 * t * t);
+        double center = (1.914602 - 0.004817 * t - 0.000014 * t * t) * Math.sin(meanAnomaly)
+                + (0.019993 - 0.000101 * t) * Math.sin(2 * meanAnomaly) + 0.000289 * Math.sin(3 * meanAnomaly);
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        double longitude = meanLongitude + center - 0.00569 - 0.00478 * Math.sin(omega);
+        return ((longitude % 360) + 360) % 360;
+    }
+}